@@ -118,7 +118,8 @@ std::string ESScrollQueryBuilder::build(const std::map<std::string, std::string>
     }
 
     int size;
-    if (properties.find(ESScanReader::KEY_TERMINATE_AFTER) != properties.end()) {
+    bool is_scroll = properties.find(ESScanReader::KEY_TERMINATE_AFTER) == properties.end();
+    if (!is_scroll) {
         size = atoi(properties.at(ESScanReader::KEY_TERMINATE_AFTER).c_str());
     } else {
         size = atoi(properties.at(ESScanReader::KEY_BATCH_SIZE).c_str());
@@ -130,6 +131,15 @@ std::string ESScrollQueryBuilder::build(const std::map<std::string, std::string>
     es_query_dsl.AddMember("sort", sort_node, allocator);
     // number of docuements returned
     es_query_dsl.AddMember("size", size, allocator);
+    // slice is only allowed in a scroll request, a pushed down limit is sent by a plain search
+    if (is_scroll && properties.find(ESScanReader::KEY_SLICE_ID) != properties.end() &&
+        properties.find(ESScanReader::KEY_SLICE_MAX) != properties.end()) {
+        // sliced scroll, each slice only returns a disjoint part of the shard
+        rapidjson::Value slice_node(rapidjson::kObjectType);
+        slice_node.AddMember("id", atoi(properties.at(ESScanReader::KEY_SLICE_ID).c_str()), allocator);
+        slice_node.AddMember("max", atoi(properties.at(ESScanReader::KEY_SLICE_MAX).c_str()), allocator);
+        es_query_dsl.AddMember("slice", slice_node, allocator);
+    }
     rapidjson::StringBuffer buffer;
     rapidjson::Writer<rapidjson::StringBuffer> writer(buffer);
     es_query_dsl.Accept(writer);
@@ -425,8 +425,16 @@ void EsHttpScanNode::scanner_worker(int start_idx, int length, std::promise<Stat
     properties[ESScanReader::KEY_SHARD] = std::to_string(es_scan_range.shard_id);
     properties[ESScanReader::KEY_BATCH_SIZE] = std::to_string(_runtime_state->batch_size());
     properties[ESScanReader::KEY_HOST_PORT] = get_host_port(es_scan_range.es_hosts);
-    // push down limit to Elasticsearch
-    if (limit() != -1 && limit() <= _runtime_state->batch_size()) {
+    // one shard is scanned by several sliced scrolls
+    bool sliced = es_scan_range.__isset.slice_id && es_scan_range.__isset.slice_max;
+    if (sliced) {
+        properties[ESScanReader::KEY_SLICE_ID] = std::to_string(es_scan_range.slice_id);
+        properties[ESScanReader::KEY_SLICE_MAX] = std::to_string(es_scan_range.slice_max);
+    }
+    // push down limit to Elasticsearch.
+    // the limit is sent by a plain search instead of a scroll, which can not be sliced, so a sliced
+    // range keeps the scroll and the limit is applied by this node.
+    if (!sliced && limit() != -1 && limit() <= _runtime_state->batch_size()) {
         properties[ESScanReader::KEY_TERMINATE_AFTER] = std::to_string(limit());
     }
 
@@ -24,6 +24,7 @@
 #include <stdint.h>
 
 #include <map>
+#include <memory>
 #include <string>
 #include <vector>
 
@@ -41,7 +42,7 @@ public:
 
     virtual ~KafkaConsumerPipe() {}
 
-    Status append_with_row_delimiter(const char* data, size_t size, char row_delimiter) {
+    virtual Status append_with_row_delimiter(const char* data, size_t size, char row_delimiter) {
         Status st = append(data, size);
         if (!st.ok()) {
             return st;
@@ -52,7 +53,52 @@ public:
         return st;
     }
 
-    Status append_json(const char* data, size_t size, char row_delimiter) { return append_and_flush(data, size); }
+    virtual Status append_json(const char* data, size_t size, char row_delimiter) {
+        return append_and_flush(data, size);
+    }
+};
+
+// Used by a multi-table routine load task, the messages are appended to the pipes of route tables too,
+// so all fragments of the task read the same messages consumed once.
+class TeeKafkaConsumerPipe : public KafkaConsumerPipe {
+public:
+    explicit TeeKafkaConsumerPipe(std::vector<std::shared_ptr<KafkaConsumerPipe>> route_pipes)
+            : _route_pipes(std::move(route_pipes)) {}
+
+    ~TeeKafkaConsumerPipe() override = default;
+
+    Status append_with_row_delimiter(const char* data, size_t size, char row_delimiter) override {
+        RETURN_IF_ERROR(KafkaConsumerPipe::append_with_row_delimiter(data, size, row_delimiter));
+        for (auto& pipe : _route_pipes) {
+            RETURN_IF_ERROR(pipe->append_with_row_delimiter(data, size, row_delimiter));
+        }
+        return Status::OK();
+    }
+
+    Status append_json(const char* data, size_t size, char row_delimiter) override {
+        RETURN_IF_ERROR(KafkaConsumerPipe::append_json(data, size, row_delimiter));
+        for (auto& pipe : _route_pipes) {
+            RETURN_IF_ERROR(pipe->append_json(data, size, row_delimiter));
+        }
+        return Status::OK();
+    }
+
+    Status finish() override {
+        for (auto& pipe : _route_pipes) {
+            RETURN_IF_ERROR(pipe->finish());
+        }
+        return KafkaConsumerPipe::finish();
+    }
+
+    void cancel() override {
+        for (auto& pipe : _route_pipes) {
+            pipe->cancel();
+        }
+        KafkaConsumerPipe::cancel();
+    }
+
+private:
+    std::vector<std::shared_ptr<KafkaConsumerPipe>> _route_pipes;
 };
 
 } // end namespace starrocks
@@ -21,6 +21,7 @@
 
 #include "runtime/routine_load/routine_load_task_executor.h"
 
+#include <algorithm>
 #include <functional>
 #include <thread>
 
@@ -162,6 +163,10 @@ Status RoutineLoadTaskExecutor::submit_task(const TRoutineLoadTask& task) {
     if (task.__isset.format) {
         ctx->format = task.format;
     }
+    if (task.__isset.route_params) {
+        ctx->route_params = task.route_params;
+        ctx->check_loaded_rows = false;
+    }
     // the routine load task'txn has alreay began in FE.
     // so it need to rollback if encounter error.
     ctx->need_rollback = true;
@@ -228,9 +233,28 @@ void RoutineLoadTaskExecutor::exec_task(StreamLoadContext* ctx, DataConsumerPool
 
     // create and set pipe
     std::shared_ptr<StreamLoadPipe> pipe;
+    // contexts to load the route tables of a multi-table task
+    std::vector<StreamLoadContext*> route_ctxs;
+    DeferOp release_route_ctxs([&route_ctxs]() {
+        for (auto* route_ctx : route_ctxs) {
+            if (route_ctx->unref()) {
+                delete route_ctx;
+            }
+        }
+    });
     switch (ctx->load_src_type) {
     case TLoadSourceType::KAFKA: {
-        pipe = std::make_shared<KafkaConsumerPipe>();
+        if (ctx->route_params.empty()) {
+            pipe = std::make_shared<KafkaConsumerPipe>();
+        } else {
+            std::vector<std::shared_ptr<KafkaConsumerPipe>> route_pipes;
+            for (auto& params : ctx->route_params) {
+                StreamLoadContext* route_ctx = _create_route_ctx(ctx, params);
+                route_ctxs.push_back(route_ctx);
+                route_pipes.push_back(std::static_pointer_cast<KafkaConsumerPipe>(route_ctx->body_sink));
+            }
+            pipe = std::make_shared<TeeKafkaConsumerPipe>(std::move(route_pipes));
+        }
         Status st = std::static_pointer_cast<KafkaDataConsumerGroup>(consumer_grp)->assign_topic_partitions(ctx);
         if (!st.ok()) {
             err_handler(ctx, st, st.get_error_msg());
@@ -249,22 +273,77 @@ void RoutineLoadTaskExecutor::exec_task(StreamLoadContext* ctx, DataConsumerPool
     }
     ctx->body_sink = pipe;
 
+    // the pipes which are not taken by a fragment are never removed by the fragment, so remove them
+    // if the task fails. the pipes of route tables are cancelled with the task pipe in err_handler.
+    auto remove_pipes = [this, ctx, &route_ctxs]() {
+        if (route_ctxs.empty()) {
+            return;
+        }
+        _exec_env->load_stream_mgr()->remove(ctx->id);
+        for (auto* route_ctx : route_ctxs) {
+            _exec_env->load_stream_mgr()->remove(route_ctx->id);
+        }
+    };
+#define HANDLE_ROUTE_ERROR(stmt, err_msg)                                                    \
+    do {                                                                                     \
+        Status _route_status_ = (stmt);                                                      \
+        if (!_route_status_.ok() && _route_status_.code() != TStatusCode::PUBLISH_TIMEOUT) { \
+            remove_pipes();                                                                  \
+            HANDLE_ERROR(_route_status_, err_msg);                                           \
+        }                                                                                    \
+    } while (false);
+
     // must put pipe before executing plan fragment
     HANDLE_ERROR(_exec_env->load_stream_mgr()->put(ctx->id, pipe), "failed to add pipe");
+    for (auto* route_ctx : route_ctxs) {
+        HANDLE_ROUTE_ERROR(_exec_env->load_stream_mgr()->put(
+                                   route_ctx->id, std::static_pointer_cast<StreamLoadPipe>(route_ctx->body_sink)),
+                           "failed to add pipe of route table");
+    }
 
 #ifndef BE_TEST
+    for (auto* route_ctx : route_ctxs) {
+        HANDLE_ROUTE_ERROR(_exec_env->stream_load_executor()->execute_plan_fragment(route_ctx),
+                           "failed to execute plan fragment of route table");
+    }
     // execute plan fragment, async
-    HANDLE_ERROR(_exec_env->stream_load_executor()->execute_plan_fragment(ctx), "failed to execute plan fragment");
+    HANDLE_ROUTE_ERROR(_exec_env->stream_load_executor()->execute_plan_fragment(ctx),
+                       "failed to execute plan fragment");
 #else
     // only for test
     HANDLE_ERROR(_execute_plan_for_test(ctx), "test failed");
 #endif
 
     // start to consume, this may block a while
-    HANDLE_ERROR(consumer_grp->start_all(ctx), "consuming failed");
+    HANDLE_ROUTE_ERROR(consumer_grp->start_all(ctx), "consuming failed");
 
     // wait for all consumers finished
-    HANDLE_ERROR(ctx->future.get(), "consume failed");
+    HANDLE_ROUTE_ERROR(ctx->future.get(), "consume failed");
+
+    if (!route_ctxs.empty()) {
+        // all fragments read the same messages, a row is loaded into one table at most.
+        // a malformed message is filtered by every fragment, so take the max filtered rows of the fragments
+        // instead of the sum, otherwise it is counted once per table.
+        std::string error_urls = ctx->error_url;
+        for (auto* route_ctx : route_ctxs) {
+            HANDLE_ROUTE_ERROR(route_ctx->future.get(), "failed to load route table");
+            ctx->commit_infos.insert(ctx->commit_infos.end(), route_ctx->commit_infos.begin(),
+                                     route_ctx->commit_infos.end());
+            ctx->number_loaded_rows += route_ctx->number_loaded_rows;
+            ctx->number_filtered_rows = std::max(ctx->number_filtered_rows, route_ctx->number_filtered_rows);
+            ctx->loaded_bytes += route_ctx->loaded_bytes;
+            if (!route_ctx->error_url.empty()) {
+                error_urls += (error_urls.empty() ? "" : ", ") + route_ctx->error_url;
+            }
+        }
+        ctx->error_url = error_urls;
+        ctx->number_unselected_rows = std::max<int64_t>(
+                0, ctx->number_total_rows - ctx->number_loaded_rows - ctx->number_filtered_rows);
+        if (ctx->number_loaded_rows == 0) {
+            // NOTE: FE relies on this message to skip the messages without data
+            HANDLE_ERROR(Status::InternalError("all partitions have no load data"), "no data of all tables");
+        }
+    }
 
     ctx->load_cost_nanos = MonotonicNanos() - ctx->start_nanos;
 
@@ -314,6 +393,31 @@ void RoutineLoadTaskExecutor::exec_task(StreamLoadContext* ctx, DataConsumerPool
     cb(ctx);
 }
 
+StreamLoadContext* RoutineLoadTaskExecutor::_create_route_ctx(StreamLoadContext* ctx,
+                                                              const TExecPlanFragmentParams& params) {
+    auto* route_ctx = new StreamLoadContext(_exec_env);
+    route_ctx->load_type = ctx->load_type;
+    route_ctx->load_src_type = ctx->load_src_type;
+    route_ctx->job_id = ctx->job_id;
+    // the scan range of route fragment reads the pipe by its query id
+    route_ctx->id = UniqueId(params.params.query_id);
+    route_ctx->txn_id = ctx->txn_id;
+    route_ctx->db = ctx->db;
+    route_ctx->table = ctx->table;
+    route_ctx->label = ctx->label;
+    route_ctx->auth = ctx->auth;
+    route_ctx->format = ctx->format;
+    route_ctx->max_filter_ratio = ctx->max_filter_ratio;
+    route_ctx->check_loaded_rows = false;
+    route_ctx->put_result.params = params;
+    route_ctx->put_result.__isset.params = true;
+    // the txn is committed or rolled back by the task context
+    route_ctx->need_rollback = false;
+    route_ctx->body_sink = std::make_shared<KafkaConsumerPipe>();
+    route_ctx->ref();
+    return route_ctx;
+}
+
 void RoutineLoadTaskExecutor::err_handler(StreamLoadContext* ctx, const Status& st, const std::string& err_msg) {
     LOG(WARNING) << err_msg;
     ctx->status = st;
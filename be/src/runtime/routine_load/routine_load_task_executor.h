@@ -36,6 +36,7 @@ namespace starrocks {
 class ExecEnv;
 class Status;
 class StreamLoadContext;
+class TExecPlanFragmentParams;
 class TRoutineLoadTask;
 
 // A routine load task executor will receive routine load
@@ -86,6 +87,9 @@ private:
 
     void err_handler(StreamLoadContext* ctx, const Status& st, const std::string& err_msg);
 
+    // create the context to load a route table of the multi-table task, it shares the txn of task
+    StreamLoadContext* _create_route_ctx(StreamLoadContext* ctx, const TExecPlanFragmentParams& params);
+
     // for test only
     Status _execute_plan_for_test(StreamLoadContext* ctx);
 
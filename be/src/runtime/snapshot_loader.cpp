@@ -232,7 +232,6 @@ Status SnapshotLoader::download(const std::map<std::string, std::string>& src_to
         int64_t local_tablet_id = 0;
         int32_t schema_hash = 0;
         RETURN_IF_ERROR(_get_tablet_id_and_schema_hash_from_file_path(local_path, &local_tablet_id, &schema_hash));
-        downloaded_tablet_ids->push_back(local_tablet_id);
 
         int64_t remote_tablet_id;
         RETURN_IF_ERROR(_get_tablet_id_from_remote_path(remote_path, &remote_tablet_id));
@@ -380,6 +379,9 @@ Status SnapshotLoader::download(const std::map<std::string, std::string>& src_to
             }
         }
 
+        // only report the tablet as downloaded after all its files are downloaded,
+        // so that a failed task retries the tablet which was being downloaded.
+        downloaded_tablet_ids->push_back(local_tablet_id);
         finished_num++;
     } // end for src_to_dest_path
 
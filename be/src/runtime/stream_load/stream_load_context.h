@@ -189,6 +189,12 @@ public:
 
     std::unique_ptr<KafkaLoadInfo> kafka_info;
 
+    // plan fragments to load the route tables of a multi-table routine load task in the same txn
+    std::vector<TExecPlanFragmentParams> route_params;
+    // a multi-table routine load task checks the loaded rows of all its fragments together,
+    // so a table without data in this batch doesn't fail the task
+    bool check_loaded_rows = true;
+
     // consumer_id is used for data consumer cache key.
     // to identified a specified data consumer.
     int64_t consumer_id = 0;
@@ -70,7 +70,7 @@ Status StreamLoadExecutor::execute_plan_fragment(StreamLoadContext* ctx) {
                         // reasons,
                         // some users may rely on this error message.
                         status = Status::InternalError("too many filtered rows");
-                    } else if (ctx->number_loaded_rows == 0) {
+                    } else if (ctx->number_loaded_rows == 0 && ctx->check_loaded_rows) {
                         status = Status::InternalError("all partitions have no load data");
                     }
                     if (ctx->number_filtered_rows > 0 &&
@@ -94,7 +94,10 @@ Status StreamLoadExecutor::execute_plan_fragment(StreamLoadContext* ctx) {
                     switch (ctx->load_src_type) {
                     // reset the stream load ctx's kafka commit offset
                     case TLoadSourceType::KAFKA:
-                        ctx->kafka_info->reset_offset();
+                        // the contexts of route tables have no kafka info
+                        if (ctx->kafka_info != nullptr) {
+                            ctx->kafka_info->reset_offset();
+                        }
                         break;
                     default:
                         break;
@@ -350,6 +350,33 @@ void PInternalServiceImpl<T>::get_info(google::protobuf::RpcController* controll
         st.to_protobuf(response->mutable_status());
         return;
     }
+    // batch requests, a failed request doesn't fail the others
+    for (const auto& meta_request : request->kafka_meta_requests()) {
+        std::vector<int32_t> partition_ids;
+        Status st = _exec_env->routine_load_task_executor()->get_kafka_partition_meta(meta_request, &partition_ids);
+        PKafkaMetaProxyResult* kafka_result = response->add_kafka_meta_results();
+        if (st.ok()) {
+            for (int32_t id : partition_ids) {
+                kafka_result->add_partition_ids(id);
+            }
+        }
+        st.to_protobuf(kafka_result->mutable_status());
+    }
+    for (const auto& offset_request : request->kafka_offset_requests()) {
+        std::vector<int64_t> beginning_offsets;
+        std::vector<int64_t> latest_offsets;
+        Status st = _exec_env->routine_load_task_executor()->get_kafka_partition_offset(
+                offset_request, &beginning_offsets, &latest_offsets);
+        PKafkaOffsetProxyResult* result = response->add_kafka_offset_results();
+        if (st.ok()) {
+            for (int i = 0; i < beginning_offsets.size(); i++) {
+                result->add_partition_ids(offset_request.partition_ids(i));
+                result->add_beginning_offsets(beginning_offsets[i]);
+                result->add_latest_offsets(latest_offsets[i]);
+            }
+        }
+        st.to_protobuf(result->mutable_status());
+    }
     Status::OK().to_protobuf(response->mutable_status());
 }
 
@@ -247,6 +247,25 @@ TEST_F(MockESServerTest, workflow) {
     auto cst = reader.close();
     ASSERT_TRUE(cst.ok());
 }
+
+TEST(ESScrollQueryBuilderTest, slice_only_in_scroll) {
+    std::vector<std::string> fields = {"id", "value"};
+    std::map<std::string, std::string> props;
+    props[ESScanReader::KEY_BATCH_SIZE] = "1024";
+    props[ESScanReader::KEY_SLICE_ID] = "1";
+    props[ESScanReader::KEY_SLICE_MAX] = "4";
+    std::vector<EsPredicate*> predicates;
+    std::map<std::string, std::string> docvalue_context;
+    bool doc_value_mode = false;
+    std::string scroll_dsl = ESScrollQueryBuilder::build(props, fields, predicates, docvalue_context, &doc_value_mode);
+    ASSERT_NE(std::string::npos, scroll_dsl.find("\"slice\":{\"id\":1,\"max\":4}"));
+
+    // the pushed down limit is sent by a plain search, which does not allow slice
+    props[ESScanReader::KEY_TERMINATE_AFTER] = "10";
+    std::string search_dsl = ESScrollQueryBuilder::build(props, fields, predicates, docvalue_context, &doc_value_mode);
+    ASSERT_EQ(std::string::npos, search_dsl.find("slice"));
+    ASSERT_NE(std::string::npos, search_dsl.find("\"size\":10"));
+}
 } // namespace starrocks
 
 int main(int argc, char* argv[]) {
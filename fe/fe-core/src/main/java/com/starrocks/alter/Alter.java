@@ -81,11 +81,14 @@ public class Alter {
     private AlterHandler schemaChangeHandler;
     private AlterHandler materializedViewHandler;
     private SystemHandler clusterHandler;
+    // dispatch the alter replica tasks of both schema change and rollup jobs
+    private AlterTaskScheduler alterTaskScheduler;
 
     public Alter() {
         schemaChangeHandler = new SchemaChangeHandler();
         materializedViewHandler = new MaterializedViewHandler();
         clusterHandler = new SystemHandler();
+        alterTaskScheduler = new AlterTaskScheduler();
     }
 
     public void start() {
@@ -594,4 +597,8 @@ public class Alter {
     public AlterHandler getClusterHandler() {
         return this.clusterHandler;
     }
+
+    public AlterTaskScheduler getAlterTaskScheduler() {
+        return this.alterTaskScheduler;
+    }
 }
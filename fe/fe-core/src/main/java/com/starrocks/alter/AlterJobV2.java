@@ -22,11 +22,16 @@
 package com.starrocks.alter;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
 import com.google.gson.annotations.SerializedName;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.OlapTable.OlapTableState;
+import com.starrocks.catalog.PartitionKey;
+import com.starrocks.catalog.PartitionType;
+import com.starrocks.catalog.RangePartitionInfo;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeMetaVersion;
 import com.starrocks.common.io.Text;
@@ -38,6 +43,8 @@ import org.apache.logging.log4j.Logger;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 /*
@@ -184,6 +191,36 @@ public abstract class AlterJobV2 implements Writable {
         }
     }
 
+    /**
+     * Sort the partitions so that the recent partitions are altered first, because they are loaded and queried most.
+     * The range partition with larger upper bound is more recent, otherwise the partition created later is.
+     * The partitions without range come last.
+     */
+    protected static List<Long> sortPartitionsByPriority(OlapTable tbl, Collection<Long> partitionIds) {
+        List<Long> sortedIds = Lists.newArrayList(partitionIds);
+        if (tbl.getPartitionInfo().getType() == PartitionType.RANGE) {
+            RangePartitionInfo rangePartitionInfo = (RangePartitionInfo) tbl.getPartitionInfo();
+            Comparator<Long> comparator = (id1, id2) -> {
+                Range<PartitionKey> range1 = rangePartitionInfo.getRange(id1);
+                Range<PartitionKey> range2 = rangePartitionInfo.getRange(id2);
+                if (range1 == null || range2 == null) {
+                    if (range1 != null) {
+                        return -1;
+                    } else if (range2 != null) {
+                        return 1;
+                    }
+                    return Long.compare(id2, id1);
+                }
+                int cmp = range2.upperEndpoint().compareTo(range1.upperEndpoint());
+                return cmp != 0 ? cmp : Long.compare(id2, id1);
+            };
+            sortedIds.sort(comparator);
+        } else {
+            sortedIds.sort(Comparator.reverseOrder());
+        }
+        return sortedIds;
+    }
+
     /**
      * should be call before executing the job.
      * return false if table is not stable.
@@ -0,0 +1,123 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.alter;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Replica;
+import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
+import com.starrocks.system.Backend;
+import com.starrocks.task.AgentBatchTask;
+import com.starrocks.task.AgentTask;
+import com.starrocks.task.AgentTaskExecutor;
+import com.starrocks.task.AgentTaskQueue;
+import com.starrocks.task.AlterReplicaTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Dispatch the alter replica tasks of all schema change and rollup jobs.
+ *
+ * The tasks are grouped by the disks of the origin replicas, at most `alter_max_tasks_per_disk` tasks of a disk
+ * are running at the same time. The limit is halved for the backends whose max compaction score reported exceeds
+ * `alter_throttle_compaction_score`, which means the backend is busy with the loads.
+ * The tasks of a disk are sent in the order of submission, so the tasks of the earlier jobs are sent first,
+ * and the tasks of a job are sent in the order given by the job.
+ */
+public class AlterTaskScheduler {
+    private static final Logger LOG = LogManager.getLogger(AlterTaskScheduler.class);
+
+    // (be id, path hash) => tasks waiting to be sent
+    private final Map<Pair<Long, Long>, LinkedList<AlterReplicaTask>> diskToPendingTasks = Maps.newHashMap();
+    // (be id, path hash) => tasks sent and not finished
+    private final Map<Pair<Long, Long>, List<AlterReplicaTask>> diskToRunningTasks = Maps.newHashMap();
+
+    /*
+     * The tasks are not sent here, they are sent by schedule().
+     */
+    public synchronized void submitTasks(List<AlterReplicaTask> tasks) {
+        for (AlterReplicaTask task : tasks) {
+            diskToPendingTasks.computeIfAbsent(getDisk(task), k -> Lists.newLinkedList()).add(task);
+        }
+    }
+
+    /*
+     * Remove all the tasks of the job, the tasks sent are removed from AgentTaskQueue by the job.
+     */
+    public synchronized void removeTasks(long jobId) {
+        for (List<AlterReplicaTask> tasks : diskToPendingTasks.values()) {
+            tasks.removeIf(t -> t.getJobId() == jobId);
+        }
+        for (List<AlterReplicaTask> tasks : diskToRunningTasks.values()) {
+            tasks.removeIf(t -> t.getJobId() == jobId);
+        }
+    }
+
+    /*
+     * Send the pending tasks to the disks which have free slots.
+     */
+    public void schedule() {
+        AgentBatchTask batchTask = new AgentBatchTask();
+        synchronized (this) {
+            Iterator<Map.Entry<Pair<Long, Long>, LinkedList<AlterReplicaTask>>> iter =
+                    diskToPendingTasks.entrySet().iterator();
+            while (iter.hasNext()) {
+                Map.Entry<Pair<Long, Long>, LinkedList<AlterReplicaTask>> entry = iter.next();
+                LinkedList<AlterReplicaTask> pendingTasks = entry.getValue();
+                List<AlterReplicaTask> runningTasks =
+                        diskToRunningTasks.computeIfAbsent(entry.getKey(), k -> Lists.newArrayList());
+                runningTasks.removeIf(AgentTask::isFinished);
+
+                int maxRunningTasks = getMaxRunningTasks(entry.getKey().first);
+                while (runningTasks.size() < maxRunningTasks && !pendingTasks.isEmpty()) {
+                    AlterReplicaTask task = pendingTasks.poll();
+                    // the task which failed is resent by the report handler as long as it is in the queue
+                    AgentTaskQueue.addTask(task);
+                    batchTask.addTask(task);
+                    runningTasks.add(task);
+                }
+                if (pendingTasks.isEmpty()) {
+                    iter.remove();
+                }
+            }
+            diskToRunningTasks.values().removeIf(List::isEmpty);
+        }
+
+        if (batchTask.getTaskNum() > 0) {
+            AgentTaskExecutor.submit(batchTask);
+            LOG.debug("send {} alter tasks", batchTask.getTaskNum());
+        }
+    }
+
+    public synchronized int getPendingTaskNum() {
+        return diskToPendingTasks.values().stream().mapToInt(List::size).sum();
+    }
+
+    public synchronized int getRunningTaskNum() {
+        return diskToRunningTasks.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static Pair<Long, Long> getDisk(AlterReplicaTask task) {
+        // the task reads the origin replica on the same backend
+        Replica replica = Catalog.getCurrentInvertedIndex().getReplica(task.getBaseTabletId(), task.getBackendId());
+        long pathHash = replica == null ? -1 : replica.getPathHash();
+        return Pair.create(task.getBackendId(), pathHash);
+    }
+
+    private static int getMaxRunningTasks(long backendId) {
+        int maxRunningTasks = Math.max(Config.alter_max_tasks_per_disk, 1);
+        Backend backend = Catalog.getCurrentSystemInfo().getBackend(backendId);
+        if (backend != null && Config.alter_throttle_compaction_score > 0
+                && backend.getTabletMaxCompactionScore() > Config.alter_throttle_compaction_score) {
+            maxRunningTasks = Math.max(maxRunningTasks / 2, 1);
+        }
+        return maxRunningTasks;
+    }
+}
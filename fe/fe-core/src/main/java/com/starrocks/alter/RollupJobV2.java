@@ -348,6 +348,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
             throw new AlterCancelException("Databasee " + dbId + " does not exist");
         }
 
+        List<AlterReplicaTask> alterTasks = Lists.newArrayList();
         db.readLock();
         try {
             OlapTable tbl = (OlapTable) db.getTable(tableId);
@@ -355,8 +356,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
                 throw new AlterCancelException("Table " + tableId + " does not exist");
             }
             Preconditions.checkState(tbl.getState() == OlapTableState.ROLLUP);
-            for (Map.Entry<Long, MaterializedIndex> entry : this.partitionIdToRollupIndex.entrySet()) {
-                long partitionId = entry.getKey();
+            for (long partitionId : sortPartitionsByPriority(tbl, partitionIdToRollupIndex.keySet())) {
                 Partition partition = tbl.getPartition(partitionId);
                 Preconditions.checkNotNull(partition, partitionId);
 
@@ -364,7 +364,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
                 long visibleVersion = partition.getVisibleVersion();
                 long visibleVersionHash = partition.getVisibleVersionHash();
 
-                MaterializedIndex rollupIndex = entry.getValue();
+                MaterializedIndex rollupIndex = partitionIdToRollupIndex.get(partitionId);
                 Map<Long, Long> tabletIdMap = this.partitionIdToBaseRollupTabletIdMap.get(partitionId);
                 for (Tablet rollupTablet : rollupIndex.getTablets()) {
                     long rollupTabletId = rollupTablet.getId();
@@ -386,6 +386,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
                                 rollupSchemaHash, baseSchemaHash,
                                 visibleVersion, visibleVersionHash, jobId, JobType.ROLLUP, defineExprs);
                         rollupBatchTask.addTask(rollupTask);
+                        alterTasks.add(rollupTask);
                     }
                 }
             }
@@ -393,8 +394,10 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
             db.readUnlock();
         }
 
-        AgentTaskQueue.addBatchTask(rollupBatchTask);
-        AgentTaskExecutor.submit(rollupBatchTask);
+        // the tasks are sent by the scheduler with the limit of running tasks on each disk
+        AlterTaskScheduler scheduler = Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler();
+        scheduler.submitTasks(alterTasks);
+        scheduler.schedule();
         this.jobState = JobState.RUNNING;
 
         // DO NOT write edit log here, tasks will be send again if FE restart or master changed.
@@ -438,6 +441,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
                     throw new AlterCancelException("rollup task failed after try three times: " + task.getErrorMsg());
                 }
             }
+            Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler().schedule();
             return;
         }
 
@@ -532,6 +536,7 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
     private void cancelInternal() {
         // clear tasks if has
         AgentTaskQueue.removeBatchTask(rollupBatchTask, TTaskType.ALTER);
+        Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler().removeTasks(jobId);
         // remove all rollup indexes, and set state to NORMAL
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
         Database db = Catalog.getCurrentCatalog().getDb(dbId);
@@ -30,6 +30,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.alter.AlterJob.JobState;
+import com.starrocks.alter.SchemaChangeJobV2.SchemaChangeType;
 import com.starrocks.analysis.AddColumnClause;
 import com.starrocks.analysis.AddColumnsClause;
 import com.starrocks.analysis.AlterClause;
@@ -970,6 +971,12 @@ public class SchemaChangeHandler extends AlterHandler {
         long tableId = olapTable.getId();
         Map<Long, Short> indexIdToShortKeyColumnCount = Maps.newHashMap();
         Map<Long, List<Column>> changedIndexIdToSchema = Maps.newHashMap();
+        // the cost of the job is decided by the most expensive index
+        SchemaChangeType schemaChangeType = SchemaChangeType.METADATA_ONLY;
+        if (hasBfChange || hasIndexChange
+                || (storageFormat == TStorageFormat.V2 && olapTable.getStorageFormat() != TStorageFormat.V2)) {
+            schemaChangeType = SchemaChangeType.DIRECT;
+        }
         for (Long alterIndexId : indexSchemaMap.keySet()) {
             List<Column> originSchema = olapTable.getSchemaByIndexId(alterIndexId);
             List<Column> alterSchema = indexSchemaMap.get(alterIndexId);
@@ -1131,6 +1138,14 @@ public class SchemaChangeHandler extends AlterHandler {
             // 6. store the changed columns for edit log
             changedIndexIdToSchema.put(alterIndexId, alterSchema);
 
+            // 7. classify the schema change
+            SchemaChangeType indexSchemaChangeType = getSchemaChangeType(olapTable.getKeysTypeByIndexId(alterIndexId),
+                    originSchema, olapTable.getIndexMetaByIndexId(alterIndexId).getShortKeyColumnCount(),
+                    alterSchema, newShortKeyColumnCount);
+            if (indexSchemaChangeType.compareTo(schemaChangeType) > 0) {
+                schemaChangeType = indexSchemaChangeType;
+            }
+
             LOG.debug("schema change[{}-{}-{}] check pass.", dbId, tableId, alterIndexId);
         } // end for indices
 
@@ -1138,9 +1153,28 @@ public class SchemaChangeHandler extends AlterHandler {
             throw new DdlException("Nothing is changed. please check your alter stmt.");
         }
 
+        schemaChangeJob.setSchemaChangeType(schemaChangeType);
+        LOG.info("schema change type of table {} is {}", olapTable.getName(), schemaChangeType);
+
         // the following operations are done outside the 'for indices' loop
         // to avoid partial check success
 
+        if (schemaChangeType == SchemaChangeType.METADATA_ONLY) {
+            // no shadow index is needed, the schema of the origin indexes is replaced when the job runs
+            for (Map.Entry<Long, List<Column>> entry : changedIndexIdToSchema.entrySet()) {
+                long indexId = entry.getKey();
+                MaterializedIndexMeta currentIndexMeta = olapTable.getIndexMetaByIndexId(indexId);
+                schemaChangeJob.addIndexSchema(indexId, indexId, olapTable.getIndexNameById(indexId),
+                        currentIndexMeta.getSchemaVersion() + 1, currentIndexMeta.getSchemaHash(),
+                        indexIdToShortKeyColumnCount.get(indexId), entry.getValue());
+            }
+            olapTable.setState(OlapTableState.SCHEMA_CHANGE);
+            addAlterJobV2(schemaChangeJob);
+            Catalog.getCurrentCatalog().getEditLog().logAlterJob(schemaChangeJob);
+            LOG.info("finished to create metadata-only schema change job: {}", schemaChangeJob.getJobId());
+            return;
+        }
+
         /*
          * Create schema change job
          * 1. For each index which has been changed, create a SHADOW index, and save the mapping of origin index to SHADOW index.
@@ -1244,6 +1278,91 @@ public class SchemaChangeHandler extends AlterHandler {
         LOG.info("finished to create schema change job: {}", schemaChangeJob.getJobId());
     }
 
+    /*
+     * Classify how the data of an index is converted by the schema change. Except the metadata-only change,
+     * the rules are the same as the ones used by backend to choose the way of schema change.
+     */
+    static SchemaChangeType getSchemaChangeType(KeysType keysType, List<Column> originSchema,
+                                                short originShortKeyCount, List<Column> alterSchema,
+                                                short alterShortKeyCount) {
+        if (originShortKeyCount == alterShortKeyCount && isMetadataOnlyChange(originSchema, alterSchema)) {
+            return SchemaChangeType.METADATA_ONLY;
+        }
+
+        Map<String, Integer> originColumnIdx = Maps.newHashMap();
+        int originKeyNum = 0;
+        for (int i = 0; i < originSchema.size(); i++) {
+            originColumnIdx.put(originSchema.get(i).getName().toLowerCase(), i);
+            if (originSchema.get(i).isKey()) {
+                originKeyNum++;
+            }
+        }
+
+        // the referenced key columns must keep the same order, otherwise the data need to be sorted again
+        int alterKeyNum = 0;
+        int newKeyNum = 0;
+        for (int i = 0; i < alterSchema.size(); i++) {
+            Column alterColumn = alterSchema.get(i);
+            if (!alterColumn.isKey()) {
+                continue;
+            }
+            alterKeyNum++;
+            Integer refIdx = originColumnIdx.get(Column.removeNamePrefix(alterColumn.getName()).toLowerCase());
+            if (refIdx == null) {
+                newKeyNum++;
+            } else if (refIdx != i - newKeyNum) {
+                return SchemaChangeType.SORTING;
+            }
+        }
+        // the data should be aggregated again with less key columns
+        if (keysType != KeysType.DUP_KEYS && alterKeyNum < originKeyNum) {
+            return SchemaChangeType.SORTING;
+        }
+
+        if (newKeyNum > 0 || originShortKeyCount != alterShortKeyCount) {
+            return SchemaChangeType.DIRECT;
+        }
+        for (Column alterColumn : alterSchema) {
+            Integer refIdx = originColumnIdx.get(Column.removeNamePrefix(alterColumn.getName()).toLowerCase());
+            if (refIdx != null && !alterColumn.getType().equals(originSchema.get(refIdx).getType())) {
+                return SchemaChangeType.DIRECT;
+            }
+        }
+        // only value columns are added or dropped
+        return SchemaChangeType.LINKED;
+    }
+
+    /*
+     * The change is metadata-only if the columns are not added, dropped or reordered, and the only changes
+     * are the comments.
+     * Any change of the column type, even widening a varchar, must reach the tablet schema on backends,
+     * because backends size the buffers of the column by the length in the tablet schema, eg: the zone map.
+     * The schema hash is kept in a metadata-only change and no task is sent, so such changes are not allowed.
+     */
+    private static boolean isMetadataOnlyChange(List<Column> originSchema, List<Column> alterSchema) {
+        if (!Config.enable_metadata_only_schema_change || originSchema.size() != alterSchema.size()) {
+            return false;
+        }
+        for (int i = 0; i < originSchema.size(); i++) {
+            Column originColumn = originSchema.get(i);
+            Column alterColumn = alterSchema.get(i);
+            if (!Column.removeNamePrefix(alterColumn.getName()).equalsIgnoreCase(originColumn.getName())) {
+                return false;
+            }
+            if (!alterColumn.getType().equals(originColumn.getType())) {
+                return false;
+            }
+            // compare the columns except name and comment
+            Column copiedColumn = new Column(alterColumn);
+            copiedColumn.setName(originColumn.getName());
+            copiedColumn.setComment(originColumn.getComment());
+            if (!copiedColumn.equals(originColumn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected void runAfterCatalogReady() {
         super.runAfterCatalogReady();
@@ -1115,6 +1115,7 @@ public class SchemaChangeJob extends AlterJob {
                 jobInfo.add(cancelMsg);
                 jobInfo.add(FeConstants.null_string); // progress
                 jobInfo.add(Config.alter_table_timeout_second); // timeout
+                jobInfo.add(FeConstants.null_string); // schema change type
                 jobInfos.add(jobInfo);
                 return;
             }
@@ -1188,6 +1189,7 @@ public class SchemaChangeJob extends AlterJob {
                 jobInfo.add(FeConstants.null_string);
             }
             jobInfo.add(Config.alter_table_timeout_second);
+            jobInfo.add(FeConstants.null_string); // schema change type
 
             jobInfos.add(jobInfo);
         } // end for indexIds
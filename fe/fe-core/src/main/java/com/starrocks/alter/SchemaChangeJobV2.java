@@ -85,6 +85,18 @@ import java.util.concurrent.TimeUnit;
 public class SchemaChangeJobV2 extends AlterJobV2 {
     private static final Logger LOG = LogManager.getLogger(SchemaChangeJobV2.class);
 
+    // How the data of the origin index is converted, in ascending order of cost.
+    public enum SchemaChangeType {
+        // Only the meta of the table is changed, eg: change the comment of a column. No shadow index is created.
+        METADATA_ONLY,
+        // The data files of the origin tablets are hard linked to the shadow tablets, eg: add a value column.
+        LINKED,
+        // The data are rewritten row by row, eg: change the type of a column.
+        DIRECT,
+        // The data are rewritten and sorted again, eg: reorder the key columns.
+        SORTING
+    }
+
     // partition id -> (shadow index id -> (shadow tablet id -> origin tablet id))
     @SerializedName(value = "partitionIndexTabletMap")
     private Table<Long, Long, Map<Long, Long>> partitionIndexTabletMap = HashBasedTable.create();
@@ -126,6 +138,9 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
     protected long watershedTxnId = -1;
     @SerializedName(value = "storageFormat")
     private TStorageFormat storageFormat = TStorageFormat.DEFAULT;
+    // null for the jobs created before the type is introduced
+    @SerializedName(value = "schemaChangeType")
+    private SchemaChangeType schemaChangeType = null;
 
     // save all schema change tasks
     private AgentBatchTask schemaChangeBatchTask = new AgentBatchTask();
@@ -176,6 +191,19 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
         this.storageFormat = storageFormat;
     }
 
+    public void setSchemaChangeType(SchemaChangeType schemaChangeType) {
+        this.schemaChangeType = schemaChangeType;
+    }
+
+    public SchemaChangeType getSchemaChangeType() {
+        return schemaChangeType;
+    }
+
+    // the index ids in indexIdMap, indexIdToName and other index maps are the origin index ids in this case.
+    public boolean isMetadataOnly() {
+        return schemaChangeType == SchemaChangeType.METADATA_ONLY;
+    }
+
     /**
      * clear some date structure in this job to save memory
      * these data structures must not used in getInfo method
@@ -197,6 +225,10 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
     @Override
     protected void runPendingJob() throws AlterCancelException {
         Preconditions.checkState(jobState == JobState.PENDING, jobState);
+        if (isMetadataOnly()) {
+            runMetadataOnlyJob();
+            return;
+        }
         LOG.info("begin to send create replica tasks. job: {}", jobId);
         Database db = Catalog.getCurrentCatalog().getDb(dbId);
         if (db == null) {
@@ -379,6 +411,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             throw new AlterCancelException("Databasee " + dbId + " does not exist");
         }
 
+        List<AlterReplicaTask> alterTasks = Lists.newArrayList();
         db.readLock();
         try {
             OlapTable tbl = (OlapTable) db.getTable(tableId);
@@ -387,7 +420,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             }
             Preconditions.checkState(tbl.getState() == OlapTableState.SCHEMA_CHANGE);
 
-            for (long partitionId : partitionIndexMap.rowKeySet()) {
+            for (long partitionId : sortPartitionsByPriority(tbl, partitionIndexMap.rowKeySet())) {
                 Partition partition = tbl.getPartition(partitionId);
                 Preconditions.checkNotNull(partition, partitionId);
 
@@ -416,6 +449,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
                                     shadowSchemaHash, originSchemaHash,
                                     visibleVersion, visibleVersionHash, jobId, JobType.SCHEMA_CHANGE);
                             schemaChangeBatchTask.addTask(rollupTask);
+                            alterTasks.add(rollupTask);
                         }
                     }
                 }
@@ -424,8 +458,10 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             db.readUnlock();
         }
 
-        AgentTaskQueue.addBatchTask(schemaChangeBatchTask);
-        AgentTaskExecutor.submit(schemaChangeBatchTask);
+        // the tasks are sent by the scheduler with the limit of running tasks on each disk
+        AlterTaskScheduler scheduler = Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler();
+        scheduler.submitTasks(alterTasks);
+        scheduler.schedule();
 
         this.jobState = JobState.RUNNING;
 
@@ -471,6 +507,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
                             "schema change task failed after try three times: " + task.getErrorMsg());
                 }
             }
+            Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler().schedule();
             return;
         }
 
@@ -532,6 +569,49 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
         LOG.info("schema change job finished: {}", jobId);
     }
 
+    /*
+     * The metadata-only job does not touch the tablets, it just replaces the schema of the indexes
+     * and finishes at once.
+     */
+    private void runMetadataOnlyJob() throws AlterCancelException {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        if (db == null) {
+            throw new AlterCancelException("Database " + dbId + " does not exist");
+        }
+
+        db.writeLock();
+        try {
+            OlapTable tbl = (OlapTable) db.getTable(tableId);
+            if (tbl == null) {
+                throw new AlterCancelException("Table " + tableId + " does not exist");
+            }
+            Preconditions.checkState(tbl.getState() == OlapTableState.SCHEMA_CHANGE);
+            onMetadataOnlyFinished(tbl);
+        } finally {
+            db.writeUnlock();
+        }
+
+        this.jobState = JobState.FINISHED;
+        this.finishedTimeMs = System.currentTimeMillis();
+
+        // the schema is needed to replay this log, prune it after logging
+        Catalog.getCurrentCatalog().getEditLog().logAlterJob(this);
+        pruneMeta();
+        LOG.info("metadata-only schema change job finished: {}", jobId);
+    }
+
+    private void onMetadataOnlyFinished(OlapTable tbl) {
+        for (long indexId : indexIdMap.keySet()) {
+            SchemaVersionAndHash versionAndHash = indexSchemaVersionAndHashMap.get(indexId);
+            // the schema hash is not changed, because the tablets are not changed
+            tbl.setIndexMeta(indexId, null, indexSchemaMap.get(indexId), versionAndHash.schemaVersion,
+                    versionAndHash.schemaHash, indexShortKeyMap.get(indexId), null, null);
+            tbl.renameColumnNamePrefix(indexId);
+        }
+        tbl.rebuildFullSchema();
+        tbl.setState(OlapTableState.NORMAL);
+    }
+
     private void onFinished(OlapTable tbl) {
         // replace the origin index with shadow index, set index state as NORMAL
         for (Partition partition : tbl.getPartitions()) {
@@ -629,6 +709,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
     private void cancelInternal() {
         // clear tasks if has
         AgentTaskQueue.removeBatchTask(schemaChangeBatchTask, TTaskType.ALTER);
+        Catalog.getCurrentCatalog().getAlterInstance().getAlterTaskScheduler().removeTasks(jobId);
         // remove all shadow indexes, and set state to NORMAL
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
         Database db = Catalog.getCurrentCatalog().getDb(dbId);
@@ -650,8 +731,10 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
                             partition.deleteRollupIndex(shadowIdx.getId());
                         }
                     }
-                    for (String shadowIndexName : indexIdToName.values()) {
-                        tbl.deleteIndexInfo(shadowIndexName);
+                    if (!isMetadataOnly()) {
+                        for (String shadowIndexName : indexIdToName.values()) {
+                            tbl.deleteIndexInfo(shadowIndexName);
+                        }
                     }
                     tbl.setState(OlapTableState.NORMAL);
                 }
@@ -714,7 +797,8 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
         }
 
         this.watershedTxnId = replayedJob.watershedTxnId;
-        jobState = JobState.WAITING_TXN;
+        // the metadata-only job has no WAITING_TXN state
+        jobState = isMetadataOnly() ? JobState.PENDING : JobState.WAITING_TXN;
         LOG.info("replay pending schema change job: {}", jobId);
     }
 
@@ -758,7 +842,11 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             try {
                 OlapTable tbl = (OlapTable) db.getTable(tableId);
                 if (tbl != null) {
-                    onFinished(tbl);
+                    if (isMetadataOnly()) {
+                        onMetadataOnlyFinished(tbl);
+                    } else {
+                        onFinished(tbl);
+                    }
                 }
             } finally {
                 db.writeUnlock();
@@ -818,7 +906,8 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             info.add(TimeUtils.longToTimeString(createTimeMs));
             info.add(TimeUtils.longToTimeString(finishedTimeMs));
             // only show the origin index name
-            info.add(indexIdToName.get(shadowIndexId).substring(SchemaChangeHandler.SHADOW_NAME_PRFIX.length()));
+            info.add(isMetadataOnly() ? indexIdToName.get(shadowIndexId)
+                    : indexIdToName.get(shadowIndexId).substring(SchemaChangeHandler.SHADOW_NAME_PRFIX.length()));
             info.add(shadowIndexId);
             info.add(entry.getValue());
             info.add(indexSchemaVersionAndHashMap.get(shadowIndexId).toString());
@@ -827,6 +916,7 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
             info.add(errMsg);
             info.add(progress);
             info.add(timeoutMs / 1000);
+            info.add(schemaChangeType == null ? FeConstants.null_string : schemaChangeType.name());
             infos.add(info);
         }
     }
@@ -98,6 +98,11 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     public static final String JSONPATHS = "jsonpaths";
     public static final String JSONROOT = "json_root";
 
+    // route the rows to multiple tables by the value of route column, in the format of "value1:tbl1,value2:tbl2",
+    // the rows whose value is not in route tables are loaded into the table of job
+    public static final String ROUTE_COLUMN = "route_column";
+    public static final String ROUTE_TABLES = "route_tables";
+
     // kafka type properties
     public static final String KAFKA_BROKER_LIST_PROPERTY = "kafka_broker_list";
     public static final String KAFKA_TOPIC_PROPERTY = "kafka_topic";
@@ -119,6 +124,8 @@ public class CreateRoutineLoadStmt extends DdlStmt {
             .add(JSONPATHS)
             .add(STRIP_OUTER_ARRAY)
             .add(JSONROOT)
+            .add(ROUTE_COLUMN)
+            .add(ROUTE_TABLES)
             .add(LoadStmt.STRICT_MODE)
             .add(LoadStmt.TIMEZONE)
             .build();
@@ -158,6 +165,9 @@ public class CreateRoutineLoadStmt extends DdlStmt {
     private String jsonPaths = "";
     private String jsonRoot = ""; // MUST be a jsonpath string
     private boolean stripOuterArray = false;
+    private String routeColumn;
+    // route value => table name
+    private Map<String, String> routeTables = Maps.newLinkedHashMap();
 
     // kafka related properties
     private String kafkaBrokerList;
@@ -244,6 +254,14 @@ public class CreateRoutineLoadStmt extends DdlStmt {
         return jsonRoot;
     }
 
+    public String getRouteColumn() {
+        return routeColumn;
+    }
+
+    public Map<String, String> getRouteTables() {
+        return routeTables;
+    }
+
     public String getKafkaBrokerList() {
         return kafkaBrokerList;
     }
@@ -382,6 +400,38 @@ public class CreateRoutineLoadStmt extends DdlStmt {
         } else {
             format = "csv"; // default csv
         }
+
+        routeColumn = jobProperties.get(ROUTE_COLUMN);
+        String routeTablesStr = jobProperties.get(ROUTE_TABLES);
+        if (Strings.isNullOrEmpty(routeColumn) != Strings.isNullOrEmpty(routeTablesStr)) {
+            throw new AnalysisException(ROUTE_COLUMN + " and " + ROUTE_TABLES + " should be set together");
+        }
+        if (!Strings.isNullOrEmpty(routeTablesStr)) {
+            routeTables = parseRouteTables(routeTablesStr);
+            if (routeTables.containsValue(tableName)) {
+                throw new AnalysisException("table " + tableName + " should not be in " + ROUTE_TABLES
+                        + ", it's loaded with the rows not routed to other tables");
+            }
+        }
+    }
+
+    // "value1:tbl1,value2:tbl2" => route value to table name
+    public static Map<String, String> parseRouteTables(String routeTablesStr) throws AnalysisException {
+        Map<String, String> routeTables = Maps.newLinkedHashMap();
+        for (String item : routeTablesStr.split(",")) {
+            // table name never contains ':', but the value may
+            int idx = item.trim().lastIndexOf(':');
+            String value = idx < 0 ? "" : item.trim().substring(0, idx).trim();
+            String table = idx < 0 ? "" : item.trim().substring(idx + 1).trim();
+            if (value.isEmpty() || table.isEmpty()) {
+                throw new AnalysisException("invalid " + ROUTE_TABLES + " item: " + item
+                        + ", it should be in the format of \"value1:tbl1,value2:tbl2\"");
+            }
+            if (routeTables.put(value, table) != null) {
+                throw new AnalysisException("duplicate value " + value + " in " + ROUTE_TABLES);
+            }
+        }
+        return routeTables;
     }
 
     private void checkDataSourceProperties() throws AnalysisException {
@@ -67,6 +67,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -333,20 +334,31 @@ public class BackupHandler extends MasterDaemon implements Writable {
         if (!st.ok()) {
             ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, st.getErrMsg());
         }
+        String baseTimestamp = null;
         if (existSnapshotNames.contains(stmt.getLabel())) {
             if (stmt.getType() == BackupType.FULL) {
                 ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Snapshot with name '"
                         + stmt.getLabel() + "' already exist in repository");
             } else {
-                ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR, "Currently does not support "
-                        + "incremental backup");
+                // This is a incremental backup, the latest backup of the existing snapshot in repository
+                // will be treated as base backup.
+                // But first we need to check if the base backup has same meta.
+                List<String> timestamps = Lists.newArrayList();
+                st = repository.listBackupTimestamps(stmt.getLabel(), timestamps);
+                if (!st.ok()) {
+                    ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
+                            "Failed to list existing backups of snapshot " + stmt.getLabel() + ": "
+                                    + st.getErrMsg());
+                }
+                if (timestamps.isEmpty()) {
+                    ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
+                            "Can not make incremental backup. No finished backup of snapshot " + stmt.getLabel());
+                }
+                // the timestamp format yyyy-MM-dd-HH-mm-ss-SSS is ordered as string
+                baseTimestamp = Collections.max(timestamps);
 
-                // TODO:
-                // This is a incremental backup, the existing snapshot in repository will be treated
-                // as base snapshot.
-                // But first we need to check if the existing snapshot has same meta.
                 List<BackupMeta> backupMetas = Lists.newArrayList();
-                st = repository.getSnapshotMetaFile(stmt.getLabel(), backupMetas, -1, -1);
+                st = repository.getSnapshotMetaFile(stmt.getLabel(), baseTimestamp, backupMetas, -1, -1);
                 if (!st.ok()) {
                     ErrorReport.reportDdlException(ErrorCode.ERR_COMMON_ERROR,
                             "Failed to get existing meta info for repository: "
@@ -366,6 +378,7 @@ public class BackupHandler extends MasterDaemon implements Writable {
                 ClusterNamespace.getNameFromFullName(db.getFullName()),
                 tblRefs, stmt.getTimeoutMs(),
                 catalog, repository.getId());
+        backupJob.setBaseTimestamp(baseTimestamp);
         // write log
         catalog.getEditLog().logBackupJob(backupJob);
 
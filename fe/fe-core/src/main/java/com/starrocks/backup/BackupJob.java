@@ -25,11 +25,13 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicates;
 import com.google.common.base.Strings;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.analysis.TableRef;
+import com.starrocks.backup.BackupJobInfo.BackupIndexInfo;
+import com.starrocks.backup.BackupJobInfo.BackupPartitionInfo;
+import com.starrocks.backup.BackupJobInfo.BackupTableInfo;
 import com.starrocks.backup.Status.ErrCode;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
@@ -42,6 +44,8 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.common.StarRocksFEMetaVersion;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.common.util.UUIDUtil;
@@ -101,10 +105,17 @@ public class BackupJob extends AbstractJob {
     private Map<Long, Long> unfinishedTaskIds = Maps.newConcurrentMap();
     // tablet id -> snapshot info
     private Map<Long, SnapshotInfo> snapshotInfos = Maps.newConcurrentMap();
+    // schedule the upload tasks, not persisted because the tasks are resent after FE restarts
+    private SnapshotTransferScheduler transferScheduler = null;
+    private Map<Long, FsBroker> beToBroker = Maps.newHashMap();
     // save all related table[partition] info
     private BackupMeta backupMeta;
     // job info file content
     private BackupJobInfo jobInfo;
+    // the timestamp of the base backup with the same label if this is an incremental backup, otherwise null.
+    private String baseTimestamp = null;
+    // job info of the base backup, downloaded from repository when needed
+    private BackupJobInfo baseJobInfo = null;
 
     // save the local dir of this backup job
     // after job is done, this dir should be deleted
@@ -128,6 +139,14 @@ public class BackupJob extends AbstractJob {
         return state;
     }
 
+    public void setBaseTimestamp(String baseTimestamp) {
+        this.baseTimestamp = baseTimestamp;
+    }
+
+    public boolean isIncremental() {
+        return baseTimestamp != null;
+    }
+
     public BackupMeta getBackupMeta() {
         return backupMeta;
     }
@@ -186,7 +205,17 @@ public class BackupJob extends AbstractJob {
 
         if (request.getTask_status().getStatus_code() != TStatusCode.OK) {
             taskErrMsg.put(task.getSignature(), Joiner.on(",").join(request.getTask_status().getError_msgs()));
-            return false;
+            if (transferScheduler == null || unfinishedTaskIds.remove(task.getSignature()) == null) {
+                return false;
+            }
+            // only retry the snapshots which are not uploaded
+            taskProgress.remove(task.getSignature());
+            if (!transferScheduler.failTask(task.getSignature(), getUploadedTablets(request))) {
+                status = new Status(ErrCode.COMMON_ERROR, "failed to upload snapshots after retry: "
+                        + taskErrMsg.get(task.getSignature()));
+            }
+            LOG.info("upload task {} failed, retry the unfinished snapshots. {}", task.getSignature(), this);
+            return true;
         }
 
         Preconditions.checkState(request.isSetTablet_files());
@@ -232,11 +261,36 @@ public class BackupJob extends AbstractJob {
         taskProgress.remove(task.getSignature());
         Long oldValue = unfinishedTaskIds.remove(task.getSignature());
         taskErrMsg.remove(task.getTabletId());
+        if (oldValue != null && transferScheduler != null) {
+            transferScheduler.finishTask(task.getSignature());
+        }
         LOG.debug("get finished upload snapshot task, unfinished tasks num: {}, remove result: {}. {}",
                 unfinishedTaskIds.size(), (oldValue != null), this);
         return oldValue != null;
     }
 
+    // Return the tablets whose files are all uploaded by the failed task
+    private List<Long> getUploadedTablets(TFinishTaskRequest request) {
+        List<Long> tabletIds = Lists.newArrayList();
+        if (!request.isSetTablet_files()) {
+            return tabletIds;
+        }
+        for (Map.Entry<Long, List<String>> entry : request.getTablet_files().entrySet()) {
+            SnapshotInfo info = snapshotInfos.get(entry.getKey());
+            if (info == null) {
+                continue;
+            }
+            List<String> uploadedFiles = entry.getValue();
+            List<String> files = uploadedFiles.stream()
+                    .map(name -> Repository.decodeFileNameWithChecksum(name).first).collect(Collectors.toList());
+            if (files.size() == info.getFiles().size() && files.containsAll(info.getFiles())) {
+                info.setFiles(uploadedFiles);
+                tabletIds.add(entry.getKey());
+            }
+        }
+        return tabletIds;
+    }
+
     @Override
     public synchronized void replayRun() {
         // Backup process does not change any current catalog state,
@@ -344,6 +398,10 @@ public class BackupJob extends AbstractJob {
             return;
         }
 
+        if (!loadBaseJobInfo()) {
+            return;
+        }
+
         // generate job id
         jobId = catalog.getNextId();
         AgentBatchTask batchTask = new AgentBatchTask();
@@ -396,6 +454,12 @@ public class BackupJob extends AbstractJob {
                 for (Partition partition : partitions) {
                     long visibleVersion = partition.getVisibleVersion();
                     long visibleVersionHash = partition.getVisibleVersionHash();
+                    if (isUnchangedSinceBaseBackup(tbl, partition)) {
+                        // the tablets of the base backup are reused
+                        LOG.info("skip snapshot for partition {} which is not changed since backup {}, version: {}",
+                                partition.getId(), baseTimestamp, visibleVersion);
+                        continue;
+                    }
                     List<MaterializedIndex> indexes = partition.getMaterializedIndices(IndexExtState.VISIBLE);
                     for (MaterializedIndex index : indexes) {
                         int schemaHash = tbl.getSchemaHashByIndexId(index.getId());
@@ -457,6 +521,54 @@ public class BackupJob extends AbstractJob {
         LOG.info("finished to send snapshot tasks to backend. {}", this);
     }
 
+    private boolean loadBaseJobInfo() {
+        if (baseTimestamp == null || baseJobInfo != null) {
+            return true;
+        }
+        List<BackupJobInfo> infos = Lists.newArrayList();
+        Status st = repo.getSnapshotInfoFile(label, baseTimestamp, infos);
+        if (!st.ok()) {
+            status = new Status(ErrCode.COMMON_ERROR, "failed to get info of base backup " + baseTimestamp
+                    + ": " + st.getErrMsg());
+            return false;
+        }
+        Preconditions.checkState(infos.size() == 1);
+        baseJobInfo = infos.get(0);
+        return true;
+    }
+
+    /*
+     * The partition is unchanged if its version is same as the one in the base backup, and all of its tablets
+     * have been saved by the base backup.
+     */
+    private boolean isUnchangedSinceBaseBackup(OlapTable tbl, Partition partition) {
+        if (baseJobInfo == null) {
+            return false;
+        }
+        BackupTableInfo tblInfo = baseJobInfo.getTableInfo(tbl.getName());
+        if (tblInfo == null || tblInfo.id != tbl.getId()) {
+            return false;
+        }
+        BackupPartitionInfo partInfo = tblInfo.getPartInfo(partition.getName());
+        if (partInfo == null || partInfo.id != partition.getId()
+                || partInfo.version != partition.getVisibleVersion()
+                || partInfo.versionHash != partition.getVisibleVersionHash()) {
+            return false;
+        }
+        for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+            BackupIndexInfo idxInfo = partInfo.getIdx(tbl.getIndexNameById(index.getId()));
+            if (idxInfo == null || idxInfo.id != index.getId()) {
+                return false;
+            }
+            for (Tablet tablet : index.getTablets()) {
+                if (idxInfo.getTablet(tablet.getId()) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void waitingAllSnapshotsFinished() {
         if (unfinishedTaskIds.isEmpty()) {
             snapshotFinishedTime = System.currentTimeMillis();
@@ -477,47 +589,55 @@ public class BackupJob extends AbstractJob {
         taskProgress.clear();
         taskErrMsg.clear();
 
-        // We classify the snapshot info by backend
-        ArrayListMultimap<Long, SnapshotInfo> beToSnapshots = ArrayListMultimap.create();
+        beToBroker.clear();
+        TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
+        List<SnapshotTransferScheduler.TransferUnit> units = Lists.newArrayList();
         for (SnapshotInfo info : snapshotInfos.values()) {
-            beToSnapshots.put(info.getBeId(), info);
+            long beId = info.getBeId();
+            if (!beToBroker.containsKey(beId)) {
+                List<FsBroker> brokers = Lists.newArrayList();
+                Status st = repo.getBrokerAddress(beId, catalog, brokers);
+                if (!st.ok()) {
+                    status = st;
+                    return;
+                }
+                Preconditions.checkState(brokers.size() == 1);
+                beToBroker.put(beId, brokers.get(0));
+            }
+
+            // the snapshot is on the same disk with the replica
+            Replica replica = invertedIndex.getReplica(info.getTabletId(), beId);
+            long pathHash = replica == null ? -1 : replica.getPathHash();
+            String src = info.getTabletPath();
+            String dest;
+            if (isIncremental()) {
+                dest = repo.getRepoPath(label, BackupJobInfo.getIncrementalFilePath(info.getDbId(),
+                        info.getTblId(), info.getPartitionId(), info.getIndexId(), info.getTabletId(), createTime));
+            } else {
+                dest = repo.getRepoTabletPathBySnapshotInfo(label, info);
+            }
+            units.add(new SnapshotTransferScheduler.TransferUnit(info.getTabletId(), beId, pathHash, src, dest,
+                    info.getFiles().size()));
         }
+        transferScheduler = new SnapshotTransferScheduler(units);
+        sendUploadTasks();
+
+        state = BackupJobState.UPLOADING;
 
+        // DO NOT write log here, upload tasks will be resend after FE crashed.
+        LOG.info("finished to send upload tasks. {}", this);
+    }
+
+    private void sendUploadTasks() {
         AgentBatchTask batchTask = new AgentBatchTask();
-        for (Long beId : beToSnapshots.keySet()) {
-            List<SnapshotInfo> infos = beToSnapshots.get(beId);
-            int totalNum = infos.size();
-            // each backend allot at most 3 tasks
-            int batchNum = Math.min(totalNum, 3);
-            // each task contains several upload sub tasks
-            int taskNumPerBatch = Math.max(totalNum / batchNum, 1);
-            LOG.info("backend {} has {} batch, total {} tasks, {}", beId, batchNum, totalNum, this);
-
-            List<FsBroker> brokers = Lists.newArrayList();
-            Status st = repo.getBrokerAddress(beId, catalog, brokers);
-            if (!st.ok()) {
-                status = st;
-                return;
-            }
-            Preconditions.checkState(brokers.size() == 1);
-
-            // allot tasks
-            int index = 0;
-            for (int batch = 0; batch < batchNum; batch++) {
-                Map<String, String> srcToDest = Maps.newHashMap();
-                int currentBatchTaskNum = (batch == batchNum - 1) ? totalNum - index : taskNumPerBatch;
-                for (int j = 0; j < currentBatchTaskNum; j++) {
-                    SnapshotInfo info = infos.get(index++);
-                    String src = info.getTabletPath();
-                    String dest = repo.getRepoTabletPathBySnapshotInfo(label, info);
-                    srcToDest.put(src, dest);
-                }
-                long signature = catalog.getNextId();
-                UploadTask task = new UploadTask(null, beId, signature, jobId, dbId, srcToDest,
-                        brokers.get(0), repo.getStorage().getProperties());
-                batchTask.addTask(task);
-                unfinishedTaskIds.put(signature, beId);
-            }
+        for (AgentTask task : transferScheduler.schedule((beId, srcToDest) -> new UploadTask(null, beId,
+                catalog.getNextId(), jobId, dbId, srcToDest, beToBroker.get(beId),
+                repo.getStorage().getProperties()))) {
+            batchTask.addTask(task);
+            unfinishedTaskIds.put(task.getSignature(), task.getBackendId());
+        }
+        if (batchTask.getTaskNum() == 0) {
+            return;
         }
 
         // send tasks
@@ -525,15 +645,12 @@ public class BackupJob extends AbstractJob {
             AgentTaskQueue.addTask(task);
         }
         AgentTaskExecutor.submit(batchTask);
-
-        state = BackupJobState.UPLOADING;
-
-        // DO NOT write log here, upload tasks will be resend after FE crashed.
-        LOG.info("finished to send upload tasks. {}", this);
+        LOG.debug("send {} upload tasks, progress: {}. {}", batchTask.getTaskNum(),
+                transferScheduler.getProgress(), this);
     }
 
     private void waitingAllUploadingFinished() {
-        if (unfinishedTaskIds.isEmpty()) {
+        if (unfinishedTaskIds.isEmpty() && (transferScheduler == null || transferScheduler.isDone())) {
             snapshopUploadFinishedTime = System.currentTimeMillis();
             state = BackupJobState.SAVE_META;
 
@@ -543,6 +660,10 @@ public class BackupJob extends AbstractJob {
             return;
         }
 
+        // send the pending tasks to the disks on which some tasks finished
+        if (transferScheduler != null) {
+            sendUploadTasks();
+        }
         LOG.debug("waiting {} tablets to upload snapshot. {}", unfinishedTaskIds.size(), this);
     }
 
@@ -578,8 +699,11 @@ public class BackupJob extends AbstractJob {
             localMetaInfoFilePath = metaInfoFile.getAbsolutePath();
 
             // 3. save job info file
+            if (!loadBaseJobInfo()) {
+                return;
+            }
             jobInfo = BackupJobInfo.fromCatalog(createTime, label, dbName, dbId, backupMeta.getTables().values(),
-                    snapshotInfos);
+                    snapshotInfos, baseJobInfo);
             LOG.debug("job info: {}. {}", jobInfo, this);
             File jobInfoFile = new File(jobDir, Repository.PREFIX_JOB_INFO + createTimeStr);
             if (!jobInfoFile.createNewFile()) {
@@ -627,7 +751,8 @@ public class BackupJob extends AbstractJob {
     }
 
     private void uploadMetaAndJobInfoFile() {
-        String remoteMetaInfoFile = repo.assembleMetaInfoFilePath(label);
+        // the meta of the base backup is still needed to restore the base backup
+        String remoteMetaInfoFile = repo.assembleMetaInfoFilePath(label, isIncremental() ? createTime : -1);
         if (!uploadFile(localMetaInfoFilePath, remoteMetaInfoFile)) {
             return;
         }
@@ -743,9 +868,7 @@ public class BackupJob extends AbstractJob {
         info.add(TimeUtils.longToTimeString(snapshopUploadFinishedTime));
         info.add(TimeUtils.longToTimeString(finishedTime));
         info.add(Joiner.on(", ").join(unfinishedTaskIds.entrySet()));
-        info.add(Joiner.on(", ").join(taskProgress.entrySet().stream().map(
-                e -> "[" + e.getKey() + ": " + e.getValue().first + "/" + e.getValue().second + "]").collect(
-                Collectors.toList())));
+        info.add(getProgress());
         info.add(Joiner.on(", ").join(taskErrMsg.entrySet().stream().map(n -> "[" + n.getKey() + ": " + n.getValue()
                 + "]").collect(Collectors.toList())));
         info.add(status.toString());
@@ -753,6 +876,17 @@ public class BackupJob extends AbstractJob {
         return info;
     }
 
+    private String getProgress() {
+        String taskProgressStr = Joiner.on(", ").join(taskProgress.entrySet().stream().map(
+                e -> "[" + e.getKey() + ": " + e.getValue().first + "/" + e.getValue().second + "]").collect(
+                Collectors.toList()));
+        SnapshotTransferScheduler scheduler = transferScheduler;
+        if (scheduler == null || state != BackupJobState.UPLOADING) {
+            return taskProgressStr;
+        }
+        return scheduler.getProgress() + (taskProgressStr.isEmpty() ? "" : "; " + taskProgressStr);
+    }
+
     private String getBackupObjs() {
         List<String> list = tableRefs.stream().map(n -> "[" + n.toString() + "]").collect(Collectors.toList());
         return Joiner.on(", ").join(list);
@@ -811,6 +945,14 @@ public class BackupJob extends AbstractJob {
             out.writeBoolean(true);
             Text.writeString(out, localJobInfoFilePath);
         }
+
+        // base backup of incremental backup
+        if (baseTimestamp == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            Text.writeString(out, baseTimestamp);
+        }
     }
 
     public void readFields(DataInput in) throws IOException {
@@ -854,12 +996,21 @@ public class BackupJob extends AbstractJob {
         if (in.readBoolean()) {
             localJobInfoFilePath = Text.readString(in);
         }
+
+        if (Catalog.getCurrentCatalogStarRocksJournalVersion() >= StarRocksFEMetaVersion.VERSION_4) {
+            if (in.readBoolean()) {
+                baseTimestamp = Text.readString(in);
+            }
+        }
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(super.toString());
         sb.append(", state: ").append(state.name());
+        if (baseTimestamp != null) {
+            sb.append(", base backup: ").append(baseTimestamp);
+        }
         return sb.toString();
     }
 }
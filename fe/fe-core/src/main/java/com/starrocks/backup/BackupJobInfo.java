@@ -179,6 +179,43 @@ public class BackupJobInfo implements Writable {
     public static class BackupTabletInfo {
         public long id;
         public List<String> files = Lists.newArrayList();
+        // The path relative to the snapshot content dir, if the tablet is not saved in the default path.
+        // eg: the changed tablets of an incremental backup, or the unchanged tablets reused from the base backup.
+        public String path;
+    }
+
+    public BackupTabletInfo getTabletInfo(long tblId, long partId, long idxId, long tabletId) {
+        for (BackupTableInfo tblInfo : tables.values()) {
+            if (tblInfo.id != tblId) {
+                continue;
+            }
+            for (BackupPartitionInfo partInfo : tblInfo.partitions.values()) {
+                if (partInfo.id != partId) {
+                    continue;
+                }
+                for (BackupIndexInfo idxInfo : partInfo.indexes.values()) {
+                    if (idxInfo.id == idxId) {
+                        return idxInfo.getTablet(tabletId);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // eg: __db_10001/__tbl_10002/__part_10003/__idx_10002/__inc_1633867200000/__10004
+    // the tablet id must be the last segment, which is parsed by backend.
+    public static String getIncrementalFilePath(long dbId, long tblId, long partId, long idxId, long tabletId,
+                                                long backupTime) {
+        List<String> pathSeg = Lists.newArrayList();
+        pathSeg.add(Repository.PREFIX_DB + dbId);
+        pathSeg.add(Repository.PREFIX_TBL + tblId);
+        pathSeg.add(Repository.PREFIX_PART + partId);
+        pathSeg.add(Repository.PREFIX_IDX + idxId);
+        pathSeg.add(Repository.PREFIX_INCREMENTAL + backupTime);
+        pathSeg.add(Repository.PREFIX_COMMON + tabletId);
+
+        return Joiner.on("/").join(pathSeg);
     }
 
     // eg: __db_10001/__tbl_10002/__part_10003/__idx_10002/__10004
@@ -218,6 +255,12 @@ public class BackupJobInfo implements Writable {
 
     // eg: __db_10001/__tbl_10002/__part_10003/__idx_10002/__10004
     public String getFilePath(IdChain ids) {
+        BackupTabletInfo tabletInfo = getTabletInfo(ids.getTblId(), ids.getPartId(), ids.getIdxId(),
+                ids.getTabletId());
+        if (tabletInfo != null && tabletInfo.path != null) {
+            return tabletInfo.path;
+        }
+
         List<String> pathSeg = Lists.newArrayList();
         pathSeg.add(Repository.PREFIX_DB + dbId);
         pathSeg.add(Repository.PREFIX_TBL + ids.getTblId());
@@ -228,8 +271,14 @@ public class BackupJobInfo implements Writable {
         return Joiner.on("/").join(pathSeg);
     }
 
+    /*
+     * baseJobInfo is the job info of the base backup if this is an incremental backup, otherwise it is null.
+     * The tablets which are not in snapshotInfos are not changed since the base backup, and are saved in the same
+     * path as the base backup.
+     */
     public static BackupJobInfo fromCatalog(long backupTime, String label, String dbName, long dbId,
-                                            Collection<Table> tbls, Map<Long, SnapshotInfo> snapshotInfos) {
+                                            Collection<Table> tbls, Map<Long, SnapshotInfo> snapshotInfos,
+                                            BackupJobInfo baseJobInfo) {
 
         BackupJobInfo jobInfo = new BackupJobInfo();
         jobInfo.backupTime = backupTime;
@@ -266,7 +315,20 @@ public class BackupJobInfo implements Writable {
                     for (Tablet tablet : index.getTablets()) {
                         BackupTabletInfo tabletInfo = new BackupTabletInfo();
                         tabletInfo.id = tablet.getId();
-                        tabletInfo.files.addAll(snapshotInfos.get(tablet.getId()).getFiles());
+                        SnapshotInfo snapshotInfo = snapshotInfos.get(tablet.getId());
+                        if (snapshotInfo != null) {
+                            tabletInfo.files.addAll(snapshotInfo.getFiles());
+                            if (baseJobInfo != null) {
+                                tabletInfo.path = getIncrementalFilePath(dbId, tbl.getId(), partition.getId(),
+                                        index.getId(), tablet.getId(), backupTime);
+                            }
+                        } else {
+                            BackupTabletInfo baseTabletInfo = baseJobInfo.getTabletInfo(tbl.getId(),
+                                    partition.getId(), index.getId(), tablet.getId());
+                            Preconditions.checkNotNull(baseTabletInfo, "tablet " + tablet.getId());
+                            tabletInfo.files.addAll(baseTabletInfo.files);
+                            tabletInfo.path = baseTabletInfo.path;
+                        }
                         idxInfo.tablets.add(tabletInfo);
                     }
                 }
@@ -315,7 +377,11 @@ public class BackupJobInfo implements Writable {
          *                               "10004": ["__10027_seg1.dat", "__10027_seg2.dat"],
          *                               "10005": ["__10028_seg1.dat", "__10028_seg2.dat"]
          *                           },
-         *                           "tablets_order": ["10027, "10028"]
+         *                           "tablets_order": ["10027, "10028"],
+         *                           // optional, for the tablets not in the default path
+         *                           "tablets_path": {
+         *                               "10005": "__db_10000/__tbl_10001/__part_10007/__idx_10008/__inc_1/__10005"
+         *                           }
          *                       }
          *                   },
          *                   "id": 10007
@@ -380,6 +446,10 @@ public class BackupJobInfo implements Writable {
                     }
                     String[] orderedTabletIds = sortTabletIds(tabletIds, tabletsOrder);
                     Preconditions.checkState(tabletIds.length == orderedTabletIds.length);
+                    JSONObject tabletsPath = null;
+                    if (idx.has("tablets_path")) {
+                        tabletsPath = idx.getJSONObject("tablets_path");
+                    }
 
                     for (String tabletId : orderedTabletIds) {
                         BackupTabletInfo tabletInfo = new BackupTabletInfo();
@@ -388,6 +458,9 @@ public class BackupJobInfo implements Writable {
                         for (Object object : files) {
                             tabletInfo.files.add((String) object);
                         }
+                        if (tabletsPath != null && tabletsPath.has(tabletId)) {
+                            tabletInfo.path = tabletsPath.getString(tabletId);
+                        }
                         indexInfo.tablets.add(tabletInfo);
                     }
                     partInfo.indexes.put(indexInfo.name, indexInfo);
@@ -466,6 +539,7 @@ public class BackupJobInfo implements Writable {
                         idx.put("schema_hash", idxInfo.schemaHash);
                         JSONObject tablets = new JSONObject();
                         JSONArray tabletsOrder = new JSONArray();
+                        JSONObject tabletsPath = new JSONObject();
                         idx.put("tablets", tablets);
                         for (BackupTabletInfo tabletInfo : idxInfo.tablets) {
                             JSONArray files = new JSONArray();
@@ -475,6 +549,12 @@ public class BackupJobInfo implements Writable {
                             }
                             // to save the order of tablets
                             tabletsOrder.put(String.valueOf(tabletInfo.id));
+                            if (tabletInfo.path != null) {
+                                tabletsPath.put(String.valueOf(tabletInfo.id), tabletInfo.path);
+                            }
+                        }
+                        if (tabletsPath.length() > 0) {
+                            idx.put("tablets_path", tabletsPath);
                         }
                         indexes.put(idxInfo.name, idx);
                     }
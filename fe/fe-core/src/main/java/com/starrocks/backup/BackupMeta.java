@@ -22,6 +22,9 @@
 package com.starrocks.backup;
 
 import com.google.common.collect.Maps;
+import com.starrocks.catalog.MaterializedIndexMeta;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.io.Writable;
 import com.starrocks.meta.MetaContext;
@@ -94,9 +97,42 @@ public class BackupMeta implements Writable {
         }
     }
 
+    /*
+     * Check if this meta is compatible with the meta of the base backup of an incremental backup.
+     * All the tables, partitions and indexes of the base snapshot must remain with the same ids and schema hashes,
+     * so that the tablets of the base snapshot can still be restored with this meta.
+     * New partitions are allowed.
+     */
     public boolean compatibleWith(BackupMeta other) {
-        // TODO
-        return false;
+        for (Table otherTbl : other.tblNameMap.values()) {
+            Table tbl = tblNameMap.get(otherTbl.getName());
+            if (tbl == null || tbl.getId() != otherTbl.getId()) {
+                LOG.info("table {} does not exist or has been changed", otherTbl.getName());
+                return false;
+            }
+            if (!(tbl instanceof OlapTable) || !(otherTbl instanceof OlapTable)) {
+                return false;
+            }
+            OlapTable olapTbl = (OlapTable) tbl;
+            OlapTable otherOlapTbl = (OlapTable) otherTbl;
+            for (Map.Entry<Long, MaterializedIndexMeta> entry : otherOlapTbl.getIndexIdToMeta().entrySet()) {
+                MaterializedIndexMeta indexMeta = olapTbl.getIndexIdToMeta().get(entry.getKey());
+                if (indexMeta == null || indexMeta.getSchemaHash() != entry.getValue().getSchemaHash()) {
+                    LOG.info("index {} of table {} does not exist or has been changed", entry.getKey(),
+                            otherTbl.getName());
+                    return false;
+                }
+            }
+            for (Partition otherPartition : otherOlapTbl.getPartitions()) {
+                Partition partition = olapTbl.getPartition(otherPartition.getName());
+                if (partition == null || partition.getId() != otherPartition.getId()) {
+                    LOG.info("partition {} of table {} does not exist or has been changed", otherPartition.getName(),
+                            otherTbl.getName());
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     public static BackupMeta read(DataInput in) throws IOException {
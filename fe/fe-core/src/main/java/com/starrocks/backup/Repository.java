@@ -88,6 +88,7 @@ public class Repository implements Writable {
     public static final String PREFIX_IDX = "__idx_";
     public static final String PREFIX_COMMON = "__";
     public static final String PREFIX_JOB_INFO = "__info_";
+    public static final String PREFIX_INCREMENTAL = "__inc_";
 
     public static final String SUFFIX_TMP_FILE = "part";
 
@@ -217,9 +218,16 @@ public class Repository implements Writable {
 
     // eg: location/__palo_repository_repo_name/__my_sp1/__meta
     public String assembleMetaInfoFilePath(String label) {
+        return assembleMetaInfoFilePath(label, -1);
+    }
+
+    // The meta of an incremental backup is saved with the timestamp of the backup, so that it will not
+    // conflict with the meta of the other backups of the same snapshot.
+    // eg: location/__palo_repository_repo_name/__my_sp1/__meta_2018-01-01-08-00-00
+    public String assembleMetaInfoFilePath(String label, long createTime) {
         return Joiner.on(PATH_DELIMITER).join(location, joinPrefix(PREFIX_REPO, name),
                 joinPrefix(PREFIX_SNAPSHOT_DIR, label),
-                FILE_META_INFO);
+                metaInfoFileNameWithTimestamp(createTime));
     }
 
     // eg: location/__palo_repository_repo_name/__my_sp1/__info_2018-01-01-08-00-00
@@ -334,9 +342,50 @@ public class Repository implements Writable {
         return Status.OK;
     }
 
+    // List the timestamps of all the finished backups of the snapshot, eg: 2018-04-18-20-11-00-123
+    public Status listBackupTimestamps(String label, List<String> timestamps) {
+        String infoFilePath = assembleJobInfoFilePath(label, -1);
+        List<RemoteFile> results = Lists.newArrayList();
+        Status st = storage.list(infoFilePath + "*", results);
+        if (!st.ok()) {
+            return st;
+        }
+        for (RemoteFile file : results) {
+            // skip the temp file, eg: __info_2018-04-18-20-11-00.part
+            Pair<String, String> pureFileName = decodeFileNameWithChecksum(file.getName());
+            if (pureFileName == null) {
+                continue;
+            }
+            timestamps.add(disjoinPrefix(PREFIX_JOB_INFO, pureFileName.first));
+        }
+        return Status.OK;
+    }
+
     public Status getSnapshotMetaFile(String label, List<BackupMeta> backupMetas, int metaVersion,
                                       int starrocksMetaVersion) {
+        return getSnapshotMetaFile(label, null, backupMetas, metaVersion, starrocksMetaVersion);
+    }
+
+    // Get the meta of the backup with the given timestamp. The full backup and the backups before
+    // incremental backup was supported only have the meta file without timestamp.
+    public Status getSnapshotMetaFile(String label, String backupTimestamp, List<BackupMeta> backupMetas,
+                                      int metaVersion, int starrocksMetaVersion) {
         String remoteMetaFilePath = assembleMetaInfoFilePath(label);
+        if (backupTimestamp != null) {
+            List<RemoteFile> results = Lists.newArrayList();
+            Status st = storage.list(remoteMetaFilePath + "*", results);
+            if (!st.ok()) {
+                return st;
+            }
+            String metaFileName = FILE_META_INFO + "_" + backupTimestamp;
+            for (RemoteFile file : results) {
+                Pair<String, String> pureFileName = decodeFileNameWithChecksum(file.getName());
+                if (pureFileName != null && pureFileName.first.equals(metaFileName)) {
+                    remoteMetaFilePath = remoteMetaFilePath + "_" + backupTimestamp;
+                    break;
+                }
+            }
+        }
         File localMetaFile = new File(BackupHandler.BACKUP_ROOT_DIR + PATH_DELIMITER
                 + "meta_" + System.currentTimeMillis());
 
@@ -415,6 +464,13 @@ public class Repository implements Writable {
         if (!status.ok()) {
             return status;
         }
+        // the pattern also matches the files with the same prefix, eg: __meta_2018-01-01-08-00-00 of __meta,
+        // and the temp file left by a failed upload.
+        String fileName = remoteFilePath.substring(remoteFilePath.lastIndexOf(PATH_DELIMITER) + 1);
+        remoteFiles.removeIf(file -> {
+            Pair<String, String> pureFileName = decodeFileNameWithChecksum(file.getName());
+            return pureFileName == null || !pureFileName.first.equals(fileName);
+        });
         if (remoteFiles.size() != 1) {
             return new Status(ErrCode.COMMON_ERROR,
                     "Expected one file with path: " + remoteFilePath + ". get: " + remoteFiles.size());
@@ -473,6 +529,17 @@ public class Repository implements Writable {
         }
     }
 
+    // join meta info file name with timestamp
+    // eg: __meta_2018-01-01-08-00-00
+    private static String metaInfoFileNameWithTimestamp(long createTime) {
+        if (createTime == -1) {
+            return FILE_META_INFO;
+        } else {
+            return FILE_META_INFO + "_"
+                    + TimeUtils.longToTimeString(createTime, new SimpleDateFormat(BackupJob.TIMESTAMP_FORMAT));
+        }
+    }
+
     // join the name with specified prefix
     private static String joinPrefix(String prefix, Object name) {
         return prefix + name;
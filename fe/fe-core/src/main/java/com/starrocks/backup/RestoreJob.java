@@ -23,7 +23,6 @@ package com.starrocks.backup;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
@@ -142,6 +141,10 @@ public class RestoreJob extends AbstractJob {
 
     private Map<Long, Long> unfinishedSignatureToId = Maps.newConcurrentMap();
 
+    // schedule the download tasks, not persisted because the tasks are resent after FE restarts
+    private SnapshotTransferScheduler transferScheduler = null;
+    private Map<Long, FsBroker> beToBroker = Maps.newHashMap();
+
     // the meta version is used when reading backup meta from file.
     // we do not persist this field, because this is just a temporary solution.
     // the true meta version should be get from backup job info, which is saved when doing backup job.
@@ -213,7 +216,19 @@ public class RestoreJob extends AbstractJob {
 
     public synchronized boolean finishTabletDownloadTask(DownloadTask task, TFinishTaskRequest request) {
         if (checkTaskStatus(task, task.getJobId(), request)) {
-            return false;
+            if (transferScheduler == null || unfinishedSignatureToId.remove(task.getSignature()) == null) {
+                return false;
+            }
+            // only retry the snapshots which are not downloaded
+            taskProgress.remove(task.getSignature());
+            List<Long> downloadedTabletIds = request.isSetDownloaded_tablet_ids()
+                    ? request.getDownloaded_tablet_ids() : Lists.newArrayList();
+            if (!transferScheduler.failTask(task.getSignature(), downloadedTabletIds)) {
+                status = new Status(ErrCode.COMMON_ERROR, "failed to download snapshots after retry: "
+                        + taskErrMsg.get(task.getSignature()));
+            }
+            LOG.info("download task {} failed, retry the unfinished snapshots. {}", task.getSignature(), this);
+            return true;
         }
 
         Preconditions.checkState(request.isSetDownloaded_tablet_ids());
@@ -233,6 +248,9 @@ public class RestoreJob extends AbstractJob {
             LOG.error("invalid download task: {}. {}", task, this);
             return false;
         }
+        if (transferScheduler != null) {
+            transferScheduler.finishTask(task.getSignature());
+        }
 
         taskErrMsg.remove(task.getSignature());
         return true;
@@ -885,7 +903,7 @@ public class RestoreJob extends AbstractJob {
 
     private boolean downloadAndDeserializeMetaInfo() {
         List<BackupMeta> backupMetas = Lists.newArrayList();
-        Status st = repo.getSnapshotMetaFile(jobInfo.name, backupMetas,
+        Status st = repo.getSnapshotMetaFile(jobInfo.name, backupTimestamp, backupMetas,
                 this.metaVersion == -1 ? jobInfo.metaVersion : this.metaVersion,
                 this.starrocksMetaVersion == -1 ? jobInfo.starrocksMetaVersion : this.starrocksMetaVersion);
         if (!st.ok()) {
@@ -983,44 +1001,35 @@ public class RestoreJob extends AbstractJob {
     }
 
     private void downloadSnapshots() {
-        // Categorize snapshot infos by db id.
-        ArrayListMultimap<Long, SnapshotInfo> dbToSnapshotInfos = ArrayListMultimap.create();
-        for (SnapshotInfo info : snapshotInfos.values()) {
-            dbToSnapshotInfos.put(info.getDbId(), info);
+        Database db = catalog.getDb(dbId);
+        if (db == null) {
+            status = new Status(ErrCode.NOT_FOUND, "db " + dbId + " does not exist");
+            return;
+        }
+
+        // the number of files of each tablet in repository
+        Map<Long, Integer> repoTabletToFileNum = Maps.newHashMap();
+        for (BackupJobInfo.BackupTableInfo tblInfo : jobInfo.tables.values()) {
+            for (BackupJobInfo.BackupPartitionInfo partInfo : tblInfo.partitions.values()) {
+                for (BackupJobInfo.BackupIndexInfo idxInfo : partInfo.indexes.values()) {
+                    for (BackupJobInfo.BackupTabletInfo tabletInfo : idxInfo.tablets) {
+                        repoTabletToFileNum.put(tabletInfo.id, tabletInfo.files.size());
+                    }
+                }
+            }
         }
 
         // Send download tasks
         unfinishedSignatureToId.clear();
         taskProgress.clear();
         taskErrMsg.clear();
-        AgentBatchTask batchTask = new AgentBatchTask();
-        for (long dbId : dbToSnapshotInfos.keySet()) {
-            List<SnapshotInfo> infos = dbToSnapshotInfos.get(dbId);
-
-            Database db = catalog.getDb(dbId);
-            if (db == null) {
-                status = new Status(ErrCode.NOT_FOUND, "db " + dbId + " does not exist");
-                return;
-            }
-
-            // We classify the snapshot info by backend
-            ArrayListMultimap<Long, SnapshotInfo> beToSnapshots = ArrayListMultimap.create();
-            for (SnapshotInfo info : infos) {
-                beToSnapshots.put(info.getBeId(), info);
-            }
-
-            db.readLock();
-            try {
-                for (Long beId : beToSnapshots.keySet()) {
-                    List<SnapshotInfo> beSnapshotInfos = beToSnapshots.get(beId);
-                    int totalNum = beSnapshotInfos.size();
-                    // each backend allot at most 3 tasks
-                    int batchNum = Math.min(totalNum, 3);
-                    // each task contains several upload sub tasks
-                    int taskNumPerBatch = Math.max(totalNum / batchNum, 1);
-                    LOG.debug("backend {} has {} batch, total {} tasks, {}",
-                            beId, batchNum, totalNum, this);
-
+        beToBroker.clear();
+        List<SnapshotTransferScheduler.TransferUnit> units = Lists.newArrayList();
+        db.readLock();
+        try {
+            for (SnapshotInfo info : snapshotInfos.values()) {
+                long beId = info.getBeId();
+                if (!beToBroker.containsKey(beId)) {
                     List<FsBroker> brokerAddrs = Lists.newArrayList();
                     Status st = repo.getBrokerAddress(beId, catalog, brokerAddrs);
                     if (!st.ok()) {
@@ -1028,88 +1037,96 @@ public class RestoreJob extends AbstractJob {
                         return;
                     }
                     Preconditions.checkState(brokerAddrs.size() == 1);
+                    beToBroker.put(beId, brokerAddrs.get(0));
+                }
 
-                    // allot tasks
-                    int index = 0;
-                    for (int batch = 0; batch < batchNum; batch++) {
-                        Map<String, String> srcToDest = Maps.newHashMap();
-                        int currentBatchTaskNum = (batch == batchNum - 1) ? totalNum - index : taskNumPerBatch;
-                        for (int j = 0; j < currentBatchTaskNum; j++) {
-                            SnapshotInfo info = beSnapshotInfos.get(index++);
-                            Table tbl = db.getTable(info.getTblId());
-                            if (tbl == null) {
-                                status = new Status(ErrCode.NOT_FOUND, "restored table "
-                                        + info.getTabletId() + " does not exist");
-                                return;
-                            }
-                            OlapTable olapTbl = (OlapTable) tbl;
-
-                            Partition part = olapTbl.getPartition(info.getPartitionId());
-                            if (part == null) {
-                                status = new Status(ErrCode.NOT_FOUND, "partition "
-                                        + info.getPartitionId() + " does not exist in restored table: "
-                                        + tbl.getName());
-                                return;
-                            }
+                Table tbl = db.getTable(info.getTblId());
+                if (tbl == null) {
+                    status = new Status(ErrCode.NOT_FOUND, "restored table "
+                            + info.getTabletId() + " does not exist");
+                    return;
+                }
+                OlapTable olapTbl = (OlapTable) tbl;
 
-                            MaterializedIndex idx = part.getIndex(info.getIndexId());
-                            if (idx == null) {
-                                status = new Status(ErrCode.NOT_FOUND,
-                                        "index " + info.getIndexId() + " does not exist in partion " + part.getName()
-                                                + "of restored table " + tbl.getName());
-                                return;
-                            }
+                Partition part = olapTbl.getPartition(info.getPartitionId());
+                if (part == null) {
+                    status = new Status(ErrCode.NOT_FOUND, "partition "
+                            + info.getPartitionId() + " does not exist in restored table: "
+                            + tbl.getName());
+                    return;
+                }
 
-                            Tablet tablet = idx.getTablet(info.getTabletId());
-                            if (tablet == null) {
-                                status = new Status(ErrCode.NOT_FOUND,
-                                        "tablet " + info.getTabletId() + " does not exist in restored table "
-                                                + tbl.getName());
-                                return;
-                            }
+                MaterializedIndex idx = part.getIndex(info.getIndexId());
+                if (idx == null) {
+                    status = new Status(ErrCode.NOT_FOUND,
+                            "index " + info.getIndexId() + " does not exist in partion " + part.getName()
+                                    + "of restored table " + tbl.getName());
+                    return;
+                }
 
-                            Replica replica = tablet.getReplicaByBackendId(info.getBeId());
-                            if (replica == null) {
-                                status = new Status(ErrCode.NOT_FOUND,
-                                        "replica in be " + info.getBeId() + " of tablet "
-                                                + tablet.getId() + " does not exist in restored table "
-                                                + tbl.getName());
-                                return;
-                            }
+                Tablet tablet = idx.getTablet(info.getTabletId());
+                if (tablet == null) {
+                    status = new Status(ErrCode.NOT_FOUND,
+                            "tablet " + info.getTabletId() + " does not exist in restored table "
+                                    + tbl.getName());
+                    return;
+                }
 
-                            IdChain catalogIds = new IdChain(tbl.getId(), part.getId(), idx.getId(),
-                                    info.getTabletId(), replica.getId());
-                            IdChain repoIds = fileMapping.get(catalogIds);
-                            if (repoIds == null) {
-                                status = new Status(ErrCode.NOT_FOUND,
-                                        "failed to get id mapping of catalog ids: " + catalogIds.toString());
-                                LOG.info("current file mapping: {}", fileMapping);
-                                return;
-                            }
+                Replica replica = tablet.getReplicaByBackendId(info.getBeId());
+                if (replica == null) {
+                    status = new Status(ErrCode.NOT_FOUND,
+                            "replica in be " + info.getBeId() + " of tablet "
+                                    + tablet.getId() + " does not exist in restored table "
+                                    + tbl.getName());
+                    return;
+                }
 
-                            String repoTabletPath = jobInfo.getFilePath(repoIds);
-
-                            // eg:
-                            // bos://location/__starrocks_repository_my_repo/_ss_my_ss/_ss_content/__db_10000/
-                            // __tbl_10001/__part_10002/_idx_10001/__10003
-                            String src = repo.getRepoPath(label, repoTabletPath);
-                            SnapshotInfo snapshotInfo = snapshotInfos.get(info.getTabletId(), info.getBeId());
-                            Preconditions.checkNotNull(snapshotInfo, info.getTabletId() + "-" + info.getBeId());
-                            // download to previous exist snapshot dir
-                            String dest = snapshotInfo.getTabletPath();
-                            srcToDest.put(src, dest);
-                            LOG.debug("create download src path: {}, dest path: {}", src, dest);
-                        }
-                        long signature = catalog.getNextId();
-                        DownloadTask task = new DownloadTask(null, beId, signature, jobId, dbId,
-                                srcToDest, brokerAddrs.get(0), repo.getStorage().getProperties());
-                        batchTask.addTask(task);
-                        unfinishedSignatureToId.put(signature, beId);
-                    }
+                IdChain catalogIds = new IdChain(tbl.getId(), part.getId(), idx.getId(),
+                        info.getTabletId(), replica.getId());
+                IdChain repoIds = fileMapping.get(catalogIds);
+                if (repoIds == null) {
+                    status = new Status(ErrCode.NOT_FOUND,
+                            "failed to get id mapping of catalog ids: " + catalogIds.toString());
+                    LOG.info("current file mapping: {}", fileMapping);
+                    return;
                 }
-            } finally {
-                db.readUnlock();
+
+                String repoTabletPath = jobInfo.getFilePath(repoIds);
+
+                // eg:
+                // bos://location/__starrocks_repository_my_repo/_ss_my_ss/_ss_content/__db_10000/
+                // __tbl_10001/__part_10002/_idx_10001/__10003
+                String src = repo.getRepoPath(label, repoTabletPath);
+                SnapshotInfo snapshotInfo = snapshotInfos.get(info.getTabletId(), info.getBeId());
+                Preconditions.checkNotNull(snapshotInfo, info.getTabletId() + "-" + info.getBeId());
+                // download to previous exist snapshot dir
+                String dest = snapshotInfo.getTabletPath();
+                LOG.debug("create download src path: {}, dest path: {}", src, dest);
+                units.add(new SnapshotTransferScheduler.TransferUnit(info.getTabletId(), beId,
+                        replica.getPathHash(), src, dest, repoTabletToFileNum.getOrDefault(repoIds.getTabletId(), 0)));
             }
+        } finally {
+            db.readUnlock();
+        }
+        transferScheduler = new SnapshotTransferScheduler(units);
+        int taskNum = sendDownloadTasks();
+
+        state = RestoreJobState.DOWNLOADING;
+
+        // No edit log here
+        LOG.info("finished to send download tasks to BE. num: {}. {}", taskNum, this);
+    }
+
+    private int sendDownloadTasks() {
+        AgentBatchTask batchTask = new AgentBatchTask();
+        for (AgentTask task : transferScheduler.schedule((beId, srcToDest) -> new DownloadTask(null, beId,
+                catalog.getNextId(), jobId, dbId, srcToDest, beToBroker.get(beId),
+                repo.getStorage().getProperties()))) {
+            batchTask.addTask(task);
+            unfinishedSignatureToId.put(task.getSignature(), task.getBackendId());
+        }
+        if (batchTask.getTaskNum() == 0) {
+            return 0;
         }
 
         // send task
@@ -1117,16 +1134,11 @@ public class RestoreJob extends AbstractJob {
             AgentTaskQueue.addTask(task);
         }
         AgentTaskExecutor.submit(batchTask);
-
-        state = RestoreJobState.DOWNLOADING;
-
-        // No edit log here
-        LOG.info("finished to send download tasks to BE. num: {}. {}", batchTask.getTaskNum(), this);
-        return;
+        return batchTask.getTaskNum();
     }
 
     private void waitingAllDownloadFinished() {
-        if (unfinishedSignatureToId.isEmpty()) {
+        if (unfinishedSignatureToId.isEmpty() && (transferScheduler == null || transferScheduler.isDone())) {
             downloadFinishedTime = System.currentTimeMillis();
             state = RestoreJobState.COMMIT;
 
@@ -1135,6 +1147,12 @@ public class RestoreJob extends AbstractJob {
 
             catalog.getEditLog().logRestoreJob(this);
             LOG.info("finished to download. {}", this);
+            return;
+        }
+
+        // send the pending tasks to the disks on which some tasks finished
+        if (transferScheduler != null) {
+            sendDownloadTasks();
         }
 
         LOG.info("waiting {} tasks to finish downloading from repo. {}", unfinishedSignatureToId.size(), this);
@@ -1288,9 +1306,7 @@ public class RestoreJob extends AbstractJob {
         info.add(TimeUtils.longToTimeString(downloadFinishedTime));
         info.add(TimeUtils.longToTimeString(finishedTime));
         info.add(Joiner.on(", ").join(unfinishedSignatureToId.entrySet()));
-        info.add(Joiner.on(", ").join(taskProgress.entrySet().stream().map(
-                e -> "[" + e.getKey() + ": " + e.getValue().first + "/" + e.getValue().second + "]").collect(
-                Collectors.toList())));
+        info.add(getProgress());
         info.add(Joiner.on(", ").join(taskErrMsg.entrySet().stream().map(n -> "[" + n.getKey() + ": " + n.getValue()
                 + "]").collect(Collectors.toList())));
         info.add(status.toString());
@@ -1298,6 +1314,17 @@ public class RestoreJob extends AbstractJob {
         return info;
     }
 
+    private String getProgress() {
+        String taskProgressStr = Joiner.on(", ").join(taskProgress.entrySet().stream().map(
+                e -> "[" + e.getKey() + ": " + e.getValue().first + "/" + e.getValue().second + "]").collect(
+                Collectors.toList()));
+        SnapshotTransferScheduler scheduler = transferScheduler;
+        if (scheduler == null || state != RestoreJobState.DOWNLOADING) {
+            return taskProgressStr;
+        }
+        return scheduler.getProgress() + (taskProgressStr.isEmpty() ? "" : "; " + taskProgressStr);
+    }
+
     private String getRestoreObjs() {
         Preconditions.checkState(jobInfo != null);
         return jobInfo.getInfo();
@@ -0,0 +1,203 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.backup;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
+import com.starrocks.task.AgentTask;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/*
+ * Schedule the upload tasks of a backup job, or the download tasks of a restore job.
+ *
+ * The tablet snapshots are grouped by the disks of the backends, and packed into tasks with similar number of files.
+ * At most `max_backup_restore_transfer_tasks_per_disk` tasks of a disk are running at the same time, the rest of
+ * tasks are sent when the running ones finish.
+ * A failed task is not retried as a whole, only its unfinished snapshots are retried, each in a separated task.
+ * The files which have been transferred are skipped by backend in the retry.
+ */
+public class SnapshotTransferScheduler {
+
+    public static class TransferUnit {
+        private final long tabletId;
+        private final long beId;
+        private final long pathHash;
+        private final String src;
+        private final String dest;
+        private final int fileNum;
+        private int failedTimes = 0;
+
+        public TransferUnit(long tabletId, long beId, long pathHash, String src, String dest, int fileNum) {
+            this.tabletId = tabletId;
+            this.beId = beId;
+            this.pathHash = pathHash;
+            this.src = src;
+            this.dest = dest;
+            // the snapshot is transferred even if it has no files
+            this.fileNum = Math.max(fileNum, 1);
+        }
+
+        public long getTabletId() {
+            return tabletId;
+        }
+    }
+
+    private static class TransferTask {
+        private final List<TransferUnit> units = Lists.newArrayList();
+        private long fileNum = 0;
+
+        public void addUnit(TransferUnit unit) {
+            units.add(unit);
+            fileNum += unit.fileNum;
+        }
+    }
+
+    public interface TaskCreator {
+        AgentTask createTask(long beId, Map<String, String> srcToDest);
+    }
+
+    // (be id, path hash) => tasks waiting to be sent
+    private final Map<Pair<Long, Long>, Deque<TransferTask>> diskToPendingTasks = Maps.newLinkedHashMap();
+    private final Map<Pair<Long, Long>, Integer> diskToRunningTaskNum = Maps.newHashMap();
+    private final Map<Long, TransferTask> signatureToRunningTask = Maps.newHashMap();
+
+    private final int totalUnitNum;
+    private final long totalFileNum;
+    private int finishedUnitNum = 0;
+    private long finishedFileNum = 0;
+    private long startTimeMs = -1;
+
+    public SnapshotTransferScheduler(Collection<TransferUnit> units) {
+        Map<Pair<Long, Long>, List<TransferUnit>> diskToUnits = Maps.newLinkedHashMap();
+        long fileNum = 0;
+        for (TransferUnit unit : units) {
+            diskToUnits.computeIfAbsent(Pair.create(unit.beId, unit.pathHash), k -> Lists.newArrayList()).add(unit);
+            fileNum += unit.fileNum;
+        }
+        for (Map.Entry<Pair<Long, Long>, List<TransferUnit>> entry : diskToUnits.entrySet()) {
+            diskToPendingTasks.put(entry.getKey(), pack(entry.getValue()));
+        }
+        this.totalUnitNum = units.size();
+        this.totalFileNum = fileNum;
+    }
+
+    /*
+     * Pack the units of a disk into tasks, so that the running tasks are always full and each task has at most
+     * `max_backup_restore_transfer_files_per_task` files if possible.
+     * The largest unit is added to the task with the fewest files first.
+     */
+    private static Deque<TransferTask> pack(List<TransferUnit> units) {
+        long fileNum = units.stream().mapToLong(u -> u.fileNum).sum();
+        int maxFilesPerTask = Math.max(Config.max_backup_restore_transfer_files_per_task, 1);
+        int maxRunningTasks = Math.max(Config.max_backup_restore_transfer_tasks_per_disk, 1);
+        int taskNum = (int) Math.max(Math.min(units.size(), maxRunningTasks),
+                Math.min(units.size(), (fileNum + maxFilesPerTask - 1) / maxFilesPerTask));
+
+        PriorityQueue<TransferTask> tasks = new PriorityQueue<>(taskNum, Comparator.comparingLong(t -> t.fileNum));
+        for (int i = 0; i < taskNum; i++) {
+            tasks.add(new TransferTask());
+        }
+        List<TransferUnit> sortedUnits = Lists.newArrayList(units);
+        sortedUnits.sort(Comparator.comparingInt((TransferUnit u) -> u.fileNum).reversed());
+        for (TransferUnit unit : sortedUnits) {
+            TransferTask task = tasks.poll();
+            task.addUnit(unit);
+            tasks.add(task);
+        }
+        return new LinkedList<>(tasks);
+    }
+
+    /*
+     * Create the tasks to run on the disks which have free slots.
+     */
+    public synchronized List<AgentTask> schedule(TaskCreator creator) {
+        if (startTimeMs == -1) {
+            startTimeMs = System.currentTimeMillis();
+        }
+        int maxRunningTasks = Math.max(Config.max_backup_restore_transfer_tasks_per_disk, 1);
+        List<AgentTask> agentTasks = Lists.newArrayList();
+        for (Map.Entry<Pair<Long, Long>, Deque<TransferTask>> entry : diskToPendingTasks.entrySet()) {
+            Deque<TransferTask> pendingTasks = entry.getValue();
+            int runningNum = diskToRunningTaskNum.getOrDefault(entry.getKey(), 0);
+            while (runningNum < maxRunningTasks && !pendingTasks.isEmpty()) {
+                TransferTask task = pendingTasks.poll();
+                Map<String, String> srcToDest = Maps.newHashMap();
+                for (TransferUnit unit : task.units) {
+                    srcToDest.put(unit.src, unit.dest);
+                }
+                AgentTask agentTask = creator.createTask(entry.getKey().first, srcToDest);
+                signatureToRunningTask.put(agentTask.getSignature(), task);
+                agentTasks.add(agentTask);
+                runningNum++;
+            }
+            diskToRunningTaskNum.put(entry.getKey(), runningNum);
+        }
+        return agentTasks;
+    }
+
+    public synchronized void finishTask(long signature) {
+        TransferTask task = removeRunningTask(signature);
+        if (task == null) {
+            return;
+        }
+        finishedUnitNum += task.units.size();
+        finishedFileNum += task.fileNum;
+    }
+
+    /*
+     * The snapshots of the failed task which are not in finishedTabletIds are retried.
+     * Return false if some snapshot has failed more than `max_backup_restore_transfer_retry_times` times.
+     */
+    public synchronized boolean failTask(long signature, Collection<Long> finishedTabletIds) {
+        TransferTask task = removeRunningTask(signature);
+        if (task == null) {
+            return true;
+        }
+        for (TransferUnit unit : task.units) {
+            if (finishedTabletIds != null && finishedTabletIds.contains(unit.tabletId)) {
+                finishedUnitNum++;
+                finishedFileNum += unit.fileNum;
+                continue;
+            }
+            if (++unit.failedTimes > Config.max_backup_restore_transfer_retry_times) {
+                return false;
+            }
+            TransferTask retryTask = new TransferTask();
+            retryTask.addUnit(unit);
+            // retry it first to fail fast
+            diskToPendingTasks.get(Pair.create(unit.beId, unit.pathHash)).addFirst(retryTask);
+        }
+        return true;
+    }
+
+    private TransferTask removeRunningTask(long signature) {
+        TransferTask task = signatureToRunningTask.remove(signature);
+        if (task == null) {
+            return null;
+        }
+        TransferUnit unit = task.units.get(0);
+        diskToRunningTaskNum.merge(Pair.create(unit.beId, unit.pathHash), -1, Integer::sum);
+        return task;
+    }
+
+    public synchronized boolean isDone() {
+        return signatureToRunningTask.isEmpty() && diskToPendingTasks.values().stream().allMatch(Deque::isEmpty);
+    }
+
+    // eg: tablets: 10/100, files: 30/300, speed: 5.0 files/s
+    public synchronized String getProgress() {
+        long costSecond = startTimeMs == -1 ? 0 : (System.currentTimeMillis() - startTimeMs) / 1000;
+        double speed = costSecond == 0 ? 0 : (double) finishedFileNum / costSecond;
+        return String.format("tablets: %d/%d, files: %d/%d, speed: %.1f files/s",
+                finishedUnitNum, totalUnitNum, finishedFileNum, totalFileNum, speed);
+    }
+}
@@ -148,6 +148,8 @@ import com.starrocks.common.util.TimeUtils;
 import com.starrocks.common.util.Util;
 import com.starrocks.consistency.ConsistencyChecker;
 import com.starrocks.external.elasticsearch.EsRepository;
+import com.starrocks.external.hive.HiveMetaCacheSnapshotDaemon;
+import com.starrocks.external.hive.HiveMetaEventPoller;
 import com.starrocks.external.hive.HiveRepository;
 import com.starrocks.ha.BDBHA;
 import com.starrocks.ha.FrontendNodeType;
@@ -156,6 +158,7 @@ import com.starrocks.ha.MasterInfo;
 import com.starrocks.http.meta.MetaBaseAction;
 import com.starrocks.journal.JournalCursor;
 import com.starrocks.journal.JournalEntity;
+import com.starrocks.journal.PipelinedJournalCursor;
 import com.starrocks.journal.bdbje.Timestamp;
 import com.starrocks.load.DeleteHandler;
 import com.starrocks.load.ExportChecker;
@@ -281,6 +284,7 @@ public class Catalog {
     private static final int HTTP_TIMEOUT_SECOND = 5;
     private static final int STATE_CHANGE_CHECK_INTERVAL_MS = 100;
     private static final int REPLAY_INTERVAL_MS = 1;
+    private static final long CREATE_REPLICA_WAIT_INTERVAL_MS = 1000L;
     private static final String BDB_DIR = "/bdb";
     private static final String IMAGE_DIR = "/image";
 
@@ -323,6 +327,8 @@ public class Catalog {
     private Daemon listener;
     private EsRepository esRepository;  // it is a daemon, so add it here
     private HiveRepository hiveRepository;
+    private HiveMetaEventPoller hiveMetaEventPoller;
+    private HiveMetaCacheSnapshotDaemon hiveMetaCacheSnapshotDaemon;
 
     private boolean isFirstTimeStartUp = false;
     private boolean isElectable;
@@ -355,6 +361,8 @@ public class Catalog {
     private String token;
     // For checkpoint and observer memory replayed marker
     private AtomicLong replayedJournalId;
+    // the journal id which the running replay is replaying to, to calculate the replay lag
+    private volatile long replayToJournalId = 0L;
 
     private static Catalog CHECKPOINT = null;
     private static long checkpointThreadId = -1;
@@ -552,6 +560,8 @@ public class Catalog {
 
         this.esRepository = new EsRepository();
         this.hiveRepository = new HiveRepository();
+        this.hiveMetaEventPoller = new HiveMetaEventPoller(hiveRepository);
+        this.hiveMetaCacheSnapshotDaemon = new HiveMetaCacheSnapshotDaemon(hiveRepository);
 
         this.metaContext = new MetaContext();
         this.metaContext.setThreadLocalInfo();
@@ -1298,6 +1308,10 @@ public class Catalog {
         labelCleaner.start();
         // ES state store
         esRepository.start();
+        // hive metastore event poller
+        hiveMetaEventPoller.start();
+        // hive meta cache snapshot
+        hiveMetaCacheSnapshotDaemon.start();
         // domain resolver
         domainResolver.start();
     }
@@ -2417,27 +2431,42 @@ public class Catalog {
             LOG.warn("failed to get cursor from {} to {}", replayedJournalId.get() + 1, newToJournalId);
             return false;
         }
+        // the journals are deserialized by the worker threads which can't see the checkpoint catalog,
+        // so the checkpoint thread still replays in the old way
+        if (Config.journal_replay_deserialize_threads > 0 && !isCheckpointThread()
+                && cursor instanceof PipelinedJournalCursor.JournalDataReader) {
+            cursor = new PipelinedJournalCursor((PipelinedJournalCursor.JournalDataReader) cursor,
+                    replayedJournalId.get() + 1, MetaContext.get());
+        }
+        replayToJournalId = newToJournalId;
 
         long startTime = System.currentTimeMillis();
         boolean hasLog = false;
-        while (true) {
-            JournalEntity entity = cursor.next();
-            if (entity == null) {
-                break;
-            }
-            hasLog = true;
-            EditLog.loadJournal(this, entity);
-            replayedJournalId.incrementAndGet();
-            LOG.debug("journal {} replayed.", replayedJournalId);
-            if (feType != FrontendNodeType.MASTER) {
-                journalObservable.notifyObservers(replayedJournalId.get());
-            }
-            if (MetricRepo.isInit) {
-                // Metric repo may not init after this replay thread start
-                MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
+        try {
+            while (true) {
+                JournalEntity entity = cursor.next();
+                if (entity == null) {
+                    break;
+                }
+                hasLog = true;
+                EditLog.loadJournal(this, entity);
+                replayedJournalId.incrementAndGet();
+                LOG.debug("journal {} replayed.", replayedJournalId);
+                if (feType != FrontendNodeType.MASTER) {
+                    journalObservable.notifyObservers(replayedJournalId.get());
+                }
+                if (MetricRepo.isInit) {
+                    // Metric repo may not init after this replay thread start
+                    MetricRepo.COUNTER_EDIT_LOG_READ.increase(1L);
+                }
             }
+        } finally {
+            cursor.close();
         }
         long cost = System.currentTimeMillis() - startTime;
+        if (MetricRepo.isInit && hasLog) {
+            MetricRepo.HISTO_JOURNAL_REPLAY_LATENCY.update(cost);
+        }
         if (cost >= 1000) {
             LOG.warn("replay journal cost too much time: {} replayedJournalId: {}", cost, replayedJournalId);
         }
@@ -3179,12 +3208,16 @@ public class Catalog {
         try {
             List<Partition> partitionList = Lists.newArrayListWithCapacity(singleRangePartitionDescs.size());
 
+            // build all the partitions first, then create the replicas of a batch of partitions together,
+            // so that creating many partitions does not wait for the backends partition by partition.
+            List<CreateReplicaTask> batchTasks = Lists.newArrayList();
+            List<String> batchPartitionNames = Lists.newArrayList();
             for (SingleRangePartitionDesc singleRangePartitionDesc : singleRangePartitionDescs) {
                 long partitionId = getNextId();
                 DataProperty dataProperty = singleRangePartitionDesc.getPartitionDataProperty();
                 String partitionName = singleRangePartitionDesc.getPartitionName();
                 Set<Long> tabletIdSet = Sets.newHashSet();
-                Partition partition = createPartitionWithIndices(db.getClusterName(), db.getId(),
+                Partition partition = buildPartitionWithIndices(db.getClusterName(), db.getId(),
                         olapTable.getId(),
                         olapTable.getBaseIndexId(),
                         partitionId, partitionName,
@@ -3193,16 +3226,24 @@ public class Catalog {
                         dataProperty.getStorageMedium(),
                         singleRangePartitionDesc.getReplicationNum(),
                         singleRangePartitionDesc.getVersionInfo(),
-                        bfColumns, olapTable.getBfFpp(),
-                        tabletIdSet, olapTable.getCopiedIndexes(),
-                        singleRangePartitionDesc.isInMemory(),
-                        olapTable.getStorageFormat(),
-                        singleRangePartitionDesc.getTabletType()
-                );
+                        tabletIdSet);
                 partitionList.add(partition);
                 tabletIdSetForAll.addAll(tabletIdSet);
                 partitionNameToTabletSet.put(partitionName, tabletIdSet);
+
+                batchTasks.addAll(buildCreateReplicaTasks(db.getId(), olapTable.getId(), partition, indexIdToMeta,
+                        dataProperty.getStorageMedium(), bfColumns, olapTable.getBfFpp(),
+                        olapTable.getCopiedIndexes(), singleRangePartitionDesc.isInMemory(),
+                        olapTable.getStorageFormat(), singleRangePartitionDesc.getTabletType()));
+                batchPartitionNames.add(partitionName);
+                if (batchPartitionNames.size() >= Config.max_partitions_per_create_batch) {
+                    sendCreateReplicaTasksAndWaitForFinished(batchTasks,
+                            "partitions" + batchPartitionNames);
+                    batchTasks.clear();
+                    batchPartitionNames.clear();
+                }
             }
+            sendCreateReplicaTasksAndWaitForFinished(batchTasks, "partitions" + batchPartitionNames);
 
             // check again
             db.writeLock();
@@ -3494,6 +3535,26 @@ public class Catalog {
                                                  boolean isInMemory,
                                                  TStorageFormat storageFormat,
                                                  TTabletType tabletType) throws DdlException {
+        Partition partition = buildPartitionWithIndices(clusterName, dbId, tableId, baseIndexId, partitionId,
+                partitionName, indexIdToMeta, distributionInfo, storageMedium, replicationNum, versionInfo,
+                tabletIdSet);
+        List<CreateReplicaTask> tasks = buildCreateReplicaTasks(dbId, tableId, partition, indexIdToMeta,
+                storageMedium, bfColumns, bfFpp, indexes, isInMemory, storageFormat, tabletType);
+        sendCreateReplicaTasksAndWaitForFinished(tasks, "partition[" + partitionName + "]");
+        return partition;
+    }
+
+    /*
+     * Build the partition with all its indexes and tablets in memory, the replicas are not created on backends.
+     */
+    private Partition buildPartitionWithIndices(String clusterName, long dbId, long tableId,
+                                                long baseIndexId, long partitionId, String partitionName,
+                                                Map<Long, MaterializedIndexMeta> indexIdToMeta,
+                                                DistributionInfo distributionInfo,
+                                                TStorageMedium storageMedium,
+                                                short replicationNum,
+                                                Pair<Long, Long> versionInfo,
+                                                Set<Long> tabletIdSet) throws DdlException {
         // create base index first.
         Preconditions.checkArgument(baseIndexId != -1);
         MaterializedIndex baseIndex = new MaterializedIndex(baseIndexId, IndexState.NORMAL);
@@ -3533,77 +3594,135 @@ public class Catalog {
             createTablets(clusterName, index, ReplicaState.NORMAL, distributionInfo, version, versionHash,
                     replicationNum, tabletMeta, tabletIdSet);
 
-            boolean ok = false;
-            String errMsg = null;
+            if (index.getId() != baseIndexId) {
+                // add rollup index to partition
+                partition.createRollupIndex(index);
+            }
+        } // end for indexMap
+        return partition;
+    }
 
-            // add create replica task for olap
-            short shortKeyColumnCount = indexMeta.getShortKeyColumnCount();
-            TStorageType storageType = indexMeta.getStorageType();
-            List<Column> schema = indexMeta.getSchema();
-            KeysType keysType = indexMeta.getKeysType();
-            int totalTaskNum = index.getTablets().size() * replicationNum;
-            MarkedCountDownLatch<Long, Long> countDownLatch = new MarkedCountDownLatch<Long, Long>(totalTaskNum);
-            AgentBatchTask batchTask = new AgentBatchTask();
+    private List<CreateReplicaTask> buildCreateReplicaTasks(long dbId, long tableId, Partition partition,
+                                                            Map<Long, MaterializedIndexMeta> indexIdToMeta,
+                                                            TStorageMedium storageMedium,
+                                                            Set<String> bfColumns,
+                                                            double bfFpp,
+                                                            List<Index> indexes,
+                                                            boolean isInMemory,
+                                                            TStorageFormat storageFormat,
+                                                            TTabletType tabletType) {
+        long version = partition.getVisibleVersion();
+        long versionHash = partition.getVisibleVersionHash();
+        List<CreateReplicaTask> tasks = Lists.newArrayList();
+        for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.ALL)) {
+            MaterializedIndexMeta indexMeta = indexIdToMeta.get(index.getId());
             for (Tablet tablet : index.getTablets()) {
-                long tabletId = tablet.getId();
                 for (Replica replica : tablet.getReplicas()) {
-                    long backendId = replica.getBackendId();
-                    countDownLatch.addMark(backendId, tabletId);
-                    CreateReplicaTask task = new CreateReplicaTask(backendId, dbId, tableId,
-                            partitionId, indexId, tabletId,
-                            shortKeyColumnCount, schemaHash,
+                    // the latch is set when the tasks are sent
+                    CreateReplicaTask task = new CreateReplicaTask(replica.getBackendId(), dbId, tableId,
+                            partition.getId(), index.getId(), tablet.getId(),
+                            indexMeta.getShortKeyColumnCount(), indexMeta.getSchemaHash(),
                             version, versionHash,
-                            keysType,
-                            storageType, storageMedium,
-                            schema, bfColumns, bfFpp,
-                            countDownLatch,
+                            indexMeta.getKeysType(),
+                            indexMeta.getStorageType(), storageMedium,
+                            indexMeta.getSchema(), bfColumns, bfFpp,
+                            null,
                             indexes,
                             isInMemory,
                             tabletType);
                     task.setStorageFormat(storageFormat);
-                    batchTask.addTask(task);
-                    // add to AgentTaskQueue for handling finish report.
-                    // not for resending task
-                    AgentTaskQueue.addTask(task);
+                    tasks.add(task);
                 }
             }
-            AgentTaskExecutor.submit(batchTask);
+        }
+        return tasks;
+    }
 
-            // estimate timeout
-            long timeout = Config.tablet_create_timeout_second * 1000L * totalTaskNum;
-            timeout = Math.min(timeout, Config.max_create_table_timeout_second * 1000);
-            try {
-                ok = countDownLatch.await(timeout, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                LOG.warn("InterruptedException: ", e);
-                ok = false;
+    /*
+     * Send the create replica tasks in one batch, the tasks are grouped by backend in the batch,
+     * and wait for all of them to finish.
+     */
+    private void sendCreateReplicaTasksAndWaitForFinished(List<CreateReplicaTask> tasks, String target)
+            throws DdlException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        MarkedCountDownLatch<Long, Long> countDownLatch = new MarkedCountDownLatch<Long, Long>(tasks.size());
+        AgentBatchTask batchTask = new AgentBatchTask();
+        for (CreateReplicaTask task : tasks) {
+            countDownLatch.addMark(task.getBackendId(), task.getTabletId());
+            task.setLatch(countDownLatch);
+            batchTask.addTask(task);
+            // add to AgentTaskQueue for handling finish report.
+            // not for resending task
+            AgentTaskQueue.addTask(task);
+        }
+        AgentTaskExecutor.submit(batchTask);
+
+        // estimate timeout, each index of each partition in the batch waits at most max_create_table_timeout_second
+        long partitionNum = tasks.stream().map(CreateReplicaTask::getPartitionId).distinct().count();
+        long indexNum = tasks.stream().map(CreateReplicaTask::getIndexId).distinct().count();
+        long timeout = Config.tablet_create_timeout_second * 1000L * tasks.size();
+        timeout = Math.min(timeout, Config.max_create_table_timeout_second * 1000L * partitionNum * indexNum);
+        String failedReason = "Timeout.";
+        boolean ok = false;
+        try {
+            // the tasks sent to a dead backend never finish, so fail fast instead of waiting for the whole timeout
+            // of a large batch if a backend is dead or no replica is created in max_create_table_timeout_second.
+            long idleTimeoutMs = Config.max_create_table_timeout_second * 1000L;
+            long startMs = System.currentTimeMillis();
+            long lastProgressMs = startMs;
+            long lastCount = countDownLatch.getCount();
+            while (true) {
+                long nowMs = System.currentTimeMillis();
+                long waitMs = Math.min(startMs + timeout - nowMs, CREATE_REPLICA_WAIT_INTERVAL_MS);
+                if (waitMs <= 0) {
+                    break;
+                }
+                if (countDownLatch.await(waitMs, TimeUnit.MILLISECONDS)) {
+                    ok = true;
+                    break;
+                }
+                nowMs = System.currentTimeMillis();
+                long count = countDownLatch.getCount();
+                if (count < lastCount) {
+                    lastCount = count;
+                    lastProgressMs = nowMs;
+                } else if (nowMs - lastProgressMs >= idleTimeoutMs) {
+                    failedReason = "Timeout. No replica is created in " + Config.max_create_table_timeout_second
+                            + " seconds.";
+                    break;
+                }
+                Long deadBackendId = countDownLatch.getLeftMarks().stream().map(Entry::getKey)
+                        .filter(beId -> !systemInfo.checkBackendAlive(beId)).findFirst().orElse(null);
+                if (deadBackendId != null) {
+                    failedReason = "Backend " + deadBackendId + " is not alive.";
+                    break;
+                }
             }
+        } catch (InterruptedException e) {
+            LOG.warn("InterruptedException: ", e);
+            ok = false;
+        }
 
-            if (!ok || !countDownLatch.getStatus().ok()) {
-                errMsg = "Failed to create partition[" + partitionName + "]. Timeout.";
-                // clear tasks
-                AgentTaskQueue.removeBatchTask(batchTask, TTaskType.CREATE);
+        if (!ok || !countDownLatch.getStatus().ok()) {
+            String errMsg = "Failed to create " + target + ". " + failedReason;
+            // clear tasks
+            AgentTaskQueue.removeBatchTask(batchTask, TTaskType.CREATE);
 
-                if (!countDownLatch.getStatus().ok()) {
-                    errMsg += " Error: " + countDownLatch.getStatus().getErrorMsg();
-                } else {
-                    List<Entry<Long, Long>> unfinishedMarks = countDownLatch.getLeftMarks();
-                    // only show at most 3 results
-                    List<Entry<Long, Long>> subList = unfinishedMarks.subList(0, Math.min(unfinishedMarks.size(), 3));
-                    if (!subList.isEmpty()) {
-                        errMsg += " Unfinished mark: " + Joiner.on(", ").join(subList);
-                    }
+            if (!countDownLatch.getStatus().ok()) {
+                errMsg += " Error: " + countDownLatch.getStatus().getErrorMsg();
+            } else {
+                List<Entry<Long, Long>> unfinishedMarks = countDownLatch.getLeftMarks();
+                // only show at most 3 results
+                List<Entry<Long, Long>> subList = unfinishedMarks.subList(0, Math.min(unfinishedMarks.size(), 3));
+                if (!subList.isEmpty()) {
+                    errMsg += " Unfinished mark: " + Joiner.on(", ").join(subList);
                 }
-                LOG.warn(errMsg);
-                throw new DdlException(errMsg);
             }
-
-            if (index.getId() != baseIndexId) {
-                // add rollup index to partition
-                partition.createRollupIndex(index);
-            }
-        } // end for indexMap
-        return partition;
+            LOG.warn(errMsg);
+            throw new DdlException(errMsg);
+        }
     }
 
     // Create olap table and related base index synchronously.
@@ -4247,6 +4366,7 @@ public class Catalog {
             sb.append("\"transport\" = \"").append(esTable.getTransport()).append("\",\n");
             sb.append("\"enable_docvalue_scan\" = \"").append(esTable.isDocValueScanEnable()).append("\",\n");
             sb.append("\"max_docvalue_fields\" = \"").append(esTable.maxDocValueFields()).append("\",\n");
+            sb.append("\"scan_slices_per_shard\" = \"").append(esTable.scanSlicesPerShard()).append("\",\n");
             sb.append("\"enable_keyword_sniff\" = \"").append(esTable.isKeywordSniffEnable()).append("\"\n");
             sb.append(")");
         } else if (table.getType() == TableType.HIVE) {
@@ -4978,6 +5098,11 @@ public class Catalog {
         return this.replayedJournalId.get();
     }
 
+    // number of journals found by the replayer but not replayed yet
+    public long getReplayJournalLag() {
+        return Math.max(0L, replayToJournalId - replayedJournalId.get());
+    }
+
     public HAProtocol getHaProtocol() {
         return this.haProtocol;
     }
@@ -27,6 +27,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.cluster.ClusterNamespace;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.FeMetaVersion;
@@ -35,6 +36,8 @@ import com.starrocks.common.UserException;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.io.Writable;
 import com.starrocks.common.util.DebugUtil;
+import com.starrocks.common.util.GroupExclusiveLock;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.persist.CreateTableInfo;
 import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
@@ -80,6 +83,11 @@ public class Database extends MetaObject implements Writable {
     private String fullQualifiedName;
     private String clusterName;
     private ReentrantReadWriteLock rwLock;
+    // excludes the database readers and the table writers, see readLock()
+    private final GroupExclusiveLock tableWriteGate = new GroupExclusiveLock();
+    private static final int DB_READ_GROUP = 0;
+    private static final int TABLE_WRITE_GROUP = 1;
+    private long writeLockAcquiredTimeMs = 0L;
 
     // table family group map
     private Map<Long, Table> idToTable;
@@ -119,30 +127,69 @@ public class Database extends MetaObject implements Writable {
         this.clusterName = "";
     }
 
+    /*
+     * The database lock is a hierarchical lock:
+     * 1. readLock() and writeLock() lock the whole database, as before.
+     * 2. readLockTables() takes the read lock of the database in intention mode, it's compatible with
+     *    writeLockTables() of the other tables, and blocked by writeLock().
+     * 3. writeLockTables() takes the read lock of the database and the tableWriteGate, so it's compatible with
+     *    readLockTables() and writeLockTables() of the other tables, but excludes readLock() and writeLock().
+     * The table locks are taken in the order of table id to avoid deadlock.
+     *
+     * NOTICE: the database write lock can't be taken when holding the table locks, because the read lock
+     * of the database can't be upgraded.
+     */
     public void readLock() {
+        long startNanos = System.nanoTime();
         this.rwLock.readLock().lock();
+        this.tableWriteGate.lock(DB_READ_GROUP);
+        onLockAcquired("read", startNanos);
     }
 
     public boolean tryReadLock(long timeout, TimeUnit unit) {
+        long startNanos = System.nanoTime();
+        boolean dbLocked = false;
+        boolean locked = false;
         try {
-            return this.rwLock.readLock().tryLock(timeout, unit);
+            if (!this.rwLock.readLock().tryLock(timeout, unit)) {
+                return false;
+            }
+            dbLocked = true;
+            if (!tryLockTableWriteGate(DB_READ_GROUP, startNanos, timeout, unit)) {
+                return false;
+            }
+            locked = true;
+            onLockAcquired("read", startNanos);
+            return true;
         } catch (InterruptedException e) {
             LOG.warn("failed to try read lock at db[" + id + "]", e);
             return false;
+        } finally {
+            if (!locked && dbLocked) {
+                this.rwLock.readLock().unlock();
+            }
         }
     }
 
     public void readUnlock() {
+        this.tableWriteGate.unlock();
         this.rwLock.readLock().unlock();
     }
 
     public void writeLock() {
+        long startNanos = System.nanoTime();
         this.rwLock.writeLock().lock();
+        onWriteLockAcquired(startNanos);
     }
 
     public boolean tryWriteLock(long timeout, TimeUnit unit) {
+        long startNanos = System.nanoTime();
         try {
-            return this.rwLock.writeLock().tryLock(timeout, unit);
+            if (!this.rwLock.writeLock().tryLock(timeout, unit)) {
+                return false;
+            }
+            onWriteLockAcquired(startNanos);
+            return true;
         } catch (InterruptedException e) {
             LOG.warn("failed to try write lock at db[" + id + "]", e);
             return false;
@@ -150,6 +197,16 @@ public class Database extends MetaObject implements Writable {
     }
 
     public void writeUnlock() {
+        if (this.rwLock.getWriteHoldCount() == 1) {
+            long holdMs = System.currentTimeMillis() - writeLockAcquiredTimeMs;
+            if (holdMs >= Config.slow_lock_threshold_ms) {
+                LOG.warn("db {} write lock is held for {} ms by thread {}", fullQualifiedName, holdMs,
+                        Thread.currentThread().getName());
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_SLOW_LOCK.increase(1L);
+                }
+            }
+        }
         this.rwLock.writeLock().unlock();
     }
 
@@ -157,6 +214,146 @@ public class Database extends MetaObject implements Writable {
         return this.rwLock.writeLock().isHeldByCurrentThread();
     }
 
+    /*
+     * Lock the given tables of this database for read, see readLock() for more details.
+     */
+    public void readLockTables(List<Table> tables) {
+        long startNanos = System.nanoTime();
+        this.rwLock.readLock().lock();
+        for (Table table : sortTables(tables)) {
+            table.getTableLock().readLock().lock();
+        }
+        onTableLockAcquired("read", tables, startNanos);
+    }
+
+    public void readUnlockTables(List<Table> tables) {
+        for (Table table : sortTables(tables)) {
+            table.getTableLock().readLock().unlock();
+        }
+        this.rwLock.readLock().unlock();
+    }
+
+    /*
+     * Lock the given tables of this database for write, see readLock() for more details.
+     */
+    public void writeLockTables(List<Table> tables) {
+        long startNanos = System.nanoTime();
+        this.rwLock.readLock().lock();
+        this.tableWriteGate.lock(TABLE_WRITE_GROUP);
+        for (Table table : sortTables(tables)) {
+            table.getTableLock().writeLock().lock();
+        }
+        onTableLockAcquired("write", tables, startNanos);
+    }
+
+    public boolean tryWriteLockTables(List<Table> tables, long timeout, TimeUnit unit) {
+        long startNanos = System.nanoTime();
+        List<Table> lockedTables = Lists.newArrayList();
+        boolean dbLocked = false;
+        boolean gateLocked = false;
+        boolean locked = false;
+        try {
+            if (!this.rwLock.readLock().tryLock(timeout, unit)) {
+                return false;
+            }
+            dbLocked = true;
+            if (!tryLockTableWriteGate(TABLE_WRITE_GROUP, startNanos, timeout, unit)) {
+                return false;
+            }
+            gateLocked = true;
+            for (Table table : sortTables(tables)) {
+                long remainingNanos = unit.toNanos(timeout) - (System.nanoTime() - startNanos);
+                if (!table.getTableLock().writeLock().tryLock(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                lockedTables.add(table);
+            }
+            locked = true;
+            onTableLockAcquired("write", tables, startNanos);
+            return true;
+        } catch (InterruptedException e) {
+            LOG.warn("failed to try write lock of tables at db[" + id + "]", e);
+            return false;
+        } finally {
+            if (!locked) {
+                for (Table table : lockedTables) {
+                    table.getTableLock().writeLock().unlock();
+                }
+                if (gateLocked) {
+                    this.tableWriteGate.unlock();
+                }
+                if (dbLocked) {
+                    this.rwLock.readLock().unlock();
+                }
+            }
+        }
+    }
+
+    public void writeUnlockTables(List<Table> tables) {
+        for (Table table : sortTables(tables)) {
+            table.getTableLock().writeLock().unlock();
+        }
+        this.tableWriteGate.unlock();
+        this.rwLock.readLock().unlock();
+    }
+
+    private boolean tryLockTableWriteGate(int group, long startNanos, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout) - (System.nanoTime() - startNanos);
+        return this.tableWriteGate.tryLock(group, Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+    }
+
+    // sort the tables by id and remove the duplicated ones, the table locks are taken in this order
+    private static List<Table> sortTables(List<Table> tables) {
+        if (tables.size() <= 1) {
+            return tables;
+        }
+        Map<Long, Table> idToTable = Maps.newTreeMap();
+        for (Table table : tables) {
+            idToTable.put(table.getId(), table);
+        }
+        return Lists.newArrayList(idToTable.values());
+    }
+
+    private void onWriteLockAcquired(long startNanos) {
+        onLockAcquired("write", startNanos);
+        if (this.rwLock.getWriteHoldCount() == 1) {
+            writeLockAcquiredTimeMs = System.currentTimeMillis();
+        }
+    }
+
+    private void onLockAcquired(String mode, long startNanos) {
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        // uncontended acquisitions are counted too, so that the percentiles are not biased to the contended ones
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_DB_LOCK_WAIT_LATENCY.update(waitMs);
+        }
+        if (waitMs > 0 && waitMs >= Config.slow_lock_threshold_ms) {
+            LOG.warn("wait db {} {} lock for {} ms, thread {}", fullQualifiedName, mode, waitMs,
+                    Thread.currentThread().getName());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_SLOW_LOCK.increase(1L);
+            }
+        }
+    }
+
+    private void onTableLockAcquired(String mode, List<Table> tables, long startNanos) {
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        // uncontended acquisitions are counted too, so that the percentiles are not biased to the contended ones
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_TABLE_LOCK_WAIT_LATENCY.update(waitMs);
+        }
+        if (waitMs > 0 && waitMs >= Config.slow_lock_threshold_ms) {
+            List<String> names = Lists.newArrayList();
+            tables.forEach(table -> names.add(table.getName()));
+            LOG.warn("wait {} lock of tables {} in db {} for {} ms, thread {}", mode, names, fullQualifiedName,
+                    waitMs, Thread.currentThread().getName());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_SLOW_LOCK.increase(1L);
+            }
+        }
+    }
+
     public long getId() {
         return id;
     }
@@ -28,6 +28,7 @@ import com.starrocks.common.FeMetaVersion;
 import com.starrocks.common.io.Text;
 import com.starrocks.external.elasticsearch.EsMajorVersion;
 import com.starrocks.external.elasticsearch.EsMetaStateTracker;
+import com.starrocks.external.elasticsearch.EsNodeInfo;
 import com.starrocks.external.elasticsearch.EsRestClient;
 import com.starrocks.external.elasticsearch.EsTablePartitions;
 import com.starrocks.thrift.TEsTable;
@@ -67,6 +68,7 @@ public class EsTable extends Table {
     public static final String DOC_VALUE_SCAN = "enable_docvalue_scan";
     public static final String KEYWORD_SNIFF = "enable_keyword_sniff";
     public static final String MAX_DOCVALUE_FIELDS = "max_docvalue_fields";
+    public static final String SCAN_SLICES_PER_SHARD = "scan_slices_per_shard";
 
     private String hosts;
     private String[] seeds;
@@ -81,7 +83,7 @@ public class EsTable extends Table {
     // only save the partition definition, save the partition key,
     // partition list is got from es cluster dynamically and is saved in esTableState
     private PartitionInfo partitionInfo;
-    private EsTablePartitions esTablePartitions;
+    private volatile EsTablePartitions esTablePartitions;
 
     // Whether to enable docvalues scan optimization for fetching fields more fast, default to true
     private boolean enableDocValueScan = true;
@@ -101,6 +103,10 @@ public class EsTable extends Table {
     // @see `MAX_DOCVALUE_FIELDS`
     private static final int DEFAULT_MAX_DOCVALUE_FIELDS = 20;
 
+    // number of sliced scrolls to read one shard in parallel, only for http transport
+    private int scanSlicesPerShard = 1;
+    private static final int MAX_SCAN_SLICES_PER_SHARD = 1024;
+
     // version would be used to be compatible with different ES Cluster
     public EsMajorVersion majorVersion = null;
 
@@ -108,7 +114,7 @@ public class EsTable extends Table {
     private Map<String, String> tableContext = new HashMap<>();
 
     // record the latest and recently exception when sync ES table metadata (mapping, shard location)
-    private Throwable lastMetaDataSyncException = null;
+    private volatile Throwable lastMetaDataSyncException = null;
 
     public EsTable() {
         super(TableType.ELASTICSEARCH);
@@ -133,6 +139,10 @@ public class EsTable extends Table {
         return maxDocValueFields;
     }
 
+    public int scanSlicesPerShard() {
+        return scanSlicesPerShard;
+    }
+
     public boolean isDocValueScanEnable() {
         return enableDocValueScan;
     }
@@ -231,6 +241,17 @@ public class EsTable extends Table {
                 maxDocValueFields = DEFAULT_MAX_DOCVALUE_FIELDS;
             }
         }
+        if (properties.containsKey(SCAN_SLICES_PER_SHARD)) {
+            try {
+                scanSlicesPerShard = Integer.parseInt(properties.get(SCAN_SLICES_PER_SHARD).trim());
+            } catch (NumberFormatException e) {
+                throw new DdlException("fail to parse scan_slices_per_shard, scan_slices_per_shard= "
+                        + properties.get(SCAN_SLICES_PER_SHARD).trim() + ", should be an integer");
+            }
+            if (scanSlicesPerShard < 1 || scanSlicesPerShard > MAX_SCAN_SLICES_PER_SHARD) {
+                throw new DdlException("scan_slices_per_shard should be between 1 and " + MAX_SCAN_SLICES_PER_SHARD);
+            }
+        }
         tableContext.put("hosts", hosts);
         tableContext.put("userName", userName);
         tableContext.put("passwd", passwd);
@@ -243,6 +264,7 @@ public class EsTable extends Table {
         tableContext.put("enableDocValueScan", String.valueOf(enableDocValueScan));
         tableContext.put("enableKeywordSniff", String.valueOf(enableKeywordSniff));
         tableContext.put("maxDocValueFields", String.valueOf(maxDocValueFields));
+        tableContext.put("scanSlicesPerShard", String.valueOf(scanSlicesPerShard));
     }
 
     @Override
@@ -340,6 +362,9 @@ public class EsTable extends Table {
                     maxDocValueFields = DEFAULT_MAX_DOCVALUE_FIELDS;
                 }
             }
+            if (tableContext.containsKey("scanSlicesPerShard")) {
+                scanSlicesPerShard = Integer.parseInt(tableContext.get("scanSlicesPerShard"));
+            }
 
             PartitionType partType = PartitionType.valueOf(Text.readString(in));
             if (partType == PartitionType.UNPARTITIONED) {
@@ -437,16 +462,36 @@ public class EsTable extends Table {
      * @param client esRestClient
      */
     public void syncTableMetaData(EsRestClient client) {
+        syncTableMetaData(client, null);
+    }
+
+    /**
+     * sync es index meta from remote ES Cluster
+     *
+     * @param client    esRestClient
+     * @param nodesInfo the http nodes shared by the tables of one cluster, fetched by client if it's null
+     * @return true if the sync succeeds
+     */
+    public boolean syncTableMetaData(EsRestClient client, Map<String, EsNodeInfo> nodesInfo) {
         if (esMetaStateTracker == null) {
             esMetaStateTracker = new EsMetaStateTracker(client, this);
         }
         try {
+            esMetaStateTracker.searchContext().nodesInfo(nodesInfo);
             esMetaStateTracker.run();
-            this.esTablePartitions = esMetaStateTracker.searchContext().tablePartitions();
+            EsTablePartitions newPartitions = esMetaStateTracker.searchContext().tablePartitions();
+            // keep the current partitions if the shard routing is not changed,
+            // so the partition ids seen by running planners stay the same
+            if (esTablePartitions == null || !esTablePartitions.hasSameRoutings(newPartitions)) {
+                this.esTablePartitions = newPartitions;
+            }
+            this.lastMetaDataSyncException = null;
+            return true;
         } catch (Throwable e) {
             LOG.warn("Exception happens when fetch index [{}] meta data from remote es cluster", this.name, e);
             this.esTablePartitions = null;
             this.lastMetaDataSyncException = e;
+            return false;
         }
     }
 
@@ -155,6 +155,11 @@ public class HiveTable extends Table {
                 .getPartition(resourceName, hiveDb, hiveTable, partitionKey);
     }
 
+    public List<HivePartition> getPartitions(List<PartitionKey> partitionKeys) throws DdlException {
+        return Catalog.getCurrentCatalog().getHiveRepository()
+                .getPartitions(resourceName, hiveDb, hiveTable, partitionKeys);
+    }
+
     public HiveTableStats getTableStats() throws DdlException {
         return Catalog.getCurrentCatalog().getHiveRepository().getTableStats(resourceName, hiveDb, hiveTable);
     }
@@ -265,6 +270,14 @@ public class HiveTable extends Table {
             return 0;
         }
 
+        // partition stats need the file size of partition, load the partitions concurrently first
+        try {
+            getPartitions(partitions);
+        } catch (DdlException e) {
+            LOG.warn("table {} gets partitions failed.", name, e);
+            return -1;
+        }
+
         long numRows = -1;
         for (PartitionKey key : partitions) {
             HivePartitionStats partitionStats = null;
@@ -455,17 +468,19 @@ public class HiveTable extends Table {
         }
 
         // partitions
+        List<HivePartition> hivePartitions;
+        try {
+            hivePartitions = getPartitions(partitions.stream().map(ReferencedPartitionInfo::getKey)
+                    .collect(Collectors.toList()));
+        } catch (DdlException e) {
+            LOG.warn("table {} gets partitions failed.", name, e);
+            return null;
+        }
+        int partitionIndex = 0;
         for (ReferencedPartitionInfo info : partitions) {
             PartitionKey key = info.getKey();
             long partitionId = info.getId();
-
-            HivePartition hivePartition = null;
-            try {
-                hivePartition = getPartition(key);
-            } catch (DdlException e) {
-                LOG.warn("table {} gets partition {} failed.", name, key, e);
-                return null;
-            }
+            HivePartition hivePartition = hivePartitions.get(partitionIndex++);
 
             THdfsPartition tPartition = new THdfsPartition();
             tPartition.setFile_format(hivePartition.getFormat().toThrift());
@@ -31,10 +31,8 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * The OlapTraditional table is a materialized table which stored as rowcolumnar file or columnar file
@@ -66,10 +64,13 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
     @SerializedName(value = "rowCount")
     private long rowCount;
 
-    private Map<Long, Tablet> idToTablets;
     @SerializedName(value = "tablets")
     // this is for keeping tablet order
     private List<Tablet> tablets;
+    // tablet ids in ascending order and the positions of the tablets in "tablets", for finding tablet by id.
+    // primitive arrays take much less memory than a map with boxed ids when there are millions of tablets.
+    private long[] sortedTabletIds = new long[0];
+    private int[] tabletPositions = new int[0];
 
     // for push after rollup index finished
     @SerializedName(value = "rollupIndexId")
@@ -79,7 +80,6 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
 
     public MaterializedIndex() {
         this.state = IndexState.NORMAL;
-        this.idToTablets = new HashMap<>();
         this.tablets = new ArrayList<>();
     }
 
@@ -91,7 +91,6 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
             this.state = IndexState.NORMAL;
         }
 
-        this.idToTablets = new HashMap<>();
         this.tablets = new ArrayList<>();
 
         this.rowCount = 0;
@@ -113,12 +112,14 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
     }
 
     public Tablet getTablet(long tabletId) {
-        return idToTablets.get(tabletId);
+        int idx = Arrays.binarySearch(sortedTabletIds, tabletId);
+        return idx < 0 ? null : tablets.get(tabletPositions[idx]);
     }
 
     public void clearTabletsForRestore() {
-        idToTablets.clear();
         tablets.clear();
+        sortedTabletIds = new long[0];
+        tabletPositions = new int[0];
     }
 
     public void addTablet(Tablet tablet, TabletMeta tabletMeta) {
@@ -126,13 +127,52 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
     }
 
     public void addTablet(Tablet tablet, TabletMeta tabletMeta, boolean isRestore) {
-        idToTablets.put(tablet.getId(), tablet);
         tablets.add(tablet);
+        addTabletId(tablet.getId(), tablets.size() - 1);
         if (!isRestore) {
             Catalog.getCurrentInvertedIndex().addTablet(tablet.getId(), tabletMeta);
         }
     }
 
+    // insert the tablet id into the sorted ids, tablets are added one by one when the index is created,
+    // so the arrays are copied instead of being grown in advance to keep them compact.
+    private void addTabletId(long tabletId, int position) {
+        int idx = Arrays.binarySearch(sortedTabletIds, tabletId);
+        if (idx >= 0) {
+            // the tablet is added again, the latest one wins as in a map
+            tabletPositions[idx] = position;
+            return;
+        }
+        int insertIdx = -idx - 1;
+        int num = sortedTabletIds.length;
+        long[] newTabletIds = new long[num + 1];
+        int[] newPositions = new int[num + 1];
+        System.arraycopy(sortedTabletIds, 0, newTabletIds, 0, insertIdx);
+        System.arraycopy(tabletPositions, 0, newPositions, 0, insertIdx);
+        newTabletIds[insertIdx] = tabletId;
+        newPositions[insertIdx] = position;
+        System.arraycopy(sortedTabletIds, insertIdx, newTabletIds, insertIdx + 1, num - insertIdx);
+        System.arraycopy(tabletPositions, insertIdx, newPositions, insertIdx + 1, num - insertIdx);
+        sortedTabletIds = newTabletIds;
+        tabletPositions = newPositions;
+    }
+
+    private void rebuildTabletIds() {
+        Integer[] positions = new Integer[tablets.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        Arrays.sort(positions, (p1, p2) -> Long.compare(tablets.get(p1).getId(), tablets.get(p2).getId()));
+        long[] newTabletIds = new long[positions.length];
+        int[] newPositions = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            newTabletIds[i] = tablets.get(positions[i]).getId();
+            newPositions[i] = positions[i];
+        }
+        sortedTabletIds = newTabletIds;
+        tabletPositions = newPositions;
+    }
+
     public void setIdForRestore(long idxId) {
         this.id = idxId;
     }
@@ -192,14 +232,8 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
     }
 
     public int getTabletOrderIdx(long tabletId) {
-        int idx = 0;
-        for (Tablet tablet : tablets) {
-            if (tablet.getId() == tabletId) {
-                return idx;
-            }
-            idx++;
-        }
-        return -1;
+        int idx = Arrays.binarySearch(sortedTabletIds, tabletId);
+        return idx < 0 ? -1 : tabletPositions[idx];
     }
 
     @Override
@@ -233,8 +267,8 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
         for (int i = 0; i < tabletCount; ++i) {
             Tablet tablet = Tablet.read(in);
             tablets.add(tablet);
-            idToTablets.put(tablet.getId(), tablet);
         }
+        rebuildTabletIds();
 
         rollupIndexId = in.readLong();
         rollupFinishedVersion = in.readLong();
@@ -257,19 +291,16 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
 
         MaterializedIndex table = (MaterializedIndex) obj;
 
-        // Check idToTablets
-        if (table.idToTablets == null) {
+        // Check tablets
+        if (table.tablets == null) {
             return false;
         }
-        if (idToTablets.size() != table.idToTablets.size()) {
+        if (sortedTabletIds.length != table.sortedTabletIds.length) {
             return false;
         }
-        for (Entry<Long, Tablet> entry : idToTablets.entrySet()) {
-            long key = entry.getKey();
-            if (!table.idToTablets.containsKey(key)) {
-                return false;
-            }
-            if (!entry.getValue().equals(table.idToTablets.get(key))) {
+        for (long tabletId : sortedTabletIds) {
+            Tablet tablet = table.getTablet(tabletId);
+            if (tablet == null || !tablet.equals(getTablet(tabletId))) {
                 return false;
             }
         }
@@ -301,9 +332,7 @@ public class MaterializedIndex extends MetaObject implements Writable, GsonPostP
 
     @Override
     public void gsonPostProcess() {
-        // build "idToTablets" from "tablets"
-        for (Tablet tablet : tablets) {
-            idToTablets.put(tablet.getId(), tablet);
-        }
+        // build "sortedTabletIds" from "tablets"
+        rebuildTabletIds();
     }
 }
@@ -41,6 +41,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Internal representation of table-related metadata. A table contains several partitions.
@@ -93,6 +94,9 @@ public class Table extends MetaObject implements Writable {
 
     // DO NOT persist this variable.
     protected boolean isTypeRead = false;
+    // DO NOT persist this variable.
+    // it's always taken with the database lock, see Database.readLockTables() and Database.writeLockTables()
+    private final ReentrantReadWriteLock tableLock = new ReentrantReadWriteLock(true);
     // table(view)'s comment
     protected String comment = "";
 
@@ -130,6 +134,10 @@ public class Table extends MetaObject implements Writable {
         this.isTypeRead = isTypeRead;
     }
 
+    ReentrantReadWriteLock getTableLock() {
+        return tableLock;
+    }
+
     public long getId() {
         return id;
     }
@@ -21,6 +21,7 @@
 
 package com.starrocks.clone;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
@@ -339,15 +340,40 @@ public class DynamicPartitionScheduler extends MasterDaemon {
                 }
             }
 
-            if (!skipAddPartition) {
-                for (AddPartitionClause addPartitionClause : addPartitionClauses) {
-                    try {
-                        Catalog.getCurrentCatalog().addPartitions(db, tableName, addPartitionClause);
-                        clearCreatePartitionFailedMsg(tableName);
-                    } catch (DdlException | AnalysisException e) {
-                        recordCreatePartitionFailedMsg(db.getFullName(), tableName, e.getMessage());
-                    }
-                }
+            if (!skipAddPartition && !addPartitionClauses.isEmpty()) {
+                addPartitions(db, tableName, addPartitionClauses);
+            }
+        }
+    }
+
+    /*
+     * Add all the partitions of the table in one batch, which creates the replicas together and writes
+     * one journal. If the batch fails, add the partitions one by one so that a bad partition
+     * does not block the others.
+     */
+    private void addPartitions(Database db, String tableName, List<AddPartitionClause> addPartitionClauses) {
+        if (addPartitionClauses.size() > 1) {
+            // all the clauses have the same distribution desc and properties
+            List<SingleRangePartitionDesc> partitionDescs = Lists.newArrayList();
+            for (AddPartitionClause addPartitionClause : addPartitionClauses) {
+                partitionDescs.add((SingleRangePartitionDesc) addPartitionClause.getPartitionDesc());
+            }
+            try {
+                Catalog.getCurrentCatalog().addPartitions(db, tableName, partitionDescs, addPartitionClauses.get(0));
+                clearCreatePartitionFailedMsg(tableName);
+                return;
+            } catch (DdlException e) {
+                LOG.warn("dynamic add {} partitions in batch failed: {}, db: {}, table: {}, add them one by one",
+                        partitionDescs.size(), e.getMessage(), db.getFullName(), tableName);
+            }
+        }
+
+        for (AddPartitionClause addPartitionClause : addPartitionClauses) {
+            try {
+                Catalog.getCurrentCatalog().addPartitions(db, tableName, addPartitionClause);
+                clearCreatePartitionFailedMsg(tableName);
+            } catch (DdlException | AnalysisException e) {
+                recordCreatePartitionFailedMsg(db.getFullName(), tableName, e.getMessage());
             }
         }
     }
@@ -208,14 +208,23 @@ public class TabletChecker extends MasterDaemon {
                 continue;
             }
 
+            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+            List<Table> tables;
             db.readLock();
             try {
-                List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
-                for (Table table : catalog.getTablesIncludeRecycleBin(db)) {
-                    if (!table.needSchedule()) {
-                        continue;
-                    }
+                tables = catalog.getTablesIncludeRecycleBin(db);
+            } finally {
+                db.readUnlock();
+            }
+            for (Table table : tables) {
+                if (!table.needSchedule()) {
+                    continue;
+                }
 
+                // only lock the checking table, so the loads and queries of other tables are not blocked
+                List<Table> lockedTables = Lists.newArrayList(table);
+                db.readLockTables(lockedTables);
+                try {
                     OlapTable olapTbl = (OlapTable) table;
                     for (Partition partition : catalog.getAllPartitionsIncludeRecycleBin(olapTbl)) {
                         if (partition.getState() != PartitionState.NORMAL) {
@@ -297,10 +306,10 @@ public class TabletChecker extends MasterDaemon {
                                     olapTbl.getId(), Lists.newArrayList(partition.getId())));
                         }
                     } // partitions
-                } // tables
-            } finally {
-                db.readUnlock();
-            }
+                } finally {
+                    db.readUnlockTables(lockedTables);
+                }
+            } // tables
         } // end for dbs
 
         long cost = System.currentTimeMillis() - start;
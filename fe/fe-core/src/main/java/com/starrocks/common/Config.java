@@ -243,6 +243,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static int meta_delay_toleration_second = 300;    // 5 min
 
+    /**
+     * Number of threads to deserialize the journals ahead of the replayer on non-master FE,
+     * the journals are deserialized on the replayer thread if it's 0.
+     */
+    @ConfField
+    public static int journal_replay_deserialize_threads = 4;
+
     /**
      * Master FE sync policy of bdbje.
      * If you only deploy one Follower FE, set this to 'SYNC'. If you deploy more than 3 Follower FE,
@@ -462,6 +469,17 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_create_table_timeout_second = 60;
 
+    /**
+     * The partitions added by one statement are created in batches of this size.
+     * The replicas of all the partitions in a batch are sent to the backends together,
+     * and the batch waits at most `max_create_table_timeout_second` for each index of each partition in it,
+     * which is same as creating the partitions one by one.
+     * The batch fails fast if no replica is created in `max_create_table_timeout_second`,
+     * or a backend which has unfinished replicas is not alive.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int max_partitions_per_create_batch = 64;
+
     /**
      * minimal intervals between two publish version action
      */
@@ -633,6 +651,26 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true, masterOnly = true)
     public static int alter_table_timeout_second = 86400; // 1day
+
+    /**
+     * If true, the schema changes which do not touch the tablet schema on backends, such as changing the comments,
+     * only change the meta of the table and finish at once.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_metadata_only_schema_change = true;
+
+    /**
+     * Maximal number of running schema change and rollup tasks on each disk of backend.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int alter_max_tasks_per_disk = 2;
+
+    /**
+     * If the max compaction score of tablets on a backend exceeds this value, the backend is busy with loads,
+     * and the running alter tasks on each disk of it are halved. 0 means no throttle.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long alter_throttle_compaction_score = 500;
     /**
      * If a backend is down for *max_backend_down_time_second*, a BACKEND_DOWN event will be triggered.
      * Do not set this if you know what you are doing.
@@ -790,6 +828,26 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int backup_job_default_timeout_ms = 86400 * 1000; // 1 day
 
+    /**
+     * The max number of upload or download tasks of a backup or restore job running on each disk of a backend.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int max_backup_restore_transfer_tasks_per_disk = 3;
+
+    /**
+     * The snapshots are packed into upload or download tasks with at most this number of files.
+     * A small value makes the tasks finer-grained and the failed tasks cheaper to retry.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int max_backup_restore_transfer_files_per_task = 1000;
+
+    /**
+     * The max retry times of a tablet snapshot when its upload or download task fails,
+     * the backup or restore job is cancelled if exceeded.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int max_backup_restore_transfer_retry_times = 3;
+
     /**
      * 'storage_high_watermark_usage_percent' limit the max capacity usage percent of a Backend storage path.
      * 'storage_min_left_capacity_bytes' limit the minimum left capacity of a Backend storage path.
@@ -862,6 +920,12 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long catalog_try_lock_timeout_ms = 5000; // 5 sec
 
+    /**
+     * A database or table lock waited or held longer than this is logged, and counted by the slow_lock metric.
+     */
+    @ConfField(mutable = true)
+    public static long slow_lock_threshold_ms = 3000;
+
     /**
      * if this is set to true
      * all pending load job will failed when call begin txn api
@@ -890,6 +954,19 @@ public class Config extends ConfigBase {
     @ConfField
     public static long es_state_sync_interval_second = 10;
 
+    /**
+     * The es tables of different es clusters are synced concurrently by at most es_state_sync_concurrency threads.
+     */
+    @ConfField
+    public static int es_state_sync_concurrency = 8;
+
+    /**
+     * The max time to wait for the meta sync of one es cluster in every round. A cluster whose last sync
+     * is still running is skipped in the next round, its tables keep the previous routing.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long es_state_sync_timeout_second = 30;
+
     /**
      * the factor of delay time before deciding to repair tablet.
      * if priority is VERY_HIGH, repair it immediately.
@@ -1007,6 +1084,41 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static long routine_load_task_timeout_second = 15;
 
+    /**
+     * If set to true, the concurrency, consume time and schedule delay of routine load tasks are adapted to
+     * the lag of kafka partitions and the throughput of recent tasks, targeting routine_load_freshness_sla_second.
+     * The static limits such as max_routine_load_task_concurrent_num are still the upper bounds.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_routine_load_adaptive_task = false;
+
+    /**
+     * The expected max delay in seconds from a message produced to kafka to it loaded,
+     * only used when enable_routine_load_adaptive_task is true
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_freshness_sla_second = 30;
+
+    /**
+     * The partitions of a kafka topic are cached for this seconds, 0 disables the cache.
+     * New partitions of the topic are found by routine load jobs after the cache expires.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_kafka_partitions_cache_ttl_second = 10;
+
+    /**
+     * The kafka offset queries of routine load tasks submitted in this milliseconds are batched,
+     * the queries on the same brokers are sent to a backend in one rpc.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long routine_load_kafka_meta_batch_wait_ms = 10;
+
+    /**
+     * The max number of batched kafka meta rpcs sent concurrently
+     */
+    @ConfField
+    public static int routine_load_kafka_meta_fetch_concurrency = 8;
+
     /**
      * The max number of files store in SmallFileMgr
      */
@@ -1247,6 +1359,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static long statistic_sample_collect_rows = 200000;
 
+    /**
+     * The percent of table rows to sample in sample collect, the sample rows is decided by
+     * statistic_sample_collect_rows if it's 0
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long statistic_sample_collect_ratio = 0;
+
+    /**
+     * Full collect job only rescans the partitions whose visible version changed since last collect,
+     * and merges the partition statistics into table statistics
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_statistic_incremental_collect = true;
+
     /**
      * statistic collect flag
      */
@@ -1289,6 +1415,47 @@ public class Config extends ConfigBase {
     @ConfField
     public static long hive_meta_store_timeout_s = 10L;
 
+    /**
+     * Max number of hive partitions whose meta data and files are loaded concurrently,
+     * shared by all queries on hive tables.
+     */
+    @ConfField
+    public static int hive_meta_load_concurrency = 32;
+
+    /**
+     * If set to true, the hive meta cache is updated by the notification events of hive metastore,
+     * which requires DbNotificationListener configured in metastore. Then hive_meta_cache_ttl_s and
+     * hive_meta_cache_refresh_interval_s could be set much longer.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_hive_metastore_event_poll = false;
+
+    @ConfField(mutable = true)
+    public static long hive_metastore_event_poll_interval_ms = 10000L;
+
+    /**
+     * Max number of hive metastore notification events fetched in one poll
+     */
+    @ConfField(mutable = true)
+    public static int hive_metastore_event_poll_max_events = 1000;
+
+    /**
+     * The local directory to save the snapshot of cached hive partitions and files, which is loaded
+     * after frontend restarts to avoid listing the files again. Empty means disabled.
+     */
+    @ConfField
+    public static String hive_meta_cache_snapshot_dir = "";
+
+    @ConfField(mutable = true)
+    public static long hive_meta_cache_snapshot_interval_s = 600L;
+
+    /**
+     * Max bytes of one hdfs scan range, larger hdfs blocks are split into several scan ranges,
+     * so scan ranges could be balanced among backends by size. Non-positive means no split.
+     */
+    @ConfField(mutable = true)
+    public static long hdfs_scan_range_max_size = 128L * 1024L * 1024L;
+
     @ConfField
     public static boolean enable_udf = false;
 }
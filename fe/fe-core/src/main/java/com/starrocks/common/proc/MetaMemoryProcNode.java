@@ -0,0 +1,157 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.common.proc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.MaterializedIndex.IndexExtState;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
+import com.starrocks.catalog.Table.TableType;
+import com.starrocks.catalog.Tablet;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Pair;
+import com.starrocks.common.util.DebugUtil;
+import com.starrocks.common.util.ListComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * SHOW PROC '/meta_memory';
+ *
+ * Show the estimated memory used by the partition, index, tablet and replica meta of each database.
+ * The sizes are estimated by the number of the objects, including the entries in TabletInvertedIndex,
+ * so they are only useful to find the databases which take most of the memory of FE.
+ */
+public class MetaMemoryProcNode implements ProcNodeInterface {
+    public static final ImmutableList<String> TITLE_NAMES = new ImmutableList.Builder<String>()
+            .add("DbId").add("DbName").add("PartitionNum").add("IndexNum").add("TabletNum").add("ReplicaNum")
+            .add("EstimatedSize")
+            .build();
+
+    /*
+     * Estimated bytes of each object. They are summed up from the fields of the classes with the layout of
+     * a 64-bit HotSpot JVM with compressed oops: 12 bytes object header, 4 bytes reference, 8 bytes alignment.
+     * A HashMap node is 32 bytes, a LinkedHashMap entry is 40 bytes and a boxed Long key is 16 bytes.
+     * The unused slots of the hash tables are not counted.
+     */
+    // partition: Partition 96 (7 longs, 6 references), its two empty index maps 2 * 48, name 48,
+    // 5 entries of the maps in PartitionInfo 5 * (32 + 16), entries of idToPartition and nameToPartition 48 + 32
+    public static final long PARTITION_BYTES = 96 + 2 * 48 + 48 + 5 * (32 + 16) + 48 + 32;
+    // index: MaterializedIndex 64 (4 longs, 4 references), tablet ArrayList 24, and the headers of
+    // the tablet list array, sortedTabletIds and tabletPositions 3 * 16.
+    // The map entry of a rollup or shadow index in Partition is not counted.
+    public static final long INDEX_BYTES = 64 + 24 + 3 * 16;
+    // tablet: Tablet 56 (4 longs, 1 reference, 1 boolean), replica ArrayList 24 and its array of 3 slots 32,
+    // the slots in the arrays of MaterializedIndex 4 + 8 + 4, the entry of tabletMetaMap 32 + 16,
+    // and the row of replicaMetaTable in TabletInvertedIndex: entry 40 + 16, LinkedHashMap 56 and its table 32
+    public static final long TABLET_BYTES = 56 + 24 + 32 + 16 + (32 + 16) + (40 + 16 + 56 + 32);
+    // replica: Replica 144 (15 longs, 1 int, 1 reference, 2 booleans),
+    // and the entries of replicaMetaTable and backingReplicaMetaTable in TabletInvertedIndex 2 * (40 + 16)
+    public static final long REPLICA_BYTES = 144 + 2 * (40 + 16);
+
+    private Catalog catalog;
+
+    public MetaMemoryProcNode(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public static long estimateSize(long partitionNum, long indexNum, long tabletNum, long replicaNum) {
+        return partitionNum * PARTITION_BYTES + indexNum * INDEX_BYTES
+                + tabletNum * TABLET_BYTES + replicaNum * REPLICA_BYTES;
+    }
+
+    @Override
+    public ProcResult fetchResult() throws AnalysisException {
+        Preconditions.checkNotNull(catalog);
+
+        BaseProcResult result = new BaseProcResult();
+        result.setNames(TITLE_NAMES);
+
+        long totalPartitionNum = 0;
+        long totalIndexNum = 0;
+        long totalTabletNum = 0;
+        long totalReplicaNum = 0;
+        List<List<Comparable>> lines = new ArrayList<>();
+        for (Long dbId : catalog.getDbIds()) {
+            if (dbId == 0) {
+                // skip information_schema database
+                continue;
+            }
+            Database db = catalog.getDb(dbId);
+            if (db == null) {
+                continue;
+            }
+
+            long dbPartitionNum = 0;
+            long dbIndexNum = 0;
+            long dbTabletNum = 0;
+            long dbReplicaNum = 0;
+            db.readLock();
+            try {
+                for (Table table : db.getTables()) {
+                    if (table.getType() != TableType.OLAP) {
+                        continue;
+                    }
+                    for (Partition partition : ((OlapTable) table).getAllPartitions()) {
+                        ++dbPartitionNum;
+                        // shadow indexes take memory too
+                        for (MaterializedIndex index : partition.getMaterializedIndices(IndexExtState.ALL)) {
+                            ++dbIndexNum;
+                            dbTabletNum += index.getTablets().size();
+                            for (Tablet tablet : index.getTablets()) {
+                                dbReplicaNum += tablet.getReplicas().size();
+                            }
+                        }
+                    }
+                }
+            } finally {
+                db.readUnlock();
+            }
+
+            List<Comparable> line = new ArrayList<>(TITLE_NAMES.size());
+            line.add(dbId);
+            line.add(db.getFullName());
+            line.add(dbPartitionNum);
+            line.add(dbIndexNum);
+            line.add(dbTabletNum);
+            line.add(dbReplicaNum);
+            line.add(estimateSize(dbPartitionNum, dbIndexNum, dbTabletNum, dbReplicaNum));
+            lines.add(line);
+
+            totalPartitionNum += dbPartitionNum;
+            totalIndexNum += dbIndexNum;
+            totalTabletNum += dbTabletNum;
+            totalReplicaNum += dbReplicaNum;
+        }
+
+        // the databases take the most memory come first
+        lines.sort(new ListComparator<>(true, 6));
+
+        List<Comparable> totalLine = new ArrayList<>(TITLE_NAMES.size());
+        totalLine.add("Total");
+        totalLine.add(lines.size());
+        totalLine.add(totalPartitionNum);
+        totalLine.add(totalIndexNum);
+        totalLine.add(totalTabletNum);
+        totalLine.add(totalReplicaNum);
+        totalLine.add(estimateSize(totalPartitionNum, totalIndexNum, totalTabletNum, totalReplicaNum));
+        lines.add(totalLine);
+
+        for (List<Comparable> line : lines) {
+            List<String> row = new ArrayList<>(line.size());
+            for (int i = 0; i < line.size() - 1; i++) {
+                row.add(line.get(i).toString());
+            }
+            Pair<Double, String> size = DebugUtil.getByteUint((Long) line.get(line.size() - 1));
+            row.add(DebugUtil.DECIMAL_FORMAT_SCALE_3.format(size.first) + " " + size.second);
+            result.addRow(row);
+        }
+        return result;
+    }
+}
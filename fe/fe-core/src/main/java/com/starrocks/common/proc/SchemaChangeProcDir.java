@@ -51,6 +51,7 @@ public class SchemaChangeProcDir implements ProcDirInterface {
             .add("JobId").add("TableName").add("CreateTime").add("FinishTime")
             .add("IndexName").add("IndexId").add("OriginIndexId").add("SchemaVersion")
             .add("TransactionId").add("State").add("Msg").add("Progress").add("Timeout")
+            .add("SchemaChangeType")
             .build();
 
     private static final Logger LOG = LogManager.getLogger(SchemaChangeProcDir.class);
@@ -0,0 +1,120 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A lock which is shared by the threads of the same group, and exclusive between the 2 groups.
+ * e.g. the readers of a whole database and the writers of single tables in it.
+ *
+ * The lock is reentrant: a thread holding the lock gets it again at once, even in the other group.
+ * To avoid starvation, the new threads of the active group wait if the other group is waiting,
+ * and the waiting threads of the other group are granted before them after the active group is released.
+ */
+public class GroupExclusiveLock {
+    private static final int NO_GROUP = -1;
+
+    private final ThreadLocal<int[]> holdCount = ThreadLocal.withInitial(() -> new int[1]);
+
+    private int activeGroup = NO_GROUP;
+    private int holders = 0;
+    private final int[] waiters = new int[2];
+    // the group to grant first after the active group is released, and how many threads of it to grant
+    private int preferredGroup = NO_GROUP;
+    private int preferredNum = 0;
+
+    public void lock(int group) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                tryLock(group, -1, TimeUnit.MILLISECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Wait at most timeout for the lock, wait forever if timeout is negative.
+     */
+    public boolean tryLock(int group, long timeout, TimeUnit unit) throws InterruptedException {
+        int[] count = holdCount.get();
+        if (count[0] > 0) {
+            count[0]++;
+            return true;
+        }
+        long deadline = timeout < 0 ? Long.MAX_VALUE : System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            boolean granted = false;
+            waiters[group]++;
+            try {
+                while (!canEnter(group)) {
+                    if (timeout < 0) {
+                        wait();
+                        continue;
+                    }
+                    long waitNanos = deadline - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                }
+                granted = true;
+            } finally {
+                waiters[group]--;
+                if (!granted) {
+                    // the threads of the other group may be waiting for this one
+                    notifyAll();
+                }
+            }
+            activeGroup = group;
+            holders++;
+            if (preferredGroup == group && --preferredNum <= 0) {
+                preferredGroup = NO_GROUP;
+            }
+        }
+        count[0] = 1;
+        return true;
+    }
+
+    private boolean canEnter(int group) {
+        // the preferred threads may give up waiting by timeout
+        if (preferredGroup != NO_GROUP && waiters[preferredGroup] > 0) {
+            return preferredGroup == group && (activeGroup == NO_GROUP || activeGroup == group);
+        }
+        if (activeGroup == NO_GROUP) {
+            return true;
+        }
+        return activeGroup == group && waiters[1 - group] == 0;
+    }
+
+    public void unlock() {
+        int[] count = holdCount.get();
+        if (count[0] <= 0) {
+            throw new IllegalMonitorStateException("the lock is not held by current thread");
+        }
+        if (--count[0] > 0) {
+            return;
+        }
+        synchronized (this) {
+            if (--holders == 0) {
+                int otherGroup = 1 - activeGroup;
+                if (waiters[otherGroup] > 0) {
+                    preferredGroup = otherGroup;
+                    preferredNum = waiters[otherGroup];
+                }
+                activeGroup = NO_GROUP;
+                notifyAll();
+            }
+        }
+    }
+
+    public boolean isHeldByCurrentThread() {
+        return holdCount.get()[0] > 0;
+    }
+}
@@ -0,0 +1,238 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.common.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+import com.starrocks.common.LoadException;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.common.UserException;
+import com.starrocks.proto.PKafkaMetaProxyRequest;
+import com.starrocks.proto.PKafkaMetaProxyResult;
+import com.starrocks.proto.PKafkaOffsetProxyRequest;
+import com.starrocks.proto.PKafkaOffsetProxyResult;
+import com.starrocks.proto.PStatus;
+import com.starrocks.thrift.TStatusCode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches kafka meta data for routine load jobs through the backend proxy in batch.
+ * <p>
+ * The queries submitted by the schedulers in routine_load_kafka_meta_batch_wait_ms are grouped by broker list,
+ * every group is sent to a random backend in one rpc, and the groups are sent concurrently.
+ * The partitions of a topic are cached for routine_load_kafka_partitions_cache_ttl_second, and the concurrent
+ * queries of the same topic share one fetch.
+ */
+public class KafkaMetaFetcher {
+    private static final Logger LOG = LogManager.getLogger(KafkaMetaFetcher.class);
+
+    // max number of queries in one rpc
+    private static final int MAX_BATCH_SIZE = 32;
+    // longer than the timeout of batch rpc, in case the query waits in queue
+    private static final long WAIT_TIMEOUT_MS = 30 * 1000L;
+
+    private final KafkaUtil.ProxyAPI proxyApi;
+    private final LinkedBlockingQueue<Query> queue = new LinkedBlockingQueue<>();
+    // brokers/topic/properties => cached partitions
+    private final Map<String, CachedPartitions> partitionsCache = new ConcurrentHashMap<>();
+
+    private ExecutorService fetchPool;
+    private Thread dispatcher;
+
+    KafkaMetaFetcher(KafkaUtil.ProxyAPI proxyApi) {
+        this.proxyApi = proxyApi;
+    }
+
+    // a meta query or an offset query of one topic
+    private static class Query {
+        private final String brokerList;
+        private final PKafkaMetaProxyRequest metaRequest;
+        private final PKafkaOffsetProxyRequest offsetRequest;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Query(String brokerList, PKafkaMetaProxyRequest metaRequest, PKafkaOffsetProxyRequest offsetRequest) {
+            this.brokerList = brokerList;
+            this.metaRequest = metaRequest;
+            this.offsetRequest = offsetRequest;
+        }
+    }
+
+    private static class CachedPartitions {
+        private final CompletableFuture<List<Integer>> future;
+        private volatile long expireTimeMs = Long.MAX_VALUE;
+
+        CachedPartitions(CompletableFuture<List<Integer>> future) {
+            this.future = future;
+        }
+
+        boolean isExpired(long now) {
+            return future.isCompletedExceptionally() || now > expireTimeMs;
+        }
+    }
+
+    public List<Integer> getAllKafkaPartitions(String brokerList, String topic,
+                                               ImmutableMap<String, String> properties) throws UserException {
+        // the cached list is shared, copy it for the caller
+        return Lists.newArrayList(waitFor(fetchPartitions(brokerList, topic, properties)));
+    }
+
+    public void prefetchAllKafkaPartitions(String brokerList, String topic, ImmutableMap<String, String> properties) {
+        fetchPartitions(brokerList, topic, properties);
+    }
+
+    public Map<Integer, Long> getOffsets(String brokerList, String topic, ImmutableMap<String, String> properties,
+                                         List<Integer> partitions, boolean isLatest) throws UserException {
+        PKafkaOffsetProxyRequest offsetRequest = new PKafkaOffsetProxyRequest();
+        offsetRequest.kafka_info = KafkaUtil.ProxyAPI.createKafkaLoadInfo(brokerList, topic, properties);
+        offsetRequest.partition_ids = partitions;
+        Query query = new Query(brokerList, null, offsetRequest);
+        submit(query);
+        PKafkaOffsetProxyResult result = (PKafkaOffsetProxyResult) waitFor(query.future);
+        return KafkaUtil.ProxyAPI.toPartitionOffsets(result, isLatest);
+    }
+
+    // returns the cached partitions, or the fetch of them which is shared by the concurrent queries
+    private CompletableFuture<List<Integer>> fetchPartitions(String brokerList, String topic,
+                                                             ImmutableMap<String, String> properties) {
+        long ttlMs = Config.routine_load_kafka_partitions_cache_ttl_second * 1000L;
+        String key = brokerList + "/" + topic + "/" + properties;
+        long now = System.currentTimeMillis();
+        CachedPartitions cached = partitionsCache.compute(key, (k, v) -> {
+            if (v != null && !v.isExpired(now) && ttlMs > 0) {
+                return v;
+            }
+            PKafkaMetaProxyRequest metaRequest = new PKafkaMetaProxyRequest();
+            metaRequest.kafka_info = KafkaUtil.ProxyAPI.createKafkaLoadInfo(brokerList, topic, properties);
+            Query query = new Query(brokerList, metaRequest, null);
+            CachedPartitions newCached = new CachedPartitions(query.future.thenApply(result -> {
+                List<Integer> partitions = ((PKafkaMetaProxyResult) result).partition_ids;
+                return partitions == null ? Lists.newArrayList() : partitions;
+            }));
+            newCached.future.thenRun(() -> newCached.expireTimeMs = System.currentTimeMillis() + ttlMs);
+            submit(query);
+            return newCached;
+        });
+        // the failed fetch is not cached
+        cached.future.whenComplete((partitions, e) -> {
+            if (e != null) {
+                partitionsCache.remove(key, cached);
+            }
+        });
+        return cached.future;
+    }
+
+    private void submit(Query query) {
+        ensureStarted();
+        queue.add(query);
+    }
+
+    private synchronized void ensureStarted() {
+        if (dispatcher != null) {
+            return;
+        }
+        fetchPool = ThreadPoolManager.newDaemonFixedThreadPool(Config.routine_load_kafka_meta_fetch_concurrency,
+                Integer.MAX_VALUE, "kafka-meta-fetch", true);
+        dispatcher = new Thread(this::dispatch, "kafka-meta-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private void dispatch() {
+        while (true) {
+            try {
+                List<Query> queries = Lists.newArrayList(queue.take());
+                if (Config.routine_load_kafka_meta_batch_wait_ms > 0) {
+                    Thread.sleep(Config.routine_load_kafka_meta_batch_wait_ms);
+                }
+                queue.drainTo(queries);
+
+                // broker list => queries
+                Map<String, List<Query>> brokerToQueries = Maps.newHashMap();
+                for (Query query : queries) {
+                    brokerToQueries.computeIfAbsent(query.brokerList, k -> Lists.newArrayList()).add(query);
+                }
+                for (List<Query> brokerQueries : brokerToQueries.values()) {
+                    for (List<Query> batch : Lists.partition(brokerQueries, MAX_BATCH_SIZE)) {
+                        fetchPool.submit(() -> fetch(batch));
+                    }
+                }
+            } catch (Throwable e) {
+                LOG.warn("failed to dispatch kafka meta queries", e);
+            }
+        }
+    }
+
+    private void fetch(List<Query> batch) {
+        List<Query> metaQueries = Lists.newArrayList();
+        List<Query> offsetQueries = Lists.newArrayList();
+        for (Query query : batch) {
+            if (query.metaRequest != null) {
+                metaQueries.add(query);
+            } else {
+                offsetQueries.add(query);
+            }
+        }
+
+        try {
+            if (!metaQueries.isEmpty()) {
+                List<PKafkaMetaProxyRequest> requests = Lists.newArrayList();
+                metaQueries.forEach(query -> requests.add(query.metaRequest));
+                List<PKafkaMetaProxyResult> results = proxyApi.getBatchKafkaPartitions(requests);
+                for (int i = 0; i < metaQueries.size(); i++) {
+                    complete(metaQueries.get(i), results.get(i), results.get(i).status);
+                }
+            }
+        } catch (Throwable e) {
+            metaQueries.forEach(query -> query.future.completeExceptionally(e));
+        }
+
+        try {
+            if (!offsetQueries.isEmpty()) {
+                List<PKafkaOffsetProxyRequest> requests = Lists.newArrayList();
+                offsetQueries.forEach(query -> requests.add(query.offsetRequest));
+                List<PKafkaOffsetProxyResult> results = proxyApi.getBatchOffsets(requests);
+                for (int i = 0; i < offsetQueries.size(); i++) {
+                    complete(offsetQueries.get(i), results.get(i), results.get(i).status);
+                }
+            }
+        } catch (Throwable e) {
+            offsetQueries.forEach(query -> query.future.completeExceptionally(e));
+        }
+    }
+
+    private static void complete(Query query, Object result, PStatus status) {
+        // the result of a single request has no status, it's checked by the rpc status
+        if (status != null && TStatusCode.findByValue(status.status_code) != TStatusCode.OK) {
+            query.future.completeExceptionally(
+                    new UserException("failed to send proxy request: " + status.error_msgs));
+        } else {
+            query.future.complete(result);
+        }
+    }
+
+    private static <T> T waitFor(CompletableFuture<T> future) throws UserException {
+        try {
+            return future.get(WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UserException) {
+                throw (UserException) e.getCause();
+            }
+            throw new LoadException("Failed to get kafka meta: " + e.getCause().getMessage());
+        } catch (InterruptedException | TimeoutException e) {
+            throw new LoadException("Failed to get kafka meta: " + e.getMessage());
+        }
+    }
+}
@@ -29,7 +29,9 @@ import com.starrocks.common.LoadException;
 import com.starrocks.common.UserException;
 import com.starrocks.proto.PKafkaLoadInfo;
 import com.starrocks.proto.PKafkaMetaProxyRequest;
+import com.starrocks.proto.PKafkaMetaProxyResult;
 import com.starrocks.proto.PKafkaOffsetProxyRequest;
+import com.starrocks.proto.PKafkaOffsetProxyResult;
 import com.starrocks.proto.PProxyRequest;
 import com.starrocks.proto.PProxyResult;
 import com.starrocks.proto.PStringPair;
@@ -50,44 +52,44 @@ public class KafkaUtil {
     private static final Logger LOG = LogManager.getLogger(KafkaUtil.class);
 
     private static final ProxyAPI proxyApi = new ProxyAPI();
+    private static final KafkaMetaFetcher metaFetcher = new KafkaMetaFetcher(proxyApi);
 
+    // the partitions are cached for routine_load_kafka_partitions_cache_ttl_second
     public static List<Integer> getAllKafkaPartitions(String brokerList, String topic,
                                                       ImmutableMap<String, String> properties) throws UserException {
-        return proxyApi.getAllKafkaPartitions(brokerList, topic, properties);
+        return metaFetcher.getAllKafkaPartitions(brokerList, topic, properties);
+    }
+
+    // start to fetch the partitions into cache without waiting, so the fetches of many jobs are batched
+    public static void prefetchAllKafkaPartitions(String brokerList, String topic,
+                                                  ImmutableMap<String, String> properties) {
+        metaFetcher.prefetchAllKafkaPartitions(brokerList, topic, properties);
     }
 
     // latest offset is (the latest existing message offset + 1)
     public static Map<Integer, Long> getLatestOffsets(String brokerList, String topic,
                                                       ImmutableMap<String, String> properties,
                                                       List<Integer> partitions) throws UserException {
-        return proxyApi.getLatestOffsets(brokerList, topic, properties, partitions);
+        return metaFetcher.getOffsets(brokerList, topic, properties, partitions, true);
     }
 
     public static Map<Integer, Long> getBeginningOffsets(String brokerList, String topic,
                                                          ImmutableMap<String, String> properties,
                                                          List<Integer> partitions) throws UserException {
-        return proxyApi.getBeginningOffsets(brokerList, topic, properties, partitions);
+        return metaFetcher.getOffsets(brokerList, topic, properties, partitions, false);
     }
 
     static class ProxyAPI {
+        private static final long PROXY_TIMEOUT_SECOND = 5;
+        // the requests in one batch are processed one by one in backend
+        private static final long BATCH_PROXY_TIMEOUT_SECOND = 15;
+
         public List<Integer> getAllKafkaPartitions(String brokerList, String topic,
                                                    ImmutableMap<String, String> convertedCustomProperties)
                 throws UserException {
             // create request
-            PKafkaLoadInfo kafkaLoadInfo = new PKafkaLoadInfo();
-            kafkaLoadInfo.brokers = brokerList;
-            kafkaLoadInfo.topic = topic;
-            for (Map.Entry<String, String> entry : convertedCustomProperties.entrySet()) {
-                PStringPair pair = new PStringPair();
-                pair.key = entry.getKey();
-                pair.val = entry.getValue();
-                if (kafkaLoadInfo.properties == null) {
-                    kafkaLoadInfo.properties = Lists.newArrayList();
-                }
-                kafkaLoadInfo.properties.add(pair);
-            }
             PKafkaMetaProxyRequest metaRequest = new PKafkaMetaProxyRequest();
-            metaRequest.kafka_info = kafkaLoadInfo;
+            metaRequest.kafka_info = createKafkaLoadInfo(brokerList, topic, convertedCustomProperties);
             PProxyRequest request = new PProxyRequest();
             request.kafka_meta_request = metaRequest;
 
@@ -111,6 +113,65 @@ public class KafkaUtil {
                                              ImmutableMap<String, String> properties,
                                              List<Integer> partitions, boolean isLatest) throws UserException {
             // create request
+            PKafkaOffsetProxyRequest offsetRequest = new PKafkaOffsetProxyRequest();
+            offsetRequest.kafka_info = createKafkaLoadInfo(brokerList, topic, properties);
+            offsetRequest.partition_ids = partitions;
+            PProxyRequest request = new PProxyRequest();
+            request.kafka_offset_request = offsetRequest;
+
+            // send request
+            PProxyResult result = sendProxyRequest(request);
+
+            // assembly result
+            return toPartitionOffsets(result.kafka_offset_result, isLatest);
+        }
+
+        /**
+         * Send the meta requests in one rpc, the results are in the same order as requests,
+         * and the status of every result should be checked.
+         */
+        public List<PKafkaMetaProxyResult> getBatchKafkaPartitions(List<PKafkaMetaProxyRequest> metaRequests)
+                throws UserException {
+            PProxyRequest request = new PProxyRequest();
+            request.kafka_meta_requests = metaRequests;
+            PProxyResult result = sendProxyRequest(request, BATCH_PROXY_TIMEOUT_SECOND);
+            if (result.kafka_meta_results == null || result.kafka_meta_results.size() != metaRequests.size()) {
+                // the backend doesn't support batch request, send them one by one
+                List<PKafkaMetaProxyResult> results = Lists.newArrayList();
+                for (PKafkaMetaProxyRequest metaRequest : metaRequests) {
+                    PProxyRequest singleRequest = new PProxyRequest();
+                    singleRequest.kafka_meta_request = metaRequest;
+                    results.add(sendProxyRequest(singleRequest).kafka_meta_result);
+                }
+                return results;
+            }
+            return result.kafka_meta_results;
+        }
+
+        /**
+         * Send the offset requests in one rpc, the results are in the same order as requests,
+         * and the status of every result should be checked.
+         */
+        public List<PKafkaOffsetProxyResult> getBatchOffsets(List<PKafkaOffsetProxyRequest> offsetRequests)
+                throws UserException {
+            PProxyRequest request = new PProxyRequest();
+            request.kafka_offset_requests = offsetRequests;
+            PProxyResult result = sendProxyRequest(request, BATCH_PROXY_TIMEOUT_SECOND);
+            if (result.kafka_offset_results == null || result.kafka_offset_results.size() != offsetRequests.size()) {
+                // the backend doesn't support batch request, send them one by one
+                List<PKafkaOffsetProxyResult> results = Lists.newArrayList();
+                for (PKafkaOffsetProxyRequest offsetRequest : offsetRequests) {
+                    PProxyRequest singleRequest = new PProxyRequest();
+                    singleRequest.kafka_offset_request = offsetRequest;
+                    results.add(sendProxyRequest(singleRequest).kafka_offset_result);
+                }
+                return results;
+            }
+            return result.kafka_offset_results;
+        }
+
+        static PKafkaLoadInfo createKafkaLoadInfo(String brokerList, String topic,
+                                                  ImmutableMap<String, String> properties) {
             PKafkaLoadInfo kafkaLoadInfo = new PKafkaLoadInfo();
             kafkaLoadInfo.brokers = brokerList;
             kafkaLoadInfo.topic = topic;
@@ -123,30 +184,28 @@ public class KafkaUtil {
                 }
                 kafkaLoadInfo.properties.add(pair);
             }
-            PKafkaOffsetProxyRequest offsetRequest = new PKafkaOffsetProxyRequest();
-            offsetRequest.kafka_info = kafkaLoadInfo;
-            offsetRequest.partition_ids = partitions;
-            PProxyRequest request = new PProxyRequest();
-            request.kafka_offset_request = offsetRequest;
-
-            // send request
-            PProxyResult result = sendProxyRequest(request);
+            return kafkaLoadInfo;
+        }
 
-            // assembly result
-            Map<Integer, Long> partitionOffsets = Maps.newHashMapWithExpectedSize(partitions.size());
+        static Map<Integer, Long> toPartitionOffsets(PKafkaOffsetProxyResult offsetResult, boolean isLatest) {
+            Map<Integer, Long> partitionOffsets = Maps.newHashMapWithExpectedSize(offsetResult.partition_ids.size());
             List<Long> offsets;
             if (isLatest) {
-                offsets = result.kafka_offset_result.latest_offsets;
+                offsets = offsetResult.latest_offsets;
             } else {
-                offsets = result.kafka_offset_result.beginning_offsets;
+                offsets = offsetResult.beginning_offsets;
             }
-            for (int i = 0; i < result.kafka_offset_result.partition_ids.size(); i++) {
-                partitionOffsets.put(result.kafka_offset_result.partition_ids.get(i), offsets.get(i));
+            for (int i = 0; i < offsetResult.partition_ids.size(); i++) {
+                partitionOffsets.put(offsetResult.partition_ids.get(i), offsets.get(i));
             }
             return partitionOffsets;
         }
 
         private PProxyResult sendProxyRequest(PProxyRequest request) throws UserException {
+            return sendProxyRequest(request, PROXY_TIMEOUT_SECOND);
+        }
+
+        private PProxyResult sendProxyRequest(PProxyRequest request, long timeoutSecond) throws UserException {
             try {
                 List<Long> backendIds = Catalog.getCurrentSystemInfo().getBackendIds(true);
                 if (backendIds.isEmpty()) {
@@ -158,7 +217,7 @@ public class KafkaUtil {
 
                 // get info
                 Future<PProxyResult> future = BackendServiceProxy.getInstance().getInfo(address, request);
-                PProxyResult result = future.get(5, TimeUnit.SECONDS);
+                PProxyResult result = future.get(timeoutSecond, TimeUnit.SECONDS);
                 TStatusCode code = TStatusCode.findByValue(result.status.status_code);
                 if (code != TStatusCode.OK) {
                     throw new UserException("failed to send proxy request: " + result.status.error_msgs);
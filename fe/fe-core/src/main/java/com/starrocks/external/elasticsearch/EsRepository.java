@@ -21,6 +21,7 @@
 
 package com.starrocks.external.elasticsearch;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
@@ -28,16 +29,27 @@ import com.starrocks.catalog.EsTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.MasterDaemon;
+import com.starrocks.metric.MetricRepo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * It is responsible for loading all ES external table's meta-data such as `fields`, `partitions` periodically,
  * playing the `repo` role at StarRocks On ES
+ * <p>
+ * The tables are grouped by ES cluster, the clusters are synced concurrently and the http nodes of a cluster
+ * are fetched only once in every round. A slow cluster is waited for at most `es_state_sync_timeout_second`,
+ * and it's skipped in the following rounds until its last sync finishes.
  */
 public class EsRepository extends MasterDaemon {
 
@@ -47,6 +59,11 @@ public class EsRepository extends MasterDaemon {
 
     private Map<Long, EsRestClient> esClients;
 
+    // cluster => the running or last finished sync, only accessed by the daemon thread
+    private Map<String, Future<?>> clusterSyncs = Maps.newHashMap();
+
+    private ExecutorService syncExecutor;
+
     public EsRepository() {
         super("es repository", Config.es_state_sync_interval_second * 1000);
         esTables = Maps.newConcurrentMap();
@@ -71,18 +88,91 @@ public class EsRepository extends MasterDaemon {
 
     @Override
     protected void runAfterCatalogReady() {
+        if (syncExecutor == null) {
+            syncExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.es_state_sync_concurrency,
+                    Integer.MAX_VALUE, "es-state-sync", true);
+        }
+
+        Map<String, List<EsTable>> clusterTables = Maps.newHashMap();
         for (EsTable esTable : esTables.values()) {
+            clusterTables.computeIfAbsent(getClusterKey(esTable), k -> Lists.newArrayList()).add(esTable);
+        }
+        clusterSyncs.keySet().retainAll(clusterTables.keySet());
+
+        Map<String, Future<?>> submitted = Maps.newHashMap();
+        for (Map.Entry<String, List<EsTable>> entry : clusterTables.entrySet()) {
+            String cluster = entry.getKey();
+            Future<?> lastSync = clusterSyncs.get(cluster);
+            if (lastSync != null && !lastSync.isDone()) {
+                LOG.warn("skip syncing es cluster [{}], the last sync is still running", cluster);
+                continue;
+            }
+            List<EsTable> tables = entry.getValue();
+            Future<?> future = syncExecutor.submit(() -> syncCluster(cluster, tables));
+            clusterSyncs.put(cluster, future);
+            submitted.put(cluster, future);
+        }
+
+        long deadline = System.currentTimeMillis() + Config.es_state_sync_timeout_second * 1000;
+        for (Map.Entry<String, Future<?>> entry : submitted.entrySet()) {
+            long waitMs = Math.max(0, deadline - System.currentTimeMillis());
             try {
-                esTable.syncTableMetaData(esClients.get(esTable.getId()));
+                entry.getValue().get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOG.warn("sync of es cluster [{}] is not finished in {}s, its tables keep the last meta data",
+                        entry.getKey(), Config.es_state_sync_timeout_second);
+                if (MetricRepo.isInit) {
+                    MetricRepo.COUNTER_ES_SYNC_TIMEOUT.increase(1L);
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.warn("failed to sync es cluster [{}]", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void syncCluster(String cluster, List<EsTable> tables) {
+        // the http nodes are shared by all tables of the cluster,
+        // each table fetches them by itself if it fails here
+        Map<String, EsNodeInfo> nodesInfo = null;
+        EsRestClient firstClient = esClients.get(tables.get(0).getId());
+        if (firstClient != null) {
+            try {
+                nodesInfo = firstClient.getHttpNodes();
+            } catch (Throwable e) {
+                LOG.warn("failed to get http nodes of es cluster [{}]", cluster, e);
+            }
+        }
+
+        for (EsTable esTable : tables) {
+            EsRestClient client = esClients.get(esTable.getId());
+            if (client == null) {
+                // deregistered
+                continue;
+            }
+            long startTime = System.currentTimeMillis();
+            boolean success;
+            try {
+                success = esTable.syncTableMetaData(client, nodesInfo);
             } catch (Throwable e) {
                 LOG.warn("Exception happens when fetch index [{}] meta data from remote es cluster", esTable.getName(),
                         e);
                 esTable.setEsTablePartitions(null);
                 esTable.setLastMetaDataSyncException(e);
+                success = false;
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_ES_SYNC_LATENCY.update(System.currentTimeMillis() - startTime);
+                if (!success) {
+                    MetricRepo.COUNTER_ES_SYNC_FAILED.increase(1L);
+                }
             }
         }
     }
 
+    private static String getClusterKey(EsTable esTable) {
+        return esTable.getHosts() + "#" + esTable.getUserName();
+    }
+
     // should call this method to init the state store after loading image
     // the rest of tables will be added or removed by replaying edit log
     // when fe is start to load image, should call this method to init the state store
@@ -25,6 +25,8 @@ import com.starrocks.thrift.TNetworkAddress;
 import org.apache.commons.lang.StringUtils;
 import org.json.JSONObject;
 
+import java.util.Objects;
+
 public class EsShardRouting {
 
     private final String indexName;
@@ -85,6 +87,27 @@ public class EsShardRouting {
         return nodeId;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EsShardRouting)) {
+            return false;
+        }
+        EsShardRouting that = (EsShardRouting) o;
+        return shardId == that.shardId && isPrimary == that.isPrimary
+                && Objects.equals(indexName, that.indexName)
+                && Objects.equals(address, that.address)
+                && Objects.equals(httpAddress, that.httpAddress)
+                && Objects.equals(nodeId, that.nodeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indexName, shardId, isPrimary, address, httpAddress, nodeId);
+    }
+
     @Override
     public String toString() {
         return "EsShardRouting{" +
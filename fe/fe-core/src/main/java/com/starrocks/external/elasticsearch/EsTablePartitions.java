@@ -122,6 +122,30 @@ public class EsTablePartitions {
 
     }
 
+    /**
+     * Whether the other partitions have the same indices, partition ids and shard routings as this one.
+     */
+    public boolean hasSameRoutings(EsTablePartitions other) {
+        if (other == null || !partitionIdToIndices.equals(other.partitionIdToIndices)) {
+            return false;
+        }
+        return hasSameRoutings(partitionedIndexStates, other.partitionedIndexStates)
+                && hasSameRoutings(unPartitionedIndexStates, other.unPartitionedIndexStates);
+    }
+
+    private static boolean hasSameRoutings(Map<String, EsShardPartitions> states,
+                                           Map<String, EsShardPartitions> otherStates) {
+        if (!states.keySet().equals(otherStates.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, EsShardPartitions> entry : states.entrySet()) {
+            if (!entry.getValue().getShardRoutings().equals(otherStates.get(entry.getKey()).getShardRoutings())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public TNetworkAddress randomAddress(Map<String, EsNodeInfo> nodesInfo) {
         int seed = new Random().nextInt() % nodesInfo.size();
         EsNodeInfo[] nodeInfos = (EsNodeInfo[]) nodesInfo.values().toArray();
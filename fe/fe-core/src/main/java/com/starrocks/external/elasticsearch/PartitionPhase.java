@@ -41,7 +41,7 @@ public class PartitionPhase implements SearchPhase {
     @Override
     public void execute(SearchContext context) throws StarRocksESException {
         shardPartitions = client.searchShards(context.sourceIndex());
-        nodesInfo = client.getHttpNodes();
+        nodesInfo = context.nodesInfo() != null ? context.nodesInfo() : client.getHttpNodes();
     }
 
     @Override
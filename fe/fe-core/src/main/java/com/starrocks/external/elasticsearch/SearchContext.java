@@ -85,6 +85,10 @@ public class SearchContext {
     // the ES cluster version
     private EsMajorVersion version;
 
+    // the http nodes of the ES cluster which are shared by all tables in one sync round,
+    // null means they should be fetched by the table itself
+    private Map<String, EsNodeInfo> nodesInfo;
+
     public SearchContext(EsTable table) {
         this.table = table;
         fullSchema = table.getFullSchema();
@@ -128,6 +132,14 @@ public class SearchContext {
         return version;
     }
 
+    public void nodesInfo(Map<String, EsNodeInfo> nodesInfo) {
+        this.nodesInfo = nodesInfo;
+    }
+
+    public Map<String, EsNodeInfo> nodesInfo() {
+        return nodesInfo;
+    }
+
     public void partitions(EsShardPartitions shardPartitions) {
         this.shardPartitions = shardPartitions;
     }
@@ -6,18 +6,27 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.PartitionKey;
+import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import com.starrocks.persist.gson.GsonUtils;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import static com.google.common.cache.CacheLoader.asyncReloading;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -27,7 +36,19 @@ public class HiveMetaCache {
     private static final long MAX_TABLE_CACHE_SIZE = 1000L;
     private static final long MAX_PARTITION_CACHE_SIZE = MAX_TABLE_CACHE_SIZE * 1000L;
 
+    // event types of hive metastore notification
+    private static final String ADD_PARTITION_EVENT = "ADD_PARTITION";
+    private static final String DROP_PARTITION_EVENT = "DROP_PARTITION";
+    private static final String ALTER_PARTITION_EVENT = "ALTER_PARTITION";
+    private static final String INSERT_EVENT = "INSERT";
+    private static final String ALTER_TABLE_EVENT = "ALTER_TABLE";
+    private static final String DROP_TABLE_EVENT = "DROP_TABLE";
+
     private final HiveMetaClient client;
+    // executor to load the missing partitions of one request concurrently
+    private final Executor partitionLoadExecutor;
+    // id of the last metastore notification event applied to the cache, -1 if unknown
+    private volatile long lastEventId = -1;
 
     // HivePartitionKeysKey => ImmutableMap<PartitionKey -> PartitionId>
     // for unPartitioned table, partition map is: ImmutableMap<>.of(new PartitionKey(), PartitionId)
@@ -45,7 +66,12 @@ public class HiveMetaCache {
     LoadingCache<HiveTableColumnsKey, ImmutableMap<String, HiveColumnStats>> tableColumnStatsCache;
 
     public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor) {
+        this(hiveMetaClient, executor, executor);
+    }
+
+    public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor, Executor partitionLoadExecutor) {
         this.client = hiveMetaClient;
+        this.partitionLoadExecutor = partitionLoadExecutor;
 
         init(executor);
     }
@@ -167,6 +193,54 @@ public class HiveMetaCache {
         }
     }
 
+    /**
+     * Get partitions in the order of partitionKeys. The partitions missing in cache are loaded
+     * concurrently, and each one is put into cache as soon as its files are listed, so a failed
+     * or cancelled request still keeps the loaded partitions for the next one.
+     */
+    public List<HivePartition> getPartitions(String dbName, String tableName,
+                                             List<PartitionKey> partitionKeys) throws DdlException {
+        List<HivePartitionKey> keys = Lists.newArrayListWithCapacity(partitionKeys.size());
+        Map<HivePartitionKey, HivePartition> partitions = Maps.newHashMap();
+        Map<HivePartitionKey, CompletableFuture<HivePartition>> futures = Maps.newHashMap();
+        for (PartitionKey partitionKey : partitionKeys) {
+            HivePartitionKey key = HivePartitionKey.gen(dbName, tableName, Utils.getPartitionValues(partitionKey));
+            keys.add(key);
+            HivePartition partition = partitionsCache.getIfPresent(key);
+            if (partition != null) {
+                partitions.put(key, partition);
+            } else if (!futures.containsKey(key)) {
+                futures.put(key, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        HivePartition loaded = loadPartition(key);
+                        partitionsCache.put(key, loaded);
+                        return loaded;
+                    } catch (DdlException e) {
+                        throw new CompletionException(e);
+                    }
+                }, partitionLoadExecutor));
+            }
+        }
+
+        for (Map.Entry<HivePartitionKey, CompletableFuture<HivePartition>> entry : futures.entrySet()) {
+            try {
+                partitions.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof CompletionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                throw new DdlException("get partition detail failed: " + cause.getMessage());
+            }
+        }
+
+        List<HivePartition> result = Lists.newArrayListWithCapacity(keys.size());
+        for (HivePartitionKey key : keys) {
+            result.add(partitions.get(key));
+        }
+        return result;
+    }
+
     public HiveTableStats getTableStats(String dbName, String tableName) throws DdlException {
         try {
             return tableStatsCache.get(new HiveTableKey(dbName, tableName));
@@ -237,6 +311,227 @@ public class HiveMetaCache {
         }
     }
 
+    public HiveMetaClient getClient() {
+        return client;
+    }
+
+    public Map<HivePartitionKey, HivePartition> getCachedPartitions() {
+        return ImmutableMap.copyOf(partitionsCache.asMap());
+    }
+
+    /**
+     * Put the partitions restored from snapshot into cache, if they are not modified in metastore since
+     * the snapshot is taken. Partitions already in cache are kept. Returns the number of restored partitions.
+     */
+    public int restorePartitions(Map<HivePartitionKey, HivePartition> partitions) {
+        Map<HiveTableKey, List<HivePartitionKey>> tableToKeys = Maps.newHashMap();
+        for (HivePartitionKey key : partitions.keySet()) {
+            tableToKeys.computeIfAbsent(HiveTableKey.gen(key.getDatabaseName(), key.getTableName()),
+                    k -> Lists.newArrayList()).add(key);
+        }
+
+        int restored = 0;
+        for (Map.Entry<HiveTableKey, List<HivePartitionKey>> entry : tableToKeys.entrySet()) {
+            HiveTableKey tableKey = entry.getKey();
+            Map<List<String>, Long> modifiedTimes;
+            try {
+                modifiedTimes = client.getPartitionModifiedTimes(tableKey.getDatabaseName(),
+                        tableKey.getTableName(), entry.getValue().stream()
+                                .map(HivePartitionKey::getPartitionValues).collect(Collectors.toList()));
+            } catch (DdlException e) {
+                LOG.warn("validate snapshot partitions of table {}.{} failed", tableKey.getDatabaseName(),
+                        tableKey.getTableName(), e);
+                continue;
+            }
+            for (HivePartitionKey key : entry.getValue()) {
+                HivePartition partition = partitions.get(key);
+                Long modifiedTime = modifiedTimes.get(key.getPartitionValues());
+                if (modifiedTime == null || modifiedTime < 0 || modifiedTime != partition.getModifiedTime()) {
+                    continue;
+                }
+                if (partitionsCache.asMap().putIfAbsent(key, partition) == null) {
+                    restored++;
+                }
+            }
+        }
+        return restored;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void resetLastEventId() {
+        lastEventId = -1;
+    }
+
+    /**
+     * Apply the metastore notification events since the last processed one to the cache, so the cache
+     * could be kept fresh with a long ttl. The first call only records the current event id.
+     */
+    public void processEvents(int maxEvents) throws DdlException {
+        if (lastEventId < 0) {
+            lastEventId = client.getCurrentNotificationEventId().getEventId();
+            return;
+        }
+
+        NotificationEventResponse response = client.getNextNotification(lastEventId, maxEvents);
+        if (response == null || response.getEvents() == null || response.getEvents().isEmpty()) {
+            return;
+        }
+        List<NotificationEvent> events = response.getEvents();
+        if (events.get(0).getEventId() > lastEventId + 1) {
+            // some events are cleaned by metastore before we get them, the cache can't be trusted anymore
+            LOG.warn("hive metastore events between {} and {} are missing, invalidate all cache",
+                    lastEventId, events.get(0).getEventId());
+            invalidateAll();
+        }
+        for (NotificationEvent event : events) {
+            try {
+                applyEvent(event);
+            } catch (Exception e) {
+                LOG.warn("apply hive metastore event {} failed, clear cache of table {}.{}",
+                        event.getEventId(), event.getDbName(), event.getTableName(), e);
+                clearCache(event.getDbName(), event.getTableName());
+            }
+            lastEventId = event.getEventId();
+        }
+    }
+
+    private void applyEvent(NotificationEvent event) throws AnalysisException {
+        if (event.getDbName() == null || event.getTableName() == null) {
+            return;
+        }
+        // the cache is keyed by the names used in hive table properties, which may differ in case
+        HiveTableKey tableKey = getCachedTableKey(event.getDbName(), event.getTableName());
+        if (tableKey == null) {
+            return;
+        }
+        String dbName = tableKey.getDatabaseName();
+        String tableName = tableKey.getTableName();
+        String format = event.getMessageFormat();
+        if (format != null && !format.isEmpty() && !format.startsWith("json")) {
+            // compressed message can't be parsed, fall back to clear the table
+            clearCache(dbName, tableName);
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case ADD_PARTITION_EVENT: {
+                EventMessages.AddPartitionMessage message =
+                        GsonUtils.GSON.fromJson(event.getMessage(), EventMessages.AddPartitionMessage.class);
+                updatePartitionKeys(dbName, tableName, message.getPartitions(), true);
+                invalidateTableStats(dbName, tableName);
+                break;
+            }
+            case DROP_PARTITION_EVENT: {
+                EventMessages.DropPartitionMessage message =
+                        GsonUtils.GSON.fromJson(event.getMessage(), EventMessages.DropPartitionMessage.class);
+                updatePartitionKeys(dbName, tableName, message.getPartitions(), false);
+                invalidateTableStats(dbName, tableName);
+                break;
+            }
+            case ALTER_PARTITION_EVENT: {
+                EventMessages.AlterPartitionMessage message =
+                        GsonUtils.GSON.fromJson(event.getMessage(), EventMessages.AlterPartitionMessage.class);
+                refreshPartitionIfPresent(dbName, tableName, message.getKeyValues());
+                break;
+            }
+            case INSERT_EVENT: {
+                EventMessages.InsertMessage message =
+                        GsonUtils.GSON.fromJson(event.getMessage(), EventMessages.InsertMessage.class);
+                refreshPartitionIfPresent(dbName, tableName, message.getPartKeyValues());
+                invalidateTableStats(dbName, tableName);
+                break;
+            }
+            case ALTER_TABLE_EVENT:
+            case DROP_TABLE_EVENT:
+                clearCache(dbName, tableName);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private HiveTableKey getCachedTableKey(String dbName, String tableName) {
+        for (HivePartitionKeysKey key : partitionKeysCache.asMap().keySet()) {
+            if (key.getDatabaseName().equalsIgnoreCase(dbName) && key.getTableName().equalsIgnoreCase(tableName)) {
+                return HiveTableKey.gen(key.getDatabaseName(), key.getTableName());
+            }
+        }
+        for (HiveTableKey key : tableStatsCache.asMap().keySet()) {
+            if (key.getDatabaseName().equalsIgnoreCase(dbName) && key.getTableName().equalsIgnoreCase(tableName)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    // the partition spec in event message is ordered by partition columns
+    private static List<String> getPartitionValues(Map<String, String> partitionSpec) {
+        return partitionSpec == null ? Lists.newArrayList() : Lists.newArrayList(partitionSpec.values());
+    }
+
+    private void updatePartitionKeys(String dbName, String tableName, List<Map<String, String>> partitionSpecs,
+                                     boolean isAdd) throws AnalysisException {
+        if (partitionSpecs == null) {
+            return;
+        }
+        HivePartitionKeysKey keysKey = null;
+        for (HivePartitionKeysKey key : partitionKeysCache.asMap().keySet()) {
+            if (key.getDatabaseName().equals(dbName) && key.getTableName().equals(tableName)) {
+                keysKey = key;
+                break;
+            }
+        }
+        ImmutableMap<PartitionKey, Long> partitionKeys = keysKey == null ? null :
+                partitionKeysCache.getIfPresent(keysKey);
+
+        Map<PartitionKey, Long> newPartitionKeys = partitionKeys == null ? null : Maps.newHashMap(partitionKeys);
+        for (Map<String, String> partitionSpec : partitionSpecs) {
+            List<String> partValues = getPartitionValues(partitionSpec);
+            HivePartitionKey key = HivePartitionKey.gen(dbName, tableName, partValues);
+            partitionsCache.invalidate(key);
+            partitionStatsCache.invalidate(key);
+            if (newPartitionKeys == null) {
+                continue;
+            }
+            PartitionKey partitionKey = Utils.createPartitionKey(partValues, keysKey.getPartitionColumns());
+            if (isAdd) {
+                newPartitionKeys.putIfAbsent(partitionKey, client.nextPartitionId());
+            } else {
+                newPartitionKeys.remove(partitionKey);
+            }
+        }
+        if (newPartitionKeys != null) {
+            partitionKeysCache.put(keysKey, ImmutableMap.copyOf(newPartitionKeys));
+        }
+    }
+
+    // reload the partition in background and keep serving the old one until the reload is done
+    private void refreshPartitionIfPresent(String dbName, String tableName, Map<String, String> partitionSpec) {
+        HivePartitionKey key = HivePartitionKey.gen(dbName, tableName, getPartitionValues(partitionSpec));
+        if (partitionsCache.getIfPresent(key) != null) {
+            partitionsCache.refresh(key);
+        }
+        if (partitionStatsCache.getIfPresent(key) != null) {
+            partitionStatsCache.refresh(key);
+        }
+    }
+
+    private void invalidateTableStats(String dbName, String tableName) {
+        tableStatsCache.invalidate(HiveTableKey.gen(dbName, tableName));
+        tableColumnStatsCache.invalidate(HiveTableColumnsKey.gen(dbName, tableName, null, null));
+    }
+
+    private void invalidateAll() {
+        partitionKeysCache.invalidateAll();
+        partitionsCache.invalidateAll();
+        tableStatsCache.invalidateAll();
+        partitionStatsCache.invalidateAll();
+        tableColumnStatsCache.invalidateAll();
+    }
+
     public void clearCache(String dbName, String tableName) {
         HivePartitionKeysKey hivePartitionKeysKey = HivePartitionKeysKey.gen(dbName, tableName, null);
         ImmutableMap<PartitionKey, Long> partitionKeys = partitionKeysCache.getIfPresent(hivePartitionKeysKey);
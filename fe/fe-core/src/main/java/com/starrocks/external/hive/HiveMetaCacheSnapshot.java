@@ -0,0 +1,211 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.external.hive;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary snapshot of the cached hive partitions and their files, so the partitions don't need
+ * to be listed again after the frontend restarts.
+ * <p>
+ * Layout: magic, version, data node hosts, partitions, and a crc32 of all bytes before it.
+ * Block replicas are stored as indexes of the data node hosts, because host ids are only valid
+ * in one HiveMetaClient. The snapshot is read by a memory-mapped buffer.
+ */
+public class HiveMetaCacheSnapshot {
+    private static final Logger LOG = LogManager.getLogger(HiveMetaCacheSnapshot.class);
+
+    private static final int MAGIC = 0x48495645;
+    private static final int VERSION = 1;
+
+    public static void write(File file, Map<HivePartitionKey, HivePartition> partitions,
+                             HiveMetaClient client) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("failed to create directory " + parent);
+        }
+
+        // host name => index in snapshot
+        Map<String, Integer> hostIndexes = Maps.newLinkedHashMap();
+        for (HivePartition partition : partitions.values()) {
+            for (HdfsFileDesc fileDesc : partition.getFiles()) {
+                for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
+                    for (long hostId : blockDesc.getReplicaHostIds()) {
+                        hostIndexes.putIfAbsent(client.getBlockHost(hostId), hostIndexes.size());
+                    }
+                }
+            }
+        }
+
+        // write to a temp file and rename it, so a crash never leaves a partial snapshot
+        File tmpFile = new File(parent, file.getName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(tmpFile);
+                DataOutputStream out = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(fileOut), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(hostIndexes.size());
+            for (String host : hostIndexes.keySet()) {
+                writeString(out, host);
+            }
+
+            out.writeInt(partitions.size());
+            for (Map.Entry<HivePartitionKey, HivePartition> entry : partitions.entrySet()) {
+                HivePartitionKey key = entry.getKey();
+                HivePartition partition = entry.getValue();
+                writeString(out, key.getDatabaseName());
+                writeString(out, key.getTableName());
+                out.writeInt(key.getPartitionValues().size());
+                for (String value : key.getPartitionValues()) {
+                    writeString(out, value);
+                }
+                out.writeLong(partition.getModifiedTime());
+                writeString(out, partition.getFormat().name());
+                writeString(out, partition.getFullPath());
+
+                out.writeInt(partition.getFiles().size());
+                for (HdfsFileDesc fileDesc : partition.getFiles()) {
+                    writeString(out, fileDesc.getFileName());
+                    writeString(out, fileDesc.getCompression());
+                    out.writeLong(fileDesc.getLength());
+                    out.writeInt(fileDesc.getBlockDescs().size());
+                    for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
+                        out.writeLong(blockDesc.getOffset());
+                        out.writeLong(blockDesc.getLength());
+                        out.writeInt(blockDesc.getReplicaHostIds().length);
+                        for (long hostId : blockDesc.getReplicaHostIds()) {
+                            out.writeInt(hostIndexes.get(client.getBlockHost(hostId)));
+                        }
+                        long[] diskIds = blockDesc.getDiskIds() == null ? new long[0] : blockDesc.getDiskIds();
+                        out.writeInt(diskIds.length);
+                        for (long diskId : diskIds) {
+                            out.writeLong(diskId);
+                        }
+                    }
+                }
+            }
+            out.flush();
+            // the checksum itself is not covered
+            new DataOutputStream(fileOut).writeLong(crc.getValue());
+            fileOut.getFD().sync();
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the partitions in snapshot, the block host ids are registered in the given client.
+     * Returns an empty map if the snapshot doesn't exist or is broken.
+     */
+    public static Map<HivePartitionKey, HivePartition> read(File file, HiveMetaClient client) {
+        Map<HivePartitionKey, HivePartition> partitions = Maps.newHashMap();
+        if (!file.exists()) {
+            return partitions;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + Long.BYTES) {
+                LOG.warn("hive meta cache snapshot {} is too small: {}", file, size);
+                return partitions;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer content = buffer.duplicate();
+            content.limit((int) (size - Long.BYTES));
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            if (crc.getValue() != buffer.getLong((int) (size - Long.BYTES))) {
+                LOG.warn("checksum of hive meta cache snapshot {} mismatches", file);
+                return partitions;
+            }
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOG.warn("hive meta cache snapshot {} has unknown format", file);
+                return partitions;
+            }
+            int hostNum = buffer.getInt();
+            long[] hostIds = new long[hostNum];
+            for (int i = 0; i < hostNum; i++) {
+                hostIds[i] = client.getHostId(readString(buffer));
+            }
+
+            int partitionNum = buffer.getInt();
+            for (int i = 0; i < partitionNum; i++) {
+                String dbName = readString(buffer);
+                String tableName = readString(buffer);
+                int valueNum = buffer.getInt();
+                List<String> values = Lists.newArrayListWithCapacity(valueNum);
+                for (int j = 0; j < valueNum; j++) {
+                    values.add(readString(buffer));
+                }
+                long modifiedTime = buffer.getLong();
+                HdfsFileFormat format = HdfsFileFormat.valueOf(readString(buffer));
+                String fullPath = readString(buffer);
+
+                int fileNum = buffer.getInt();
+                ImmutableList.Builder<HdfsFileDesc> files = ImmutableList.builder();
+                for (int j = 0; j < fileNum; j++) {
+                    String fileName = readString(buffer);
+                    String compression = readString(buffer);
+                    long length = buffer.getLong();
+                    int blockNum = buffer.getInt();
+                    ImmutableList.Builder<HdfsFileBlockDesc> blocks = ImmutableList.builder();
+                    for (int k = 0; k < blockNum; k++) {
+                        long offset = buffer.getLong();
+                        long blockLength = buffer.getLong();
+                        long[] replicaHostIds = new long[buffer.getInt()];
+                        for (int r = 0; r < replicaHostIds.length; r++) {
+                            replicaHostIds[r] = hostIds[buffer.getInt()];
+                        }
+                        long[] diskIds = new long[buffer.getInt()];
+                        for (int d = 0; d < diskIds.length; d++) {
+                            diskIds[d] = buffer.getLong();
+                        }
+                        blocks.add(new HdfsFileBlockDesc(offset, blockLength, replicaHostIds, diskIds, client));
+                    }
+                    files.add(new HdfsFileDesc(fileName, compression, length, blocks.build()));
+                }
+                partitions.put(HivePartitionKey.gen(dbName, tableName, values),
+                        new HivePartition(format, files.build(), fullPath, modifiedTime));
+            }
+        } catch (Exception e) {
+            LOG.warn("read hive meta cache snapshot {} failed", file, e);
+            partitions.clear();
+        }
+        return partitions;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
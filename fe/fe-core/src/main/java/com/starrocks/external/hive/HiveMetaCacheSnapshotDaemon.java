@@ -0,0 +1,25 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.external.hive;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.util.Daemon;
+
+/**
+ * Save the cached hive partitions of all resources to local snapshots periodically,
+ * see Config.hive_meta_cache_snapshot_dir.
+ */
+public class HiveMetaCacheSnapshotDaemon extends Daemon {
+    private final HiveRepository hiveRepository;
+
+    public HiveMetaCacheSnapshotDaemon(HiveRepository hiveRepository) {
+        super("hive meta cache snapshot", Config.hive_meta_cache_snapshot_interval_s * 1000L);
+        this.hiveRepository = hiveRepository;
+    }
+
+    @Override
+    protected void runOneCycle() {
+        setInterval(Config.hive_meta_cache_snapshot_interval_s * 1000L);
+        hiveRepository.saveSnapshots();
+    }
+}
@@ -14,19 +14,25 @@ import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import com.starrocks.metric.MetricRepo;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.hive.common.FileUtils;
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.metastore.HiveMetaHookLoader;
 import org.apache.hadoop.hive.metastore.IMetaStoreClient;
 import org.apache.hadoop.hive.metastore.RetryingMetaStoreClient;
 import org.apache.hadoop.hive.metastore.api.ColumnStatisticsObj;
+import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.MetaException;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.hadoop.hive.metastore.api.Table;
@@ -53,6 +59,8 @@ public class HiveMetaClient {
     public static final String PARTITION_NULL_VALUE = "__HIVE_DEFAULT_PARTITION__";
     // Maximum number of idle metastore connections in the connection pool at any point.
     private static final int MAX_HMS_CONNECTION_POOL_SIZE = 32;
+    // Maximum number of partitions fetched from metastore in one request.
+    private static final int PARTITION_BATCH_SIZE = 1000;
     private final LinkedList<AutoCloseClient> clientPool = new LinkedList<>();
     private final Object clientPoolLock = new Object();
 
@@ -63,7 +71,7 @@ public class HiveMetaClient {
     // blockHost is ip:port
     private final Map<String, Long> blockHostToId = new ConcurrentHashMap<>();
     private final Map<Long, String> idToBlockHost = new ConcurrentHashMap<>();
-    private long hostId = 0;
+    private final AtomicLong hostIdGen = new AtomicLong(0L);
     private final Map<Integer, Long> storageHashToId = new ConcurrentHashMap<>();
     private long storageId = 0;
     private final int UNKNOWN_STORAGE_ID = -1;
@@ -169,12 +177,15 @@ public class HiveMetaClient {
     public HivePartition getPartition(String dbName, String tableName, List<String> partValues) throws DdlException {
         try (AutoCloseClient client = getClient()) {
             StorageDescriptor sd;
+            long modifiedTime;
             if (partValues.size() > 0) {
                 Partition partition = client.hiveClient.getPartition(dbName, tableName, partValues);
                 sd = partition.getSd();
+                modifiedTime = Utils.getModifiedTime(partition.getParameters());
             } else {
                 Table table = client.hiveClient.getTable(dbName, tableName);
                 sd = table.getSd();
+                modifiedTime = Utils.getModifiedTime(table.getParameters());
             }
             HdfsFileFormat format = HdfsFileFormat.fromHdfsInputFormatClass(sd.getInputFormat());
             if (format == null) {
@@ -182,7 +193,7 @@ public class HiveMetaClient {
             }
 
             List<HdfsFileDesc> fileDescs = getHdfsFileDescs(sd.getLocation());
-            return new HivePartition(format, ImmutableList.copyOf(fileDescs), sd.getLocation());
+            return new HivePartition(format, ImmutableList.copyOf(fileDescs), sd.getLocation(), modifiedTime);
         } catch (NoSuchObjectException e) {
             throw new DdlException("get hive partition meta data failed: "
                     + "partition not exists, partValues: "
@@ -193,6 +204,55 @@ public class HiveMetaClient {
         }
     }
 
+    public CurrentNotificationEventId getCurrentNotificationEventId() throws DdlException {
+        try (AutoCloseClient client = getClient()) {
+            return client.hiveClient.getCurrentNotificationEventId();
+        } catch (Exception e) {
+            LOG.warn("get current notification event id failed", e);
+            throw new DdlException("get current notification event id failed: " + e.getMessage());
+        }
+    }
+
+    public NotificationEventResponse getNextNotification(long lastEventId, int maxEvents) throws DdlException {
+        try (AutoCloseClient client = getClient()) {
+            return client.hiveClient.getNextNotification(lastEventId, maxEvents, null);
+        } catch (Exception e) {
+            LOG.warn("get next notification failed", e);
+            throw new DdlException("get next notification failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the last ddl time of partitions, partitions which don't exist are absent in the result.
+     * An empty partition values means the table itself, for unpartitioned table.
+     */
+    public Map<List<String>, Long> getPartitionModifiedTimes(String dbName, String tableName,
+                                                             List<List<String>> partValuesList) throws DdlException {
+        Map<List<String>, Long> modifiedTimes = Maps.newHashMap();
+        try (AutoCloseClient client = getClient()) {
+            Table table = client.hiveClient.getTable(dbName, tableName);
+            List<String> partColumnNames = table.getPartitionKeys().stream()
+                    .map(FieldSchema::getName).collect(Collectors.toList());
+            List<String> partNames = Lists.newArrayList();
+            for (List<String> partValues : partValuesList) {
+                if (partValues.isEmpty()) {
+                    modifiedTimes.put(partValues, Utils.getModifiedTime(table.getParameters()));
+                } else if (partValues.size() == partColumnNames.size()) {
+                    partNames.add(FileUtils.makePartName(partColumnNames, partValues));
+                }
+            }
+            for (List<String> names : Lists.partition(partNames, PARTITION_BATCH_SIZE)) {
+                for (Partition partition : client.hiveClient.getPartitionsByNames(dbName, tableName, names)) {
+                    modifiedTimes.put(partition.getValues(), Utils.getModifiedTime(partition.getParameters()));
+                }
+            }
+            return modifiedTimes;
+        } catch (Exception e) {
+            LOG.warn("get partition modified times failed", e);
+            throw new DdlException("get partition modified times failed: " + e.getMessage());
+        }
+    }
+
     public HiveTableStats getTableStats(String dbName, String tableName) throws DdlException {
         try (AutoCloseClient client = getClient()) {
             Table table = client.hiveClient.getTable(dbName, tableName);
@@ -441,21 +501,31 @@ public class HiveMetaClient {
         }
     }
 
+    // List the data files with their block locations in one pass. listLocatedStatus returns the
+    // block locations along with the file status, so no extra rpc is needed for each file.
     private List<HdfsFileDesc> getHdfsFileDescs(String dirPath) throws Exception {
+        long start = System.currentTimeMillis();
         URI uri = new URI(dirPath);
         FileSystem fileSystem = getFileSystem(uri);
-        FileStatus[] files = fileSystem.listStatus(new Path(uri.getPath()));
+        RemoteIterator<LocatedFileStatus> files = fileSystem.listLocatedStatus(new Path(uri.getPath()));
         List<HdfsFileDesc> fileDescs = Lists.newArrayList();
 
-        for (FileStatus fileStatus : files) {
+        while (files.hasNext()) {
+            LocatedFileStatus fileStatus = files.next();
             if (!isValidDataFile(fileStatus)) {
                 continue;
             }
             String fileName = Utils.getSuffixName(dirPath, fileStatus.getPath().toString());
-            BlockLocation[] blockLocations = fileSystem.getFileBlockLocations(fileStatus, 0, fileStatus.getLen());
-            List<HdfsFileBlockDesc> fileBlockDescs = getHdfsFileBlockDescs(blockLocations);
+            List<HdfsFileBlockDesc> fileBlockDescs = getHdfsFileBlockDescs(fileStatus.getBlockLocations());
             fileDescs.add(new HdfsFileDesc(fileName, "", fileStatus.getLen(), ImmutableList.copyOf(fileBlockDescs)));
         }
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_HIVE_LISTING_LATENCY.update(elapsedMs);
+            MetricRepo.COUNTER_HIVE_LISTED_FILES.increase((long) fileDescs.size());
+        }
+        LOG.debug("list {} files of {} cost: {} ms", fileDescs.size(), dirPath, elapsedMs);
         return fileDescs;
     }
 
@@ -515,9 +585,9 @@ public class HiveMetaClient {
         }
     }
 
-    private long getHostId(String hostName) {
+    long getHostId(String hostName) {
         return blockHostToId.computeIfAbsent(hostName, k -> {
-            long newId = hostId++;
+            long newId = hostIdGen.getAndIncrement();
             idToBlockHost.put(newId, hostName);
             return newId;
         });
@@ -527,6 +597,11 @@ public class HiveMetaClient {
         return storageHashToId.computeIfAbsent(storageHash, k -> (storageId++));
     }
 
+    // returns ip:port of the data node
+    String getBlockHost(long hostId) {
+        return idToBlockHost.get(hostId);
+    }
+
     public String getHdfsDataNodeIp(long hostId) {
         String hostPort = idToBlockHost.get(hostId);
         return hostPort.split(":")[0];
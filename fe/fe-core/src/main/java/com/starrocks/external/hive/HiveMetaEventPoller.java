@@ -0,0 +1,41 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.external.hive;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
+import com.starrocks.common.util.Daemon;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Poll the notification events of hive metastore and apply them to the hive meta caches of all resources.
+ * It runs on every frontend, because every frontend has its own hive meta cache.
+ */
+public class HiveMetaEventPoller extends Daemon {
+    private static final Logger LOG = LogManager.getLogger(HiveMetaEventPoller.class);
+
+    private final HiveRepository hiveRepository;
+
+    public HiveMetaEventPoller(HiveRepository hiveRepository) {
+        super("hive meta event poller", Config.hive_metastore_event_poll_interval_ms);
+        this.hiveRepository = hiveRepository;
+    }
+
+    @Override
+    protected void runOneCycle() {
+        setInterval(Config.hive_metastore_event_poll_interval_ms);
+        for (HiveMetaCache metaCache : hiveRepository.getMetaCaches()) {
+            if (!Config.enable_hive_metastore_event_poll) {
+                // start from the current event when the poll is enabled again
+                metaCache.resetLastEventId();
+                continue;
+            }
+            try {
+                metaCache.processEvents(Config.hive_metastore_event_poll_max_events);
+            } catch (DdlException e) {
+                LOG.warn("process hive metastore events failed, last event id: {}", metaCache.getLastEventId(), e);
+            }
+        }
+    }
+}
@@ -75,6 +75,8 @@ import org.apache.hadoop.hive.metastore.api.NoSuchLockException;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.NoSuchTxnException;
 import org.apache.hadoop.hive.metastore.api.NotNullConstraintsRequest;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventRequest;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.hadoop.hive.metastore.api.NotificationEventsCountRequest;
 import org.apache.hadoop.hive.metastore.api.NotificationEventsCountResponse;
@@ -167,7 +169,7 @@ import static org.apache.hadoop.hive.metastore.utils.MetaStoreUtils.getDefaultCa
 /**
  * Modified from apache hive  org.apache.hadoop.hive.metastore.HiveMetaStoreClient.java
  * Current implemented methods are: getTable, getPartition, listPartitionNames, getPartitionsByNames, partitionNameToVals
- * ,getTableColumnStatistics, getPartitionColumnStatistics.
+ * ,getTableColumnStatistics, getPartitionColumnStatistics, getNextNotification, getCurrentNotificationEventId.
  * Newly added method should cover hive0/1/2/3 metastore server.
  */
 public class HiveMetaStoreThriftClient implements IMetaStoreClient, AutoCloseable {
@@ -1872,12 +1874,24 @@ public class HiveMetaStoreThriftClient implements IMetaStoreClient, AutoCloseabl
     @Override
     public NotificationEventResponse getNextNotification(long lastEventId, int maxEvents, NotificationFilter filter)
             throws TException {
-        throw new TException("method not implemented");
+        NotificationEventRequest rqst = new NotificationEventRequest(lastEventId);
+        rqst.setMaxEvents(maxEvents);
+        NotificationEventResponse rsp = client.get_next_notification(rqst);
+        if (filter == null || !rsp.isSetEvents()) {
+            return rsp;
+        }
+        NotificationEventResponse filtered = new NotificationEventResponse();
+        for (NotificationEvent event : rsp.getEvents()) {
+            if (filter.accept(event)) {
+                filtered.addToEvents(event);
+            }
+        }
+        return filtered;
     }
 
     @Override
     public CurrentNotificationEventId getCurrentNotificationEventId() throws TException {
-        throw new TException("method not implemented");
+        return client.get_current_notificationEventId();
     }
 
     @Override
@@ -8,6 +8,8 @@ public class HivePartition {
     private HdfsFileFormat format;
     private ImmutableList<HdfsFileDesc> files;
     private String fullPath;
+    // transient_lastDdlTime of the partition in metastore, -1 if unknown
+    private long modifiedTime = -1;
 
     public HivePartition(HdfsFileFormat format, ImmutableList<HdfsFileDesc> files, String fullPath) {
         this.format = format;
@@ -15,6 +17,12 @@ public class HivePartition {
         this.fullPath = fullPath;
     }
 
+    public HivePartition(HdfsFileFormat format, ImmutableList<HdfsFileDesc> files, String fullPath,
+                         long modifiedTime) {
+        this(format, files, fullPath);
+        this.modifiedTime = modifiedTime;
+    }
+
     public HdfsFileFormat getFormat() {
         return format;
     }
@@ -30,4 +38,8 @@ public class HivePartition {
     public String getFullPath() {
         return fullPath;
     }
+
+    public long getModifiedTime() {
+        return modifiedTime;
+    }
 }
@@ -2,7 +2,9 @@
 
 package com.starrocks.external.hive;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
@@ -10,9 +12,15 @@ import com.starrocks.catalog.HiveResource;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Resource;
 import com.starrocks.catalog.Resource.ResourceType;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.ThreadPoolManager;
 import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -21,6 +29,8 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class HiveRepository {
+    private static final Logger LOG = LogManager.getLogger(HiveRepository.class);
+
     // hiveResourceName => HiveMetaClient
     Map<String, HiveMetaClient> metaClients = Maps.newHashMap();
     ReadWriteLock metaClientsLock = new ReentrantReadWriteLock();
@@ -30,6 +40,9 @@ public class HiveRepository {
     ReadWriteLock metaCachesLock = new ReentrantReadWriteLock();
 
     Executor executor = Executors.newFixedThreadPool(100);
+    // load the partitions which are missing in cache concurrently
+    Executor partitionLoadExecutor = ThreadPoolManager.newDaemonFixedThreadPool(Config.hive_meta_load_concurrency,
+            Integer.MAX_VALUE, "hive-meta-load", true);
 
     public HiveMetaClient getClient(String resourceName) throws DdlException {
         HiveMetaClient client;
@@ -87,14 +100,69 @@ public class HiveRepository {
                 return hiveMetaCache;
             }
 
-            hiveMetaCache = new HiveMetaCache(metaClient, executor);
+            hiveMetaCache = new HiveMetaCache(metaClient, executor, partitionLoadExecutor);
             metaCaches.put(resourceName, hiveMetaCache);
+            restoreSnapshot(resourceName, hiveMetaCache);
             return hiveMetaCache;
         } finally {
             metaCachesLock.writeLock().unlock();
         }
     }
 
+    public List<HiveMetaCache> getMetaCaches() {
+        metaCachesLock.readLock().lock();
+        try {
+            return Lists.newArrayList(metaCaches.values());
+        } finally {
+            metaCachesLock.readLock().unlock();
+        }
+    }
+
+    private static File getSnapshotFile(String resourceName) {
+        return new File(Config.hive_meta_cache_snapshot_dir, resourceName + ".snapshot");
+    }
+
+    // restore the partitions of snapshot in background, queries before it's done load partitions as usual
+    private void restoreSnapshot(String resourceName, HiveMetaCache metaCache) {
+        if (Strings.isNullOrEmpty(Config.hive_meta_cache_snapshot_dir)) {
+            return;
+        }
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            Map<HivePartitionKey, HivePartition> partitions =
+                    HiveMetaCacheSnapshot.read(getSnapshotFile(resourceName), metaCache.getClient());
+            if (partitions.isEmpty()) {
+                return;
+            }
+            int restored = metaCache.restorePartitions(partitions);
+            LOG.info("restore {}/{} partitions from snapshot of hive resource {}, cost: {} ms", restored,
+                    partitions.size(), resourceName, System.currentTimeMillis() - start);
+        });
+    }
+
+    public void saveSnapshots() {
+        if (Strings.isNullOrEmpty(Config.hive_meta_cache_snapshot_dir)) {
+            return;
+        }
+        Map<String, HiveMetaCache> caches;
+        metaCachesLock.readLock().lock();
+        try {
+            caches = Maps.newHashMap(metaCaches);
+        } finally {
+            metaCachesLock.readLock().unlock();
+        }
+        for (Map.Entry<String, HiveMetaCache> entry : caches.entrySet()) {
+            HiveMetaCache metaCache = entry.getValue();
+            try {
+                Map<HivePartitionKey, HivePartition> partitions = metaCache.getCachedPartitions();
+                HiveMetaCacheSnapshot.write(getSnapshotFile(entry.getKey()), partitions, metaCache.getClient());
+                LOG.debug("save {} partitions to snapshot of hive resource {}", partitions.size(), entry.getKey());
+            } catch (IOException e) {
+                LOG.warn("save snapshot of hive resource {} failed", entry.getKey(), e);
+            }
+        }
+    }
+
     public Table getTable(String resourceName, String dbName, String tableName) throws DdlException {
         HiveMetaClient client = getClient(resourceName);
         return client.getTable(dbName, tableName);
@@ -112,6 +180,12 @@ public class HiveRepository {
         return metaCache.getPartition(dbName, tableName, partitionKey);
     }
 
+    public List<HivePartition> getPartitions(String resourceName, String dbName, String tableName,
+                                            List<PartitionKey> partitionKeys) throws DdlException {
+        HiveMetaCache metaCache = getMetaCache(resourceName);
+        return metaCache.getPartitions(dbName, tableName, partitionKeys);
+    }
+
     public HiveTableStats getTableStats(String resourceName, String dbName, String tableName) throws DdlException {
         HiveMetaCache metaCache = getMetaCache(resourceName);
         return metaCache.getTableStats(dbName, tableName);
@@ -12,6 +12,7 @@ import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.DdlException;
 import org.apache.hadoop.hive.common.StatsSetupConst;
+import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,6 +66,13 @@ public class Utils {
         return getLongParam(StatsSetupConst.TOTAL_SIZE, parameters);
     }
 
+    /**
+     * Returns the last ddl time in seconds of table or partition, or -1 if not found.
+     */
+    public static long getModifiedTime(Map<String, String> parameters) {
+        return getLongParam(hive_metastoreConstants.DDL_TIME, parameters);
+    }
+
     private static long getLongParam(String key, Map<String, String> parameters) {
         if (parameters == null) {
             return -1;
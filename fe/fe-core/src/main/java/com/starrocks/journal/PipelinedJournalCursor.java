@@ -0,0 +1,181 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.journal;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.persist.OperationType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A journal cursor which fetches and deserializes the journals ahead of the replayer.
+ * <p>
+ * A fetcher thread reads the serialized journals in order, and the journals are deserialized by
+ * `journal_replay_deserialize_threads` workers concurrently. The futures of the entities are queued
+ * in the journal order, so next() still returns the entities in order.
+ * <p>
+ * The entities after a meta version journal must be read by the new meta version, so the fetcher stops
+ * at a meta version journal until it's applied by the replayer, i.e. next() is called again.
+ */
+public class PipelinedJournalCursor implements JournalCursor {
+    private static final Logger LOG = LogManager.getLogger(PipelinedJournalCursor.class);
+
+    // max number of journals fetched ahead of the replayer
+    private static final int MAX_PENDING_JOURNALS = 1024;
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final CompletableFuture<JournalEntity> END = CompletableFuture.completedFuture(null);
+
+    private static ExecutorService fetchPool;
+    private static ExecutorService deserializePool;
+
+    public interface JournalDataReader {
+        // Return the serialized data of the next journal. return null when there is no more journals
+        byte[] nextData();
+    }
+
+    private final JournalDataReader reader;
+    private final MetaContext metaContext;
+    private final BlockingQueue<Future<JournalEntity>> pendingEntities = new ArrayBlockingQueue<>(MAX_PENDING_JOURNALS);
+    // released when the meta version journal returned by the last next() is applied
+    private final Semaphore metaVersionApplied = new Semaphore(0);
+
+    private long nextKey;
+    private boolean waitingMetaVersionApplied = false;
+    private boolean reachEnd = false;
+    private volatile boolean closed = false;
+
+    public PipelinedJournalCursor(JournalDataReader reader, long fromKey, MetaContext metaContext) {
+        this.reader = reader;
+        this.nextKey = fromKey;
+        this.metaContext = metaContext;
+        ensurePoolsCreated();
+        fetchPool.submit(this::fetch);
+    }
+
+    private static synchronized void ensurePoolsCreated() {
+        if (fetchPool != null) {
+            return;
+        }
+        fetchPool = ThreadPoolManager.newDaemonFixedThreadPool(1, Integer.MAX_VALUE, "journal-fetcher", true);
+        deserializePool = ThreadPoolManager.newDaemonFixedThreadPool(
+                Math.max(1, Config.journal_replay_deserialize_threads), Integer.MAX_VALUE,
+                "journal-deserializer", true);
+    }
+
+    public static boolean isMetaVersionJournal(byte[] data) {
+        // the op code is the first short of the journal
+        if (data.length < 2) {
+            return false;
+        }
+        short opCode = (short) (((data[0] & 0xff) << 8) | (data[1] & 0xff));
+        return opCode == OperationType.OP_META_VERSION || opCode == OperationType.OP_META_VERSION_V2;
+    }
+
+    private void fetch() {
+        try {
+            while (!closed) {
+                byte[] data = reader.nextData();
+                if (data == null) {
+                    break;
+                }
+                long key = nextKey++;
+                if (!enqueue(deserializePool.submit(() -> deserialize(key, data)))) {
+                    return;
+                }
+                if (isMetaVersionJournal(data)) {
+                    metaVersionApplied.acquire();
+                }
+            }
+        } catch (Throwable e) {
+            // the exception is thrown to the replayer by next(), it's not an end of the journals
+            LOG.error("failed to fetch journal {}", nextKey, e);
+            CompletableFuture<JournalEntity> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            enqueue(failed);
+            return;
+        }
+        enqueue(END);
+    }
+
+    private boolean enqueue(Future<JournalEntity> future) {
+        try {
+            while (!closed) {
+                if (pendingEntities.offer(future, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("interrupted when fetching journal {}", nextKey, e);
+        }
+        return false;
+    }
+
+    private JournalEntity deserialize(long key, byte[] data) {
+        if (metaContext != null) {
+            metaContext.setThreadLocalInfo();
+        } else {
+            MetaContext.remove();
+        }
+        JournalEntity entity = new JournalEntity();
+        try {
+            entity.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (Exception e) {
+            LOG.error("fail to read journal entity key={}, will exit", key, e);
+            System.exit(-1);
+        }
+        return entity;
+    }
+
+    @Override
+    public JournalEntity next() {
+        if (reachEnd) {
+            return null;
+        }
+        if (waitingMetaVersionApplied) {
+            // the meta version journal has been applied by the caller, the journals after it can be read now
+            waitingMetaVersionApplied = false;
+            metaVersionApplied.release();
+        }
+        JournalEntity entity;
+        try {
+            entity = pendingEntities.take().get();
+        } catch (InterruptedException e) {
+            LOG.warn("interrupted when getting next journal entity", e);
+            reachEnd = true;
+            return null;
+        } catch (ExecutionException e) {
+            // let the replayer report the error, and it replays from the failed journal in the next cycle
+            reachEnd = true;
+            throw new RuntimeException("failed to fetch journal", e.getCause());
+        }
+        if (entity == null) {
+            reachEnd = true;
+            return null;
+        }
+        if (entity.getOpCode() == OperationType.OP_META_VERSION
+                || entity.getOpCode() == OperationType.OP_META_VERSION_V2) {
+            waitingMetaVersionApplied = true;
+        }
+        return entity;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        metaVersionApplied.release();
+        pendingEntities.clear();
+    }
+}
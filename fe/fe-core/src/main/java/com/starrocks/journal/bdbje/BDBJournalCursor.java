@@ -27,6 +27,7 @@ import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
 import com.starrocks.journal.JournalCursor;
 import com.starrocks.journal.JournalEntity;
+import com.starrocks.journal.PipelinedJournalCursor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,7 +35,7 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.util.List;
 
-public class BDBJournalCursor implements JournalCursor {
+public class BDBJournalCursor implements JournalCursor, PipelinedJournalCursor.JournalDataReader {
     private static final Logger LOG = LogManager.getLogger(JournalCursor.class);
 
     private long toKey;
@@ -89,9 +90,29 @@ public class BDBJournalCursor implements JournalCursor {
 
     @Override
     public JournalEntity next() {
-        JournalEntity ret = null;
+        long key = currentKey;
+        byte[] data = nextData();
+        if (data == null) {
+            return null;
+        }
+        JournalEntity ret = new JournalEntity();
+        try {
+            ret.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (Exception e) {
+            LOG.error("fail to read journal entity key={}, will exit", key, e);
+            System.exit(-1);
+        }
+        return ret;
+    }
+
+    /**
+     * Return the serialized data of the next journal, or null when there is no more journals.
+     * The data is deserialized by the caller, see {@link com.starrocks.journal.PipelinedJournalCursor}.
+     */
+    @Override
+    public byte[] nextData() {
         if (currentKey > toKey) {
-            return ret;
+            return null;
         }
         Long key = currentKey;
         DatabaseEntry theKey = new DatabaseEntry();
@@ -107,18 +128,8 @@ public class BDBJournalCursor implements JournalCursor {
                 // READ_COMMITTED guarantees no dirty read.
                 OperationStatus operationStatus = database.get(null, theKey, theData, LockMode.READ_COMMITTED);
                 if (operationStatus == OperationStatus.SUCCESS) {
-                    // Recreate the data String.
-                    byte[] retData = theData.getData();
-                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(retData));
-                    ret = new JournalEntity();
-                    try {
-                        ret.readFields(in);
-                    } catch (Exception e) {
-                        LOG.error("fail to read journal entity key={}, will exit", currentKey, e);
-                        System.exit(-1);
-                    }
                     currentKey++;
-                    return ret;
+                    return theData.getData();
                 } else if (nextDbPositionIndex < dbNames.size() && currentKey == dbNames.get(nextDbPositionIndex)) {
                     database = environment.openDatabase(dbNames.get(nextDbPositionIndex).toString());
                     nextDbPositionIndex++;
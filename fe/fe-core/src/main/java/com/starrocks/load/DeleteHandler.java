@@ -394,11 +394,11 @@ public class DeleteHandler implements Writable {
         List<TabletCommitInfo> tabletCommitInfos = new ArrayList<TabletCommitInfo>();
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
         for (TabletDeleteInfo tDeleteInfo : job.getTabletDeleteInfo()) {
+            long tabletId = tDeleteInfo.getTabletId();
             for (Replica replica : tDeleteInfo.getFinishedReplicas()) {
                 // the inverted index contains rolling up replica
-                Long tabletId = invertedIndex.getTabletIdByReplica(replica.getId());
-                if (tabletId == null) {
-                    LOG.warn("could not find tablet id for replica {}, the tablet maybe dropped", replica);
+                if (invertedIndex.getReplica(tabletId, replica.getBackendId()) == null) {
+                    LOG.warn("could not find replica {} of tablet {}, the tablet maybe dropped", replica, tabletId);
                     continue;
                 }
                 tabletCommitInfos.add(new TabletCommitInfo(tabletId, replica.getBackendId()));
@@ -0,0 +1,163 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.load.routineload;
+
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Sizes the tasks of one routine load job by the lag of its source partitions and the observed throughput
+ * of its recent tasks, it's enabled by `enable_routine_load_adaptive_task`.
+ * <p>
+ * The controller targets `routine_load_freshness_sla_second`:
+ * 1. The concurrency is the number of tasks needed to consume the ingest rate and drain the lag in the SLA.
+ * 2. A lagging job consumes longer in every task, so it commits less but larger transactions.
+ * 3. An idle job delays its next task as long as the SLA allows, so it creates less tiny transactions.
+ * <p>
+ * The statistics are only kept in memory, the controller starts from the static limits after fe restarts.
+ */
+public class AdaptiveTaskController {
+    // weight of the newest sample in the moving average
+    private static final double EWMA_ALPHA = 0.3;
+    // window to estimate the ingest rate of the source
+    private static final long RATE_WINDOW_MS = 60 * 1000L;
+    // the concurrency is changed at most once in this interval, because the job is rescheduled to change it
+    private static final long CONCURRENCY_ADJUST_INTERVAL_MS = 5 * 60 * 1000L;
+
+    // partition => messages not consumed yet
+    private final Map<Integer, Long> partitionLag = Maps.newHashMap();
+    // <commit time, received bytes> of the tasks committed in RATE_WINDOW_MS
+    private final Deque<long[]> committedBytes = new ArrayDeque<>();
+
+    // bytes per second of one running task
+    private double taskThroughput = -1;
+    private double bytesPerMessage = -1;
+    private double taskExecutionMs = -1;
+    private long lastConcurrencyAdjustTimeMs = 0;
+
+    public synchronized void onTaskCommitted(long receivedBytes, long totalRows, long taskExecutionTimeMs) {
+        long now = System.currentTimeMillis();
+        committedBytes.addLast(new long[] {now, receivedBytes});
+        expireCommittedBytes(now);
+        if (taskExecutionTimeMs <= 0) {
+            return;
+        }
+        taskExecutionMs = ewma(taskExecutionMs, taskExecutionTimeMs);
+        if (receivedBytes > 0) {
+            taskThroughput = ewma(taskThroughput, receivedBytes * 1000.0 / taskExecutionTimeMs);
+        }
+        if (totalRows > 0) {
+            bytesPerMessage = ewma(bytesPerMessage, (double) receivedBytes / totalRows);
+        }
+    }
+
+    /**
+     * Update the lag of the partitions by their latest offsets and the offsets to consume.
+     */
+    public synchronized void updateLag(Map<Integer, Long> latestOffsets, Map<Integer, Long> consumeOffsets) {
+        for (Map.Entry<Integer, Long> entry : consumeOffsets.entrySet()) {
+            Long latestOffset = latestOffsets.get(entry.getKey());
+            if (latestOffset != null && entry.getValue() != null && entry.getValue() >= 0) {
+                partitionLag.put(entry.getKey(), Math.max(0, latestOffset - entry.getValue()));
+            }
+        }
+    }
+
+    public synchronized long getTotalLag() {
+        return partitionLag.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private boolean hasStatistics() {
+        return taskThroughput > 0 && bytesPerMessage > 0;
+    }
+
+    // seconds to drain the current lag with the given concurrency, without considering new messages
+    private double getDrainSeconds(int concurrency) {
+        return getTotalLag() * bytesPerMessage / (taskThroughput * Math.max(1, concurrency));
+    }
+
+    // bytes per second produced into the source partitions, estimated by the committed bytes
+    private double getIngestRate() {
+        expireCommittedBytes(System.currentTimeMillis());
+        long bytes = 0;
+        for (long[] committed : committedBytes) {
+            bytes += committed[1];
+        }
+        return bytes * 1000.0 / RATE_WINDOW_MS;
+    }
+
+    /**
+     * The number of tasks needed to consume the ingest rate and drain the lag in the SLA, at most maxConcurrency.
+     */
+    public synchronized int getDesiredConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 1 || !hasStatistics()) {
+            return maxConcurrency;
+        }
+        double lagBytes = getTotalLag() * bytesPerMessage;
+        double requiredRate = getIngestRate() + lagBytes / Math.max(1, Config.routine_load_freshness_sla_second);
+        int desired = (int) Math.ceil(requiredRate / taskThroughput);
+        return Math.max(1, Math.min(desired, maxConcurrency));
+    }
+
+    /**
+     * Whether the job should be rescheduled to change its concurrency from current to desired.
+     */
+    public synchronized boolean needAdjustConcurrency(int current, int desired) {
+        long now = System.currentTimeMillis();
+        if (current == desired || now - lastConcurrencyAdjustTimeMs < CONCURRENCY_ADJUST_INTERVAL_MS) {
+            return false;
+        }
+        lastConcurrencyAdjustTimeMs = now;
+        return true;
+    }
+
+    /**
+     * Consume seconds of one task. A lagging job consumes longer in every task, at most a half of the task timeout.
+     */
+    public synchronized long getConsumeSecond(int concurrency) {
+        long consumeSecond = Config.routine_load_task_consume_second;
+        if (!hasStatistics() || consumeSecond <= 0) {
+            return consumeSecond;
+        }
+        long maxConsumeSecond = Math.max(consumeSecond, Config.routine_load_task_timeout_second / 2);
+        long needed = (long) Math.ceil(getDrainSeconds(concurrency));
+        return Math.max(consumeSecond, Math.min(needed, maxConsumeSecond));
+    }
+
+    /**
+     * Delay before scheduling the next task. The task is scheduled at once if the job is lagging,
+     * otherwise it's delayed as long as the freshness SLA allows, but no shorter than minDelayMs.
+     */
+    public synchronized long getScheduleDelayMs(boolean progressKeepUp, long minDelayMs) {
+        if (!progressKeepUp) {
+            return 0;
+        }
+        if (taskExecutionMs < 0) {
+            return minDelayMs;
+        }
+        long slackMs = Config.routine_load_freshness_sla_second * 1000L - (long) taskExecutionMs;
+        return Math.max(minDelayMs, slackMs);
+    }
+
+    public synchronized Map<String, Object> getStatistic() {
+        Map<String, Object> statistic = Maps.newHashMap();
+        statistic.put("lag", getTotalLag());
+        statistic.put("taskThroughput", hasStatistics() ? (long) taskThroughput : -1L);
+        statistic.put("ingestRate", (long) getIngestRate());
+        return statistic;
+    }
+
+    private void expireCommittedBytes(long now) {
+        while (!committedBytes.isEmpty() && now - committedBytes.peekFirst()[0] > RATE_WINDOW_MS) {
+            committedBytes.pollFirst();
+        }
+    }
+
+    private static double ewma(double average, double sample) {
+        return average < 0 ? sample : EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * average;
+    }
+}
@@ -197,6 +197,14 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
 
     @Override
     public int calculateCurrentConcurrentTaskNum() throws MetaNotFoundException {
+        currentTaskConcurrentNum = getMaxConcurrentTaskNum();
+        if (Config.enable_routine_load_adaptive_task) {
+            currentTaskConcurrentNum = taskController.getDesiredConcurrency(currentTaskConcurrentNum);
+        }
+        return currentTaskConcurrentNum;
+    }
+
+    private int getMaxConcurrentTaskNum() throws MetaNotFoundException {
         SystemInfoService systemInfoService = Catalog.getCurrentSystemInfo();
         int aliveBeNum = systemInfoService.getClusterBackendIds(clusterName, true).size();
         int partitionNum = currentKafkaPartitions.size();
@@ -207,9 +215,26 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         LOG.debug("current concurrent task number is min"
                         + "(partition num: {}, desire task concurrent num: {}, alive be num: {}, config: {})",
                 partitionNum, desireTaskConcurrentNum, aliveBeNum, Config.max_routine_load_task_concurrent_num);
-        currentTaskConcurrentNum = Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveBeNum)),
+        return Math.min(Math.min(partitionNum, Math.min(desireTaskConcurrentNum, aliveBeNum)),
                 Config.max_routine_load_task_concurrent_num);
-        return currentTaskConcurrentNum;
+    }
+
+    @Override
+    protected boolean unprotectNeedAdjustConcurrency() throws UserException {
+        if (!Config.enable_routine_load_adaptive_task || state != JobState.RUNNING) {
+            return false;
+        }
+        int desired = taskController.getDesiredConcurrency(getMaxConcurrentTaskNum());
+        if (taskController.needAdjustConcurrency(currentTaskConcurrentNum, desired)) {
+            LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
+                    .add("current_task_concurrent_num", currentTaskConcurrentNum)
+                    .add("desired_task_concurrent_num", desired)
+                    .add("lag", taskController.getTotalLag())
+                    .add("msg", "adjust the task concurrency by the lag and throughput")
+                    .build());
+            return true;
+        }
+        return false;
     }
 
     // Through the transaction status and attachment information, to determine whether the progress needs to be updated.
@@ -353,10 +378,26 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 Long.valueOf((totalRows - errorRows - unselectedRows) / totalTaskExcutionTimeMs * 1000));
         summary.put("committedTaskNum", Long.valueOf(committedTaskNum));
         summary.put("abortedTaskNum", Long.valueOf(abortedTaskNum));
+        if (Config.enable_routine_load_adaptive_task) {
+            summary.putAll(taskController.getStatistic());
+        }
         Gson gson = new GsonBuilder().disableHtmlEscaping().create();
         return gson.toJson(summary);
     }
 
+    @Override
+    public void prefetchMeta() {
+        if ((state != JobState.RUNNING && state != JobState.NEED_SCHEDULE)
+                || (customKafkaPartitions != null && !customKafkaPartitions.isEmpty())) {
+            return;
+        }
+        // the properties are converted when the partitions are fetched the first time
+        if (!customProperties.isEmpty() && convertedCustomProperties.isEmpty()) {
+            return;
+        }
+        KafkaUtil.prefetchAllKafkaPartitions(brokerList, topic, ImmutableMap.copyOf(convertedCustomProperties));
+    }
+
     private List<Integer> getAllKafkaPartitions() throws UserException {
         convertCustomProperties(false);
         return KafkaUtil.getAllKafkaPartitions(brokerList, topic, ImmutableMap.copyOf(convertedCustomProperties));
@@ -370,11 +411,22 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
         }
 
         long tableId = -1L;
+        // route value => route table id
+        Map<String, Long> routeTables = Maps.newLinkedHashMap();
         db.readLock();
         try {
             unprotectedCheckMeta(db, stmt.getTableName(), stmt.getRoutineLoadDesc());
             Table table = db.getTable(stmt.getTableName());
             tableId = table.getId();
+            for (Map.Entry<String, String> entry : stmt.getRouteTables().entrySet()) {
+                // the partitions of load desc only belong to the table of job
+                unprotectedCheckMeta(db, entry.getValue(), null);
+                unprotectedCheckRouteColumn(db, entry.getValue(), stmt.getRouteColumn());
+                routeTables.put(entry.getKey(), db.getTable(entry.getValue()).getId());
+            }
+            if (!routeTables.isEmpty()) {
+                unprotectedCheckRouteColumn(db, stmt.getTableName(), stmt.getRouteColumn());
+            }
         } finally {
             db.readUnlock();
         }
@@ -385,6 +437,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
                 db.getClusterName(), db.getId(), tableId,
                 stmt.getKafkaBrokerList(), stmt.getKafkaTopic());
         kafkaRoutineLoadJob.setOptional(stmt);
+        kafkaRoutineLoadJob.setRouteTables(stmt.getRouteColumn(), routeTables);
         kafkaRoutineLoadJob.checkCustomProperties();
         kafkaRoutineLoadJob.checkCustomPartition();
 
@@ -87,6 +87,7 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
                 kafkaRoutineLoadJob.getTopic(),
                 ImmutableMap.copyOf(kafkaRoutineLoadJob.getConvertedCustomProperties()),
                 new ArrayList<>(partitionIdToOffset.keySet()));
+        kafkaRoutineLoadJob.getTaskController().updateLag(latestOffsets, partitionIdToOffset);
         for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
             int partitionId = entry.getKey();
             Long latestOffset = latestOffsets.get(partitionId);
@@ -155,8 +156,21 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         tKafkaLoadInfo.setProperties(routineLoadJob.getConvertedCustomProperties());
         tRoutineLoadTask.setKafka_load_info(tKafkaLoadInfo);
         tRoutineLoadTask.setType(TLoadSourceType.KAFKA);
-        tRoutineLoadTask.setParams(plan(routineLoadJob));
-        tRoutineLoadTask.setMax_interval_s(Config.routine_load_task_consume_second);
+        TUniqueId loadId = new TUniqueId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        tRoutineLoadTask.setParams(plan(routineLoadJob, loadId, routineLoadJob.getTableId()));
+        // every route table is loaded by its own fragment in the same transaction
+        for (long routeTableId : routineLoadJob.getRouteTables().keySet()) {
+            UUID routeLoadId = UUID.randomUUID();
+            tRoutineLoadTask.addToRoute_params(plan(routineLoadJob,
+                    new TUniqueId(routeLoadId.getMostSignificantBits(), routeLoadId.getLeastSignificantBits()),
+                    routeTableId));
+        }
+        if (Config.enable_routine_load_adaptive_task) {
+            tRoutineLoadTask.setMax_interval_s(routineLoadJob.getTaskController()
+                    .getConsumeSecond(routineLoadJob.getCurrentTaskConcurrentNum()));
+        } else {
+            tRoutineLoadTask.setMax_interval_s(Config.routine_load_task_consume_second);
+        }
         tRoutineLoadTask.setMax_batch_rows(routineLoadJob.getMaxBatchRows());
         tRoutineLoadTask.setMax_batch_size(Config.max_routine_load_batch_size);
         if (!routineLoadJob.getFormat().isEmpty() && routineLoadJob.getFormat().equalsIgnoreCase("json")) {
@@ -173,10 +187,10 @@ public class KafkaTaskInfo extends RoutineLoadTaskInfo {
         return gson.toJson(partitionIdToOffset);
     }
 
-    private TExecPlanFragmentParams plan(RoutineLoadJob routineLoadJob) throws UserException {
-        TUniqueId loadId = new TUniqueId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    private TExecPlanFragmentParams plan(RoutineLoadJob routineLoadJob, TUniqueId loadId, long targetTableId)
+            throws UserException {
         // plan for each task, in case table has change(rollup or schema change)
-        TExecPlanFragmentParams tExecPlanFragmentParams = routineLoadJob.plan(loadId, txnId);
+        TExecPlanFragmentParams tExecPlanFragmentParams = routineLoadJob.plan(loadId, txnId, targetTableId);
         TPlanFragment tPlanFragment = tExecPlanFragmentParams.getFragment();
         tPlanFragment.getOutput_sink().getOlap_table_sink().setTxn_id(txnId);
         return tExecPlanFragmentParams;
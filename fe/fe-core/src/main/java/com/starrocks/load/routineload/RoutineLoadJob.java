@@ -31,15 +31,20 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.starrocks.analysis.AlterRoutineLoadStmt;
 import com.starrocks.analysis.ColumnSeparator;
+import com.starrocks.analysis.CompoundPredicate;
 import com.starrocks.analysis.CreateRoutineLoadStmt;
 import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.ImportColumnDesc;
 import com.starrocks.analysis.ImportColumnsStmt;
+import com.starrocks.analysis.InPredicate;
+import com.starrocks.analysis.IsNullPredicate;
 import com.starrocks.analysis.LoadStmt;
 import com.starrocks.analysis.PartitionNames;
 import com.starrocks.analysis.RowDelimiter;
+import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.SqlParser;
 import com.starrocks.analysis.SqlScanner;
+import com.starrocks.analysis.StringLiteral;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
@@ -193,9 +198,15 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
     private static final String PROPS_STRIP_OUTER_ARRAY = "strip_outer_array";
     private static final String PROPS_JSONPATHS = "jsonpaths";
     private static final String PROPS_JSONROOT = "json_root";
+    // rows are routed to the tables in "value1:tableId1,value2:tableId2" by the value of route column,
+    // the rows whose value is not in route tables are loaded into the table of job.
+    private static final String PROPS_ROUTE_COLUMN = "route_column";
+    private static final String PROPS_ROUTE_TABLES = "route_tables";
 
     protected int currentTaskConcurrentNum;
     protected RoutineLoadProgress progress;
+    // not persisted, the statistics are collected again after fe restarts
+    protected AdaptiveTaskController taskController = new AdaptiveTaskController();
 
     protected long firstResumeTimestamp; // the first resume time
     protected long autoResumeCount;
@@ -449,6 +460,36 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         return whereExpr;
     }
 
+    /**
+     * The where predicate to load the given table, it's the predicate of job and the route predicate:
+     * `route_column IN (values of the table)` for a route table, and
+     * `route_column IS NULL OR route_column NOT IN (all values)` for the table of job.
+     * NULL matches neither IN nor NOT IN, so the rows with NULL route column are loaded into the table of job.
+     */
+    public Expr getWhereExpr(long targetTableId) {
+        Map<Long, List<String>> routeTables = getRouteTables();
+        if (routeTables.isEmpty()) {
+            return whereExpr;
+        }
+        List<String> routeValues = Lists.newArrayList();
+        if (targetTableId == tableId) {
+            routeTables.values().forEach(routeValues::addAll);
+        } else if (routeTables.containsKey(targetTableId)) {
+            routeValues.addAll(routeTables.get(targetTableId));
+        }
+        List<Expr> values = Lists.newArrayList();
+        routeValues.forEach(v -> values.add(new StringLiteral(v)));
+        Expr routeExpr = new InPredicate(new SlotRef(null, getRouteColumn()), values, targetTableId == tableId);
+        if (targetTableId == tableId) {
+            routeExpr = new CompoundPredicate(CompoundPredicate.Operator.OR,
+                    new IsNullPredicate(new SlotRef(null, getRouteColumn()), false), routeExpr);
+        }
+        if (whereExpr == null) {
+            return routeExpr;
+        }
+        return new CompoundPredicate(CompoundPredicate.Operator.AND, whereExpr.clone(), routeExpr);
+    }
+
     public ColumnSeparator getColumnSeparator() {
         return columnSeparator;
     }
@@ -513,6 +554,40 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         return value;
     }
 
+    public String getRouteColumn() {
+        return jobProperties.get(PROPS_ROUTE_COLUMN);
+    }
+
+    // route table id => route values
+    public Map<Long, List<String>> getRouteTables() {
+        Map<Long, List<String>> routeTables = Maps.newLinkedHashMap();
+        String value = jobProperties.get(PROPS_ROUTE_TABLES);
+        if (Strings.isNullOrEmpty(value)) {
+            return routeTables;
+        }
+        for (String item : value.split(",")) {
+            int idx = item.lastIndexOf(':');
+            routeTables.computeIfAbsent(Long.parseLong(item.substring(idx + 1)), k -> Lists.newArrayList())
+                    .add(item.substring(0, idx));
+        }
+        return routeTables;
+    }
+
+    protected void setRouteTables(String routeColumn, Map<String, Long> routeValueToTableId) {
+        if (routeValueToTableId.isEmpty()) {
+            return;
+        }
+        jobProperties.put(PROPS_ROUTE_COLUMN, routeColumn);
+        jobProperties.put(PROPS_ROUTE_TABLES, Joiner.on(",").withKeyValueSeparator(":").join(routeValueToTableId));
+    }
+
+    // all the tables loaded in one transaction, the table of job is the first one
+    public List<Long> getTableIds() {
+        List<Long> tableIds = Lists.newArrayList(tableId);
+        tableIds.addAll(getRouteTables().keySet());
+        return tableIds;
+    }
+
     public int getSizeOfRoutineLoadTaskInfoList() {
         readLock();
         try {
@@ -587,6 +662,8 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         updateNumOfData(attachment.getTotalRows(), attachment.getFilteredRows(), attachment.getUnselectedRows(),
                 attachment.getReceivedBytes(), attachment.getTaskExecutionTimeMs(),
                 false /* not replay */);
+        taskController.onTaskCommitted(attachment.getReceivedBytes(), attachment.getTotalRows(),
+                attachment.getTaskExecutionTimeMs());
     }
 
     private void updateNumOfData(long numOfTotalRows, long numOfErrorRows, long unselectedRows, long receivedBytes,
@@ -673,18 +750,23 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
     }
 
     public TExecPlanFragmentParams plan(TUniqueId loadId, long txnId) throws UserException {
+        return plan(loadId, txnId, tableId);
+    }
+
+    // plan the fragment to load the given table, which is the table of job or one of the route tables
+    public TExecPlanFragmentParams plan(TUniqueId loadId, long txnId, long targetTableId) throws UserException {
         Database db = Catalog.getCurrentCatalog().getDb(dbId);
         if (db == null) {
             throw new MetaNotFoundException("db " + dbId + " does not exist");
         }
         db.readLock();
         try {
-            Table table = db.getTable(this.tableId);
+            Table table = db.getTable(targetTableId);
             if (table == null) {
-                throw new MetaNotFoundException("table " + this.tableId + " does not exist");
+                throw new MetaNotFoundException("table " + targetTableId + " does not exist");
             }
-            StreamLoadPlanner planner =
-                    new StreamLoadPlanner(db, (OlapTable) table, StreamLoadTask.fromRoutineLoadJob(this));
+            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table,
+                    StreamLoadTask.fromRoutineLoadJob(this, targetTableId));
             TExecPlanFragmentParams planParams = planner.plan(loadId);
             // add table indexes to transaction state
             TransactionState txnState = Catalog.getCurrentGlobalTransactionMgr().getTransactionState(db.getId(), txnId);
@@ -864,7 +946,11 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
                     (RLTaskTxnCommitAttachment) txnState.getTxnCommitAttachment();
             // isProgressKeepUp returns false means there is too much data in kafka stream,
             // we set timeToExecuteMs to now, so that data not accumulated in kafka
-            if (!routineLoadTaskInfo.isProgressKeepUp(rlTaskTxnCommitAttachment.getProgress())) {
+            boolean progressKeepUp = routineLoadTaskInfo.isProgressKeepUp(rlTaskTxnCommitAttachment.getProgress());
+            if (Config.enable_routine_load_adaptive_task) {
+                timeToExecuteMs = System.currentTimeMillis()
+                        + taskController.getScheduleDelayMs(progressKeepUp, taskSchedIntervalS * 1000);
+            } else if (!progressKeepUp) {
                 timeToExecuteMs = System.currentTimeMillis();
             } else {
                 timeToExecuteMs = System.currentTimeMillis() + taskSchedIntervalS * 1000;
@@ -1032,6 +1118,14 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         // columns will be checked when planing
     }
 
+    protected static void unprotectedCheckRouteColumn(Database db, String tblName, String routeColumn)
+            throws UserException {
+        Table table = db.getTable(tblName);
+        if (table.getColumn(routeColumn) == null) {
+            throw new DdlException("Route column " + routeColumn + " does not exist in table " + tblName);
+        }
+    }
+
     public void updateState(JobState jobState, ErrorReason reason, boolean isReplay) throws UserException {
         writeLock();
         try {
@@ -1130,6 +1224,11 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         routineLoadTaskInfoList.clear();
     }
 
+    // start to fetch the meta data of source used by update() without waiting,
+    // so the fetches of all jobs are batched
+    public void prefetchMeta() {
+    }
+
     public void update() throws UserException {
         // check if db and table exist
         Database database = Catalog.getCurrentCatalog().getDb(dbId);
@@ -1177,7 +1276,7 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         // check if partition has been changed
         writeLock();
         try {
-            if (unprotectNeedReschedule()) {
+            if (unprotectNeedReschedule() || unprotectNeedAdjustConcurrency()) {
                 LOG.info(new LogBuilder(LogKey.ROUTINE_LOAD_JOB, id)
                         .add("msg", "Job need to be rescheduled")
                         .build());
@@ -1196,6 +1295,19 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         return false;
     }
 
+    // whether the job should be rescheduled to change the concurrency of tasks
+    protected boolean unprotectNeedAdjustConcurrency() throws UserException {
+        return false;
+    }
+
+    public int getCurrentTaskConcurrentNum() {
+        return currentTaskConcurrentNum;
+    }
+
+    public AdaptiveTaskController getTaskController() {
+        return taskController;
+    }
+
     public void setOrigStmt(OriginStatement origStmt) {
         this.origStmt = origStmt;
     }
@@ -1310,10 +1422,25 @@ public abstract class RoutineLoadJob extends AbstractTxnStateChangeCallback impl
         jobProperties.put("currentTaskConcurrentNum", String.valueOf(currentTaskConcurrentNum));
         jobProperties.put("desireTaskConcurrentNum", String.valueOf(desireTaskConcurrentNum));
         jobProperties.putAll(this.jobProperties);
+        if (jobProperties.containsKey(PROPS_ROUTE_TABLES)) {
+            jobProperties.put(PROPS_ROUTE_TABLES, routeTablesToString());
+        }
         Gson gson = new GsonBuilder().disableHtmlEscaping().create();
         return gson.toJson(jobProperties);
     }
 
+    // show the names of route tables instead of ids
+    private String routeTablesToString() {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        List<String> items = Lists.newArrayList();
+        for (Map.Entry<Long, List<String>> entry : getRouteTables().entrySet()) {
+            Table table = db == null ? null : db.getTable(entry.getKey());
+            String tableName = table == null ? String.valueOf(entry.getKey()) : table.getName();
+            entry.getValue().forEach(v -> items.add(v + ":" + tableName));
+        }
+        return Joiner.on(",").join(items);
+    }
+
     abstract String dataSourcePropertiesJsonToString();
 
     abstract String customPropertiesJsonToString();
@@ -526,6 +526,11 @@ public class RoutineLoadManager implements Writable {
     }
 
     public void updateRoutineLoadJob() throws UserException {
+        for (RoutineLoadJob routineLoadJob : idToRoutineLoadJob.values()) {
+            if (!routineLoadJob.state.isFinalState()) {
+                routineLoadJob.prefetchMeta();
+            }
+        }
         for (RoutineLoadJob routineLoadJob : idToRoutineLoadJob.values()) {
             if (!routineLoadJob.state.isFinalState()) {
                 routineLoadJob.update();
@@ -76,6 +76,7 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_EDIT_LOG_WRITE;
     public static LongCounterMetric COUNTER_EDIT_LOG_READ;
     public static LongCounterMetric COUNTER_EDIT_LOG_SIZE_BYTES;
+    public static LongCounterMetric COUNTER_SLOW_LOCK;
     public static LongCounterMetric COUNTER_IMAGE_WRITE;
     public static LongCounterMetric COUNTER_IMAGE_PUSH;
     public static LongCounterMetric COUNTER_TXN_REJECT;
@@ -86,9 +87,18 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
+    public static LongCounterMetric COUNTER_OPTIMIZER_BUDGET_EXCEEDED;
+    public static LongCounterMetric COUNTER_HIVE_LISTED_FILES;
+    public static LongCounterMetric COUNTER_ES_SYNC_FAILED;
+    public static LongCounterMetric COUNTER_ES_SYNC_TIMEOUT;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_HIVE_LISTING_LATENCY;
+    public static Histogram HISTO_ES_SYNC_LATENCY;
+    public static Histogram HISTO_JOURNAL_REPLAY_LATENCY;
+    public static Histogram HISTO_DB_LOCK_WAIT_LATENCY;
+    public static Histogram HISTO_TABLE_LOCK_WAIT_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -191,6 +201,15 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(maxJournalId);
 
+        GaugeMetric<Long> replayJournalLag = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                "journal_replay_lag", MetricUnit.NOUNIT, "number of journals not replayed yet of this frontends") {
+            @Override
+            public Long getValue() {
+                return Catalog.getCurrentCatalog().getReplayJournalLag();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(replayJournalLag);
+
         // scheduled tablet num
         GaugeMetric<Long> scheduledTabletNum = (GaugeMetric<Long>) new GaugeMetric<Long>(
                 "scheduled_tablet_num", MetricUnit.NOUNIT, "number of tablets being scheduled") {
@@ -309,6 +328,9 @@ public final class MetricRepo {
         COUNTER_EDIT_LOG_SIZE_BYTES =
                 new LongCounterMetric("edit_log_size_bytes", MetricUnit.BYTES, "size of edit log");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_EDIT_LOG_SIZE_BYTES);
+        COUNTER_SLOW_LOCK = new LongCounterMetric("slow_lock", MetricUnit.OPERATIONS,
+                "counter of database and table locks waited or held longer than slow_lock_threshold_ms");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SLOW_LOCK);
         COUNTER_IMAGE_WRITE = new LongCounterMetric("image_write", MetricUnit.OPERATIONS, "counter of image generated");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_IMAGE_WRITE);
         COUNTER_IMAGE_PUSH = new LongCounterMetric("image_push", MetricUnit.OPERATIONS,
@@ -335,11 +357,32 @@ public final class MetricRepo {
         COUNTER_ROUTINE_LOAD_ERROR_ROWS = new LongCounterMetric("routine_load_error_rows", MetricUnit.ROWS,
                 "total error rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
+        COUNTER_OPTIMIZER_BUDGET_EXCEEDED = new LongCounterMetric("optimizer_budget_exceeded", MetricUnit.REQUESTS,
+                "counter of queries whose optimizer stopped exploration because the budget is exceeded");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_OPTIMIZER_BUDGET_EXCEEDED);
+        COUNTER_HIVE_LISTED_FILES = new LongCounterMetric("hive_listed_files", MetricUnit.NOUNIT,
+                "total data files listed from the partition directories of hive tables");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_HIVE_LISTED_FILES);
+        COUNTER_ES_SYNC_FAILED = new LongCounterMetric("es_sync_failed", MetricUnit.NOUNIT,
+                "total failed meta syncs of es tables");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ES_SYNC_FAILED);
+        COUNTER_ES_SYNC_TIMEOUT = new LongCounterMetric("es_sync_timeout", MetricUnit.NOUNIT,
+                "total meta syncs of es clusters which are not finished in es_state_sync_timeout_second");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ES_SYNC_TIMEOUT);
 
         // 3. histogram
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("query", "latency", "ms"));
         HISTO_EDIT_LOG_WRITE_LATENCY =
                 METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_HIVE_LISTING_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("hive", "listing", "latency", "ms"));
+        HISTO_ES_SYNC_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("es", "sync", "latency", "ms"));
+        HISTO_JOURNAL_REPLAY_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "replay", "latency", "ms"));
+        HISTO_DB_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("db", "lock", "wait", "latency", "ms"));
+        HISTO_TABLE_LOCK_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("table", "lock", "wait", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -24,6 +24,7 @@ package com.starrocks.mysql.privilege;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.AlterUserStmt;
 import com.starrocks.analysis.CreateClusterStmt;
@@ -63,7 +64,9 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 public class Auth implements Writable {
     private static final Logger LOG = LogManager.getLogger(Auth.class);
@@ -83,6 +86,23 @@ public class Auth implements Writable {
 
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
+    // max number of cached decisions of one user, the cache of the user is cleared if it's full
+    private static final int MAX_CACHED_DECISIONS_PER_USER = 10000;
+    // increased when any privilege is changed, the decisions cached in old versions are invalid
+    private final AtomicLong privVersion = new AtomicLong(0);
+    // user identity => the cached decisions of db and table privilege checks
+    private final Map<UserIdentity, DecisionCache> decisionCaches = Maps.newConcurrentMap();
+
+    private static class DecisionCache {
+        private final long version;
+        // db, tbl and wanted privs => decision
+        private final Map<String, Boolean> decisions = Maps.newConcurrentMap();
+
+        DecisionCache(long version) {
+            this.version = version;
+        }
+    }
+
     private void readLock() {
         lock.readLock().lock();
     }
@@ -96,9 +116,45 @@ public class Auth implements Writable {
     }
 
     private void writeUnlock() {
+        // all the privilege changes are made under the write lock
+        invalidateDecisionCaches();
         lock.writeLock().unlock();
     }
 
+    private void invalidateDecisionCaches() {
+        privVersion.incrementAndGet();
+        decisionCaches.clear();
+    }
+
+    /*
+     * Return the cached decision, or check by the checker and cache the decision.
+     * The version is got before checking, so the decision checked before a privilege change
+     * won't be cached in the version after it.
+     */
+    private boolean checkWithCache(UserIdentity currentUser, String db, String tbl, PrivPredicate wanted,
+                                   Supplier<Boolean> checker) {
+        if (currentUser == null) {
+            return checker.get();
+        }
+        long version = privVersion.get();
+        DecisionCache cache = decisionCaches.compute(currentUser,
+                (k, v) -> v != null && v.version >= version ? v : new DecisionCache(version));
+        String key = (tbl == null ? "db\0" + db : "tbl\0" + db + "\0" + tbl)
+                + "\0" + wanted.getPrivs() + "\0" + wanted.getOp();
+        Boolean decision = cache.decisions.get(key);
+        if (decision != null) {
+            return decision;
+        }
+        decision = checker.get();
+        if (cache.version == version) {
+            if (cache.decisions.size() >= MAX_CACHED_DECISIONS_PER_USER) {
+                cache.decisions.clear();
+            }
+            cache.decisions.put(key, decision);
+        }
+        return decision;
+    }
+
     public enum PrivLevel {
         GLOBAL, DATABASE, TABLE, RESOURCE
     }
@@ -302,6 +358,10 @@ public class Auth implements Writable {
         if (!Config.enable_auth_check) {
             return true;
         }
+        return checkWithCache(currentUser, db, null, wanted, () -> checkDbPrivInternal(currentUser, db, wanted));
+    }
+
+    private boolean checkDbPrivInternal(UserIdentity currentUser, String db, PrivPredicate wanted) {
         if (wanted.getPrivs().containsNodePriv()) {
             LOG.debug("should not check NODE priv in Database level. user: {}, db: {}",
                     currentUser, db);
@@ -345,6 +405,11 @@ public class Auth implements Writable {
         if (!Config.enable_auth_check) {
             return true;
         }
+        return checkWithCache(currentUser, db, tbl, wanted,
+                () -> checkTblPrivInternal(currentUser, db, tbl, wanted));
+    }
+
+    private boolean checkTblPrivInternal(UserIdentity currentUser, String db, String tbl, PrivPredicate wanted) {
         if (wanted.getPrivs().containsNodePriv()) {
             LOG.debug("should check NODE priv in GLOBAL level. user: {}, db: {}, tbl: {}", currentUser, db, tbl);
             return false;
@@ -493,6 +558,7 @@ public class Auth implements Writable {
         dbPrivTable.clear();
         tablePrivTable.clear();
         resourcePrivTable.clear();
+        invalidateDecisionCaches();
     }
 
     // create user
@@ -41,22 +41,10 @@ public class DbPrivTable extends PrivTable {
      * saved in 'savedPrivs'.
      */
     public void getPrivs(UserIdentity currentUser, String db, PrivBitSet savedPrivs) {
-        DbPrivEntry matchedEntry = null;
-        for (PrivEntry entry : entries) {
+        PrivEntry matchedEntry = getFirstMatchedEntry(currentUser, db, entry -> {
             DbPrivEntry dbPrivEntry = (DbPrivEntry) entry;
-
-            if (!dbPrivEntry.match(currentUser, true)) {
-                continue;
-            }
-
-            // check db
-            if (!dbPrivEntry.isAnyDb() && !dbPrivEntry.getDbPattern().match(db)) {
-                continue;
-            }
-
-            matchedEntry = dbPrivEntry;
-            break;
-        }
+            return dbPrivEntry.isAnyDb() || dbPrivEntry.getDbPattern().match(db);
+        });
         if (matchedEntry == null) {
             return;
         }
@@ -64,6 +52,15 @@ public class DbPrivTable extends PrivTable {
         savedPrivs.or(matchedEntry.getPrivSet());
     }
 
+    @Override
+    protected String getExactKey(PrivEntry entry) {
+        DbPrivEntry dbPrivEntry = (DbPrivEntry) entry;
+        if (dbPrivEntry.isAnyDb() || hasPattern(dbPrivEntry.getOrigDb())) {
+            return null;
+        }
+        return dbPrivEntry.getOrigDb();
+    }
+
     /*
      * Check if user@host has specified privilege on any database
      */
@@ -22,6 +22,7 @@
 package com.starrocks.mysql.privilege;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.starrocks.analysis.UserIdentity;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.ErrorCode;
@@ -39,6 +40,8 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public abstract class PrivTable implements Writable {
     private static final Logger LOG = LogManager.getLogger(PrivTable.class);
@@ -48,6 +51,26 @@ public abstract class PrivTable implements Writable {
     // see PrivEntry for more detail
     protected boolean isClassNameWrote = false;
 
+    // user@host => the compiled entries of the user, rebuilt lazily after the entries are changed.
+    // it's built and dropped under the lock of Auth, as the entries.
+    private volatile Map<String, UserEntries> userEntriesIndex = null;
+
+    /*
+     * The entries of one user@host in the order of entries. The entries whose keys have no pattern
+     * are indexed by the exact key, see getExactKey().
+     */
+    protected static class UserEntries {
+        private final List<PrivEntry> entries = Lists.newArrayList();
+        // exact key => position of the first entry of the key
+        private final Map<String, Integer> exactKeyToPos = Maps.newHashMap();
+        // positions of the entries with patterns
+        private final List<Integer> patternPositions = Lists.newArrayList();
+
+        public List<PrivEntry> getEntries() {
+            return entries;
+        }
+    }
+
     /*
      * Add an entry to priv table.
      * If entry already exists and errOnExist is false, we try to reset or merge the new priv entry with existing one.
@@ -62,6 +85,7 @@ public abstract class PrivTable implements Writable {
             }
             entries.add(newEntry);
             Collections.sort(entries);
+            invalidateIndex();
             LOG.debug("add priv entry: {}", newEntry);
             return newEntry;
         } else {
@@ -95,6 +119,7 @@ public abstract class PrivTable implements Writable {
                 break;
             }
         }
+        invalidateIndex();
     }
 
     public void clearEntriesSetByResolver() {
@@ -106,6 +131,7 @@ public abstract class PrivTable implements Writable {
                 LOG.info("drop priv entry set by resolver: {}", privEntry);
             }
         }
+        invalidateIndex();
     }
 
     // drop all entries which user name are matched, and is not set by resolver
@@ -118,6 +144,7 @@ public abstract class PrivTable implements Writable {
                 LOG.info("drop entry: {}", privEntry);
             }
         }
+        invalidateIndex();
     }
 
     public void revoke(PrivEntry entry, boolean errOnNonExist, boolean deleteEntryWhenEmpty) throws DdlException {
@@ -198,6 +225,75 @@ public abstract class PrivTable implements Writable {
     // for test only
     public void clear() {
         entries.clear();
+        invalidateIndex();
+    }
+
+    protected void invalidateIndex() {
+        userEntriesIndex = null;
+    }
+
+    /*
+     * Return the key of the entry if the entry only matches this key exactly, otherwise return null.
+     * The entries are only indexed by user@host if it's not overridden.
+     */
+    protected String getExactKey(PrivEntry entry) {
+        return null;
+    }
+
+    protected static boolean hasPattern(String name) {
+        return name.indexOf('%') >= 0 || name.indexOf('_') >= 0 || name.indexOf('\\') >= 0;
+    }
+
+    private static String userKey(String user, String host) {
+        return user + "@" + host;
+    }
+
+    /*
+     * Return the compiled entries which exactly match the user@host, the same as PrivEntry.match(currentUser, true).
+     */
+    protected UserEntries getUserEntries(UserIdentity currentUser) {
+        Map<String, UserEntries> index = userEntriesIndex;
+        if (index == null) {
+            index = Maps.newHashMap();
+            for (PrivEntry entry : entries) {
+                UserEntries userEntries = index.computeIfAbsent(userKey(entry.getOrigUser(), entry.getOrigHost()),
+                        k -> new UserEntries());
+                int pos = userEntries.entries.size();
+                userEntries.entries.add(entry);
+                String exactKey = getExactKey(entry);
+                if (exactKey == null) {
+                    userEntries.patternPositions.add(pos);
+                } else {
+                    userEntries.exactKeyToPos.putIfAbsent(exactKey, pos);
+                }
+            }
+            userEntriesIndex = index;
+        }
+        UserEntries userEntries = index.get(userKey(currentUser.getQualifiedUser(), currentUser.getHost()));
+        return userEntries == null ? new UserEntries() : userEntries;
+    }
+
+    /*
+     * Return the first entry of the user@host in the order of entries which matches the exact key or the matcher.
+     * The matcher is only used for the entries with patterns.
+     */
+    protected PrivEntry getFirstMatchedEntry(UserIdentity currentUser, String exactKey,
+                                             Predicate<PrivEntry> patternMatcher) {
+        UserEntries userEntries = getUserEntries(currentUser);
+        int matchedPos = Integer.MAX_VALUE;
+        if (exactKey != null) {
+            matchedPos = userEntries.exactKeyToPos.getOrDefault(exactKey, Integer.MAX_VALUE);
+        }
+        for (int pos : userEntries.patternPositions) {
+            if (pos > matchedPos) {
+                break;
+            }
+            if (patternMatcher.test(userEntries.entries.get(pos))) {
+                matchedPos = pos;
+                break;
+            }
+        }
+        return matchedPos == Integer.MAX_VALUE ? null : userEntries.entries.get(matchedPos);
     }
 
     public boolean isEmpty() {
@@ -255,6 +351,7 @@ public abstract class PrivTable implements Writable {
             entries.add(entry);
         }
         Collections.sort(entries);
+        invalidateIndex();
     }
 
 }
@@ -39,27 +39,14 @@ public class TablePrivTable extends PrivTable {
      * be saved in 'savedPrivs'.
      */
     public void getPrivs(UserIdentity currentUser, String db, String tbl, PrivBitSet savedPrivs) {
-        TablePrivEntry matchedEntry = null;
-        for (PrivEntry entry : entries) {
+        String exactKey = db == null || tbl == null ? null : exactKey(db, tbl);
+        PrivEntry matchedEntry = getFirstMatchedEntry(currentUser, exactKey, entry -> {
             TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
-            if (!tblPrivEntry.match(currentUser, true)) {
-                continue;
-            }
-
             // check db
             Preconditions.checkState(!tblPrivEntry.isAnyDb());
-            if (!tblPrivEntry.getDbPattern().match(db)) {
-                continue;
-            }
-
             // check table
-            if (!tblPrivEntry.getTblPattern().match(tbl)) {
-                continue;
-            }
-
-            matchedEntry = tblPrivEntry;
-            break;
-        }
+            return tblPrivEntry.getDbPattern().match(db) && tblPrivEntry.getTblPattern().match(tbl);
+        });
         if (matchedEntry == null) {
             return;
         }
@@ -67,6 +54,19 @@ public class TablePrivTable extends PrivTable {
         savedPrivs.or(matchedEntry.getPrivSet());
     }
 
+    @Override
+    protected String getExactKey(PrivEntry entry) {
+        TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
+        if (tblPrivEntry.isAnyTbl() || hasPattern(tblPrivEntry.getOrigDb()) || hasPattern(tblPrivEntry.getOrigTbl())) {
+            return null;
+        }
+        return exactKey(tblPrivEntry.getOrigDb(), tblPrivEntry.getOrigTbl());
+    }
+
+    private static String exactKey(String db, String tbl) {
+        return db + "\0" + tbl;
+    }
+
     /*
      * Check if user@host has specified privilege on any table
      */
@@ -90,13 +90,9 @@ public class TablePrivTable extends PrivTable {
     }
 
     public boolean hasPrivsOfDb(UserIdentity currentUser, String db) {
-        for (PrivEntry entry : entries) {
+        for (PrivEntry entry : getUserEntries(currentUser).getEntries()) {
             TablePrivEntry tblPrivEntry = (TablePrivEntry) entry;
 
-            if (!tblPrivEntry.match(currentUser, true)) {
-                continue;
-            }
-
             // check db
             Preconditions.checkState(!tblPrivEntry.isAnyDb());
             if (!tblPrivEntry.getDbPattern().match(db)) {
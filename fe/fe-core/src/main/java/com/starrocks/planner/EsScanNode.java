@@ -128,7 +128,10 @@ public class EsScanNode extends ScanNode {
         ArrayList<SlotDescriptor> slotDescriptors = desc.getSlots();
         List<String> selectedFields = new ArrayList<>(slotDescriptors.size());
         for (SlotDescriptor slotDescriptor : slotDescriptors) {
-            selectedFields.add(slotDescriptor.getColumn().getName());
+            // only the materialized slots are fetched by backend
+            if (slotDescriptor.isMaterialized()) {
+                selectedFields.add(slotDescriptor.getColumn().getName());
+            }
         }
         if (selectedFields.size() > table.maxDocValueFields()) {
             return 0;
@@ -214,10 +217,20 @@ public class EsScanNode extends ScanNode {
         return computeShardLocations(selectedIndex);
     }
 
+    // Sliced scroll is only supported by the http scan node. A pushed down limit is sent to Elasticsearch by
+    // a plain search instead of a scroll, which does not allow slice, so the shards are not sliced either.
+    public int getSlicesPerShard() {
+        if (!EsTable.TRANSPORT_HTTP.equals(table.getTransport()) || hasLimit()) {
+            return 1;
+        }
+        return table.scanSlicesPerShard();
+    }
+
     public List<TScanRangeLocations> computeShardLocations(List<EsShardPartitions> selectedIndex) {
         int size = backendList.size();
         int beIndex = random.nextInt(size);
         List<TScanRangeLocations> result = Lists.newArrayList();
+        int slices = getSlicesPerShard();
         for (EsShardPartitions indexState : selectedIndex) {
             for (List<EsShardRouting> shardRouting : indexState.getShardRoutings().values()) {
                 // get backends
@@ -244,28 +257,34 @@ public class EsScanNode extends ScanNode {
                     Collections.shuffle(candidateBeList);
                 }
 
-                // Locations
-                TScanRangeLocations locations = new TScanRangeLocations();
-                for (int i = 0; i < numBe && i < candidateBeList.size(); ++i) {
-                    TScanRangeLocation location = new TScanRangeLocation();
-                    Backend be = candidateBeList.get(i);
-                    location.setBackend_id(be.getId());
-                    location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
-                    locations.addToLocations(location);
-                }
+                for (int slice = 0; slice < slices; slice++) {
+                    // Locations, rotate the candidates so the slices of one shard are spread among backends
+                    TScanRangeLocations locations = new TScanRangeLocations();
+                    for (int i = 0; i < numBe && i < candidateBeList.size(); ++i) {
+                        TScanRangeLocation location = new TScanRangeLocation();
+                        Backend be = candidateBeList.get((i + slice) % candidateBeList.size());
+                        location.setBackend_id(be.getId());
+                        location.setServer(new TNetworkAddress(be.getHost(), be.getBePort()));
+                        locations.addToLocations(location);
+                    }
 
-                // Generate on es scan range
-                TEsScanRange esScanRange = new TEsScanRange();
-                esScanRange.setEs_hosts(shardAllocations);
-                esScanRange.setIndex(shardRouting.get(0).getIndexName());
-                esScanRange.setType(table.getMappingType());
-                esScanRange.setShard_id(shardRouting.get(0).getShardId());
-                // Scan range
-                TScanRange scanRange = new TScanRange();
-                scanRange.setEs_scan_range(esScanRange);
-                locations.setScan_range(scanRange);
-                // result
-                result.add(locations);
+                    // Generate on es scan range
+                    TEsScanRange esScanRange = new TEsScanRange();
+                    esScanRange.setEs_hosts(shardAllocations);
+                    esScanRange.setIndex(shardRouting.get(0).getIndexName());
+                    esScanRange.setType(table.getMappingType());
+                    esScanRange.setShard_id(shardRouting.get(0).getShardId());
+                    if (slices > 1) {
+                        esScanRange.setSlice_id(slice);
+                        esScanRange.setSlice_max(slices);
+                    }
+                    // Scan range
+                    TScanRange scanRange = new TScanRange();
+                    scanRange.setEs_scan_range(esScanRange);
+                    locations.setScan_range(scanRange);
+                    // result
+                    result.add(locations);
+                }
             }
 
         }
@@ -333,6 +352,13 @@ public class EsScanNode extends ScanNode {
         } else {
             output.append(prefix).append("ES_QUERY_DSL: ").append("{\"match_all\": {}}").append("\n");
         }
+        if (table.isDocValueScanEnable() && detailLevel == TExplainLevel.VERBOSE) {
+            output.append(prefix).append("DOC_VALUE_SCAN: ")
+                    .append(useDocValueScan(desc, table.docValueContext()) == 1).append("\n");
+        }
+        if (getSlicesPerShard() > 1) {
+            output.append(prefix).append("SLICES_PER_SHARD: ").append(getSlicesPerShard()).append("\n");
+        }
         String indexName = table.getIndexName();
         String typeName = table.getMappingType();
         output.append(prefix)
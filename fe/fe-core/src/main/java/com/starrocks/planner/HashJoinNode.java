@@ -38,6 +38,7 @@ import com.starrocks.catalog.ColumnStats;
 import com.starrocks.common.IdGenerator;
 import com.starrocks.common.UserException;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.statistics.RuntimeFilterEstimator;
 import com.starrocks.thrift.TEqJoinCondition;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.THashJoinNode;
@@ -47,6 +48,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -153,6 +155,14 @@ public class HashJoinNode extends PlanNode {
     public void buildRuntimeFilters(IdGenerator<RuntimeFilterId> runtimeFilterIdIdGenerator,
                                     PlanNode inner, List<BinaryPredicate> eqJoinConjuncts,
                                     JoinOperator joinOp) {
+        buildRuntimeFilters(runtimeFilterIdIdGenerator, inner, eqJoinConjuncts, joinOp, Collections.emptyList());
+    }
+
+    // `estimators` are aligned with `eqJoinConjuncts`, they are estimated by the optimizer
+    // with column statistics. filters without estimator are planned by cardinality only.
+    public void buildRuntimeFilters(IdGenerator<RuntimeFilterId> runtimeFilterIdIdGenerator,
+                                    PlanNode inner, List<BinaryPredicate> eqJoinConjuncts,
+                                    JoinOperator joinOp, List<RuntimeFilterEstimator> estimators) {
         if (!joinOp.isInnerJoin() && !joinOp.isLeftSemiJoin()) {
             return;
         }
@@ -171,11 +181,21 @@ public class HashJoinNode extends PlanNode {
             BinaryPredicate joinConjunct = eqJoinConjuncts.get(i);
             joinConjunct.setUseVectorized(joinConjunct.isVectorized());
             RuntimeFilterDescription rf = new RuntimeFilterDescription();
-            rf.setFilterId(runtimeFilterIdIdGenerator.getNextId().asInt());
             rf.setExprOrder(i);
             rf.setJoinMode(distrMode);
             rf.setEqualCount(eqJoinConjuncts.size());
             rf.setBuildCardinality(inner.getCardinality());
+            if (i < estimators.size()) {
+                RuntimeFilterEstimator estimator = estimators.get(i);
+                // the filter costs more to build than it saves even in local fragment instance.
+                if (!estimator.isBeneficial(false)) {
+                    continue;
+                }
+                rf.setProbeSelectivity(estimator.getSelectivity());
+                rf.setGlobalBeneficial(estimator.isBeneficial(true));
+            }
+            // the id is only taken by the filters that are not pruned
+            rf.setFilterId(runtimeFilterIdIdGenerator.getNextId().asInt());
 
             Expr left = joinConjunct.getChild(0);
             Expr right = joinConjunct.getChild(1);
@@ -24,6 +24,7 @@ import com.starrocks.catalog.Column;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.UserException;
 import com.starrocks.external.hive.HdfsFileBlockDesc;
@@ -347,17 +348,36 @@ public class HdfsScanNode extends ScanNode {
         }
 
         long start = System.currentTimeMillis();
-        for (long partitionId : selectedPartitionIds) {
-            PartitionKey partitionKey = idToPartitionKey.get(partitionId);
+        List<Long> partitionIds = Lists.newArrayList(selectedPartitionIds);
+        List<PartitionKey> partitionKeys = Lists.newArrayListWithCapacity(partitionIds.size());
+        for (long partitionId : partitionIds) {
+            partitionKeys.add(idToPartitionKey.get(partitionId));
+        }
+        List<HivePartition> partitions = hiveTable.getPartitions(partitionKeys);
+        for (int i = 0; i < partitionIds.size(); i++) {
+            long partitionId = partitionIds.get(i);
+            PartitionKey partitionKey = partitionKeys.get(i);
             descTbl.addReferencedPartitions(hiveTable, new ReferencedPartitionInfo(partitionId, partitionKey));
-            HivePartition partition = hiveTable.getPartition(partitionKey);
+            HivePartition partition = partitions.get(i);
             for (HdfsFileDesc fileDesc : partition.getFiles()) {
                 totalBytes += fileDesc.getLength();
                 for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
-                    addScanRangeLocations(partitionId, fileDesc, blockDesc, partition.getFormat());
-                    LOG.debug("add scan range success. partition: {}, file: {}, block: {}-{}",
+                    // split large block into ranges of similar size, so they could be balanced among backends
+                    long maxSize = Config.hdfs_scan_range_max_size;
+                    int splitNum = maxSize > 0 ? (int) ((blockDesc.getLength() + maxSize - 1) / maxSize) : 1;
+                    splitNum = Math.max(splitNum, 1);
+                    long splitLength = blockDesc.getLength() / splitNum;
+                    long offset = blockDesc.getOffset();
+                    for (int split = 0; split < splitNum; split++) {
+                        long length = split == splitNum - 1 ?
+                                blockDesc.getOffset() + blockDesc.getLength() - offset : splitLength;
+                        addScanRangeLocations(partitionId, fileDesc, blockDesc, offset, length,
+                                partition.getFormat());
+                        offset += length;
+                    }
+                    LOG.debug("add scan range success. partition: {}, file: {}, block: {}-{}, splits: {}",
                             partition.getFullPath(), fileDesc.getFileName(), blockDesc.getOffset(),
-                            blockDesc.getLength());
+                            blockDesc.getLength(), splitNum);
                 }
             }
         }
@@ -365,13 +385,13 @@ public class HdfsScanNode extends ScanNode {
     }
 
     private void addScanRangeLocations(long partitionId, HdfsFileDesc fileDesc, HdfsFileBlockDesc blockDesc,
-                                       HdfsFileFormat fileFormat) {
+                                       long offset, long length, HdfsFileFormat fileFormat) {
         TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
 
         THdfsScanRange hdfsScanRange = new THdfsScanRange();
         hdfsScanRange.setRelative_path(fileDesc.getFileName());
-        hdfsScanRange.setOffset(blockDesc.getOffset());
-        hdfsScanRange.setLength(blockDesc.getLength());
+        hdfsScanRange.setOffset(offset);
+        hdfsScanRange.setLength(length);
         hdfsScanRange.setPartition_id(partitionId);
         hdfsScanRange.setFile_length(fileDesc.getLength());
         hdfsScanRange.setFile_format(fileFormat.toThrift());
@@ -32,6 +32,10 @@ public class RuntimeFilterDescription {
     private static final int ProbeMinSize = 100 * 1024;
     private static final float ProbeMinSelectivity = 0.5f;
     private long buildCardinality;
+    // fraction of probe rows passing this filter estimated by the optimizer, NaN if unknown
+    private double probeSelectivity;
+    // whether the expected benefit of a global filter outweighs its build and transport cost
+    private boolean globalBeneficial;
 
     public RuntimeFilterDescription() {
         nodeIdToProbeExpr = new HashMap<>();
@@ -44,6 +48,8 @@ public class RuntimeFilterDescription {
         equalCount = 0;
         crossExchangeNodeTimes = 0;
         buildCardinality = 0;
+        probeSelectivity = Double.NaN;
+        globalBeneficial = true;
     }
 
     public void setFilterId(int id) {
@@ -62,6 +68,18 @@ public class RuntimeFilterDescription {
         buildCardinality = value;
     }
 
+    public void setProbeSelectivity(double value) {
+        probeSelectivity = value;
+    }
+
+    public double getProbeSelectivity() {
+        return probeSelectivity;
+    }
+
+    public void setGlobalBeneficial(boolean value) {
+        globalBeneficial = value;
+    }
+
     public boolean canProbeUse(PlanNode node) {
         // if we don't across exchange node, that's to say this is in local fragment instance.
         // we don't need to use adaptive strategy now. we are using a conservative way.
@@ -73,7 +91,9 @@ public class RuntimeFilterDescription {
         if (card < ProbeMinSize) {
             return false;
         }
-        float sel = (1.0f - buildCardinality * 1.0f / card);
+        // prefer the selectivity estimated by column statistics to the one estimated by cardinality
+        double sel = Double.isNaN(probeSelectivity) ? (1.0f - buildCardinality * 1.0f / card) :
+                (1.0 - probeSelectivity);
         if (sel < ProbeMinSelectivity) {
             return false;
         }
@@ -134,6 +154,10 @@ public class RuntimeFilterDescription {
         // if runtime filter is shuffle-aware implementation, then only rf generated by partitioned/bucket shuffle hash join
         // can be pushed down across exchange node.
         // or broadcast join(we just need to send one copy).
+        // and it's useless to ship a global filter whose benefit is below its build and transport cost.
+        if (!globalBeneficial) {
+            return false;
+        }
         if (joinMode.equals(HashJoinNode.DistributionMode.BROADCAST)) {
             return true;
         }
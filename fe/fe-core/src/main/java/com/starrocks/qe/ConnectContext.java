@@ -30,6 +30,7 @@ import com.starrocks.mysql.MysqlChannel;
 import com.starrocks.mysql.MysqlCommand;
 import com.starrocks.mysql.MysqlSerializer;
 import com.starrocks.plugin.AuditEvent.AuditEventBuilder;
+import com.starrocks.sql.optimizer.OptimizerProfile;
 import com.starrocks.sql.optimizer.dump.DumpInfo;
 import com.starrocks.sql.optimizer.dump.QueryDumpInfo;
 import com.starrocks.thrift.TResourceInfo;
@@ -131,6 +132,14 @@ public class ConnectContext {
 
     protected DumpInfo dumpInfo;
 
+    // memory and search space statistics of the last optimization of new planner
+    protected OptimizerProfile optimizerProfile;
+
+    // the max journal id of master returned by the statements forwarded to master.
+    // a non-master FE must replay the journal to this id before executing the following statements of this session,
+    // so that the session can read its own writes.
+    protected volatile long journalIdBarrier = 0;
+
     public static ConnectContext get() {
         return threadLocalInfo.get();
     }
@@ -190,6 +199,16 @@ public class ConnectContext {
         this.forwardedStmtId = forwardedStmtId;
     }
 
+    public long getJournalIdBarrier() {
+        return journalIdBarrier;
+    }
+
+    public void updateJournalIdBarrier(long journalId) {
+        if (journalId > journalIdBarrier) {
+            journalIdBarrier = journalId;
+        }
+    }
+
     public String getRemoteIP() {
         return remoteIP;
     }
@@ -422,6 +441,14 @@ public class ConnectContext {
         return this.dumpInfo;
     }
 
+    public OptimizerProfile getOptimizerProfile() {
+        return optimizerProfile;
+    }
+
+    public void setOptimizerProfile(OptimizerProfile optimizerProfile) {
+        this.optimizerProfile = optimizerProfile;
+    }
+
     public void setDumpInfo(DumpInfo dumpInfo) {
         this.dumpInfo = dumpInfo;
     }
@@ -1313,6 +1313,10 @@ public class Coordinator {
                 }
                 selector.setScanRangesBytes(scanRangesBytes);
                 selector.computeScanRangeAssignment();
+                if (queryProfile != null) {
+                    queryProfile.addInfoString("HdfsScanNode (id=" + scanNode.getId().asInt() + ") Assignment",
+                            selector.getAssignmentSummary());
+                }
             } else {
                 boolean hasColocate = isColocateFragment(scanNode.getFragment().getPlanRoot());
                 boolean hasBucket =
@@ -2064,8 +2068,9 @@ public class Coordinator {
      * Support hybrid and independent deployment with datanode.
      * <p>
      * Assign scan ranges to backend:
-     * 1. local backend first,
-     * 2. and smallest assigned scan ranges num or scan bytes.
+     * 1. local backend first, if it has not reached the average scans,
+     * 2. and smallest assigned scan ranges num or scan bytes. The scan ranges without local backend
+     * are assigned from the largest one when assigned by scan bytes, so the small ones fill the gaps.
      * <p>
      * If force_schedule_local variable is set, HybridBackendSelector will force to
      * assign scan ranges to local backend if there has one.
@@ -2084,7 +2089,9 @@ public class Coordinator {
         private final ScanRangeAssignType assignType;
         // for SCAN_DATA_SIZE assign type
         private List<Long> scanRangesBytes = Lists.newArrayList();
-        private final List<Long> remoteScanRangesBytes = Lists.newArrayList();
+        // scans assigned to a backend which has a replica of them, and to other backends
+        private long localScans = 0;
+        private long remoteScans = 0;
         // TODO: disk stats
 
         public HybridBackendSelector(ScanNode scanNode, List<TScanRangeLocations> locations,
@@ -2138,9 +2145,10 @@ public class Coordinator {
                 }
             }
 
-            List<TScanRangeLocations> remoteScanRangeLocations = Lists.newArrayList();
+            List<Integer> remoteScanRanges = Lists.newArrayList();
             for (int i = 0; i < locations.size(); ++i) {
                 TScanRangeLocations scanRangeLocations = locations.get(i);
+                long scansToAdd = getScansToAdd(i);
                 long minAssignedScanRanges = Long.MAX_VALUE;
                 Backend minBe = null;
                 for (final TScanRangeLocation location : scanRangeLocations.getLocations()) {
@@ -2160,24 +2168,19 @@ public class Coordinator {
                     }
                 }
                 if (minBe == null) {
-                    remoteScanRangeLocations.add(scanRangeLocations);
-                    if (assignType == ScanRangeAssignType.SCAN_DATA_SIZE) {
-                        remoteScanRangesBytes.add(scanRangesBytes.get(i));
-                    }
+                    remoteScanRanges.add(i);
                     continue;
                 }
-                long scansToAdd = (assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? scanRangesBytes.get(i) : 1);
+                localScans += scansToAdd;
                 recordScanRangeAssignment(minBe, scanRangeLocations, scansToAdd);
             }
 
-            if (remoteScanRangeLocations.isEmpty()) {
-                return;
+            // assign large scan ranges first, then the small ones could fill the gaps between backends
+            if (assignType == ScanRangeAssignType.SCAN_DATA_SIZE) {
+                remoteScanRanges.sort((a, b) -> Long.compare(scanRangesBytes.get(b), scanRangesBytes.get(a)));
             }
-
-            Preconditions.checkArgument(assignType != ScanRangeAssignType.SCAN_DATA_SIZE
-                    || remoteScanRangeLocations.size() == remoteScanRangesBytes.size());
-            for (int i = 0; i < remoteScanRangeLocations.size(); ++i) {
-                TScanRangeLocations scanRangeLocations = remoteScanRangeLocations.get(i);
+            for (int i : remoteScanRanges) {
+                TScanRangeLocations scanRangeLocations = locations.get(i);
                 long minAssignedScanRanges = Long.MAX_VALUE;
                 Backend minBe = null;
                 for (Map.Entry<Backend, Long> entry : assignedScansPerBe.entrySet()) {
@@ -2188,11 +2191,39 @@ public class Coordinator {
                         minBe = backend;
                     }
                 }
-                long scansToAdd = (assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? remoteScanRangesBytes.get(i) : 1);
+                long scansToAdd = getScansToAdd(i);
+                remoteScans += scansToAdd;
                 recordScanRangeAssignment(minBe, scanRangeLocations, scansToAdd);
             }
         }
 
+        private long getScansToAdd(int index) {
+            return assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? scanRangesBytes.get(index) : 1;
+        }
+
+        // e.g. "ScanRanges: 100, LocalBytes: 1.00 GB, RemoteBytes: 0.00 B, MaxBytesPerBe: ..., MinBytesPerBe: ..."
+        public String getAssignmentSummary() {
+            long max = 0;
+            long min = Long.MAX_VALUE;
+            for (long assigned : assignedScansPerBe.values()) {
+                max = Math.max(max, assigned);
+                min = Math.min(min, assigned);
+            }
+            min = min == Long.MAX_VALUE ? 0 : min;
+            String unit = assignType == ScanRangeAssignType.SCAN_DATA_SIZE ? "Bytes" : "ScanRanges";
+            return String.format("ScanRanges: %d, Local%s: %s, Remote%s: %s, Max%sPerBe: %s, Min%sPerBe: %s",
+                    locations.size(), unit, formatScans(localScans), unit, formatScans(remoteScans),
+                    unit, formatScans(max), unit, formatScans(min));
+        }
+
+        private String formatScans(long scans) {
+            if (assignType != ScanRangeAssignType.SCAN_DATA_SIZE) {
+                return String.valueOf(scans);
+            }
+            Pair<Double, String> bytes = DebugUtil.getByteUint(scans);
+            return String.format("%.2f %s", bytes.first, bytes.second);
+        }
+
         private void recordScanRangeAssignment(Backend minBe, TScanRangeLocations scanRangeLocations,
                                                long addedScans) {
             TNetworkAddress minBeAddress = new TNetworkAddress(minBe.getHost(), minBe.getBePort());
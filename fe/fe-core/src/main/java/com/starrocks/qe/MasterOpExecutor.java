@@ -23,6 +23,7 @@ package com.starrocks.qe;
 
 import com.starrocks.analysis.RedirectStatus;
 import com.starrocks.common.ClientPool;
+import com.starrocks.common.DdlException;
 import com.starrocks.common.util.UUIDUtil;
 import com.starrocks.qe.QueryState.MysqlStateType;
 import com.starrocks.thrift.FrontendService;
@@ -49,10 +50,13 @@ public class MasterOpExecutor {
 
     private boolean shouldNotRetry;
 
+    private final boolean needToWaitJournalSync;
+
     public MasterOpExecutor(OriginStatement originStmt, ConnectContext ctx, RedirectStatus status, boolean isQuery) {
         this.originStmt = originStmt;
         this.ctx = ctx;
-        if (status.isNeedToWaitJournalSync()) {
+        this.needToWaitJournalSync = status.isNeedToWaitJournalSync();
+        if (needToWaitJournalSync) {
             this.waitTimeoutMs = ctx.getSessionVariable().getQueryTimeoutS() * 1000;
         } else {
             this.waitTimeoutMs = 0;
@@ -65,7 +69,19 @@ public class MasterOpExecutor {
     public void execute() throws Exception {
         forward();
         LOG.info("forwarding to master get result max journal id: {}", result.maxJournalId);
-        ctx.getCatalog().getJournalObservable().waitOn(result.maxJournalId, waitTimeoutMs);
+        // the following statements of this session wait for the journal before reading the meta of this FE.
+        // the statements which do not need to sync journal, eg. SHOW PROC, don't raise the barrier.
+        if (needToWaitJournalSync) {
+            ctx.updateJournalIdBarrier(result.maxJournalId);
+        }
+        try {
+            ctx.getCatalog().getJournalObservable().waitOn(result.maxJournalId, waitTimeoutMs);
+        } catch (DdlException e) {
+            // the statement has been executed by master, and the following statements of this session
+            // still wait for the journal, so it's no need to fail the statement.
+            LOG.warn("statement {} is executed by master, but the journal {} is not replayed in {} ms",
+                    ctx.getStmtId(), result.maxJournalId, waitTimeoutMs);
+        }
 
         if (result.state != null) {
             MysqlStateType state = MysqlStateType.fromString(result.state);
@@ -155,6 +155,9 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String NEW_PLANER_AGG_STAGE = "new_planner_agg_stage";
     public static final String BROADCAST_ROW_LIMIT = "broadcast_row_limit";
     public static final String NEW_PLANNER_OPTIMIZER_TIMEOUT = "new_planner_optimize_timeout";
+    // budget of join reorder exploration in memo, the best plan found so far is used once it's exceeded
+    public static final String CBO_EXPLORE_TIME_BUDGET = "cbo_explore_time_budget";
+    public static final String CBO_MAX_MEMO_SIZE = "cbo_max_memo_size";
     public static final String ENABLE_GROUPBY_USE_OUTPUT_ALIAS = "enable_groupby_use_output_alias";
     public static final String ENABLE_QUERY_DUMP = "enable_query_dump";
 
@@ -399,6 +402,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = NEW_PLANNER_OPTIMIZER_TIMEOUT)
     private long optimizerExecuteTimeout = 3000;
 
+    // in milliseconds, since the optimizer starts
+    @VariableMgr.VarAttr(name = CBO_EXPLORE_TIME_BUDGET)
+    private long cboExploreTimeBudget = 2000;
+
+    // max group expressions in memo
+    @VariableMgr.VarAttr(name = CBO_MAX_MEMO_SIZE)
+    private int cboMaxMemoSize = 100000;
+
     @VariableMgr.VarAttr(name = ENABLE_QUERY_DUMP)
     private boolean enable_query_dump = false;
 
@@ -719,6 +730,22 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.optimizerExecuteTimeout = optimizerExecuteTimeout;
     }
 
+    public long getCboExploreTimeBudget() {
+        return cboExploreTimeBudget;
+    }
+
+    public void setCboExploreTimeBudget(long cboExploreTimeBudget) {
+        this.cboExploreTimeBudget = cboExploreTimeBudget;
+    }
+
+    public int getCboMaxMemoSize() {
+        return cboMaxMemoSize;
+    }
+
+    public void setCboMaxMemoSize(int cboMaxMemoSize) {
+        this.cboMaxMemoSize = cboMaxMemoSize;
+    }
+
     public boolean getEnableGroupbyUseOutputAlias() {
         return enableGroupbyUseOutputAlias;
     }
@@ -132,6 +132,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 // Do one COM_QEURY process.
 // first: Parse receive byte array to statement struct.
@@ -196,6 +197,10 @@ public class StmtExecutor {
         summaryProfile.addInfoString(ProfileManager.DEFAULT_DB, context.getDatabase());
         summaryProfile.addInfoString(ProfileManager.SQL_STATEMENT, originStmt.originStmt);
         profile.addChild(summaryProfile);
+        if (context.getOptimizerProfile() != null) {
+            profile.addChild(context.getOptimizerProfile().toRuntimeProfile());
+            context.setOptimizerProfile(null);
+        }
         if (coord != null) {
             coord.getQueryProfile().getCounterTotalTime().setValue(TimeUtils.getEstimatedTime(beginTimeInNanoSecond));
             coord.endProfile();
@@ -283,6 +288,8 @@ public class StmtExecutor {
                 }
             }
 
+            waitJournalIdBarrier();
+
             // execPlan is the output of new planner
             ExecPlan execPlan = null;
             boolean execPlanBuildByNewPlanner = false;
@@ -295,6 +302,7 @@ public class StmtExecutor {
                 try {
                     redirectStatus = parsedStmt.getRedirectStatus();
                     if (!isForwardToMaster()) {
+                        context.setOptimizerProfile(null);
                         context.getDumpInfo().reset();
                         context.getDumpInfo().setOriginStmt(parsedStmt.getOrigStmt().originStmt);
                         execPlan = new StatementPlanner().plan(parsedStmt, context);
@@ -478,6 +486,29 @@ public class StmtExecutor {
         }
     }
 
+    // Wait for this FE to replay the journal written by the previous statements of this session which were
+    // forwarded to master, so that the session can read its own writes on non-master FE.
+    private void waitJournalIdBarrier() throws DdlException {
+        Catalog catalog = Catalog.getCurrentCatalog();
+        long barrier = context.getJournalIdBarrier();
+        if (catalog.isMaster() || catalog.getReplayedJournalId() >= barrier) {
+            return;
+        }
+        // the statement forwarded to master reads the meta of master, which already has the journal
+        redirectStatus = parsedStmt.getRedirectStatus();
+        if (isForwardToMaster()) {
+            return;
+        }
+        int timeoutMs = context.getSessionVariable().getQueryTimeoutS() * 1000;
+        try {
+            catalog.getJournalObservable().waitOn(barrier, timeoutMs);
+        } catch (DdlException e) {
+            throw new DdlException("Wait for the journal " + barrier + " written by the previous statements "
+                    + "to be replayed timeout, replayed journal id: " + catalog.getReplayedJournalId()
+                    + ", please retry or execute on master");
+        }
+    }
+
     private void resloveParseStmtForForword() throws AnalysisException {
         if (parsedStmt == null) {
             // Parse statement with parser generated by CUP&FLEX
@@ -1015,10 +1046,17 @@ public class StmtExecutor {
         job.setStatus(Constants.ScheduleStatus.FINISH);
         job.setProperties(analyzeStmt.getProperties());
 
+        long sampleRows = job.getSampleCollectRows(((OlapTable) table).getRowCount());
         try {
             statisticExecutor.collectStatisticSync(db.getId(), table.getId(), analyzeStmt.getColumnNames(),
-                    analyzeStmt.isSample(), job.getSampleCollectRows());
+                    analyzeStmt.isSample(), sampleRows);
             Catalog.getCurrentStatisticStorage().expireColumnStatistics(table, job.getColumns());
+
+            List<List<String>> columnGroups = job.getMultiColumnGroups();
+            statisticExecutor.collectMultiColumnStatisticSync(db.getId(), table.getId(), columnGroups,
+                    analyzeStmt.isSample(), sampleRows);
+            Catalog.getCurrentStatisticStorage().expireColumnStatistics(table, columnGroups.stream()
+                    .map(group -> String.join(Constants.MULTI_COLUMN_SEPARATOR, group)).collect(Collectors.toList()));
         } catch (Exception e) {
             job.setReason(e.getMessage());
             throw e;
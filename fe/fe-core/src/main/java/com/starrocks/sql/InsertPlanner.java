@@ -93,6 +93,7 @@ public class InsertPlanner {
         ExecPlan execPlan = new PlanFragmentBuilder().createPhysicalPlan(
                 optimizedPlan, plannerContext, session, logicalPlan.getOutputColumn(), columnRefFactory,
                 insertRelation.getQueryRelation().getColumnOutputNames());
+        execPlan.setOptimizerProfile(optimizer.getProfile());
 
         DescriptorTable descriptorTable = execPlan.getDescTbl();
         TupleDescriptor olapTuple = descriptorTable.createTupleDescriptor();
@@ -1,17 +1,33 @@
 // This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
 package com.starrocks.sql;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.InsertStmt;
 import com.starrocks.analysis.QueryStmt;
 import com.starrocks.analysis.StatementBase;
+import com.starrocks.analysis.Subquery;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.planner.PlannerContext;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.sql.analyzer.PrivilegeChecker;
+import com.starrocks.sql.analyzer.relation.ExceptRelation;
+import com.starrocks.sql.analyzer.relation.InsertRelation;
+import com.starrocks.sql.analyzer.relation.IntersectRelation;
+import com.starrocks.sql.analyzer.relation.JoinRelation;
 import com.starrocks.sql.analyzer.relation.QueryRelation;
+import com.starrocks.sql.analyzer.relation.QuerySpecification;
 import com.starrocks.sql.analyzer.relation.Relation;
+import com.starrocks.sql.analyzer.relation.RelationVisitor;
+import com.starrocks.sql.analyzer.relation.SetOperationRelation;
+import com.starrocks.sql.analyzer.relation.SubqueryRelation;
+import com.starrocks.sql.analyzer.relation.TableRelation;
+import com.starrocks.sql.analyzer.relation.UnionRelation;
+import com.starrocks.sql.analyzer.relation.ValuesRelation;
 import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.Optimizer;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
@@ -24,6 +40,7 @@ import com.starrocks.sql.plan.PlanFragmentBuilder;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class StatementPlanner {
     public ExecPlan plan(StatementBase stmt, ConnectContext session) throws AnalysisException {
@@ -39,22 +56,24 @@ public class StatementPlanner {
             Map<String, Database> dbs = Maps.newTreeMap();
             queryStmt.getDbs(session, dbs);
 
+            Map<Database, List<Table>> dbToTables = collectTables(relation, dbs);
             try {
-                lock(dbs);
+                lock(dbs, dbToTables);
                 return createQueryPlan(relation, session);
             } finally {
-                unLock(dbs);
+                unLock(dbs, dbToTables);
             }
         } else if (stmt instanceof InsertStmt) {
             InsertStmt insertStmt = (InsertStmt) stmt;
             Map<String, Database> dbs = Maps.newTreeMap();
             insertStmt.getDbs(session, dbs);
 
+            Map<Database, List<Table>> dbToTables = collectTables(relation, dbs);
             try {
-                lock(dbs);
+                lock(dbs, dbToTables);
                 return createInsertPlan(relation, session);
             } finally {
-                unLock(dbs);
+                unLock(dbs, dbToTables);
             }
         }
         return null;
@@ -79,31 +98,173 @@ public class StatementPlanner {
 
         //3. Build fragment exec plan
         PlannerContext plannerContext = new PlannerContext(null, null, session.getSessionVariable().toThrift(), null);
-        return new PlanFragmentBuilder().createPhysicalPlan(
+        ExecPlan execPlan = new PlanFragmentBuilder().createPhysicalPlan(
                 optimizedPlan, plannerContext, session, logicalPlan.getOutputColumn(), columnRefFactory, colNames);
+        execPlan.setOptimizerProfile(optimizer.getProfile());
+        return execPlan;
     }
 
     private ExecPlan createInsertPlan(Relation relation, ConnectContext session) {
         return new InsertPlanner().plan(relation, session);
     }
 
+    /*
+     * Group the tables used by the statement by their databases, so only these tables are locked while planning
+     * instead of the whole databases.
+     * Return null if some table is not found in the databases, then the whole databases are locked as before.
+     */
+    private Map<Database, List<Table>> collectTables(Relation relation, Map<String, Database> dbs) {
+        if (dbs == null) {
+            return null;
+        }
+        Set<Table> tables = Sets.newHashSet();
+        new TableCollector(tables).visit(relation);
+
+        Map<Database, List<Table>> dbToTables = Maps.newHashMap();
+        for (Database db : dbs.values()) {
+            dbToTables.put(db, Lists.newArrayList());
+        }
+        for (Table table : tables) {
+            Database tableDb = null;
+            for (Database db : dbs.values()) {
+                if (db.getTable(table.getId()) == table) {
+                    tableDb = db;
+                    break;
+                }
+            }
+            if (tableDb == null) {
+                return null;
+            }
+            dbToTables.get(tableDb).add(table);
+        }
+        return dbToTables;
+    }
+
     // Lock all database before analyze
-    private void lock(Map<String, Database> dbs) {
+    private void lock(Map<String, Database> dbs, Map<Database, List<Table>> dbToTables) {
         if (dbs == null) {
             return;
         }
         for (Database db : dbs.values()) {
-            db.readLock();
+            if (dbToTables != null) {
+                db.readLockTables(dbToTables.get(db));
+            } else {
+                db.readLock();
+            }
         }
     }
 
     // unLock all database after analyze
-    private void unLock(Map<String, Database> dbs) {
+    private void unLock(Map<String, Database> dbs, Map<Database, List<Table>> dbToTables) {
         if (dbs == null) {
             return;
         }
         for (Database db : dbs.values()) {
-            db.readUnlock();
+            if (dbToTables != null) {
+                db.readUnlockTables(dbToTables.get(db));
+            } else {
+                db.readUnlock();
+            }
+        }
+    }
+
+    private static class TableCollector extends RelationVisitor<Void, Void> {
+        private final Set<Table> tables;
+
+        public TableCollector(Set<Table> tables) {
+            this.tables = tables;
+        }
+
+        private void visitExprs(List<Expr> exprs) {
+            if (exprs == null) {
+                return;
+            }
+            for (Expr expr : exprs) {
+                visitExpr(expr);
+            }
+        }
+
+        private void visitExpr(Expr expr) {
+            if (expr == null) {
+                return;
+            }
+            List<Subquery> subqueries = Lists.newArrayList();
+            expr.collect(Subquery.class, subqueries);
+            for (Subquery subquery : subqueries) {
+                if (subquery.getQueryBlock() != null) {
+                    visit(subquery.getQueryBlock());
+                }
+            }
+        }
+
+        @Override
+        public Void visitQuerySpecification(QuerySpecification node, Void context) {
+            if (node.getRelation() != null) {
+                visit(node.getRelation());
+            }
+            visitExprs(node.getOutputExpr());
+            visitExpr(node.getPredicate());
+            visitExpr(node.getHaving());
+            visitExprs(node.getGroupBy());
+            visitExprs(node.getOrderByExpressions());
+            return null;
+        }
+
+        @Override
+        public Void visitTable(TableRelation node, Void context) {
+            tables.add(node.getTable());
+            return null;
+        }
+
+        @Override
+        public Void visitJoin(JoinRelation node, Void context) {
+            visit(node.getLeft());
+            visit(node.getRight());
+            visitExpr(node.getOnPredicate());
+            return null;
+        }
+
+        @Override
+        public Void visitSubquery(SubqueryRelation node, Void context) {
+            visit(node.getQuery());
+            return null;
+        }
+
+        @Override
+        public Void visitUnion(UnionRelation node, Void context) {
+            return visitSetOperation(node);
+        }
+
+        @Override
+        public Void visitExcept(ExceptRelation node, Void context) {
+            return visitSetOperation(node);
+        }
+
+        @Override
+        public Void visitIntersect(IntersectRelation node, Void context) {
+            return visitSetOperation(node);
+        }
+
+        private Void visitSetOperation(SetOperationRelation node) {
+            for (QueryRelation relation : node.getRelations()) {
+                visit(relation);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitValues(ValuesRelation node, Void context) {
+            for (List<Expr> row : node.getRows()) {
+                visitExprs(row);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitInsert(InsertRelation node, Void context) {
+            tables.add(node.getTargetTable());
+            visit(node.getQueryRelation());
+            return null;
         }
     }
 }
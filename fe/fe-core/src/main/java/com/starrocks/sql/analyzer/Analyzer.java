@@ -1,6 +1,7 @@
 // This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
 package com.starrocks.sql.analyzer;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.starrocks.analysis.AnalyzeStmt;
@@ -19,6 +20,7 @@ import com.starrocks.qe.ConnectContext;
 import com.starrocks.sql.analyzer.relation.Relation;
 import com.starrocks.sql.common.MetaUtils;
 import com.starrocks.statistic.AnalyzeJob;
+import com.starrocks.statistic.Constants;
 import com.starrocks.statistic.StatisticUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -101,10 +103,13 @@ public class Analyzer {
             }
         }
 
+        analyzeMultiColumnProperty(analyzeTable, properties);
+
         return null;
     }
 
     private Relation analyzeCreateAnalyzeStmt(CreateAnalyzeJobStmt node) {
+        Table analyzeTable = null;
         if (null != node.getTableName()) {
             TableName tbl = node.getTableName();
 
@@ -121,6 +126,7 @@ public class Analyzer {
                 MetaUtils.normalizationTableName(session, node.getTableName());
                 Database db = MetaUtils.getStarRocks(session, node.getTableName());
                 Table table = MetaUtils.getStarRocksTable(session, node.getTableName());
+                analyzeTable = table;
 
                 if (!(table instanceof OlapTable)) {
                     throw new SemanticException("Table '%s' is not a OLAP table", table.getName());
@@ -160,6 +166,44 @@ public class Analyzer {
             }
         }
 
+        analyzeMultiColumnProperty(analyzeTable, properties);
+
         return null;
     }
+
+    // Check the column groups of multi-column statistics and normalize them with the column names of table
+    private void analyzeMultiColumnProperty(Table table, Map<String, String> properties) {
+        String key = AnalyzeJob.PROP_MULTI_COLUMN_STATISTICS_KEY;
+        if (!properties.containsKey(key)) {
+            return;
+        }
+        if (table == null) {
+            throw new SemanticException("Property '%s' is only supported on a table", key);
+        }
+
+        List<String> groups = Lists.newArrayList();
+        for (List<String> group : AnalyzeJob.parseMultiColumnGroups(properties.get(key))) {
+            Set<String> mentionedColumns = Sets.newTreeSet(String.CASE_INSENSITIVE_ORDER);
+            List<String> columnNames = Lists.newArrayList();
+            for (String colName : group) {
+                Column col = table.getColumn(colName);
+                if (col == null) {
+                    throw new SemanticException("Unknown column '%s' in '%s'", colName, table.getName());
+                }
+                if (col.getType().isOnlyMetricType()) {
+                    throw new SemanticException("Column '%s' can't be used in multi-column statistics", colName);
+                }
+                if (!mentionedColumns.add(colName)) {
+                    throw new SemanticException("Column '%s' specified twice", colName);
+                }
+                columnNames.add(col.getName());
+            }
+            if (columnNames.size() < 2) {
+                throw new SemanticException("Multi-column statistics need at least two columns: %s",
+                        String.join(Constants.MULTI_COLUMN_SEPARATOR, group));
+            }
+            groups.add(String.join(Constants.MULTI_COLUMN_SEPARATOR, columnNames));
+        }
+        properties.put(key, String.join(Constants.MULTI_COLUMN_GROUP_SEPARATOR, groups));
+    }
 }
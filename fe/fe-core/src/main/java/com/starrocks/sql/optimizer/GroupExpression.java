@@ -4,7 +4,6 @@ package com.starrocks.sql.optimizer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
-import com.starrocks.common.Pair;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import com.starrocks.sql.optimizer.operator.Operator;
@@ -12,6 +11,7 @@ import com.starrocks.sql.optimizer.rule.Rule;
 import com.starrocks.sql.optimizer.rule.RuleType;
 
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -32,14 +32,27 @@ public class GroupExpression {
     private Group group;
     private final List<Group> inputs;
     private final Operator op;
-    private final BitSet ruleMasks = new BitSet(RuleType.NUM_RULES.ordinal() + 1);
+    // Only logical expressions are explored by rules, and only physical expressions are costed,
+    // so both of them are allocated lazily to save the memory of Memo.
+    private BitSet ruleMasks;
     private boolean statsDerived = false;
-    private final Map<PhysicalPropertySet, Pair<Double, List<PhysicalPropertySet>>> lowestCostTable;
+    private Map<PhysicalPropertySet, CostEntry> lowestCostTable;
+
+    // The lowest cost and the children input properties for one output property
+    private static final class CostEntry {
+        private final double cost;
+        private final List<PhysicalPropertySet> inputProperties;
+
+        private CostEntry(double cost, List<PhysicalPropertySet> inputProperties) {
+            this.cost = cost;
+            this.inputProperties = inputProperties;
+        }
+    }
 
     public GroupExpression(Operator op, List<Group> inputs) {
         this.op = op;
         this.inputs = inputs;
-        this.lowestCostTable = Maps.newHashMap();
+        this.lowestCostTable = Collections.emptyMap();
     }
 
     public Group getGroup() {
@@ -87,11 +100,14 @@ public class GroupExpression {
     }
 
     public void setRuleExplored(Rule rule) {
+        if (ruleMasks == null) {
+            ruleMasks = new BitSet(RuleType.NUM_RULES.ordinal() + 1);
+        }
         ruleMasks.set(rule.type().ordinal());
     }
 
     public boolean hasRuleExplored(Rule rule) {
-        return ruleMasks.get(rule.type().ordinal());
+        return ruleMasks != null && ruleMasks.get(rule.type().ordinal());
     }
 
     /**
@@ -102,7 +118,7 @@ public class GroupExpression {
      */
     public double getCost(PhysicalPropertySet require) {
         Preconditions.checkState(lowestCostTable.containsKey(require));
-        return lowestCostTable.get(require).first;
+        return lowestCostTable.get(require).cost;
     }
 
     /**
@@ -113,7 +129,7 @@ public class GroupExpression {
      */
     public List<PhysicalPropertySet> getInputProperties(PhysicalPropertySet require) {
         Preconditions.checkState(lowestCostTable.containsKey(require));
-        return lowestCostTable.get(require).second;
+        return lowestCostTable.get(require).inputProperties;
     }
 
     /**
@@ -127,15 +143,30 @@ public class GroupExpression {
     public void setPropertyWithCost(PhysicalPropertySet outputProperties,
                                     List<PhysicalPropertySet> inputProperties,
                                     double cost) {
+        if (lowestCostTable.isEmpty()) {
+            // most physical expressions only satisfy one or two properties
+            lowestCostTable = Maps.newHashMapWithExpectedSize(2);
+        }
         if (lowestCostTable.containsKey(outputProperties)) {
-            if (lowestCostTable.get(outputProperties).first > cost) {
-                lowestCostTable.put(outputProperties, new Pair<>(cost, inputProperties));
+            if (lowestCostTable.get(outputProperties).cost > cost) {
+                lowestCostTable.put(outputProperties, new CostEntry(cost, inputProperties));
             }
         } else {
-            lowestCostTable.put(outputProperties, new Pair<>(cost, inputProperties));
+            lowestCostTable.put(outputProperties, new CostEntry(cost, inputProperties));
         }
     }
 
+    /**
+     * Same as {@link #setPropertyWithCost(PhysicalPropertySet, List, double)}, but the properties
+     * are interned by memo so that identical properties are shared by all group expressions.
+     */
+    public void setPropertyWithCost(Memo memo, PhysicalPropertySet outputProperties,
+                                    List<PhysicalPropertySet> inputProperties,
+                                    double cost) {
+        setPropertyWithCost(memo.internProperty(outputProperties), memo.internInputProperties(inputProperties),
+                cost);
+    }
+
     // This function will drive input group logical property first,
     // then derive itself's logical property
     public void deriveLogicalPropertyRecursively() {
@@ -3,9 +3,11 @@
 package com.starrocks.sql.optimizer;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.common.Pair;
+import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,6 +48,15 @@ public class Memo {
      */
     private final Map<GroupExpression, GroupExpression> groupExpressions;
 
+    /**
+     * Identical physical property sets and input property lists are shared by all
+     * group expressions, the lowest cost table of every physical group expression
+     * refers them, and most of them are the same for wide queries.
+     */
+    private final Map<PhysicalPropertySet, PhysicalPropertySet> propertyPool;
+    private final Map<List<PhysicalPropertySet>, List<PhysicalPropertySet>> inputPropertiesPool;
+    private long internHits = 0;
+
     public List<Group> getGroups() {
         return groups;
     }
@@ -57,6 +68,44 @@ public class Memo {
     public Memo() {
         groups = Lists.newLinkedList();
         groupExpressions = Maps.newHashMap();
+        propertyPool = Maps.newHashMap();
+        inputPropertiesPool = Maps.newHashMap();
+    }
+
+    /**
+     * Return the shared instance of the property set, the property set must not be
+     * changed after it has been interned.
+     */
+    public PhysicalPropertySet internProperty(PhysicalPropertySet property) {
+        PhysicalPropertySet existed = propertyPool.putIfAbsent(property, property);
+        if (existed != null) {
+            internHits++;
+            return existed;
+        }
+        return property;
+    }
+
+    public List<PhysicalPropertySet> internInputProperties(List<PhysicalPropertySet> inputProperties) {
+        List<PhysicalPropertySet> existed = inputPropertiesPool.get(inputProperties);
+        if (existed != null) {
+            internHits++;
+            return existed;
+        }
+        ImmutableList.Builder<PhysicalPropertySet> builder = ImmutableList.builder();
+        for (PhysicalPropertySet property : inputProperties) {
+            builder.add(internProperty(property));
+        }
+        List<PhysicalPropertySet> interned = builder.build();
+        inputPropertiesPool.put(interned, interned);
+        return interned;
+    }
+
+    public int getInternedPropertyNum() {
+        return propertyPool.size() + inputPropertiesPool.size();
+    }
+
+    public long getInternHits() {
+        return internHits;
     }
 
     public Group getRootGroup() {
@@ -115,7 +164,7 @@ public class Memo {
     }
 
     public Pair<Boolean, GroupExpression> copyIn(Group targetGroup, OptExpression expression) {
-        List<Group> inputs = Lists.newArrayList();
+        List<Group> inputs = Lists.newArrayListWithCapacity(expression.getInputs().size());
         for (OptExpression input : expression.getInputs()) {
             Group group;
             if (input.getGroupExpression() != null) {
@@ -4,6 +4,7 @@ package com.starrocks.sql.optimizer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
@@ -20,6 +21,8 @@ import com.starrocks.sql.optimizer.task.DeriveStatsTask;
 import com.starrocks.sql.optimizer.task.OptimizeGroupTask;
 import com.starrocks.sql.optimizer.task.TaskContext;
 import com.starrocks.sql.optimizer.task.TopDownRewriteTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
 import java.util.List;
@@ -28,12 +31,19 @@ import java.util.List;
  * Optimizer's entrance class
  */
 public class Optimizer {
+    private static final Logger LOG = LogManager.getLogger(Optimizer.class);
+
     private OptimizerContext context;
+    private OptimizerProfile profile;
 
     public OptimizerContext getContext() {
         return context;
     }
 
+    public OptimizerProfile getProfile() {
+        return profile;
+    }
+
     /**
      * Optimizer will transform and implement the logical operator based on
      * the {@see Rule}, then cost the physical operator, and finally find the
@@ -49,6 +59,7 @@ public class Optimizer {
                                   PhysicalPropertySet requiredProperty,
                                   ColumnRefSet requiredColumns,
                                   ColumnRefFactory columnRefFactory) {
+        profile = OptimizerProfile.start();
         // Phase 1: none
         // Phase 2: rewrite based on memo and group
         Memo memo = new Memo();
@@ -160,6 +171,16 @@ public class Optimizer {
 
         // Add project will case output change, re-derive output columns in property
         result = new DeriveOutputColumnsRule((ColumnRefSet) requiredColumns.clone()).rewrite(result, columnRefFactory);
+
+        profile.finish(context);
+        if (profile.isBudgetExceeded()) {
+            LOG.info("optimizer stopped exploration because {}, use the best plan found so far. query id: {}",
+                    profile.getBudgetExceededReason(), connectContext.getQueryId());
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_OPTIMIZER_BUDGET_EXCEEDED.increase(1L);
+            }
+        }
+        connectContext.setOptimizerProfile(profile);
         return result;
     }
 
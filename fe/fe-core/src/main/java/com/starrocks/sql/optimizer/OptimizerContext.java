@@ -25,6 +25,10 @@ public class OptimizerContext {
     private SessionVariable sessionVariable;
     private DumpInfo dumpInfo;
 
+    private final long startTime = System.currentTimeMillis();
+    // why the exploration is stopped before all alternatives are explored, null if not stopped
+    private String budgetExceededReason;
+
     public OptimizerContext(Memo memo, ColumnRefFactory columnRefFactory) {
         this.memo = memo;
         this.ruleSet = new RuleSet();
@@ -86,4 +90,31 @@ public class OptimizerContext {
     public DumpInfo getDumpInfo() {
         return dumpInfo;
     }
+
+    public boolean isExplorationStopped() {
+        return budgetExceededReason != null;
+    }
+
+    public String getBudgetExceededReason() {
+        return budgetExceededReason;
+    }
+
+    /**
+     * Check the explore budget of time and memo size, and stop exploring new
+     * alternatives once it's exhausted. The remaining tasks only implement and cost
+     * the explored expressions, so the best plan found so far is still produced.
+     */
+    public void checkExploreBudget() {
+        if (isExplorationStopped()) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        if (elapsed > sessionVariable.getCboExploreTimeBudget()) {
+            budgetExceededReason = "explore time " + elapsed + "ms exceeds " +
+                    sessionVariable.getCboExploreTimeBudget() + "ms";
+        } else if (memo.getGroupExpressions().size() > sessionVariable.getCboMaxMemoSize()) {
+            budgetExceededReason = "memo size " + memo.getGroupExpressions().size() + " exceeds " +
+                    sessionVariable.getCboMaxMemoSize();
+        }
+    }
 }
@@ -0,0 +1,108 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.sql.optimizer;
+
+import com.starrocks.common.Pair;
+import com.starrocks.common.util.DebugUtil;
+import com.starrocks.common.util.RuntimeProfile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memory and search space statistics of one optimization, it's reported
+ * as the "Optimizer" child of the query profile.
+ * <p>
+ * The allocated bytes are measured by the allocation counter of the optimizer thread,
+ * so it includes the garbage produced by the optimizer, not only the retained Memo.
+ */
+public class OptimizerProfile {
+    public static final String PROFILE_NAME = "Optimizer";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long startTime;
+    private final long startAllocatedBytes;
+
+    private long totalTimeMs = 0;
+    private long allocatedBytes = -1;
+    private int groupNum = 0;
+    private int groupExpressionNum = 0;
+    private int internedPropertyNum = 0;
+    private long internHits = 0;
+    private String budgetExceededReason;
+
+    private OptimizerProfile() {
+        this.startTime = System.currentTimeMillis();
+        this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+    }
+
+    public static OptimizerProfile start() {
+        return new OptimizerProfile();
+    }
+
+    public void finish(OptimizerContext context) {
+        Memo memo = context.getMemo();
+        totalTimeMs = System.currentTimeMillis() - startTime;
+        long currentAllocatedBytes = getCurrentThreadAllocatedBytes();
+        if (startAllocatedBytes >= 0 && currentAllocatedBytes >= 0) {
+            allocatedBytes = currentAllocatedBytes - startAllocatedBytes;
+        }
+        groupNum = memo.getGroups().size();
+        groupExpressionNum = memo.getGroupExpressions().size();
+        internedPropertyNum = memo.getInternedPropertyNum();
+        internHits = memo.getInternHits();
+        budgetExceededReason = context.getBudgetExceededReason();
+    }
+
+    public boolean isBudgetExceeded() {
+        return budgetExceededReason != null;
+    }
+
+    public String getBudgetExceededReason() {
+        return budgetExceededReason;
+    }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public int getGroupNum() {
+        return groupNum;
+    }
+
+    public int getGroupExpressionNum() {
+        return groupExpressionNum;
+    }
+
+    public RuntimeProfile toRuntimeProfile() {
+        RuntimeProfile profile = new RuntimeProfile(PROFILE_NAME);
+        profile.addInfoString("OptimizeTime", DebugUtil.getPrettyStringMs(totalTimeMs));
+        if (allocatedBytes >= 0) {
+            Pair<Double, String> bytes = DebugUtil.getByteUint(allocatedBytes);
+            profile.addInfoString("AllocatedMemory", String.format("%.2f %s", bytes.first, bytes.second));
+        }
+        profile.addInfoString("MemoGroups", String.valueOf(groupNum));
+        profile.addInfoString("MemoGroupExpressions", String.valueOf(groupExpressionNum));
+        profile.addInfoString("InternedProperties", String.valueOf(internedPropertyNum));
+        profile.addInfoString("InternHits", String.valueOf(internHits));
+        if (isBudgetExceeded()) {
+            profile.addInfoString("BudgetExceeded", budgetExceededReason);
+        }
+        return profile;
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
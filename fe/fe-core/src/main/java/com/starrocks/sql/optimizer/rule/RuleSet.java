@@ -236,6 +236,20 @@ public class RuleSet {
         transformRules.add(JoinCommutativityWithOutInnerRule.getInstance());
     }
 
+    // Join reorder rules enlarge the search space exponentially, they are skipped
+    // once the explore budget of optimizer is exhausted.
+    public static boolean isExplorationRule(Rule rule) {
+        switch (rule.type()) {
+            case TF_JOIN_ASSOCIATIVITY:
+            case TF_JOIN_COMMUTATIVITY:
+            case TF_JOIN_COMMUTATIVITY_WITHOUT_INNER:
+            case TF_PUSH_DOWN_JOIN_AGG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public List<Rule> getTransformRules() {
         return transformRules;
     }
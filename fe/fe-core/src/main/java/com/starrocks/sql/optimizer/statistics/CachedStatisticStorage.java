@@ -21,6 +21,7 @@ import com.starrocks.common.ErrorReport;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.VariableMgr;
+import com.starrocks.statistic.Constants;
 import com.starrocks.statistic.StatisticExecutor;
 import com.starrocks.statistic.StatisticUtils;
 import com.starrocks.thrift.TStatisticData;
@@ -32,6 +33,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -147,6 +149,10 @@ public class CachedStatisticStorage implements StatisticStorage {
         if (!(table instanceof OlapTable)) {
             ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_TABLE_ERROR, statisticData.tableId);
         }
+        if (statisticData.columnName.contains(Constants.MULTI_COLUMN_SEPARATOR)) {
+            // multi-column statistics only have the joint distinct values count
+            return ColumnStatistic.builder().setDistinctValuesCount(statisticData.countDistinct).build();
+        }
         Column column = table.getColumn(statisticData.columnName);
         if (column == null) {
             ErrorReport.reportAnalysisException(ErrorCode.ERR_BAD_FIELD_ERROR, statisticData.columnName);
@@ -331,6 +337,36 @@ public class CachedStatisticStorage implements StatisticStorage {
         }
     }
 
+    @Override
+    public Map<List<String>, Double> getMultiColumnStatistics(Table table, List<String> columns) {
+        Preconditions.checkState(table != null);
+        if (getConnectSessionVariable().getEnableMockTpch() ||
+                StatisticUtils.statisticTableBlackListCheck(table.getId()) ||
+                StatisticUtils.getStatisticsTable() == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<String>> groupNames = new HashMap<>();
+        for (List<String> group : Catalog.getCurrentAnalyzeMgr().getMultiColumnGroups(table.getId())) {
+            if (group.stream().allMatch(c -> columns.stream().anyMatch(c::equalsIgnoreCase))) {
+                groupNames.put(String.join(Constants.MULTI_COLUMN_SEPARATOR, group), group);
+            }
+        }
+        if (groupNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<String> names = new ArrayList<>(groupNames.keySet());
+        List<ColumnStatistic> statistics = getColumnStatistics(table, names);
+        Map<List<String>, Double> result = new HashMap<>();
+        for (int i = 0; i < names.size(); ++i) {
+            if (!statistics.get(i).isUnknown()) {
+                result.put(groupNames.get(names.get(i)), statistics.get(i).getDistinctValuesCount());
+            }
+        }
+        return result;
+    }
+
     public void addColumnStatistic(Table table, String column, ColumnStatistic columnStatistic) {
         this.cachedStatistics.synchronous().put(new CacheKey(table.getId(), column), Optional.of(columnStatistic));
     }
@@ -0,0 +1,104 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.catalog.Catalog;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+
+// Estimate the selectivity and the benefit of a join runtime filter with the statistics derived by
+// StatisticsCalculator. The selectivity is the fraction of probe rows which pass the filter, which
+// is NaN if the statistics of the build or probe column are unknown.
+public class RuntimeFilterEstimator {
+    // bloom filter bytes per distinct build value, include the hash set for small build sides
+    private static final double FILTER_BYTES_PER_KEY = 2;
+    // the cost of building and evaluating a filter entry compared with processing one probe row
+    private static final double BUILD_COST_PER_KEY = 1;
+    // the cost of sending one byte of filter compared with processing one probe row
+    private static final double TRANSPORT_COST_PER_BYTE = 0.5;
+
+    private final double selectivity;
+    private final double probeRowCount;
+    private final double buildDistinctValues;
+
+    private RuntimeFilterEstimator(double selectivity, double probeRowCount, double buildDistinctValues) {
+        this.selectivity = selectivity;
+        this.probeRowCount = probeRowCount;
+        this.buildDistinctValues = buildDistinctValues;
+    }
+
+    public static RuntimeFilterEstimator unknown() {
+        return new RuntimeFilterEstimator(Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    public static RuntimeFilterEstimator estimate(Statistics probeStatistics, ScalarOperator probeExpr,
+                                                  Statistics buildStatistics, ScalarOperator buildExpr) {
+        if (probeStatistics == null || buildStatistics == null ||
+                !(probeExpr instanceof ColumnRefOperator) || !(buildExpr instanceof ColumnRefOperator)) {
+            return unknown();
+        }
+        ColumnStatistic probeColumn = probeStatistics.getColumnStatistics().get(probeExpr);
+        ColumnStatistic buildColumn = buildStatistics.getColumnStatistics().get(buildExpr);
+        if (probeColumn == null || buildColumn == null || probeColumn.isUnknown() || buildColumn.isUnknown()) {
+            return unknown();
+        }
+
+        double probeRows = probeStatistics.getOutputRowCount();
+        double buildRows = buildStatistics.getOutputRowCount();
+        if (Double.isNaN(probeRows) || Double.isNaN(buildRows) || probeRows <= 0) {
+            return unknown();
+        }
+
+        double buildNdv = Math.max(1, Math.min(buildColumn.getDistinctValuesCount(), buildRows));
+        double probeNdv = Math.max(1, Math.min(probeColumn.getDistinctValuesCount(), probeRows));
+        // assume the values of the smaller side are contained by the bigger side
+        double selectivity = Math.min(1.0, buildNdv / probeNdv);
+
+        // the filter could do better if the value ranges of both sides are only partially overlapped
+        double probeWidth = probeColumn.getMaxValue() - probeColumn.getMinValue();
+        if (!Double.isInfinite(probeWidth) && !Double.isNaN(probeWidth) && probeWidth > 0) {
+            double overlapMin = Math.max(probeColumn.getMinValue(), buildColumn.getMinValue());
+            double overlapMax = Math.min(probeColumn.getMaxValue(), buildColumn.getMaxValue());
+            double overlap = Math.max(0, overlapMax - overlapMin) / probeWidth;
+            selectivity = Math.min(selectivity, overlap);
+        }
+
+        // null never matches an equal join conjunct
+        selectivity *= 1 - probeColumn.getNullsFraction();
+        return new RuntimeFilterEstimator(Math.max(0, selectivity), probeRows, buildNdv);
+    }
+
+    public boolean isUnknown() {
+        return Double.isNaN(selectivity);
+    }
+
+    public double getSelectivity() {
+        return selectivity;
+    }
+
+    // Probe rows which are expected to be filtered out early
+    public double getBenefit() {
+        if (isUnknown()) {
+            return 0;
+        }
+        return probeRowCount * (1 - selectivity);
+    }
+
+    // The cost of building the filter, and of merging and sending it to every backend if it's global
+    public double getCost(boolean global) {
+        if (isUnknown()) {
+            return 0;
+        }
+        double cost = buildDistinctValues * BUILD_COST_PER_KEY;
+        if (global) {
+            int beNum = Math.max(1, Catalog.getCurrentSystemInfo().getBackendIds(true).size());
+            cost += buildDistinctValues * FILTER_BYTES_PER_KEY * TRANSPORT_COST_PER_BYTE * beNum;
+        }
+        return cost;
+    }
+
+    // Unknown statistics are regarded as beneficial, so the filter is planned like before
+    public boolean isBeneficial(boolean global) {
+        return isUnknown() || getBenefit() >= getCost(global);
+    }
+}
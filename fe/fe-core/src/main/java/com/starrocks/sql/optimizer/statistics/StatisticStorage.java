@@ -4,13 +4,20 @@ package com.starrocks.sql.optimizer.statistics;
 
 import com.starrocks.catalog.Table;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public interface StatisticStorage {
     ColumnStatistic getColumnStatistic(Table table, String column);
 
     List<ColumnStatistic> getColumnStatistics(Table table, List<String> columns);
 
+    // Joint distinct values count of the collected column groups which only contain the columns
+    default Map<List<String>, Double> getMultiColumnStatistics(Table table, List<String> columns) {
+        return Collections.emptyMap();
+    }
+
     void expireColumnStatistics(Table table, List<String> columns);
 
     void addColumnStatistic(Table table, String column, ColumnStatistic columnStatistic);
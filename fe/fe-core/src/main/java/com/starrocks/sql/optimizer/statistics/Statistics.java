@@ -6,19 +6,31 @@ import com.google.common.base.Preconditions;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static java.lang.Double.NaN;
 
 public class Statistics {
     private final double outputRowCount;
     private final Map<ColumnRefOperator, ColumnStatistic> columnStatistics;
+    // Joint distinct values count of column groups, which are collected by multi-column statistics
+    private final Map<Set<ColumnRefOperator>, Double> multiColumnStatistics;
 
     public Statistics(double outputRowCount,
                       Map<ColumnRefOperator, ColumnStatistic> columnStatistics) {
+        this(outputRowCount, columnStatistics, Collections.emptyMap());
+    }
+
+    public Statistics(double outputRowCount,
+                      Map<ColumnRefOperator, ColumnStatistic> columnStatistics,
+                      Map<Set<ColumnRefOperator>, Double> multiColumnStatistics) {
         this.outputRowCount = outputRowCount;
         this.columnStatistics = columnStatistics;
+        this.multiColumnStatistics = multiColumnStatistics;
     }
 
     public double getOutputRowCount() {
@@ -40,6 +52,10 @@ public class Statistics {
         return columnStatistics;
     }
 
+    public Map<Set<ColumnRefOperator>, Double> getMultiColumnStatistics() {
+        return multiColumnStatistics;
+    }
+
     public ColumnRefSet getUsedColumns() {
         ColumnRefSet usedColumns = new ColumnRefSet();
         for (Map.Entry<ColumnRefOperator, ColumnStatistic> entry : columnStatistics.entrySet()) {
@@ -49,7 +65,7 @@ public class Statistics {
     }
 
     public static Builder buildFrom(Statistics other) {
-        return new Builder(other.getOutputRowCount(), other.columnStatistics);
+        return new Builder(other.getOutputRowCount(), other.columnStatistics, other.multiColumnStatistics);
     }
 
     public static Builder builder() {
@@ -59,14 +75,17 @@ public class Statistics {
     public static final class Builder {
         private double outputRowCount;
         private final Map<ColumnRefOperator, ColumnStatistic> columnStatistics;
+        private final Map<Set<ColumnRefOperator>, Double> multiColumnStatistics;
 
         public Builder() {
-            this(NaN, new HashMap<>());
+            this(NaN, new HashMap<>(), Collections.emptyMap());
         }
 
-        private Builder(double outputRowCount, Map<ColumnRefOperator, ColumnStatistic> columnStatistics) {
+        private Builder(double outputRowCount, Map<ColumnRefOperator, ColumnStatistic> columnStatistics,
+                        Map<Set<ColumnRefOperator>, Double> multiColumnStatistics) {
             this.outputRowCount = outputRowCount;
             this.columnStatistics = new HashMap<>(columnStatistics);
+            this.multiColumnStatistics = new HashMap<>(multiColumnStatistics);
         }
 
         public Builder setOutputRowCount(double outputRowCount) {
@@ -89,8 +108,24 @@ public class Statistics {
             return this;
         }
 
+        public Builder addMultiColumnStatistic(Set<ColumnRefOperator> columns, double distinctValues) {
+            this.multiColumnStatistics.put(columns, distinctValues);
+            return this;
+        }
+
+        public Builder addMultiColumnStatistics(Map<Set<ColumnRefOperator>, Double> multiColumnStatistics) {
+            this.multiColumnStatistics.putAll(multiColumnStatistics);
+            return this;
+        }
+
+        // Remove the column groups which contain any of the columns
+        public Builder removeMultiColumnStatistics(Collection<ColumnRefOperator> columns) {
+            multiColumnStatistics.keySet().removeIf(group -> columns.stream().anyMatch(group::contains));
+            return this;
+        }
+
         public Statistics build() {
-            return new Statistics(outputRowCount, columnStatistics);
+            return new Statistics(outputRowCount, columnStatistics, multiColumnStatistics);
         }
     }
 }
@@ -92,6 +92,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -151,7 +152,7 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
 
         Statistics statistics = builder.build();
         if (limit != -1 && limit < statistics.getOutputRowCount()) {
-            statistics = new Statistics(limit, statistics.getColumnStatistics());
+            statistics = Statistics.buildFrom(statistics).setOutputRowCount(limit).build();
         }
 
         context.setStatistics(statistics);
@@ -274,14 +275,29 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
             ColumnRefOperator columnRefOperator = columnRefFactory.getColumnRef(columnId);
             requiredColumns.add(columnRefOperator);
         }
-        List<ColumnStatistic> columnStatisticList = Catalog.getCurrentStatisticStorage().getColumnStatistics(table,
-                requiredColumns.stream().map(ColumnRefOperator::getName).collect(Collectors.toList()));
+        List<String> requiredColumnNames =
+                requiredColumns.stream().map(ColumnRefOperator::getName).collect(Collectors.toList());
+        List<ColumnStatistic> columnStatisticList =
+                Catalog.getCurrentStatisticStorage().getColumnStatistics(table, requiredColumnNames);
         Preconditions.checkState(requiredColumns.size() == columnStatisticList.size());
         for (int i = 0; i < requiredColumns.size(); ++i) {
             builder.addColumnStatistic(requiredColumns.get(i), columnStatisticList.get(i));
             dumpInfo.addTableStatistics(table, requiredColumns.get(i).getName(), columnStatisticList.get(i));
         }
 
+        Map<List<String>, Double> multiColumnStatistics =
+                Catalog.getCurrentStatisticStorage().getMultiColumnStatistics(table, requiredColumnNames);
+        for (Map.Entry<List<String>, Double> entry : multiColumnStatistics.entrySet()) {
+            Set<ColumnRefOperator> group = new HashSet<>();
+            for (String columnName : entry.getKey()) {
+                requiredColumns.stream().filter(c -> c.getName().equalsIgnoreCase(columnName))
+                        .findFirst().ifPresent(group::add);
+            }
+            if (group.size() == entry.getKey().size()) {
+                builder.addMultiColumnStatistic(group, entry.getValue());
+            }
+        }
+
         return builder;
     }
 
@@ -467,9 +483,7 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         if (selectedPartitionIds.isEmpty()) {
             return 0;
         }
-        for (long partitionId : selectedPartitionIds) {
-            PartitionKey partitionKey = idToPartitionKey.get(partitionId);
-            HivePartition partition = hiveTable.getPartition(partitionKey);
+        for (HivePartition partition : hiveTable.getPartitions(partitions)) {
             for (HdfsFileDesc fileDesc : partition.getFiles()) {
                 totalBytes += fileDesc.getLength();
             }
@@ -503,6 +517,7 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
                     .entrySet()) {
                 builder.addColumnStatistic(entry.getKey(), entry.getValue());
             }
+            builder.addMultiColumnStatistics(inputStatistics.getMultiColumnStatistics());
             context.setStatistics(builder.build());
             return visitOperator(context.getOp(), context);
         }
@@ -518,6 +533,12 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
             builder.addColumnStatistic(requiredColumnRefOperator,
                     ExpressionStatisticCalculator.calculate(mapOperator, inputStatistics));
         }
+        // column groups are kept only if all of the columns are passed through
+        inputStatistics.getMultiColumnStatistics().forEach((group, distinctValues) -> {
+            if (group.stream().allMatch(column -> column.equals(columnRefMap.get(column)))) {
+                builder.addMultiColumnStatistic(group, distinctValues);
+            }
+        });
         context.setStatistics(builder.build());
         return visitOperator(context.getOp(), context);
     }
@@ -540,8 +561,15 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
 
         Map<ColumnRefOperator, ColumnStatistic> groupStatisticsMap = groupBys.stream().collect(
                 Collectors.toMap(Function.identity(), inputStatistics::getColumnStatistic));
+        // the distinct values count of every group by factor, a factor is a column or a group of correlated columns
+        List<Double> groupByDistinctValues = Lists.newArrayList();
+        List<ColumnRefOperator> uncorrelatedGroupBys = Lists.newArrayList(groupBys);
+        for (Map.Entry<Set<ColumnRefOperator>, Double> entry : getMultiColumnStatistics(inputStatistics, groupBys)) {
+            groupByDistinctValues.add(entry.getValue());
+            uncorrelatedGroupBys.removeAll(entry.getKey());
+        }
         double rowCount = 1;
-        if (groupStatisticsMap.values().stream().anyMatch(ColumnStatistic::isUnknown)) {
+        if (uncorrelatedGroupBys.stream().map(groupStatisticsMap::get).anyMatch(ColumnStatistic::isUnknown)) {
             // estimate with default column statistics
             for (int groupByIndex = 0; groupByIndex < groupBys.size(); ++groupByIndex) {
                 if (groupByIndex == 0) {
@@ -555,13 +583,15 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
                 }
             }
         } else {
-            for (int groupByIndex = 0; groupByIndex < groupBys.size(); ++groupByIndex) {
-                ColumnRefOperator groupByColumnRef = groupBys.get(groupByIndex);
-                ColumnStatistic columnStatistic = inputStatistics.getColumnStatistic(groupByColumnRef);
+            for (ColumnRefOperator groupByColumnRef : uncorrelatedGroupBys) {
+                groupByDistinctValues.add(groupStatisticsMap.get(groupByColumnRef).getDistinctValuesCount());
+            }
+            for (int groupByIndex = 0; groupByIndex < groupByDistinctValues.size(); ++groupByIndex) {
+                double distinctValues = groupByDistinctValues.get(groupByIndex);
                 if (groupByIndex == 0) {
-                    rowCount *= columnStatistic.getDistinctValuesCount();
+                    rowCount *= distinctValues;
                 } else {
-                    rowCount *= columnStatistic.getDistinctValuesCount() *
+                    rowCount *= distinctValues *
                             Math.pow(StatisticsEstimateCoefficient.UNKNOWN_GROUP_BY_CORRELATION_COEFFICIENT,
                                     groupByIndex + 1);
                     if (rowCount > inputStatistics.getOutputRowCount()) {
@@ -571,6 +601,11 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
             }
         }
         builder.addColumnStatistics(groupStatisticsMap);
+        inputStatistics.getMultiColumnStatistics().forEach((group, distinctValues) -> {
+            if (groupBys.containsAll(group)) {
+                builder.addMultiColumnStatistic(group, distinctValues);
+            }
+        });
         rowCount = min(inputStatistics.getOutputRowCount(), rowCount);
         builder.setOutputRowCount(rowCount);
 
@@ -605,6 +640,8 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
 
         builder.addColumnStatistics(leftStatistics.getColumnStatistics());
         builder.addColumnStatistics(rightStatistics.getColumnStatistics());
+        builder.addMultiColumnStatistics(leftStatistics.getMultiColumnStatistics());
+        builder.addMultiColumnStatistics(rightStatistics.getMultiColumnStatistics());
         List<BinaryPredicateOperator> eqOnPredicates = JoinPredicateUtils.getEqConj(leftStatistics.getUsedColumns(),
                 rightStatistics.getUsedColumns(),
                 Utils.extractConjuncts(joinOnPredicate));
@@ -687,7 +724,7 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         }
 
         if (limit != -1 && limit < estimateStatistics.getOutputRowCount()) {
-            estimateStatistics = new Statistics(limit, estimateStatistics.getColumnStatistics());
+            estimateStatistics = Statistics.buildFrom(estimateStatistics).setOutputRowCount(limit).build();
         }
 
         if (outputColumns == null) {
@@ -707,6 +744,11 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         Statistics.Builder joinBuilder = Statistics.builder();
         joinBuilder.setOutputRowCount(estimateStatistics.getOutputRowCount());
         joinBuilder.addColumnStatistics(outputColumnStatisticMap);
+        estimateStatistics.getMultiColumnStatistics().forEach((group, distinctValues) -> {
+            if (outputColumns.containsAll(group)) {
+                joinBuilder.addMultiColumnStatistic(group, distinctValues);
+            }
+        });
 
         context.setStatistics(joinBuilder.build());
         return visitOperator(context.getOp(), context);
@@ -1001,9 +1043,73 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         if (predicateList.isEmpty()) {
             return statistics;
         }
+        Statistics inputStatistics = statistics;
         for (ScalarOperator predicate : predicateList) {
             statistics = PredicateStatisticsCalculator.statisticsCalculate(predicate, statistics);
         }
-        return statistics;
+        if (inputStatistics.getMultiColumnStatistics().isEmpty()) {
+            return statistics;
+        }
+        return estimateCorrelatedEqualPredicates(predicateList, inputStatistics, statistics);
+    }
+
+    // The selectivity of equal predicates is estimated as 1 / ndv(a) * 1 / ndv(b) if the columns are independent.
+    // If the columns are correlated, e.g. city and country, the selectivity of a = x and b = y is closer to
+    // 1 / ndv(a, b), so the row count is corrected with ndv(a) * ndv(b) / ndv(a, b).
+    private Statistics estimateCorrelatedEqualPredicates(List<ScalarOperator> predicateList,
+                                                         Statistics inputStatistics, Statistics statistics) {
+        List<ColumnRefOperator> equalColumns = Lists.newArrayList();
+        for (ScalarOperator predicate : predicateList) {
+            for (ScalarOperator conjunct : Utils.extractConjuncts(predicate)) {
+                if (conjunct instanceof BinaryPredicateOperator &&
+                        ((BinaryPredicateOperator) conjunct).getBinaryType() == BinaryPredicateOperator.BinaryType.EQ &&
+                        conjunct.getChild(0).isColumnRef() && conjunct.getChild(1).isConstant()) {
+                    equalColumns.add((ColumnRefOperator) conjunct.getChild(0));
+                }
+            }
+        }
+
+        double correlation = 1;
+        for (Map.Entry<Set<ColumnRefOperator>, Double> entry : getMultiColumnStatistics(inputStatistics,
+                equalColumns)) {
+            double independentDistinctValues = 1;
+            for (ColumnRefOperator column : entry.getKey()) {
+                ColumnStatistic columnStatistic = inputStatistics.getColumnStatistic(column);
+                if (columnStatistic.isUnknown()) {
+                    independentDistinctValues = Double.NaN;
+                    break;
+                }
+                independentDistinctValues *= columnStatistic.getDistinctValuesCount();
+            }
+            if (!Double.isNaN(independentDistinctValues) && entry.getValue() > 0) {
+                correlation *= max(1, independentDistinctValues / entry.getValue());
+            }
+        }
+
+        // the joint distinct values count of the filtered columns is unknown now
+        Statistics.Builder builder = Statistics.buildFrom(statistics).removeMultiColumnStatistics(equalColumns);
+        builder.setOutputRowCount(min(statistics.getOutputRowCount() * correlation,
+                inputStatistics.getOutputRowCount()));
+        return builder.build();
+    }
+
+    // Find the disjoint column groups contained by the columns, the group with more columns is preferred
+    private static List<Map.Entry<Set<ColumnRefOperator>, Double>> getMultiColumnStatistics(
+            Statistics statistics, List<ColumnRefOperator> columns) {
+        List<Map.Entry<Set<ColumnRefOperator>, Double>> candidates =
+                statistics.getMultiColumnStatistics().entrySet().stream()
+                        .filter(entry -> columns.containsAll(entry.getKey()))
+                        .sorted((a, b) -> b.getKey().size() - a.getKey().size())
+                        .collect(Collectors.toList());
+
+        List<Map.Entry<Set<ColumnRefOperator>, Double>> result = Lists.newArrayList();
+        Set<ColumnRefOperator> coveredColumns = new HashSet<>();
+        for (Map.Entry<Set<ColumnRefOperator>, Double> entry : candidates) {
+            if (entry.getKey().stream().noneMatch(coveredColumns::contains)) {
+                result.add(entry);
+                coveredColumns.addAll(entry.getKey());
+            }
+        }
+        return result;
     }
 }
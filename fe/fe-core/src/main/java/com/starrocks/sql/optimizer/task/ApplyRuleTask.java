@@ -9,6 +9,7 @@ import com.starrocks.sql.optimizer.OptExpression;
 import com.starrocks.sql.optimizer.operator.pattern.Pattern;
 import com.starrocks.sql.optimizer.rule.Binder;
 import com.starrocks.sql.optimizer.rule.Rule;
+import com.starrocks.sql.optimizer.rule.RuleSet;
 
 import java.util.List;
 
@@ -52,6 +53,10 @@ public class ApplyRuleTask extends OptimizerTask {
             return;
         }
 
+        if (context.getOptimizerContext().isExplorationStopped() && RuleSet.isExplorationRule(rule)) {
+            return;
+        }
+
         // Apply rule and get all new OptExpressions
         Pattern pattern = rule.getPattern();
         Binder binder = new Binder(pattern, groupExpression);
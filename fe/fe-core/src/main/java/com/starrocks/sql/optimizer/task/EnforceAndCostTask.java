@@ -285,7 +285,8 @@ public class EnforceAndCostTask extends OptimizerTask implements Cloneable {
     private void setPropertyWithCost(GroupExpression groupExpression,
                                      PhysicalPropertySet outputProperty,
                                      List<PhysicalPropertySet> inputProperties) {
-        groupExpression.setPropertyWithCost(outputProperty, inputProperties, curTotalCost);
+        groupExpression.setPropertyWithCost(context.getOptimizerContext().getMemo(),
+                outputProperty, inputProperties, curTotalCost);
         this.groupExpression.getGroup().setBestExpression(groupExpression,
                 curTotalCost, outputProperty);
     }
@@ -370,7 +371,8 @@ public class EnforceAndCostTask extends OptimizerTask implements Cloneable {
                 insertEnforceExpression(enforcer, groupExpression.getGroup());
         curTotalCost += CostModel.calculateCost(enforcer);
 
-        enforcer.setPropertyWithCost(newOutputProperty, Lists.newArrayList(oldOutputProperty), curTotalCost);
+        enforcer.setPropertyWithCost(context.getOptimizerContext().getMemo(),
+                newOutputProperty, Lists.newArrayList(oldOutputProperty), curTotalCost);
         groupExpression.getGroup().setBestExpression(enforcer, curTotalCost, newOutputProperty);
     }
 }
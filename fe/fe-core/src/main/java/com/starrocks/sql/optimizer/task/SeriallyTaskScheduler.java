@@ -33,6 +33,7 @@ public class SeriallyTaskScheduler implements TaskScheduler {
                 }
                 break;
             }
+            context.getOptimizerContext().checkExploreBudget();
             tasks.pop().execute();
         }
     }
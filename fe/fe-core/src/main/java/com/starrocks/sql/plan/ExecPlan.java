@@ -7,6 +7,7 @@ import com.starrocks.planner.PlanFragment;
 import com.starrocks.planner.PlannerContext;
 import com.starrocks.planner.ScanNode;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.OptimizerProfile;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.thrift.TExplainLevel;
 
@@ -24,6 +25,7 @@ public class ExecPlan {
     private final DescriptorTable descTbl = new DescriptorTable();
     private final Map<ColumnRefOperator, Expr> colRefToExpr = new HashMap<>();
     private final ArrayList<PlanFragment> fragments = new ArrayList<>();
+    private OptimizerProfile optimizerProfile;
 
     public ExecPlan(PlannerContext planCtx, ConnectContext connectContext, List<String> colNames) {
         this.planCtx = planCtx;
@@ -63,8 +65,16 @@ public class ExecPlan {
         return colRefToExpr;
     }
 
+    public void setOptimizerProfile(OptimizerProfile optimizerProfile) {
+        this.optimizerProfile = optimizerProfile;
+    }
+
     public String getExplainString(TExplainLevel level) {
         StringBuilder str = new StringBuilder();
+        if (optimizerProfile != null && optimizerProfile.isBudgetExceeded()) {
+            str.append("Optimizer budget exceeded: ").append(optimizerProfile.getBudgetExceededReason())
+                    .append(", the best plan found so far is used\n\n");
+        }
         for (int i = 0; i < fragments.size(); ++i) {
             PlanFragment fragment = fragments.get(i);
             if (i > 0) {
@@ -93,6 +93,7 @@ import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.rule.transformation.JoinPredicateUtils;
+import com.starrocks.sql.optimizer.statistics.RuntimeFilterEstimator;
 import com.starrocks.thrift.TPartitionType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -1130,8 +1131,14 @@ public class PlanFragmentBuilder {
                 hashJoinNode.computeStatistics(optExpr.getStatistics());
 
                 if (ConnectContext.get().getSessionVariable().getEnableGlobalRuntimeFilter()) {
+                    // estimate selectivity of every runtime filter with the statistics of join children,
+                    // the order is the same as eq join conjuncts.
+                    List<RuntimeFilterEstimator> estimators = eqOnPredicates.stream()
+                            .map(p -> RuntimeFilterEstimator.estimate(optExpr.inputAt(0).getStatistics(),
+                                    p.getChild(0), optExpr.inputAt(1).getStatistics(), p.getChild(1)))
+                            .collect(Collectors.toList());
                     hashJoinNode.buildRuntimeFilters(runtimeFilterIdIdGenerator, hashJoinNode.getChild(1),
-                            hashJoinNode.getEqJoinConjuncts(), joinOperator);
+                            hashJoinNode.getEqJoinConjuncts(), joinOperator, estimators);
                 }
 
                 if (distributionMode.equals(HashJoinNode.DistributionMode.BROADCAST)) {
@@ -30,11 +30,16 @@ public class AnalyzeJob implements Writable {
     public static final String PROP_UPDATE_INTERVAL_SEC_KEY = "update_interval_sec";
     public static final String PROP_EXPIRE_SEC_KEY = "expire_sec";
     public static final String PROP_SAMPLE_COLLECT_ROWS_KEY = "sample_collect_rows";
+    // Percent of table rows to sample, sample_collect_rows is used if it's 0
+    public static final String PROP_SAMPLE_COLLECT_RATIO_KEY = "sample_collect_ratio";
+    // Column groups to collect joint distinct values count, e.g. "city,country;brand,category"
+    public static final String PROP_MULTI_COLUMN_STATISTICS_KEY = "multi_column_statistics";
 
     public static final List<String> NUMBER_PROP_KEY_LIST = ImmutableList.<String>builder()
             .add(PROP_UPDATE_INTERVAL_SEC_KEY)
             .add(PROP_EXPIRE_SEC_KEY)
-            .add(PROP_SAMPLE_COLLECT_ROWS_KEY).build();
+            .add(PROP_SAMPLE_COLLECT_ROWS_KEY)
+            .add(PROP_SAMPLE_COLLECT_RATIO_KEY).build();
 
     public static final long DEFAULT_ALL_ID = -1;
 
@@ -69,6 +74,14 @@ public class AnalyzeJob implements Writable {
     @SerializedName("reason")
     private String reason;
 
+    // table id -> partition id -> visible version of partition statistics collected incrementally
+    @SerializedName("collectedVersions")
+    private Map<Long, Map<Long, Long>> collectedVersions;
+
+    // table id -> columns of partition statistics collected incrementally
+    @SerializedName("collectedColumns")
+    private Map<Long, List<String>> collectedColumns;
+
     public AnalyzeJob() {
         dbId = DEFAULT_ALL_ID;
         tableId = DEFAULT_ALL_ID;
@@ -151,6 +164,61 @@ public class AnalyzeJob implements Writable {
                 .getOrDefault(PROP_SAMPLE_COLLECT_ROWS_KEY, String.valueOf(Config.statistic_sample_collect_rows)));
     }
 
+    public List<List<String>> getMultiColumnGroups() {
+        return parseMultiColumnGroups(properties == null ? null : properties.get(PROP_MULTI_COLUMN_STATISTICS_KEY));
+    }
+
+    public static List<List<String>> parseMultiColumnGroups(String value) {
+        List<List<String>> groups = Lists.newArrayList();
+        if (value == null || value.trim().isEmpty()) {
+            return groups;
+        }
+        for (String group : value.split(Constants.MULTI_COLUMN_GROUP_SEPARATOR)) {
+            List<String> columns = Lists.newArrayList();
+            for (String column : group.split(Constants.MULTI_COLUMN_SEPARATOR)) {
+                if (!column.trim().isEmpty()) {
+                    columns.add(column.trim());
+                }
+            }
+            if (!columns.isEmpty()) {
+                groups.add(columns);
+            }
+        }
+        return groups;
+    }
+
+    public long getSampleCollectRatio() {
+        return Long.parseLong(properties
+                .getOrDefault(PROP_SAMPLE_COLLECT_RATIO_KEY, String.valueOf(Config.statistic_sample_collect_ratio)));
+    }
+
+    public long getSampleCollectRows(long tableRowCount) {
+        long ratio = Math.min(getSampleCollectRatio(), 100);
+        if (ratio <= 0) {
+            return getSampleCollectRows();
+        }
+        return Math.max(tableRowCount * ratio / 100, 1);
+    }
+
+    public Map<Long, Long> getCollectedVersions(long tableId, List<String> columns) {
+        if (collectedVersions == null || collectedColumns == null ||
+                !columns.equals(collectedColumns.get(tableId))) {
+            return Maps.newHashMap();
+        }
+        return collectedVersions.getOrDefault(tableId, Maps.newHashMap());
+    }
+
+    public void setCollectedVersions(long tableId, List<String> columns, Map<Long, Long> versions) {
+        if (collectedVersions == null) {
+            collectedVersions = Maps.newConcurrentMap();
+        }
+        if (collectedColumns == null) {
+            collectedColumns = Maps.newConcurrentMap();
+        }
+        collectedVersions.put(tableId, versions);
+        collectedColumns.put(tableId, Lists.newArrayList(columns));
+    }
+
     public ScheduleType getScheduleType() {
         return scheduleType;
     }
@@ -55,6 +55,23 @@ public class AnalyzeManager implements Writable {
         return Lists.newLinkedList(analyzeJobMap.values());
     }
 
+    // Column groups of multi-column statistics defined on the table, the statistics of a group
+    // is kept as long as the analyze job which defines it
+    public List<List<String>> getMultiColumnGroups(long tableId) {
+        List<List<String>> groups = Lists.newArrayList();
+        for (AnalyzeJob job : analyzeJobMap.values()) {
+            if (job.getTableId() != tableId) {
+                continue;
+            }
+            for (List<String> group : job.getMultiColumnGroups()) {
+                if (!groups.contains(group)) {
+                    groups.add(group);
+                }
+            }
+        }
+        return groups;
+    }
+
     // expire finish job
     public void expireAnalyzeJob() {
         List<AnalyzeJob> expireList = Lists.newArrayList();
@@ -8,6 +8,12 @@ public class Constants {
     public static final String StatisticsDBName =
             SystemInfoService.DEFAULT_CLUSTER + ":" + "_statistics_";
     public static final String StatisticsTableName = "table_statistic_v1";
+    // Partition level statistics with the ndv sketch, which are merged into table level statistics
+    public static final String PartitionStatisticsTableName = "partition_statistic_v1";
+
+    // Multi-column statistics are saved in the statistics table with the joined column names
+    public static final String MULTI_COLUMN_SEPARATOR = ",";
+    public static final String MULTI_COLUMN_GROUP_SEPARATOR = ";";
 
     public static final String INFORMATION_SCHEMA = SystemInfoService.DEFAULT_CLUSTER + ":information_schema";
 
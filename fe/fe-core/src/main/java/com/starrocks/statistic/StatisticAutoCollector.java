@@ -7,6 +7,7 @@ import com.google.common.collect.Maps;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.util.MasterDaemon;
@@ -40,11 +41,24 @@ public class StatisticAutoCollector extends MasterDaemon {
         public List<String> columns;
 
         private void tryCollect() throws Exception {
+            long sampleRows = job.getSampleCollectRows(((OlapTable) table).getRowCount());
             if (AnalyzeType.FULL == job.getType()) {
-                statisticExecutor.fullCollectStatisticSync(db.getId(), table.getId(), columns);
+                if (Config.enable_statistic_incremental_collect &&
+                        null != StatisticUtils.getPartitionStatisticsTable()) {
+                    Map<Long, Long> versions = statisticExecutor.incrementalCollectStatisticSync(db.getId(),
+                            table.getId(), columns, job.getCollectedVersions(table.getId(), columns));
+                    job.setCollectedVersions(table.getId(), columns, versions);
+                } else {
+                    statisticExecutor.fullCollectStatisticSync(db.getId(), table.getId(), columns);
+                }
             } else if (AnalyzeType.SAMPLE == job.getType()) {
-                statisticExecutor
-                        .sampleCollectStatisticSync(db.getId(), table.getId(), columns, job.getSampleCollectRows());
+                statisticExecutor.sampleCollectStatisticSync(db.getId(), table.getId(), columns, sampleRows);
+            }
+
+            // multi-column statistics are only defined by the job on this table
+            if (job.getTableId() == table.getId()) {
+                statisticExecutor.collectMultiColumnStatisticSync(db.getId(), table.getId(),
+                        job.getMultiColumnGroups(), AnalyzeType.SAMPLE == job.getType(), sampleRows);
             }
         }
     }
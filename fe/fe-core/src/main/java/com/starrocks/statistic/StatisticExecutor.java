@@ -14,6 +14,7 @@ import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.PrimitiveType;
 import com.starrocks.cluster.ClusterNamespace;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.util.SqlParserUtils;
@@ -55,9 +56,11 @@ import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -95,6 +98,35 @@ public class StatisticExecutor {
                     + "    GROUP BY t0.`$columnName` "
                     + ") as t1";
 
+    private static final String INSERT_SELECT_MULTI_COLUMN_FULL_TEMPLATE =
+            "SELECT $tableId, '$columnName', $dbId, '$tableName', '$dbName', COUNT(1), "
+                    + "0, approx_count_distinct($tupleFunction), 0, '', '', NOW() "
+                    + "FROM $tableName";
+
+    private static final String INSERT_SELECT_MULTI_COLUMN_SAMPLE_TEMPLATE =
+            "SELECT $tableId, '$columnName', $dbId, '$tableName', '$dbName', IFNULL(SUM(t1.count), 0) * $ratio, "
+                    + "       0, $countDistinctFunction, 0, '', '', NOW() "
+                    + "FROM ( "
+                    + "    SELECT $tupleFunction, COUNT(1) as count "
+                    + "    FROM (SELECT $columns FROM $tableName $hints) as t0 "
+                    + "    GROUP BY $tupleFunction "
+                    + ") as t1";
+
+    private static final String INSERT_PARTITION_STATISTIC_TEMPLATE =
+            "INSERT INTO " + Constants.PartitionStatisticsTableName;
+
+    private static final String INSERT_SELECT_PARTITION_TEMPLATE =
+            "SELECT $tableId, $partitionId, '$columnName', $dbId, '$tableName', '$dbName', COUNT(1), "
+                    + "$dataSize, $ndvFunction, $countNullFunction, $maxFunction, $minFunction, NOW() "
+                    + "FROM $tableName PARTITION(`$partitionName`)";
+
+    private static final String INSERT_SELECT_MERGE_PARTITION_TEMPLATE =
+            "SELECT $tableId, '$columnName', $dbId, '$tableName', '$dbName', IFNULL(SUM(row_count), 0), "
+                    + "IFNULL(SUM(data_size), 0), IFNULL(hll_union_agg(ndv), 0), IFNULL(SUM(null_count), 0), "
+                    + "$maxFunction, $minFunction, NOW() "
+                    + "FROM " + Constants.PartitionStatisticsTableName
+                    + " WHERE table_id = $tableId AND column_name = '$columnName' AND partition_id IN ($partitionIds)";
+
     private static final String DELETE_TEMPLATE = "DELETE FROM " + Constants.StatisticsTableName + " WHERE ";
 
     private static final String SELECT_EXPIRE_TABLE_TEMPLATE =
@@ -188,16 +220,87 @@ public class StatisticExecutor {
             }
 
             LOG.info("Collect statistic SQL: {}", sql);
+            executeDMLSync(sql);
+        }
+    }
 
-            ConnectContext context = StatisticUtils.buildConnectContext();
-            StatementBase parsedStmt = parseSQL(sql, context);
-            StmtExecutor executor = new StmtExecutor(context, parsedStmt);
-            executor.execute();
+    // Collect the statistics of the partitions whose visible version changed since last collect, the ndv sketch
+    // of every partition is kept in partition statistics table, and merged into table statistics.
+    // Return the visible versions of the collected partitions.
+    public Map<Long, Long> incrementalCollectStatisticSync(Long dbId, Long tableId, List<String> columnNames,
+                                                          Map<Long, Long> collectedVersions) throws Exception {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+
+        Map<Long, Long> versions = Maps.newHashMap();
+        List<Partition> changedPartitions = Lists.newArrayList();
+        for (Partition partition : table.getPartitions()) {
+            versions.put(partition.getId(), partition.getVisibleVersion());
+            if (!Objects.equals(collectedVersions.get(partition.getId()), partition.getVisibleVersion())) {
+                changedPartitions.add(partition);
+            }
+        }
+        if (versions.isEmpty()) {
+            return versions;
+        }
 
-            if (context.getState().getStateType() == QueryState.MysqlStateType.ERR) {
-                throw new DdlException(context.getState().getErrorMessage());
+        // the ndv sketch is unioned on load, so the statistics of changed and dropped partitions must be cleared
+        Set<Long> expiredPartitionIds = Sets.newHashSet(collectedVersions.keySet());
+        expiredPartitionIds.removeAll(versions.keySet());
+        changedPartitions.forEach(p -> expiredPartitionIds.add(p.getId()));
+        if (!expiredPartitionIds.isEmpty()) {
+            StringBuilder sql = new StringBuilder("DELETE FROM " + Constants.PartitionStatisticsTableName);
+            sql.append(" WHERE table_id = ").append(tableId);
+            // nothing was collected with the columns, clear all statistics of the table
+            if (!collectedVersions.isEmpty()) {
+                sql.append(" AND partition_id IN (").append(expiredPartitionIds.stream().map(String::valueOf)
+                        .collect(Collectors.joining(", "))).append(")");
             }
+            LOG.debug("Expire partition statistic SQL: {}", sql);
+            executeDMLSync(sql.toString());
         }
+
+        for (Partition partition : changedPartitions) {
+            long rows = Math.max(partition.getBaseIndex().getRowCount(), 1L);
+            for (List<String> list : Lists.partition(columnNames, (int) (5000000L / rows + 1))) {
+                String sql = buildPartitionInsertSQL(db, table, partition, list);
+                LOG.info("Collect partition statistic SQL: {}", sql);
+                executeDMLSync(sql);
+            }
+        }
+
+        // merge even if nothing changed, the update time of table statistics is refreshed to avoid expire
+        String sql = buildMergePartitionInsertSQL(db, table, columnNames, versions.keySet());
+        LOG.info("Merge partition statistic SQL: {}", sql);
+        executeDMLSync(sql);
+
+        LOG.info("Incremental collect statistic of table {}, {}/{} partitions are collected",
+                table.getName(), changedPartitions.size(), versions.size());
+        return versions;
+    }
+
+    private void executeDMLSync(String sql) throws Exception {
+        ConnectContext context = StatisticUtils.buildConnectContext();
+        StatementBase parsedStmt = parseSQL(sql, context);
+        StmtExecutor executor = new StmtExecutor(context, parsedStmt);
+        executor.execute();
+
+        if (context.getState().getStateType() == QueryState.MysqlStateType.ERR) {
+            throw new DdlException(context.getState().getErrorMessage());
+        }
+    }
+
+    // Collect the joint distinct values count of every column group, the result is saved as a statistics row
+    // whose column name is the joined column names of group
+    public void collectMultiColumnStatisticSync(Long dbId, Long tableId, List<List<String>> columnGroups,
+                                                boolean isSample, long rows) throws Exception {
+        if (columnGroups.isEmpty()) {
+            return;
+        }
+
+        String sql = buildMultiColumnInsertSQL(dbId, tableId, columnGroups, isSample, rows);
+        LOG.info("Collect multi-column statistic SQL: {}", sql);
+        executeDMLSync(sql);
     }
 
     public void expireStatisticSync(String tableId) {
@@ -214,6 +317,14 @@ public class StatisticExecutor {
         } catch (Exception e) {
             LOG.warn("Execute statistic table expire fail.", e);
         }
+
+        if (StatisticUtils.getPartitionStatisticsTable() != null) {
+            try {
+                executeDMLSync("DELETE FROM " + Constants.PartitionStatisticsTableName + " WHERE table_id = " + tableId);
+            } catch (Exception e) {
+                LOG.warn("Execute partition statistic table expire fail.", e);
+            }
+        }
     }
 
     public List<String> queryExpireTableSync(LocalDateTime expireTime) throws Exception {
@@ -391,51 +502,14 @@ public class StatisticExecutor {
         Database db = Catalog.getCurrentCatalog().getDb(dbId);
         OlapTable table = (OlapTable) db.getTable(tableId);
 
-        long hitRows = 1;
-        long totalRows = 0;
-        long totalTablet = 0;
-        Set<String> randomTablets = Sets.newHashSet();
-        rows = Math.max(rows, 1);
-
-        // calculate the number of tablets by each partition
-        // simpleTabletNums = simpleRows / partitionNums / (actualPartitionRows / actualTabletNums)
-        long avgRowsPerPartition = rows / Math.max(table.getPartitions().size(), 1);
-
-        for (Partition p : table.getPartitions()) {
-            List<Long> ids = p.getBaseIndex().getTabletIdsInOrder();
-
-            if (ids.isEmpty()) {
-                continue;
-            }
-
-            if (p.getBaseIndex().getRowCount() < (avgRowsPerPartition / 2)) {
-                continue;
-            }
-
-            long avgRowsPerTablet = Math.max(p.getBaseIndex().getRowCount() / ids.size(), 1);
-            long tabletCounts = Math.max(avgRowsPerPartition / avgRowsPerTablet, 1);
-            tabletCounts = Math.min(tabletCounts, ids.size());
-
-            for (int i = 0; i < tabletCounts; i++) {
-                randomTablets.add(String.valueOf(ids.get(i)));
-            }
-
-            hitRows += avgRowsPerTablet * tabletCounts;
-            totalRows += p.getBaseIndex().getRowCount();
-            totalTablet += ids.size();
-        }
-
-        long ratio = Math.max(totalRows / Math.min(hitRows, rows), 1);
-        // all hit, direct full
-        String hintTablets;
-        if (randomTablets.isEmpty() || totalRows < rows) {
+        SampleTablets sampleTablets = SampleTablets.of(table, rows);
+        if (sampleTablets == null) {
             // can't fill full sample rows
             return buildFullInsertSQL(dbId, tableId, columnNames);
-        } else if (randomTablets.size() == totalTablet) {
-            hintTablets = " LIMIT " + rows;
-        } else {
-            hintTablets = " Tablet(" + String.join(", ", randomTablets) + ")" + " LIMIT " + rows;
         }
+        long ratio = sampleTablets.ratio;
+        long totalRows = sampleTablets.totalRows;
+        String hintTablets = sampleTablets.hints;
 
         StringBuilder builder = new StringBuilder(INSERT_STATISTIC_TEMPLATE).append(" ");
 
@@ -459,16 +533,7 @@ public class StatisticExecutor {
             if (lowerDistributeColumns.size() == 1 && lowerDistributeColumns.contains(name.toLowerCase())) {
                 context.put("countDistinctFunction", "COUNT(1) * " + ratio);
             } else {
-                // From PostgreSQL and paper: ESTIMATING THE NUMBER OF CLASSES IN A FINITE POPULATION
-                // (http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.93.8637&rep=rep1&type=pdf)
-                // sample_row * count_distinct / ( sample_row - once_count + once_count * sample_row / total_row)
-                String sampleRows = "SUM(t1.count)";
-                String onceCount = "SUM(IF(t1.count = 1, 1, 0))";
-                String countDistinct = "COUNT(1)";
-
-                String fn = MessageFormat.format("{0} * {1} / ({0} - {2} + {2} * {0} / {3})", sampleRows,
-                        countDistinct, onceCount, String.valueOf(totalRows));
-                context.put("countDistinctFunction", "IFNULL(" + fn + ", COUNT(1))");
+                context.put("countDistinctFunction", buildSampleCountDistinctFunction(totalRows));
             }
 
             StringWriter sw = new StringWriter();
@@ -486,6 +551,203 @@ public class StatisticExecutor {
         return builder.substring(0, builder.length() - "UNION ALL ".length());
     }
 
+    private String buildPartitionInsertSQL(Database db, OlapTable table, Partition partition,
+                                           List<String> columnNames) {
+        StringBuilder builder = new StringBuilder(INSERT_PARTITION_STATISTIC_TEMPLATE).append(" ");
+
+        for (String name : columnNames) {
+            VelocityContext context = new VelocityContext();
+            Column column = table.getColumn(name);
+
+            context.put("dbId", db.getId());
+            context.put("tableId", table.getId());
+            context.put("partitionId", partition.getId());
+            context.put("partitionName", partition.getName());
+            context.put("columnName", name);
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
+            context.put("dataSize", getDataSize(column, false));
+
+            if (column.getType().isOnlyMetricType()) {
+                context.put("ndvFunction", "hll_empty()");
+                context.put("countNullFunction", "0");
+                context.put("maxFunction", "''");
+                context.put("minFunction", "''");
+            } else {
+                context.put("ndvFunction", "hll_union(hll_hash(`" + name + "`))");
+                context.put("countNullFunction", "COUNT(1) - COUNT(`" + name + "`)");
+                context.put("maxFunction", "IFNULL(MAX(`" + name + "`), '')");
+                context.put("minFunction", "IFNULL(MIN(`" + name + "`), '')");
+            }
+
+            StringWriter sw = new StringWriter();
+            DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", INSERT_SELECT_PARTITION_TEMPLATE);
+
+            builder.append(sw.toString());
+            builder.append(" UNION ALL ");
+        }
+
+        return builder.substring(0, builder.length() - "UNION ALL ".length());
+    }
+
+    private String buildMergePartitionInsertSQL(Database db, OlapTable table, List<String> columnNames,
+                                                Collection<Long> partitionIds) {
+        StringBuilder builder = new StringBuilder(INSERT_STATISTIC_TEMPLATE).append(" ");
+        String ids = partitionIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+
+        for (String name : columnNames) {
+            VelocityContext context = new VelocityContext();
+            Column column = table.getColumn(name);
+
+            context.put("dbId", db.getId());
+            context.put("tableId", table.getId());
+            context.put("columnName", name);
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
+            context.put("partitionIds", ids);
+
+            // max and min are saved as string, they must be compared with the column type
+            if (column.getType().isOnlyMetricType()) {
+                context.put("maxFunction", "''");
+                context.put("minFunction", "''");
+            } else if (column.getPrimitiveType().isCharFamily()) {
+                context.put("maxFunction", "IFNULL(MAX(NULLIF(`max`, '')), '')");
+                context.put("minFunction", "IFNULL(MIN(NULLIF(`min`, '')), '')");
+            } else {
+                String type;
+                if (column.getPrimitiveType() == PrimitiveType.DATE) {
+                    type = "DATE";
+                } else if (column.getPrimitiveType() == PrimitiveType.DATETIME) {
+                    type = "DATETIME";
+                } else {
+                    // only used as double by optimizer
+                    type = "DOUBLE";
+                }
+                context.put("maxFunction", "IFNULL(MAX(CAST(NULLIF(`max`, '') AS " + type + ")), '')");
+                context.put("minFunction", "IFNULL(MIN(CAST(NULLIF(`min`, '') AS " + type + ")), '')");
+            }
+
+            StringWriter sw = new StringWriter();
+            DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", INSERT_SELECT_MERGE_PARTITION_TEMPLATE);
+
+            builder.append(sw.toString());
+            builder.append(" UNION ALL ");
+        }
+
+        return builder.substring(0, builder.length() - "UNION ALL ".length());
+    }
+
+    private String buildMultiColumnInsertSQL(Long dbId, Long tableId, List<List<String>> columnGroups,
+                                             boolean isSample, long rows) {
+        Database db = Catalog.getCurrentCatalog().getDb(dbId);
+        OlapTable table = (OlapTable) db.getTable(tableId);
+
+        SampleTablets sampleTablets = isSample ? SampleTablets.of(table, rows) : null;
+        StringBuilder builder = new StringBuilder(INSERT_STATISTIC_TEMPLATE).append(" ");
+
+        for (List<String> group : columnGroups) {
+            VelocityContext context = new VelocityContext();
+            context.put("dbId", dbId);
+            context.put("tableId", tableId);
+            context.put("columnName", String.join(Constants.MULTI_COLUMN_SEPARATOR, group));
+            context.put("dbName", db.getFullName());
+            context.put("tableName", ClusterNamespace.getNameFromFullName(db.getFullName()) + "." + table.getName());
+            // hash the column values as one tuple, null is different from any other values
+            context.put("tupleFunction", "murmur_hash3_32(" + group.stream()
+                    .map(c -> "IFNULL(CAST(`" + c + "` AS VARCHAR), 'NULL')")
+                    .collect(Collectors.joining(", ")) + ")");
+
+            StringWriter sw = new StringWriter();
+            if (sampleTablets == null) {
+                DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", INSERT_SELECT_MULTI_COLUMN_FULL_TEMPLATE);
+            } else {
+                context.put("ratio", sampleTablets.ratio);
+                context.put("hints", sampleTablets.hints);
+                context.put("columns", group.stream().map(c -> "`" + c + "`").collect(Collectors.joining(", ")));
+                context.put("countDistinctFunction", buildSampleCountDistinctFunction(sampleTablets.totalRows));
+                DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", INSERT_SELECT_MULTI_COLUMN_SAMPLE_TEMPLATE);
+            }
+
+            builder.append(sw.toString());
+            builder.append(" UNION ALL ");
+        }
+
+        return builder.substring(0, builder.length() - "UNION ALL ".length());
+    }
+
+    private String buildSampleCountDistinctFunction(long totalRows) {
+        // From PostgreSQL and paper: ESTIMATING THE NUMBER OF CLASSES IN A FINITE POPULATION
+        // (http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.93.8637&rep=rep1&type=pdf)
+        // sample_row * count_distinct / ( sample_row - once_count + once_count * sample_row / total_row)
+        String sampleRows = "SUM(t1.count)";
+        String onceCount = "SUM(IF(t1.count = 1, 1, 0))";
+        String countDistinct = "COUNT(1)";
+
+        String fn = MessageFormat.format("{0} * {1} / ({0} - {2} + {2} * {0} / {3})", sampleRows,
+                countDistinct, onceCount, String.valueOf(totalRows));
+        return "IFNULL(" + fn + ", COUNT(1))";
+    }
+
+    private static class SampleTablets {
+        private long ratio;
+        private long totalRows;
+        private String hints;
+
+        // Return null if the table can't fill full sample rows
+        private static SampleTablets of(OlapTable table, long rows) {
+            long hitRows = 1;
+            long totalRows = 0;
+            long totalTablet = 0;
+            Set<String> randomTablets = Sets.newHashSet();
+            rows = Math.max(rows, 1);
+
+            // calculate the number of tablets by each partition
+            // simpleTabletNums = simpleRows / partitionNums / (actualPartitionRows / actualTabletNums)
+            long avgRowsPerPartition = rows / Math.max(table.getPartitions().size(), 1);
+
+            for (Partition p : table.getPartitions()) {
+                List<Long> ids = p.getBaseIndex().getTabletIdsInOrder();
+
+                if (ids.isEmpty()) {
+                    continue;
+                }
+
+                if (p.getBaseIndex().getRowCount() < (avgRowsPerPartition / 2)) {
+                    continue;
+                }
+
+                long avgRowsPerTablet = Math.max(p.getBaseIndex().getRowCount() / ids.size(), 1);
+                long tabletCounts = Math.max(avgRowsPerPartition / avgRowsPerTablet, 1);
+                tabletCounts = Math.min(tabletCounts, ids.size());
+
+                for (int i = 0; i < tabletCounts; i++) {
+                    randomTablets.add(String.valueOf(ids.get(i)));
+                }
+
+                hitRows += avgRowsPerTablet * tabletCounts;
+                totalRows += p.getBaseIndex().getRowCount();
+                totalTablet += ids.size();
+            }
+
+            long ratio = Math.max(totalRows / Math.min(hitRows, rows), 1);
+            // all hit, direct full
+            String hintTablets;
+            if (randomTablets.isEmpty() || totalRows < rows) {
+                return null;
+            } else if (randomTablets.size() == totalTablet) {
+                hintTablets = " LIMIT " + rows;
+            } else {
+                hintTablets = " Tablet(" + String.join(", ", randomTablets) + ")" + " LIMIT " + rows;
+            }
+
+            SampleTablets sampleTablets = new SampleTablets();
+            sampleTablets.ratio = ratio;
+            sampleTablets.totalRows = totalRows;
+            sampleTablets.hints = hintTablets;
+            return sampleTablets;
+        }
+    }
+
     private String getDataSize(Column column, boolean isSample) {
         if (column.getPrimitiveType().isCharFamily()) {
             if (isSample) {
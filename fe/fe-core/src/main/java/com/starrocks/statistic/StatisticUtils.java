@@ -48,6 +48,15 @@ public class StatisticUtils {
         }
     }
 
+    public static Table getPartitionStatisticsTable() {
+        Database db = Catalog.getCurrentCatalog().getDb(Constants.StatisticsDBName);
+        if (db != null) {
+            return db.getTable(Constants.PartitionStatisticsTableName);
+        } else {
+            return null;
+        }
+    }
+
     // check database in black list
     public static boolean statisticDatabaseBlackListCheck(String databaseName) {
         if (null == databaseName) {
@@ -13,6 +13,7 @@ import com.starrocks.analysis.HashDistributionDesc;
 import com.starrocks.analysis.KeysDesc;
 import com.starrocks.analysis.TableName;
 import com.starrocks.analysis.TypeDef;
+import com.starrocks.catalog.AggregateType;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.KeysType;
@@ -63,10 +64,35 @@ public class StatisticsMetaManager extends MasterDaemon {
                 new ColumnDef("min", new TypeDef(minType)),
                 new ColumnDef("update_time", new TypeDef(ScalarType.createType(PrimitiveType.DATETIME)))
         );
+
+        PARTITION_COLUMNS = ImmutableList.of(
+                new ColumnDef("table_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("partition_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                new ColumnDef("column_name", new TypeDef(columnNameType)),
+                new ColumnDef("db_id", new TypeDef(ScalarType.createType(PrimitiveType.BIGINT))),
+                replaceColumn("table_name", tableNameType),
+                replaceColumn("db_name", dbNameType),
+                replaceColumn("row_count", ScalarType.createType(PrimitiveType.BIGINT)),
+                replaceColumn("data_size", ScalarType.createType(PrimitiveType.BIGINT)),
+                new ColumnDef("ndv", new TypeDef(ScalarType.createHllType()), false, AggregateType.HLL_UNION,
+                        false, ColumnDef.DefaultValue.NOT_SET, ""),
+                replaceColumn("null_count", ScalarType.createType(PrimitiveType.BIGINT)),
+                replaceColumn("max", maxType),
+                replaceColumn("min", minType),
+                replaceColumn("update_time", ScalarType.createType(PrimitiveType.DATETIME))
+        );
     }
 
     private static final List<ColumnDef> COLUMNS;
 
+    // The ndv sketch is saved as HLL, which is only supported by the aggregate table
+    private static final List<ColumnDef> PARTITION_COLUMNS;
+
+    private static ColumnDef replaceColumn(String name, ScalarType type) {
+        return new ColumnDef(name, new TypeDef(type), false, AggregateType.REPLACE, false,
+                ColumnDef.DefaultValue.NOT_SET, "");
+    }
+
     public StatisticsMetaManager() {
         super("statistics meta manager", 60 * 1000);
     }
@@ -89,29 +115,43 @@ public class StatisticsMetaManager extends MasterDaemon {
         return checkDatabaseExist();
     }
 
-    private boolean checkTableExist() {
+    private boolean checkTableExist(String tableName) {
         Database db = Catalog.getCurrentCatalog().getDb(Constants.StatisticsDBName);
         Preconditions.checkState(db != null);
-        return db.getTable(Constants.StatisticsTableName) != null;
+        return db.getTable(tableName) != null;
     }
 
     private static final List<String> keyColumnNames = ImmutableList.of(
             "table_id", "column_name", "db_id"
     );
 
+    private static final List<String> partitionKeyColumnNames = ImmutableList.of(
+            "table_id", "partition_id", "column_name", "db_id"
+    );
+
     private boolean createTable() {
-        LOG.info("create statistics table start");
-        TableName tableName = new TableName(Constants.StatisticsDBName,
-                Constants.StatisticsTableName);
+        return createTable(Constants.StatisticsTableName, COLUMNS,
+                new KeysDesc(KeysType.UNIQUE_KEYS, keyColumnNames), keyColumnNames);
+    }
+
+    private boolean createPartitionTable() {
+        return createTable(Constants.PartitionStatisticsTableName, PARTITION_COLUMNS,
+                new KeysDesc(KeysType.AGG_KEYS, partitionKeyColumnNames), partitionKeyColumnNames);
+    }
+
+    private boolean createTable(String name, List<ColumnDef> columns, KeysDesc keysDesc,
+                                List<String> distributionColumns) {
+        LOG.info("create statistics table {} start", name);
+        TableName tableName = new TableName(Constants.StatisticsDBName, name);
         Map<String, String> properties = Maps.newHashMap();
         int defaultReplicationNum = Math.min(3,
                 Catalog.getCurrentSystemInfo().getBackendIds(true).size());
         properties.put(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM, Integer.toString(defaultReplicationNum));
         CreateTableStmt stmt = new CreateTableStmt(false, false,
-                tableName, COLUMNS, "olap",
-                new KeysDesc(KeysType.UNIQUE_KEYS, keyColumnNames),
+                tableName, columns, "olap",
+                keysDesc,
                 null,
-                new HashDistributionDesc(10, keyColumnNames),
+                new HashDistributionDesc(10, distributionColumns),
                 properties,
                 null,
                 "");
@@ -129,8 +169,8 @@ public class StatisticsMetaManager extends MasterDaemon {
             LOG.warn("Failed to create table" + e.getMessage());
             return false;
         }
-        LOG.info("create statistics table done");
-        return checkTableExist();
+        LOG.info("create statistics table {} done", name);
+        return checkTableExist(name);
     }
 
     private void trySleep(long millis) {
@@ -151,11 +191,17 @@ public class StatisticsMetaManager extends MasterDaemon {
             }
             trySleep(10000);
         }
-        while (!checkTableExist()) {
+        while (!checkTableExist(Constants.StatisticsTableName)) {
             if (createTable()) {
                 break;
             }
             trySleep(10000);
         }
+        while (!checkTableExist(Constants.PartitionStatisticsTableName)) {
+            if (createPartitionTable()) {
+                break;
+            }
+            trySleep(10000);
+        }
     }
 }
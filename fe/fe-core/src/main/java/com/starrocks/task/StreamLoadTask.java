@@ -226,6 +226,11 @@ public class StreamLoadTask {
     }
 
     public static StreamLoadTask fromRoutineLoadJob(RoutineLoadJob routineLoadJob) {
+        return fromRoutineLoadJob(routineLoadJob, routineLoadJob.getTableId());
+    }
+
+    // the task to load the given table, which is the table of job or one of its route tables
+    public static StreamLoadTask fromRoutineLoadJob(RoutineLoadJob routineLoadJob, long targetTableId) {
         TUniqueId dummyId = new TUniqueId();
         TFileFormatType fileFormatType = TFileFormatType.FORMAT_CSV_PLAIN;
         if (routineLoadJob.getFormat().equals("json")) {
@@ -233,20 +238,23 @@ public class StreamLoadTask {
         }
         StreamLoadTask streamLoadTask = new StreamLoadTask(dummyId, -1L /* dummy txn id*/,
                 TFileType.FILE_STREAM, fileFormatType);
-        streamLoadTask.setOptionalFromRoutineLoadJob(routineLoadJob);
+        streamLoadTask.setOptionalFromRoutineLoadJob(routineLoadJob, targetTableId);
         return streamLoadTask;
     }
 
-    private void setOptionalFromRoutineLoadJob(RoutineLoadJob routineLoadJob) {
+    private void setOptionalFromRoutineLoadJob(RoutineLoadJob routineLoadJob, long targetTableId) {
         // copy the columnExprDescs, cause it may be changed when planning.
         // so we keep the columnExprDescs in routine load job as origin.
         if (routineLoadJob.getColumnDescs() != null) {
             columnExprDescs = Lists.newArrayList(routineLoadJob.getColumnDescs());
         }
-        whereExpr = routineLoadJob.getWhereExpr();
+        whereExpr = routineLoadJob.getWhereExpr(targetTableId);
         columnSeparator = routineLoadJob.getColumnSeparator();
         rowDelimiter = routineLoadJob.getRowDelimiter();
-        partitions = routineLoadJob.getPartitions();
+        // the partitions belong to the table of job
+        if (targetTableId == routineLoadJob.getTableId()) {
+            partitions = routineLoadJob.getPartitions();
+        }
         strictMode = routineLoadJob.isStrictMode();
         timezone = routineLoadJob.getTimezone();
         timeout = (int) Config.routine_load_task_timeout_second;
@@ -691,7 +691,15 @@ public class DatabaseTransactionMgr {
                 writeUnlock();
             }
         }
-        db.writeLock();
+        // only the tables of the transaction are changed when it becomes visible
+        List<Table> tables = Lists.newArrayList();
+        for (long tableId : transactionState.getIdToTableCommitInfos().keySet()) {
+            Table table = db.getTable(tableId);
+            if (table != null) {
+                tables.add(table);
+            }
+        }
+        db.writeLockTables(tables);
         try {
             boolean hasError = false;
             for (TableCommitInfo tableCommitInfo : transactionState.getIdToTableCommitInfos().values()) {
@@ -831,7 +839,7 @@ public class DatabaseTransactionMgr {
             }
             updateCatalogAfterVisible(transactionState, db);
         } finally {
-            db.writeUnlock();
+            db.writeUnlockTables(tables);
         }
         LOG.info("finish transaction {} successfully", transactionState);
     }
@@ -25,6 +25,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.DuplicatedRequestException;
@@ -197,13 +198,26 @@ public class GlobalTransactionMgr implements Writable {
             throws UserException {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-        if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
-            throw new UserException("get database write lock timeout, database=" + db.getFullName());
-        }
-        try {
-            commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
-        } finally {
-            db.writeUnlock();
+        // only lock the tables of the transaction, so the loads of different tables are committed concurrently
+        List<Table> tables = getTransactionTables(db, transactionId);
+        if (tables == null) {
+            if (!db.tryWriteLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new UserException("get database write lock timeout, database=" + db.getFullName());
+            }
+            try {
+                commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
+            } finally {
+                db.writeUnlock();
+            }
+        } else {
+            if (!db.tryWriteLockTables(tables, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new UserException("get table write lock timeout, database=" + db.getFullName());
+            }
+            try {
+                commitTransaction(db.getId(), transactionId, tabletCommitInfos, txnCommitAttachment);
+            } finally {
+                db.writeUnlockTables(tables);
+            }
         }
         stopWatch.stop();
         long publishTimeoutMillis = timeoutMillis - stopWatch.getTime();
@@ -216,6 +230,23 @@ public class GlobalTransactionMgr implements Writable {
         return dbTransactionMgr.publishTransaction(db, transactionId, publishTimeoutMillis);
     }
 
+    // Return null if the tables of the transaction are unknown, then the whole database should be locked
+    private List<Table> getTransactionTables(Database db, long transactionId) {
+        TransactionState transactionState = getTransactionState(db.getId(), transactionId);
+        if (transactionState == null || transactionState.getTableIdList() == null
+                || transactionState.getTableIdList().isEmpty()) {
+            return null;
+        }
+        List<Table> tables = Lists.newArrayList();
+        for (long tableId : transactionState.getTableIdList()) {
+            Table table = db.getTable(tableId);
+            if (table != null) {
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+
     public void abortTransaction(long dbId, long transactionId, String reason) throws UserException {
         abortTransaction(dbId, transactionId, reason, null);
     }
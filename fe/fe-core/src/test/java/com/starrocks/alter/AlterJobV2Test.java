@@ -21,6 +21,7 @@
 
 package com.starrocks.alter;
 
+import com.google.common.collect.Lists;
 import com.starrocks.analysis.AlterTableStmt;
 import com.starrocks.analysis.ShowAlterStmt;
 import com.starrocks.catalog.Catalog;
@@ -40,6 +41,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -68,7 +70,11 @@ public class AlterJobV2Test {
                 .withTable(
                         "CREATE TABLE test.schema_change_test(k1 int, k2 int, k3 int) distributed by hash(k1) buckets 3 properties('replication_num' = '1');")
                 .withTable(
-                        "CREATE TABLE test.segmentv2(k1 int, k2 int, v1 int sum) distributed by hash(k1) buckets 3 properties('replication_num' = '1');");
+                        "CREATE TABLE test.segmentv2(k1 int, k2 int, v1 int sum) distributed by hash(k1) buckets 3 properties('replication_num' = '1');")
+                .withTable("CREATE TABLE test.priority_test(k1 date, k2 int) partition by range(k1) " +
+                        "(partition p3 values less than('2020-04-01'), partition p1 values less than('2020-02-01'), " +
+                        "partition p2 values less than('2020-03-01')) " +
+                        "distributed by hash(k2) buckets 1 properties('replication_num' = '1');");
     }
 
     @AfterClass
@@ -86,6 +92,31 @@ public class AlterJobV2Test {
         Assert.assertEquals(OlapTable.OlapTableState.NORMAL, tb.getState());
     }
 
+    @Test
+    public void testSortPartitionsByPriority() {
+        Database db = Catalog.getCurrentCatalog().getDb("default_cluster:test");
+        OlapTable tbl = (OlapTable) db.getTable("priority_test");
+        long p1 = tbl.getPartition("p1").getId();
+        long p2 = tbl.getPartition("p2").getId();
+        long p3 = tbl.getPartition("p3").getId();
+        // the partitions without range, e.g. dropped ones, come last
+        long unknown1 = Math.max(p1, Math.max(p2, p3)) + 1000;
+        long unknown2 = unknown1 + 1;
+
+        // the partition with larger upper bound comes first, regardless of the id
+        List<Long> sortedIds = AlterJobV2.sortPartitionsByPriority(tbl,
+                Lists.newArrayList(unknown1, p1, p3, unknown2, p2));
+        Assert.assertEquals(Lists.newArrayList(p3, p2, p1, unknown2, unknown1), sortedIds);
+        sortedIds = AlterJobV2.sortPartitionsByPriority(tbl,
+                Lists.newArrayList(p2, unknown2, p1, unknown1, p3));
+        Assert.assertEquals(Lists.newArrayList(p3, p2, p1, unknown2, unknown1), sortedIds);
+
+        // the partition created later comes first for the unpartitioned table
+        OlapTable unpartitionedTbl = (OlapTable) db.getTable("segmentv2");
+        sortedIds = AlterJobV2.sortPartitionsByPriority(unpartitionedTbl, Lists.newArrayList(2L, 3L, 1L));
+        Assert.assertEquals(Lists.newArrayList(3L, 2L, 1L), sortedIds);
+    }
+
     @Test
     public void testSchemaChange() throws Exception {
         // 1. process a schema change job
@@ -0,0 +1,175 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.alter;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Replica;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.common.Config;
+import com.starrocks.system.Backend;
+import com.starrocks.system.SystemInfoService;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TTaskType;
+import com.starrocks.task.AgentBatchTask;
+import com.starrocks.task.AgentTaskExecutor;
+import com.starrocks.task.AgentTaskQueue;
+import com.starrocks.task.AlterReplicaTask;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class AlterTaskSchedulerTest {
+    private final int tasksPerDisk = Config.alter_max_tasks_per_disk;
+    private final long throttleCompactionScore = Config.alter_throttle_compaction_score;
+
+    private TabletInvertedIndex invertedIndex;
+    private SystemInfoService systemInfo;
+
+    @Before
+    public void setUp() {
+        invertedIndex = new TabletInvertedIndex();
+        systemInfo = new SystemInfoService();
+        new MockUp<Catalog>() {
+            @Mock
+            public TabletInvertedIndex getCurrentInvertedIndex() {
+                return invertedIndex;
+            }
+
+            @Mock
+            public SystemInfoService getCurrentSystemInfo() {
+                return systemInfo;
+            }
+        };
+        new MockUp<AgentTaskExecutor>() {
+            @Mock
+            public void submit(AgentBatchTask task) {
+            }
+        };
+        AgentTaskQueue.clearAllTasks();
+    }
+
+    @After
+    public void tearDown() {
+        Config.alter_max_tasks_per_disk = tasksPerDisk;
+        Config.alter_throttle_compaction_score = throttleCompactionScore;
+        AgentTaskQueue.clearAllTasks();
+    }
+
+    private static List<AlterReplicaTask> createTasks(long jobId, long beId, int num) {
+        List<AlterReplicaTask> tasks = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            long tabletId = jobId * 1000 + beId * 100 + i;
+            tasks.add(new AlterReplicaTask(beId, 1L, 2L, 3L, 4L, 5L, tabletId, tabletId + 10000, tabletId, 1, 2,
+                    1L, 0L, jobId, AlterJobV2.JobType.SCHEMA_CHANGE));
+        }
+        return tasks;
+    }
+
+    // put the origin replica of the task on the disk of the path hash
+    private void addBaseReplica(AlterReplicaTask task, long pathHash) {
+        long baseTabletId = task.getBaseTabletId();
+        invertedIndex.addTablet(baseTabletId, new TabletMeta(1L, 2L, 3L, 4L, 1, TStorageMedium.HDD));
+        Replica replica = new Replica(baseTabletId, task.getBackendId(), 1, Replica.ReplicaState.NORMAL);
+        replica.setPathHash(pathHash);
+        invertedIndex.addReplica(baseTabletId, replica);
+    }
+
+    @Test
+    public void testScheduleByDisk() {
+        Config.alter_max_tasks_per_disk = 2;
+        AlterTaskScheduler scheduler = new AlterTaskScheduler();
+        List<AlterReplicaTask> job1Tasks = Lists.newArrayList();
+        job1Tasks.addAll(createTasks(1, 1, 3));
+        job1Tasks.addAll(createTasks(1, 2, 1));
+        List<AlterReplicaTask> job2Tasks = createTasks(2, 1, 2);
+        scheduler.submitTasks(job1Tasks);
+        scheduler.submitTasks(job2Tasks);
+
+        scheduler.schedule();
+        Assert.assertEquals(3, scheduler.getRunningTaskNum());
+        Assert.assertEquals(3, scheduler.getPendingTaskNum());
+        Assert.assertEquals(3, AgentTaskQueue.getTaskNum());
+        // no free slot
+        scheduler.schedule();
+        Assert.assertEquals(3, scheduler.getRunningTaskNum());
+
+        // the remaining task of job 1 is sent before the tasks of job 2
+        job1Tasks.get(0).setFinished(true);
+        scheduler.schedule();
+        Assert.assertEquals(3, scheduler.getRunningTaskNum());
+        Assert.assertEquals(2, scheduler.getPendingTaskNum());
+        AlterReplicaTask task = job1Tasks.get(2);
+        Assert.assertNotNull(AgentTaskQueue.getTask(1, task.getTaskType(), task.getSignature()));
+
+        scheduler.removeTasks(2);
+        Assert.assertEquals(0, scheduler.getPendingTaskNum());
+        Assert.assertEquals(3, scheduler.getRunningTaskNum());
+    }
+
+    @Test
+    public void testScheduleByPathHash() {
+        Config.alter_max_tasks_per_disk = 1;
+        AlterTaskScheduler scheduler = new AlterTaskScheduler();
+        // 2 tasks on each of the 2 disks of backend 1
+        List<AlterReplicaTask> tasks = createTasks(1, 1, 4);
+        addBaseReplica(tasks.get(0), 11L);
+        addBaseReplica(tasks.get(1), 11L);
+        addBaseReplica(tasks.get(2), 12L);
+        addBaseReplica(tasks.get(3), 12L);
+        scheduler.submitTasks(tasks);
+
+        // one task of each disk is sent
+        scheduler.schedule();
+        Assert.assertEquals(2, scheduler.getRunningTaskNum());
+        Assert.assertEquals(2, scheduler.getPendingTaskNum());
+        for (int i = 0; i < tasks.size(); i++) {
+            AlterReplicaTask task = tasks.get(i);
+            boolean sent = AgentTaskQueue.getTask(1, task.getTaskType(), task.getSignature()) != null;
+            Assert.assertEquals(i == 0 || i == 2, sent);
+        }
+
+        // the slot freed on disk 12 is not taken by the task of disk 11
+        tasks.get(2).setFinished(true);
+        scheduler.schedule();
+        Assert.assertEquals(2, scheduler.getRunningTaskNum());
+        Assert.assertEquals(1, scheduler.getPendingTaskNum());
+        AlterReplicaTask task = tasks.get(3);
+        Assert.assertNotNull(AgentTaskQueue.getTask(1, task.getTaskType(), task.getSignature()));
+        task = tasks.get(1);
+        Assert.assertNull(AgentTaskQueue.getTask(1, task.getTaskType(), task.getSignature()));
+    }
+
+    @Test
+    public void testThrottleByCompactionScore() {
+        Config.alter_max_tasks_per_disk = 4;
+        Config.alter_throttle_compaction_score = 500;
+        Backend busyBackend = new Backend(1, "127.0.0.1", 9050);
+        busyBackend.setTabletMaxCompactionScore(501);
+        systemInfo.addBackend(busyBackend);
+        Backend idleBackend = new Backend(2, "127.0.0.2", 9050);
+        idleBackend.setTabletMaxCompactionScore(500);
+        systemInfo.addBackend(idleBackend);
+
+        AlterTaskScheduler scheduler = new AlterTaskScheduler();
+        scheduler.submitTasks(createTasks(1, 1, 4));
+        scheduler.submitTasks(createTasks(1, 2, 4));
+        scheduler.schedule();
+        // the busy backend gets half of the slots
+        Assert.assertEquals(6, scheduler.getRunningTaskNum());
+        Assert.assertEquals(2, AgentTaskQueue.getTaskNum(1, TTaskType.ALTER, false));
+        Assert.assertEquals(4, AgentTaskQueue.getTaskNum(2, TTaskType.ALTER, false));
+
+        // no throttle if disabled
+        Config.alter_throttle_compaction_score = 0;
+        scheduler.schedule();
+        Assert.assertEquals(8, scheduler.getRunningTaskNum());
+        Assert.assertEquals(0, scheduler.getPendingTaskNum());
+    }
+}
@@ -27,6 +27,7 @@ import com.starrocks.analysis.AlterTableStmt;
 import com.starrocks.analysis.CreateTableStmt;
 import com.starrocks.analysis.DateLiteral;
 import com.starrocks.analysis.DropTableStmt;
+import com.starrocks.analysis.StatementBase;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.DataProperty;
 import com.starrocks.catalog.Database;
@@ -40,7 +41,10 @@ import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.util.TimeUtils;
+import com.starrocks.planner.OlapTableSink;
 import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
@@ -298,6 +302,39 @@ public class AlterTest {
         alterTable(stmt, false);
     }
 
+    @Test
+    public void testWidenVarcharColumn() throws Exception {
+        createTable("CREATE TABLE test.tbl_widen_varchar\n" +
+                "(\n" +
+                "    k1 int,\n" +
+                "    v1 varchar(10)\n" +
+                ")\n" +
+                "DUPLICATE KEY(k1)\n" +
+                "DISTRIBUTED BY HASH(k1) BUCKETS 3\n" +
+                "PROPERTIES('replication_num' = '1');");
+        Database db = Catalog.getCurrentCatalog().getDb("default_cluster:test");
+        OlapTable tbl = (OlapTable) db.getTable("tbl_widen_varchar");
+        int oldSchemaHash = tbl.getSchemaHashByIndexId(tbl.getBaseIndexId());
+
+        alterTable("alter table test.tbl_widen_varchar modify column v1 varchar(20)", false);
+        waitSchemaChangeJobDone(false, tbl);
+
+        // the BE sizes the column buffers by the tablet schema, so the widen must create new tablets
+        for (AlterJobV2 alterJob : Catalog.getCurrentCatalog().getSchemaChangeHandler().getAlterJobsV2().values()) {
+            if (alterJob.getTableId() == tbl.getId()) {
+                Assert.assertFalse(((SchemaChangeJobV2) alterJob).isMetadataOnly());
+            }
+        }
+        Assert.assertNotEquals(oldSchemaHash, tbl.getSchemaHashByIndexId(tbl.getBaseIndexId()));
+        Assert.assertEquals(20, tbl.getColumn("v1").getStrLen());
+
+        // load a value longer than the old length
+        String sql = "insert into test.tbl_widen_varchar values(1, '0123456789abcdef')";
+        StatementBase stmt = UtFrameUtils.parseStmtWithNewAnalyzer(sql, connectContext);
+        ExecPlan execPlan = new StatementPlanner().plan(stmt, connectContext);
+        Assert.assertTrue(execPlan.getFragments().get(0).getSink() instanceof OlapTableSink);
+    }
+
     // test batch update range partitions' properties
     @Test
     public void testBatchUpdatePartitionProperties() throws Exception {
@@ -607,6 +644,54 @@ public class AlterTest {
 
     }
 
+    @Test
+    public void testCatalogAddPartitionsInBatches() throws Exception {
+        ConnectContext ctx = starRocksAssert.getCtx();
+        String createSQL = "CREATE TABLE test.test_partition (\n" +
+                "      k2 DATE,\n" +
+                "      k3 SMALLINT,\n" +
+                "      v1 VARCHAR(2048)\n" +
+                ")\n" +
+                "ENGINE=olap\n" +
+                "DUPLICATE KEY(k2, k3)\n" +
+                "PARTITION BY RANGE (k2) (\n" +
+                ")\n" +
+                "DISTRIBUTED BY HASH(k2) BUCKETS 3\n" +
+                "PROPERTIES (\n" +
+                "    \"replication_num\" = \"1\"\n" +
+                ")";
+
+        CreateTableStmt createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(createSQL, ctx);
+        Catalog.getCurrentCatalog().createTable(createTableStmt);
+        Database db = Catalog.getCurrentCatalog().getDb("default_cluster:test");
+
+        int batchSize = Config.max_partitions_per_create_batch;
+        // 8 partitions are created in 3 batches
+        Config.max_partitions_per_create_batch = 3;
+        try {
+            String alterSQL = "ALTER TABLE test_partition ADD\n" +
+                    "    PARTITIONS START (\"2017-01-01\") END (\"2017-01-09\") EVERY (interval 1 day)";
+            AlterTableStmt alterTableStmt = (AlterTableStmt) UtFrameUtils.parseAndAnalyzeStmt(alterSQL, ctx);
+            AddPartitionClause addPartitionClause = (AddPartitionClause) alterTableStmt.getOps().get(0);
+            Catalog.getCurrentCatalog().addPartitions(db, "test_partition", addPartitionClause);
+        } finally {
+            Config.max_partitions_per_create_batch = batchSize;
+        }
+
+        OlapTable table = (OlapTable) Catalog.getCurrentCatalog().getDb("default_cluster:test")
+                .getTable("test_partition");
+        Assert.assertEquals(8, table.getPartitions().size());
+        for (int day = 1; day <= 8; day++) {
+            Partition partition = table.getPartition("p2017010" + day);
+            Assert.assertNotNull(partition);
+            Assert.assertEquals(3, partition.getBaseIndex().getTablets().size());
+        }
+
+        String dropSQL = "drop table test_partition";
+        DropTableStmt dropTableStmt = (DropTableStmt) UtFrameUtils.parseAndAnalyzeStmt(dropSQL, ctx);
+        Catalog.getCurrentCatalog().dropTable(dropTableStmt);
+    }
+
     @Test
     public void testCatalogAddPartitions5Day() throws Exception {
         ConnectContext ctx = starRocksAssert.getCtx();
@@ -21,18 +21,25 @@
 
 package com.starrocks.alter;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.starrocks.alter.SchemaChangeJobV2.SchemaChangeType;
 import com.starrocks.analysis.ColumnPosition;
+import com.starrocks.catalog.AggregateType;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.KeysType;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.ScalarType;
+import com.starrocks.catalog.Type;
 import com.starrocks.common.jmockit.Deencapsulation;
 import mockit.Expectations;
 import mockit.Injectable;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+
 public class SchemaChangeHandlerTest {
 
     @Test
@@ -62,4 +69,63 @@ public class SchemaChangeHandlerTest {
         }
 
     }
+
+    private static Column keyColumn(String name, Type type) {
+        return new Column(name, type, true, null, "", "");
+    }
+
+    private static Column valueColumn(String name, Type type) {
+        return new Column(name, type, false, AggregateType.NONE, true, null, "");
+    }
+
+    @Test
+    public void testGetSchemaChangeType() {
+        List<Column> originSchema = Lists.newArrayList(keyColumn("k1", Type.INT), keyColumn("k2", Type.INT),
+                valueColumn("v1", ScalarType.createVarcharType(10)), valueColumn("v2", Type.INT));
+        short shortKeyCount = 2;
+
+        // change the comment of a column
+        List<Column> alterSchema = Lists.newArrayList(originSchema);
+        Column commentedColumn = valueColumn(SchemaChangeHandler.SHADOW_NAME_PRFIX + "v1",
+                ScalarType.createVarcharType(10));
+        commentedColumn.setComment("new comment");
+        alterSchema.set(2, commentedColumn);
+        Assert.assertEquals(SchemaChangeType.METADATA_ONLY, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+        // widen a varchar value column, the data is rewritten with the new tablet schema on backends
+        alterSchema.set(2, valueColumn(SchemaChangeHandler.SHADOW_NAME_PRFIX + "v1", ScalarType.createVarcharType(20)));
+        Assert.assertEquals(SchemaChangeType.DIRECT, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+        // narrow a varchar value column
+        alterSchema.set(2, valueColumn(SchemaChangeHandler.SHADOW_NAME_PRFIX + "v1", ScalarType.createVarcharType(5)));
+        Assert.assertEquals(SchemaChangeType.DIRECT, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+
+        // add a value column
+        alterSchema = Lists.newArrayList(originSchema);
+        alterSchema.add(valueColumn("v3", Type.BIGINT));
+        Assert.assertEquals(SchemaChangeType.LINKED, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+        // drop a value column
+        alterSchema = Lists.newArrayList(originSchema);
+        alterSchema.remove(3);
+        Assert.assertEquals(SchemaChangeType.LINKED, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+
+        // change the type of a value column
+        alterSchema = Lists.newArrayList(originSchema);
+        alterSchema.set(3, valueColumn(SchemaChangeHandler.SHADOW_NAME_PRFIX + "v2", Type.BIGINT));
+        Assert.assertEquals(SchemaChangeType.DIRECT, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+
+        // reorder the key columns
+        alterSchema = Lists.newArrayList(originSchema.get(1), originSchema.get(0), originSchema.get(2),
+                originSchema.get(3));
+        Assert.assertEquals(SchemaChangeType.SORTING, SchemaChangeHandler.getSchemaChangeType(KeysType.DUP_KEYS,
+                originSchema, shortKeyCount, alterSchema, shortKeyCount));
+        // drop a key column of aggregate table
+        alterSchema = Lists.newArrayList(originSchema.get(0), originSchema.get(2), originSchema.get(3));
+        Assert.assertEquals(SchemaChangeType.SORTING, SchemaChangeHandler.getSchemaChangeType(KeysType.AGG_KEYS,
+                originSchema, shortKeyCount, alterSchema, (short) 1));
+    }
 }
@@ -228,6 +228,23 @@ public class CreateRoutineLoadStmtTest {
         Assert.assertEquals(11, (long) partitionOffsets.get(2).second);
     }
 
+    @Test
+    public void testParseRouteTables() throws AnalysisException {
+        Map<String, String> routeTables = CreateRoutineLoadStmt.parseRouteTables("click:t1, a:b:t2");
+        Assert.assertEquals(2, routeTables.size());
+        Assert.assertEquals("t1", routeTables.get("click"));
+        Assert.assertEquals("t2", routeTables.get("a:b"));
+
+        for (String invalid : new String[] {"click", "click:", ":t1", "click:t1,click:t2"}) {
+            try {
+                CreateRoutineLoadStmt.parseRouteTables(invalid);
+                Assert.fail(invalid);
+            } catch (AnalysisException e) {
+                // expected
+            }
+        }
+    }
+
     private Map<String, String> getCustomProperties() {
         Map<String, String> customProperties = Maps.newHashMap();
         customProperties.put(CreateRoutineLoadStmt.KAFKA_TOPIC_PROPERTY, "topic1");
@@ -224,7 +224,7 @@ public class BackupHandlerTest {
 
                 BackupJobInfo info = BackupJobInfo.fromCatalog(System.currentTimeMillis(),
                         "ss2", CatalogMocker.TEST_DB_NAME,
-                        CatalogMocker.TEST_DB_ID, tbls, snapshotInfos);
+                        CatalogMocker.TEST_DB_ID, tbls, snapshotInfos, null);
                 infos.add(info);
                 return Status.OK;
             }
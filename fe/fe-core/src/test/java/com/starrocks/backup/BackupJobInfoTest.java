@@ -184,4 +184,28 @@ public class BackupJobInfoTest {
             tmpFile.delete();
         }
     }
+
+    @Test
+    public void testTabletPath() throws IOException {
+        BackupJobInfo jobInfo = BackupJobInfo.fromFile(fileName);
+        // tablet 10008 is saved by an incremental backup
+        String incPath = BackupJobInfo.getIncrementalFilePath(10000L, 10001L, 10007L, 10009L, 10008L, 1522231865000L);
+        Assert.assertEquals("__db_10000/__tbl_10001/__part_10007/__idx_10009/__inc_1522231865000/__10008", incPath);
+        jobInfo.getTableInfo("table1").getPartInfo("partition2").getIdx("rollup1").getTablet(10008L).path = incPath;
+
+        File tmpFile = new File("./tmp_path");
+        try {
+            jobInfo.writeToFile(tmpFile);
+            BackupJobInfo newInfo = BackupJobInfo.fromFile(tmpFile.getAbsolutePath());
+            Assert.assertEquals(incPath, newInfo.getTabletInfo(10001L, 10007L, 10009L, 10008L).path);
+            Assert.assertNull(newInfo.getTabletInfo(10001L, 10007L, 10009L, 10007L).path);
+
+            Assert.assertEquals(incPath,
+                    newInfo.getFilePath(new RestoreFileMapping.IdChain(10001L, 10007L, 10009L, 10008L, -1L)));
+            Assert.assertEquals("__db_10000/__tbl_10001/__part_10007/__idx_10009/__10007",
+                    newInfo.getFilePath(new RestoreFileMapping.IdChain(10001L, 10007L, 10009L, 10007L, -1L)));
+        } finally {
+            tmpFile.delete();
+        }
+    }
 }
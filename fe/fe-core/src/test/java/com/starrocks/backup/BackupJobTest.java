@@ -29,7 +29,11 @@ import com.starrocks.backup.BackupJob.BackupJobState;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.FsBroker;
+import com.starrocks.catalog.KeysType;
+import com.starrocks.catalog.MaterializedIndex.IndexExtState;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.jmockit.Deencapsulation;
@@ -45,6 +49,7 @@ import com.starrocks.thrift.TBackend;
 import com.starrocks.thrift.TFinishTaskRequest;
 import com.starrocks.thrift.TStatus;
 import com.starrocks.thrift.TStatusCode;
+import com.starrocks.thrift.TStorageType;
 import com.starrocks.thrift.TTaskType;
 import mockit.Delegate;
 import mockit.Expectations;
@@ -343,4 +348,59 @@ public class BackupJobTest {
         Assert.assertEquals(Status.ErrCode.NOT_FOUND, job.getStatus().getErrCode());
         Assert.assertEquals(BackupJobState.CANCELLED, job.getState());
     }
+
+    private BackupMeta copyMeta(OlapTable tbl) {
+        List<Table> tables = Lists.newArrayList();
+        tables.add(tbl.selectiveCopy(null, true, IndexExtState.VISIBLE));
+        return new BackupMeta(tables);
+    }
+
+    @Test
+    public void testCompatibleWithBaseBackup() {
+        OlapTable tbl = (OlapTable) db.getTable(tblId);
+        BackupMeta baseMeta = copyMeta(tbl);
+        Assert.assertTrue(copyMeta(tbl).compatibleWith(baseMeta));
+
+        // the tablets of the base backup can not be restored with the new schema
+        OlapTable schemaChangedTbl = (OlapTable) copyMeta(tbl).getTable(UnitTestUtil.TABLE_NAME);
+        schemaChangedTbl.setIndexMeta(idxId, UnitTestUtil.TABLE_NAME, tbl.getBaseSchema(), 1,
+                UnitTestUtil.SCHEMA_HASH + 1, (short) 1, TStorageType.COLUMN, KeysType.AGG_KEYS);
+        List<Table> tables = Lists.newArrayList();
+        tables.add(schemaChangedTbl);
+        Assert.assertFalse(new BackupMeta(tables).compatibleWith(baseMeta));
+        Assert.assertFalse(baseMeta.compatibleWith(new BackupMeta(tables)));
+
+        // the table of the base backup is dropped
+        Assert.assertFalse(new BackupMeta(Lists.newArrayList()).compatibleWith(baseMeta));
+    }
+
+    @Test
+    public void testSkipUnchangedPartitionOfIncrementalBackup() {
+        AgentTaskQueue.clearAllTasks();
+        OlapTable tbl = (OlapTable) db.getTable(tblId);
+        Partition partition = tbl.getPartition(partId);
+        Map<Long, SnapshotInfo> snapshotInfos = Maps.newHashMap();
+        snapshotInfos.put(tabletId, new SnapshotInfo(dbId, tblId, partId, idxId, tabletId, backendId,
+                UnitTestUtil.SCHEMA_HASH, "/path/to/snapshot", Lists.newArrayList("1.dat", "1.hdr")));
+        List<Table> tables = Lists.newArrayList();
+        tables.add(tbl);
+        BackupJobInfo baseJobInfo = BackupJobInfo.fromCatalog(System.currentTimeMillis(), "label",
+                UnitTestUtil.DB_NAME, dbId, tables, snapshotInfos, null);
+        // not an incremental backup
+        Assert.assertFalse(Deencapsulation.invoke(job, "isUnchangedSinceBaseBackup", tbl, partition));
+
+        job.setBaseTimestamp("2021-01-01-00-00-00-000");
+        Deencapsulation.setField(job, "baseJobInfo", baseJobInfo);
+        Assert.assertTrue(Deencapsulation.invoke(job, "isUnchangedSinceBaseBackup", tbl, partition));
+
+        // no snapshot of the unchanged partition
+        job.run();
+        Assert.assertEquals(Status.OK, job.getStatus());
+        Assert.assertEquals(BackupJobState.SNAPSHOTING, job.getState());
+        Assert.assertEquals(0, AgentTaskQueue.getTaskNum());
+
+        // the partition is loaded after the base backup
+        partition.updateVisibleVersionAndVersionHash(version + 1, versionHash + 1);
+        Assert.assertFalse(Deencapsulation.invoke(job, "isUnchangedSinceBaseBackup", tbl, partition));
+    }
 }
@@ -27,6 +27,8 @@ import com.starrocks.analysis.ShowRepositoriesStmt;
 import com.starrocks.catalog.BrokerMgr;
 import com.starrocks.catalog.FsBroker;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.FeConstants;
+import com.starrocks.common.util.TimeUtils;
 import com.starrocks.service.FrontendOptions;
 import mockit.Delegate;
 import mockit.Expectations;
@@ -45,7 +47,10 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -265,6 +270,105 @@ public class RepositoryTest {
         }
     }
 
+    @Test
+    public void testGetMetaOfIncrementalBackup() throws IOException {
+        // remote file path -> content
+        Map<String, byte[]> remoteFiles = Maps.newHashMap();
+        List<String> downloadedFiles = Lists.newArrayList();
+        new Expectations() {
+            {
+                storage.upload(anyString, anyString);
+                minTimes = 0;
+                result = new Delegate() {
+                    public Status upload(String localPath, String remotePath) throws IOException {
+                        remoteFiles.put(remotePath, Files.readAllBytes(Paths.get(localPath)));
+                        return Status.OK;
+                    }
+                };
+
+                storage.rename(anyString, anyString);
+                minTimes = 0;
+                result = new Delegate() {
+                    public Status rename(String origFilePath, String destFilePath) {
+                        remoteFiles.put(destFilePath, remoteFiles.remove(origFilePath));
+                        return Status.OK;
+                    }
+                };
+
+                storage.delete(anyString);
+                minTimes = 0;
+                result = new Delegate() {
+                    public Status delete(String remotePath) {
+                        remoteFiles.remove(remotePath);
+                        return Status.OK;
+                    }
+                };
+
+                storage.list(anyString, (List<RemoteFile>) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    public Status list(String remotePath, List<RemoteFile> result) {
+                        String prefix = remotePath.substring(0, remotePath.length() - 1);
+                        for (Map.Entry<String, byte[]> entry : remoteFiles.entrySet()) {
+                            if (entry.getKey().startsWith(prefix)) {
+                                String fileName = entry.getKey().substring(entry.getKey().lastIndexOf("/") + 1);
+                                result.add(new RemoteFile(fileName, true, entry.getValue().length));
+                            }
+                        }
+                        return Status.OK;
+                    }
+                };
+
+                storage.downloadWithFileSize(anyString, anyString, anyLong);
+                minTimes = 0;
+                result = new Delegate() {
+                    public Status downloadWithFileSize(String remoteFilePath, String localFilePath, long fileSize)
+                            throws IOException {
+                        downloadedFiles.add(remoteFilePath);
+                        Files.write(Paths.get(localFilePath), remoteFiles.get(remoteFilePath));
+                        return Status.OK;
+                    }
+                };
+            }
+        };
+
+        repo = new Repository(10000, "repo", false, location, storage);
+        String label = "label";
+        long baseCreateTime = Timestamp.valueOf("2018-04-12 20:46:45").getTime();
+        long incCreateTime = Timestamp.valueOf("2018-04-13 20:46:45").getTime();
+        String baseTimestamp = TimeUtils.longToTimeString(baseCreateTime,
+                new SimpleDateFormat(BackupJob.TIMESTAMP_FORMAT));
+        String incTimestamp = TimeUtils.longToTimeString(incCreateTime,
+                new SimpleDateFormat(BackupJob.TIMESTAMP_FORMAT));
+        String metaOfFullBackup = repo.assembleMetaInfoFilePath(label, -1);
+        String metaOfIncBackup = repo.assembleMetaInfoFilePath(label, incCreateTime);
+        Assert.assertEquals(metaOfFullBackup + "_" + incTimestamp, metaOfIncBackup);
+
+        File localMetaFile = new File("./meta_" + System.currentTimeMillis());
+        try {
+            new BackupMeta(Lists.newArrayList()).writeToFile(localMetaFile);
+            // full backup, and then an incremental backup of the same snapshot
+            Assert.assertTrue(repo.upload(localMetaFile.getPath(), metaOfFullBackup).ok());
+            Assert.assertTrue(repo.upload(localMetaFile.getPath(), metaOfIncBackup).ok());
+        } finally {
+            localMetaFile.delete();
+        }
+        Assert.assertEquals(2, remoteFiles.size());
+
+        int metaVersion = FeConstants.meta_version;
+        int starrocksMetaVersion = FeConstants.starrocks_meta_version;
+        List<BackupMeta> backupMetas = Lists.newArrayList();
+        Status st = repo.getSnapshotMetaFile(label, incTimestamp, backupMetas, metaVersion, starrocksMetaVersion);
+        Assert.assertTrue(st.getErrMsg(), st.ok());
+        Assert.assertEquals(1, backupMetas.size());
+        Assert.assertTrue(downloadedFiles.get(0).startsWith(metaOfIncBackup + "."));
+
+        st = repo.getSnapshotMetaFile(label, baseTimestamp, backupMetas, metaVersion, starrocksMetaVersion);
+        Assert.assertTrue(st.getErrMsg(), st.ok());
+        Assert.assertEquals(2, backupMetas.size());
+        Assert.assertTrue(downloadedFiles.get(1).startsWith(metaOfFullBackup + "."));
+    }
+
     @Test
     public void testGetInfo() {
         repo = new Repository(10000, "repo", false, location, storage);
@@ -37,12 +37,15 @@ import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Tablet;
 import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
 import com.starrocks.common.MarkedCountDownLatch;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.persist.EditLog;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.task.AgentBatchTask;
 import com.starrocks.task.AgentTask;
+import com.starrocks.task.AgentTaskExecutor;
 import com.starrocks.task.AgentTaskQueue;
 import com.starrocks.task.DirMoveTask;
 import com.starrocks.task.DownloadTask;
@@ -193,10 +196,11 @@ public class RestoreJobTest {
                 minTimes = 0;
 
                 List<BackupMeta> backupMetas = Lists.newArrayList();
-                repo.getSnapshotMetaFile(label, backupMetas, -1, -1);
+                repo.getSnapshotMetaFile(label, anyString, backupMetas, -1, -1);
                 minTimes = 0;
                 result = new Delegate() {
-                    public Status getSnapshotMetaFile(String label, List<BackupMeta> backupMetas) {
+                    public Status getSnapshotMetaFile(String label, String backupTimestamp,
+                                                      List<BackupMeta> backupMetas) {
                         backupMetas.add(backupMeta);
                         return Status.OK;
                     }
@@ -367,6 +371,55 @@ public class RestoreJobTest {
         Assert.assertEquals(RestoreJobState.FINISHED, job.getState());
     }
 
+    @Test
+    public void testRetryUnfinishedTabletOfFailedDownload() {
+        new MockUp<AgentTaskExecutor>() {
+            @Mock
+            public void submit(AgentBatchTask task) {
+            }
+        };
+        int tasksPerDisk = Config.max_backup_restore_transfer_tasks_per_disk;
+        Config.max_backup_restore_transfer_tasks_per_disk = 1;
+        AgentTaskQueue.clearAllTasks();
+        try {
+            // tablet 1 and tablet 2 are downloaded in one task
+            List<SnapshotTransferScheduler.TransferUnit> units = Lists.newArrayList();
+            units.add(new SnapshotTransferScheduler.TransferUnit(1L, CatalogMocker.BACKEND1_ID, 1L,
+                    "remote/1", "local/1", 3));
+            units.add(new SnapshotTransferScheduler.TransferUnit(2L, CatalogMocker.BACKEND1_ID, 1L,
+                    "remote/2", "local/2", 3));
+            Deencapsulation.setField(job, "transferScheduler", new SnapshotTransferScheduler(units));
+            Deencapsulation.setField(job, "state", RestoreJobState.DOWNLOADING);
+
+            job.run();
+            List<AgentTask> tasks = AgentTaskQueue.getTask(TTaskType.DOWNLOAD);
+            Assert.assertEquals(1, tasks.size());
+            DownloadTask task = (DownloadTask) tasks.get(0);
+            Assert.assertEquals(2, task.getSrcToDestPath().size());
+
+            // the task fails after tablet 1 is downloaded
+            TFinishTaskRequest request = new TFinishTaskRequest(new TBackend("", 0, 1), TTaskType.DOWNLOAD,
+                    task.getSignature(), new TStatus(TStatusCode.INTERNAL_ERROR));
+            request.getTask_status().setError_msgs(Lists.newArrayList("download failed"));
+            request.setDownloaded_tablet_ids(Lists.newArrayList(1L));
+            Assert.assertTrue(job.finishTabletDownloadTask(task, request));
+            Assert.assertEquals(Status.OK, job.getStatus());
+
+            // only tablet 2 is sent again
+            AgentTaskQueue.clearAllTasks();
+            job.run();
+            Assert.assertEquals(RestoreJobState.DOWNLOADING, job.getState());
+            tasks = AgentTaskQueue.getTask(TTaskType.DOWNLOAD);
+            Assert.assertEquals(1, tasks.size());
+            task = (DownloadTask) tasks.get(0);
+            Assert.assertEquals(1, task.getSrcToDestPath().size());
+            Assert.assertEquals("local/2", task.getSrcToDestPath().get("remote/2"));
+        } finally {
+            Config.max_backup_restore_transfer_tasks_per_disk = tasksPerDisk;
+            AgentTaskQueue.clearAllTasks();
+        }
+    }
+
     @Test
     public void testSignature() {
         Adler32 sig1 = new Adler32();
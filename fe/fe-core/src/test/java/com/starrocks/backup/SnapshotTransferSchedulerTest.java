@@ -0,0 +1,101 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.backup;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.FsBroker;
+import com.starrocks.common.Config;
+import com.starrocks.task.AgentTask;
+import com.starrocks.task.UploadTask;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnapshotTransferSchedulerTest {
+    private final int tasksPerDisk = Config.max_backup_restore_transfer_tasks_per_disk;
+    private final int filesPerTask = Config.max_backup_restore_transfer_files_per_task;
+    private final int retryTimes = Config.max_backup_restore_transfer_retry_times;
+
+    private final AtomicLong signature = new AtomicLong(0);
+    private final SnapshotTransferScheduler.TaskCreator creator = (beId, srcToDest) -> new UploadTask(null, beId,
+            signature.incrementAndGet(), 1L, 1L, srcToDest, new FsBroker(), new HashMap<>());
+
+    @After
+    public void tearDown() {
+        Config.max_backup_restore_transfer_tasks_per_disk = tasksPerDisk;
+        Config.max_backup_restore_transfer_files_per_task = filesPerTask;
+        Config.max_backup_restore_transfer_retry_times = retryTimes;
+    }
+
+    private static List<SnapshotTransferScheduler.TransferUnit> createUnits(long beId, long pathHash, int num,
+                                                                           int fileNum) {
+        List<SnapshotTransferScheduler.TransferUnit> units = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            long tabletId = beId * 1000 + pathHash * 100 + i;
+            units.add(new SnapshotTransferScheduler.TransferUnit(tabletId, beId, pathHash, "src/" + tabletId,
+                    "dest/" + tabletId, fileNum));
+        }
+        return units;
+    }
+
+    @Test
+    public void testScheduleByDisk() {
+        Config.max_backup_restore_transfer_tasks_per_disk = 2;
+        Config.max_backup_restore_transfer_files_per_task = 10;
+        List<SnapshotTransferScheduler.TransferUnit> units = Lists.newArrayList();
+        // 2 disks of be 1, each has 40 files which are packed into 4 tasks
+        units.addAll(createUnits(1, 1, 8, 5));
+        units.addAll(createUnits(1, 2, 8, 5));
+        // the small disk still uses all the running slots
+        units.addAll(createUnits(2, 1, 3, 1));
+        SnapshotTransferScheduler scheduler = new SnapshotTransferScheduler(units);
+
+        List<AgentTask> tasks = scheduler.schedule(creator);
+        Assert.assertEquals(6, tasks.size());
+        // no free slot
+        Assert.assertTrue(scheduler.schedule(creator).isEmpty());
+
+        int finishedTaskNum = 0;
+        while (!tasks.isEmpty()) {
+            for (AgentTask task : tasks) {
+                Assert.assertTrue(((UploadTask) task).getSrcToDestPath().size() <= 2);
+                scheduler.finishTask(task.getSignature());
+                finishedTaskNum++;
+            }
+            tasks = scheduler.schedule(creator);
+        }
+        Assert.assertEquals(10, finishedTaskNum);
+        Assert.assertTrue(scheduler.isDone());
+        Assert.assertTrue(scheduler.getProgress().startsWith("tablets: 19/19, files: 83/83"));
+    }
+
+    @Test
+    public void testRetryUnfinishedSnapshots() {
+        Config.max_backup_restore_transfer_tasks_per_disk = 1;
+        Config.max_backup_restore_transfer_retry_times = 1;
+        List<SnapshotTransferScheduler.TransferUnit> units = createUnits(1, 1, 3, 1);
+        SnapshotTransferScheduler scheduler = new SnapshotTransferScheduler(units);
+
+        List<AgentTask> tasks = scheduler.schedule(creator);
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertEquals(3, ((UploadTask) tasks.get(0)).getSrcToDestPath().size());
+
+        // the first snapshot is transferred, the other 2 are retried one by one
+        Assert.assertTrue(scheduler.failTask(tasks.get(0).getSignature(),
+                Lists.newArrayList(units.get(0).getTabletId())));
+        Assert.assertFalse(scheduler.isDone());
+        tasks = scheduler.schedule(creator);
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertEquals(1, ((UploadTask) tasks.get(0)).getSrcToDestPath().size());
+        scheduler.finishTask(tasks.get(0).getSignature());
+
+        tasks = scheduler.schedule(creator);
+        Assert.assertEquals(1, tasks.size());
+        // exceed the retry times
+        Assert.assertFalse(scheduler.failTask(tasks.get(0).getSignature(), null));
+    }
+}
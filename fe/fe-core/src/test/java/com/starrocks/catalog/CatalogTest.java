@@ -26,10 +26,21 @@ import com.starrocks.alter.AlterJob.JobType;
 import com.starrocks.alter.SchemaChangeJob;
 import com.starrocks.catalog.MaterializedIndex.IndexState;
 import com.starrocks.cluster.Cluster;
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
 import com.starrocks.common.FeConstants;
+import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.load.Load;
 import com.starrocks.meta.MetaContext;
+import com.starrocks.task.AgentBatchTask;
+import com.starrocks.task.AgentTaskExecutor;
+import com.starrocks.task.CreateReplicaTask;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TStorageType;
+import com.starrocks.thrift.TTabletType;
 import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +54,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -202,4 +214,40 @@ public class CatalogTest {
 
         deleteDir(dir);
     }
+
+    @Test
+    public void testCreateReplicaFailFastOnDeadBackend() {
+        new MockUp<AgentTaskExecutor>() {
+            @Mock
+            public void submit(AgentBatchTask task) {
+            }
+        };
+        int tabletTimeoutSecond = Config.tablet_create_timeout_second;
+        int maxTimeoutSecond = Config.max_create_table_timeout_second;
+        Config.tablet_create_timeout_second = 60;
+        Config.max_create_table_timeout_second = 60;
+        try {
+            // backend 10001 does not exist, so the tasks sent to it never finish
+            List<CreateReplicaTask> tasks = new ArrayList<>();
+            for (long partitionId = 1; partitionId <= 2; partitionId++) {
+                tasks.add(new CreateReplicaTask(10001L, 1L, 2L, partitionId, 3L, 100L + partitionId, (short) 1, 0,
+                        1L, 0L, KeysType.DUP_KEYS, TStorageType.COLUMN, TStorageMedium.HDD, new LinkedList<>(),
+                        null, 0, null, null, false, TTabletType.TABLET_TYPE_DISK));
+            }
+            long startMs = System.currentTimeMillis();
+            try {
+                Deencapsulation.invoke(Catalog.getCurrentCatalog(), "sendCreateReplicaTasksAndWaitForFinished",
+                        tasks, "partitions");
+                Assert.fail("should fail to create replicas on dead backend");
+            } catch (Exception e) {
+                Assert.assertTrue(e instanceof DdlException);
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("Backend 10001 is not alive"));
+            }
+            // fail without waiting for the timeout of the batch
+            Assert.assertTrue(System.currentTimeMillis() - startMs < 60 * 1000L);
+        } finally {
+            Config.tablet_create_timeout_second = tabletTimeoutSecond;
+            Config.max_create_table_timeout_second = maxTimeoutSecond;
+        }
+    }
 }
@@ -42,6 +42,8 @@ import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class DatabaseTest {
@@ -98,6 +100,58 @@ public class DatabaseTest {
         }
     }
 
+    @Test
+    public void tableLockTest() throws Exception {
+        Table table1 = new Table(1L, "t1", Table.TableType.OLAP, Lists.newArrayList());
+        Table table2 = new Table(2L, "t2", Table.TableType.OLAP, Lists.newArrayList());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        db.writeLockTables(Lists.newArrayList(table1));
+        try {
+            // the other tables can be written, but the whole database can not be locked
+            Assert.assertTrue(executor.submit(() -> {
+                boolean locked = db.tryWriteLockTables(Lists.newArrayList(table2), 0, TimeUnit.SECONDS);
+                if (locked) {
+                    db.writeUnlockTables(Lists.newArrayList(table2));
+                }
+                return locked;
+            }).get());
+            Assert.assertFalse(executor.submit(
+                    () -> db.tryWriteLockTables(Lists.newArrayList(table1, table2), 0, TimeUnit.SECONDS)).get());
+            Assert.assertFalse(executor.submit(() -> db.tryReadLock(0, TimeUnit.SECONDS)).get());
+            Assert.assertFalse(executor.submit(() -> db.tryWriteLock(0, TimeUnit.SECONDS)).get());
+            // reentrant
+            db.readLock();
+            db.readUnlock();
+        } finally {
+            db.writeUnlockTables(Lists.newArrayList(table1));
+        }
+
+        db.readLock();
+        try {
+            Assert.assertFalse(executor.submit(
+                    () -> db.tryWriteLockTables(Lists.newArrayList(table2), 0, TimeUnit.SECONDS)).get());
+        } finally {
+            db.readUnlock();
+        }
+
+        db.readLockTables(Lists.newArrayList(table1));
+        try {
+            Assert.assertFalse(executor.submit(
+                    () -> db.tryWriteLockTables(Lists.newArrayList(table1), 0, TimeUnit.SECONDS)).get());
+            Assert.assertTrue(executor.submit(() -> {
+                boolean locked = db.tryWriteLockTables(Lists.newArrayList(table2), 0, TimeUnit.SECONDS);
+                if (locked) {
+                    db.writeUnlockTables(Lists.newArrayList(table2));
+                }
+                return locked;
+            }).get());
+        } finally {
+            db.readUnlockTables(Lists.newArrayList(table1));
+        }
+        executor.shutdown();
+    }
+
     @Test
     public void createAndDropPartitionTest() {
         Assert.assertEquals("dbTest", db.getFullName());
@@ -88,4 +88,39 @@ public class MaterializedIndexTest {
         dis.close();
         file.delete();
     }
+
+    @Test
+    public void testGetTablet() throws Exception {
+        long[] tabletIds = {30L, 10L, 20L};
+        for (long tabletId : tabletIds) {
+            index.addTablet(new Tablet(tabletId), null, true);
+        }
+        for (int i = 0; i < tabletIds.length; i++) {
+            Assert.assertEquals(tabletIds[i], index.getTablet(tabletIds[i]).getId());
+            Assert.assertEquals(i, index.getTabletOrderIdx(tabletIds[i]));
+        }
+        Assert.assertNull(index.getTablet(15L));
+        Assert.assertEquals(-1, index.getTabletOrderIdx(15L));
+
+        // the tablet id arrays are rebuilt after read
+        File file = new File("./indexTablets");
+        file.createNewFile();
+        DataOutputStream dos = new DataOutputStream(new FileOutputStream(file));
+        index.write(dos);
+        dos.flush();
+        dos.close();
+
+        DataInputStream dis = new DataInputStream(new FileInputStream(file));
+        MaterializedIndex rIndex = MaterializedIndex.read(dis);
+        dis.close();
+        file.delete();
+        Assert.assertTrue(index.equals(rIndex));
+        Assert.assertEquals(20L, rIndex.getTablet(20L).getId());
+        Assert.assertNull(rIndex.getTablet(15L));
+        Assert.assertEquals(0, rIndex.getTabletOrderIdx(30L));
+        Assert.assertEquals(2, rIndex.getTabletOrderIdx(20L));
+
+        index.clearTabletsForRestore();
+        Assert.assertNull(index.getTablet(10L));
+    }
 }
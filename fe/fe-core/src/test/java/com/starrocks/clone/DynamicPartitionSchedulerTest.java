@@ -0,0 +1,93 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.clone;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.AddPartitionClause;
+import com.starrocks.analysis.HashDistributionDesc;
+import com.starrocks.analysis.PartitionKeyDesc;
+import com.starrocks.analysis.PartitionValue;
+import com.starrocks.analysis.SingleRangePartitionDesc;
+import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Database;
+import com.starrocks.common.DdlException;
+import com.starrocks.common.jmockit.Deencapsulation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DynamicPartitionSchedulerTest {
+    private static final String TABLE_NAME = "tbl";
+
+    private final Database db = new Database(1L, "db");
+
+    private static List<AddPartitionClause> createAddPartitionClauses(String... partitionNames) {
+        List<AddPartitionClause> clauses = Lists.newArrayList();
+        for (String partitionName : partitionNames) {
+            PartitionKeyDesc keyDesc = new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("2020-01-01")));
+            SingleRangePartitionDesc partitionDesc =
+                    new SingleRangePartitionDesc(true, partitionName, keyDesc, Maps.newHashMap());
+            clauses.add(new AddPartitionClause(partitionDesc,
+                    new HashDistributionDesc(3, Lists.newArrayList("k1")), Maps.newHashMap(), false));
+        }
+        return clauses;
+    }
+
+    // record the partition names of each addPartitions call, and fail the calls with the failed partitions
+    private static List<List<String>> mockAddPartitions(List<String> failedPartitions) {
+        List<List<String>> calls = Lists.newArrayList();
+        new MockUp<Catalog>() {
+            @Mock
+            public void addPartitions(Database db, String tableName, List<SingleRangePartitionDesc> partitionDescs,
+                                      AddPartitionClause addPartitionClause) throws DdlException {
+                List<String> names = partitionDescs.stream().map(SingleRangePartitionDesc::getPartitionName)
+                        .collect(Collectors.toList());
+                calls.add(names);
+                for (String name : names) {
+                    if (failedPartitions.contains(name)) {
+                        throw new DdlException("failed to create partition " + name);
+                    }
+                }
+            }
+        };
+        return calls;
+    }
+
+    @Test
+    public void testAddPartitionsInBatch() {
+        List<List<String>> calls = mockAddPartitions(Lists.newArrayList());
+        DynamicPartitionScheduler scheduler = new DynamicPartitionScheduler("test", 1000);
+        Deencapsulation.invoke(scheduler, "addPartitions", db, TABLE_NAME,
+                createAddPartitionClauses("p1", "p2", "p3"));
+
+        // all the partitions are added by one call
+        Assert.assertEquals(1, calls.size());
+        Assert.assertEquals(Lists.newArrayList("p1", "p2", "p3"), calls.get(0));
+        Assert.assertEquals(DynamicPartitionScheduler.State.NORMAL.toString(),
+                scheduler.getRuntimeInfo(TABLE_NAME, DynamicPartitionScheduler.DYNAMIC_PARTITION_STATE));
+    }
+
+    @Test
+    public void testAddPartitionsOneByOneAfterBatchFailed() {
+        List<List<String>> calls = mockAddPartitions(Lists.newArrayList("p3"));
+        DynamicPartitionScheduler scheduler = new DynamicPartitionScheduler("test", 1000);
+        Deencapsulation.invoke(scheduler, "addPartitions", db, TABLE_NAME,
+                createAddPartitionClauses("p1", "p2", "p3"));
+
+        // the batch fails, then the partitions are added one by one, and the bad one does not block the others
+        Assert.assertEquals(4, calls.size());
+        Assert.assertEquals(Lists.newArrayList("p1", "p2", "p3"), calls.get(0));
+        Assert.assertEquals(Lists.newArrayList("p1"), calls.get(1));
+        Assert.assertEquals(Lists.newArrayList("p2"), calls.get(2));
+        Assert.assertEquals(Lists.newArrayList("p3"), calls.get(3));
+        Assert.assertEquals(DynamicPartitionScheduler.State.ERROR.toString(),
+                scheduler.getRuntimeInfo(TABLE_NAME, DynamicPartitionScheduler.DYNAMIC_PARTITION_STATE));
+        Assert.assertTrue(scheduler.getRuntimeInfo(TABLE_NAME, DynamicPartitionScheduler.CREATE_PARTITION_MSG)
+                .contains("failed to create partition p3"));
+    }
+}
@@ -0,0 +1,110 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.common.proc;
+
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.FeConstants;
+import com.starrocks.common.Pair;
+import com.starrocks.common.util.DebugUtil;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+public class MetaMemoryProcNodeTest {
+    private static String runningDir = "fe/mocked/MetaMemoryProcNodeTest/" + UUID.randomUUID().toString() + "/";
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        FeConstants.runningUnitTest = true;
+        UtFrameUtils.createMinStarRocksCluster(runningDir);
+        ConnectContext connectContext = UtFrameUtils.createDefaultCtx();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test_meta_memory_empty")
+                .withDatabase("test_meta_memory").useDatabase("test_meta_memory")
+                .withTable("CREATE TABLE test_meta_memory.tbl1\n" +
+                        "(\n" +
+                        "    k1 date,\n" +
+                        "    k2 int,\n" +
+                        "    v1 int sum\n" +
+                        ")\n" +
+                        "PARTITION BY RANGE(k1)\n" +
+                        "(\n" +
+                        "    PARTITION p1 values less than('2020-02-01'),\n" +
+                        "    PARTITION p2 values less than('2020-03-01')\n" +
+                        ")\n" +
+                        "DISTRIBUTED BY HASH(k2) BUCKETS 3\n" +
+                        "PROPERTIES('replication_num' = '1');");
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        File file = new File(runningDir);
+        file.delete();
+    }
+
+    private static String formatSize(long bytes) {
+        Pair<Double, String> size = DebugUtil.getByteUint(bytes);
+        return DebugUtil.DECIMAL_FORMAT_SCALE_3.format(size.first) + " " + size.second;
+    }
+
+    private static int findRow(List<List<String>> rows, String dbName) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).get(1).equals(dbName)) {
+                return i;
+            }
+        }
+        Assert.fail("no row of " + dbName);
+        return -1;
+    }
+
+    @Test
+    public void testFetchResult() throws AnalysisException {
+        ProcResult result = ProcService.getInstance().open("/meta_memory").fetchResult();
+        Assert.assertEquals(MetaMemoryProcNode.TITLE_NAMES, result.getColumnNames());
+        List<List<String>> rows = result.getRows();
+
+        // 2 partitions, each has 1 index with 3 tablets of 1 replica
+        int dbRowIdx = findRow(rows, "default_cluster:test_meta_memory");
+        List<String> row = rows.get(dbRowIdx);
+        Assert.assertEquals("2", row.get(2));
+        Assert.assertEquals("2", row.get(3));
+        Assert.assertEquals("6", row.get(4));
+        Assert.assertEquals("6", row.get(5));
+        long expectedSize = 2 * MetaMemoryProcNode.PARTITION_BYTES + 2 * MetaMemoryProcNode.INDEX_BYTES
+                + 6 * MetaMemoryProcNode.TABLET_BYTES + 6 * MetaMemoryProcNode.REPLICA_BYTES;
+        Assert.assertEquals(expectedSize, MetaMemoryProcNode.estimateSize(2, 2, 6, 6));
+        Assert.assertEquals(formatSize(expectedSize), row.get(6));
+
+        // the empty database comes after the larger one
+        int emptyDbRowIdx = findRow(rows, "default_cluster:test_meta_memory_empty");
+        Assert.assertTrue(emptyDbRowIdx > dbRowIdx);
+        row = rows.get(emptyDbRowIdx);
+        Assert.assertEquals("0", row.get(2));
+        Assert.assertEquals("0", row.get(5));
+        Assert.assertEquals(formatSize(0), row.get(6));
+
+        // the total of all the databases comes last
+        long[] total = new long[4];
+        for (List<String> dbRow : rows.subList(0, rows.size() - 1)) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += Long.parseLong(dbRow.get(i + 2));
+            }
+        }
+        row = rows.get(rows.size() - 1);
+        Assert.assertEquals("Total", row.get(0));
+        Assert.assertEquals(String.valueOf(rows.size() - 1), row.get(1));
+        for (int i = 0; i < total.length; i++) {
+            Assert.assertEquals(String.valueOf(total[i]), row.get(i + 2));
+        }
+        Assert.assertEquals(formatSize(MetaMemoryProcNode.estimateSize(total[0], total[1], total[2], total[3])),
+                row.get(6));
+    }
+}
@@ -0,0 +1,138 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.common.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.LoadException;
+import com.starrocks.common.UserException;
+import com.starrocks.proto.PKafkaMetaProxyRequest;
+import com.starrocks.proto.PKafkaMetaProxyResult;
+import com.starrocks.proto.PKafkaOffsetProxyRequest;
+import com.starrocks.proto.PKafkaOffsetProxyResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KafkaMetaFetcherTest {
+    private final long batchWaitMs = Config.routine_load_kafka_meta_batch_wait_ms;
+    private final long cacheTtlSecond = Config.routine_load_kafka_partitions_cache_ttl_second;
+
+    @After
+    public void tearDown() {
+        Config.routine_load_kafka_meta_batch_wait_ms = batchWaitMs;
+        Config.routine_load_kafka_partitions_cache_ttl_second = cacheTtlSecond;
+    }
+
+    private static class MockProxyAPI extends KafkaUtil.ProxyAPI {
+        private final List<Integer> offsetBatchSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger metaRpcNum = new AtomicInteger(0);
+        private volatile boolean failMeta = false;
+
+        @Override
+        public List<PKafkaMetaProxyResult> getBatchKafkaPartitions(List<PKafkaMetaProxyRequest> metaRequests)
+                throws UserException {
+            metaRpcNum.incrementAndGet();
+            if (failMeta) {
+                throw new LoadException("no alive backends");
+            }
+            List<PKafkaMetaProxyResult> results = Lists.newArrayList();
+            for (int i = 0; i < metaRequests.size(); i++) {
+                PKafkaMetaProxyResult result = new PKafkaMetaProxyResult();
+                result.partition_ids = Lists.newArrayList(0, 1, 2);
+                results.add(result);
+            }
+            return results;
+        }
+
+        @Override
+        public List<PKafkaOffsetProxyResult> getBatchOffsets(List<PKafkaOffsetProxyRequest> offsetRequests) {
+            offsetBatchSizes.add(offsetRequests.size());
+            List<PKafkaOffsetProxyResult> results = Lists.newArrayList();
+            for (PKafkaOffsetProxyRequest request : offsetRequests) {
+                PKafkaOffsetProxyResult result = new PKafkaOffsetProxyResult();
+                result.partition_ids = request.partition_ids;
+                result.beginning_offsets = Lists.newArrayList();
+                result.latest_offsets = Lists.newArrayList();
+                for (int partition : request.partition_ids) {
+                    result.beginning_offsets.add(0L);
+                    result.latest_offsets.add(partition * 100L);
+                }
+                results.add(result);
+            }
+            return results;
+        }
+    }
+
+    @Test
+    public void testBatchOffsets() throws Exception {
+        Config.routine_load_kafka_meta_batch_wait_ms = 500;
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        KafkaMetaFetcher fetcher = new KafkaMetaFetcher(proxyApi);
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<Map<Integer, Long>>> futures = Lists.newArrayList();
+        for (int i = 0; i < 6; i++) {
+            String brokers = i % 2 == 0 ? "host1:9092" : "host2:9092";
+            int partition = i;
+            futures.add(executor.submit(() -> fetcher.getOffsets(brokers, "topic" + partition, ImmutableMap.of(),
+                    Lists.newArrayList(partition), true)));
+        }
+        for (int i = 0; i < 6; i++) {
+            Map<Integer, Long> offsets = futures.get(i).get();
+            Assert.assertEquals(1, offsets.size());
+            Assert.assertEquals(i * 100L, (long) offsets.get(i));
+        }
+        executor.shutdown();
+
+        // the queries are grouped by brokers
+        Assert.assertEquals(2, proxyApi.offsetBatchSizes.size());
+        Assert.assertEquals(3, (int) proxyApi.offsetBatchSizes.get(0));
+        Assert.assertEquals(3, (int) proxyApi.offsetBatchSizes.get(1));
+    }
+
+    @Test
+    public void testPartitionsCache() throws Exception {
+        Config.routine_load_kafka_meta_batch_wait_ms = 0;
+        Config.routine_load_kafka_partitions_cache_ttl_second = 60;
+        MockProxyAPI proxyApi = new MockProxyAPI();
+        KafkaMetaFetcher fetcher = new KafkaMetaFetcher(proxyApi);
+
+        fetcher.prefetchAllKafkaPartitions("host1:9092", "topic", ImmutableMap.of());
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2),
+                fetcher.getAllKafkaPartitions("host1:9092", "topic", ImmutableMap.of()));
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2),
+                fetcher.getAllKafkaPartitions("host1:9092", "topic", ImmutableMap.of()));
+        Assert.assertEquals(1, proxyApi.metaRpcNum.get());
+
+        // another topic is not cached
+        fetcher.getAllKafkaPartitions("host1:9092", "topic2", ImmutableMap.of());
+        Assert.assertEquals(2, proxyApi.metaRpcNum.get());
+
+        // the failed fetch is not cached
+        proxyApi.failMeta = true;
+        try {
+            fetcher.getAllKafkaPartitions("host1:9092", "topic3", ImmutableMap.of());
+            Assert.fail();
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("no alive backends"));
+        }
+        proxyApi.failMeta = false;
+        Assert.assertEquals(3, fetcher.getAllKafkaPartitions("host1:9092", "topic3", ImmutableMap.of()).size());
+        Assert.assertEquals(4, proxyApi.metaRpcNum.get());
+
+        // disable the cache
+        Config.routine_load_kafka_partitions_cache_ttl_second = 0;
+        fetcher.getAllKafkaPartitions("host1:9092", "topic", ImmutableMap.of());
+        Assert.assertEquals(5, proxyApi.metaRpcNum.get());
+    }
+}
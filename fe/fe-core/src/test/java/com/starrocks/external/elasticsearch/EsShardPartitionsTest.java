@@ -21,13 +21,28 @@
 
 package com.starrocks.external.elasticsearch;
 
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.TupleDescriptor;
+import com.starrocks.analysis.TupleId;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.CatalogTestUtil;
+import com.starrocks.catalog.Column;
 import com.starrocks.catalog.EsTable;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.DdlException;
+import com.starrocks.common.ExceptionChecker;
+import com.starrocks.planner.EsScanNode;
+import com.starrocks.planner.PlanNodeId;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class EsShardPartitionsTest extends EsTestCase {
 
@@ -43,4 +58,66 @@ public class EsShardPartitionsTest extends EsTestCase {
         assertEquals(1, esTablePartitions.getUnPartitionedIndexStates().size());
         assertEquals(5, esTablePartitions.getEsShardPartitions("doe").getShardRoutings().size());
     }
+
+    @Test
+    public void testSameRoutings() throws Exception {
+        EsTable esTable = (EsTable) Catalog.getCurrentCatalog()
+                .getDb(CatalogTestUtil.testDb1)
+                .getTable(CatalogTestUtil.testEsTableId1);
+        String searchShards = loadJsonFromFile("data/es/test_search_shards.json");
+        EsTablePartitions partitions = EsTablePartitions.fromShardPartitions(esTable,
+                EsShardPartitions.findShardPartitions("doe", searchShards));
+        EsTablePartitions samePartitions = EsTablePartitions.fromShardPartitions(esTable,
+                EsShardPartitions.findShardPartitions("doe", searchShards));
+        assertTrue(partitions.hasSameRoutings(samePartitions));
+        assertFalse(partitions.hasSameRoutings(null));
+
+        // one replica is relocated
+        EsShardPartitions shardPartitions = EsShardPartitions.findShardPartitions("doe", searchShards);
+        List<EsShardRouting> routings = shardPartitions.getShardRoutings().get(0);
+        EsShardRouting routing = routings.get(0);
+        routings.set(0, new EsShardRouting(routing.getIndexName(), routing.getShardId(), routing.isPrimary(),
+                routing.getAddress(), "relocated-node"));
+        EsTablePartitions changedPartitions = EsTablePartitions.fromShardPartitions(esTable, shardPartitions);
+        assertFalse(partitions.hasSameRoutings(changedPartitions));
+    }
+
+    @Test
+    public void testScanSlicesPerShard() throws Exception {
+        List<Column> columns = Lists.newArrayList(new Column("k1", Type.BIGINT));
+        Map<String, String> props = new HashMap<>();
+        props.put(EsTable.HOSTS, "127.0.0.1:8200");
+        props.put(EsTable.INDEX, "doe");
+        props.put(EsTable.TYPE, "doc");
+        EsTable esTable = new EsTable(1L, "doe", columns, props, null);
+        assertEquals(1, esTable.scanSlicesPerShard());
+
+        props.put(EsTable.SCAN_SLICES_PER_SHARD, "4");
+        esTable = new EsTable(1L, "doe", columns, props, null);
+        assertEquals(4, esTable.scanSlicesPerShard());
+
+        props.put(EsTable.SCAN_SLICES_PER_SHARD, "0");
+        ExceptionChecker.expectThrows(DdlException.class, () -> new EsTable(1L, "doe", columns, props, null));
+        props.put(EsTable.SCAN_SLICES_PER_SHARD, "abc");
+        ExceptionChecker.expectThrows(DdlException.class, () -> new EsTable(1L, "doe", columns, props, null));
+    }
+
+    @Test
+    public void testNoSliceWithLimit() throws Exception {
+        List<Column> columns = Lists.newArrayList(new Column("k1", Type.BIGINT));
+        Map<String, String> props = new HashMap<>();
+        props.put(EsTable.HOSTS, "127.0.0.1:8200");
+        props.put(EsTable.INDEX, "doe");
+        props.put(EsTable.TYPE, "doc");
+        props.put(EsTable.SCAN_SLICES_PER_SHARD, "4");
+        EsTable esTable = new EsTable(1L, "doe", columns, props, null);
+        TupleDescriptor desc = new TupleDescriptor(new TupleId(0));
+        desc.setTable(esTable);
+        EsScanNode scanNode = new EsScanNode(new PlanNodeId(0), desc, "EsScanNode");
+        assertEquals(4, scanNode.getSlicesPerShard());
+
+        // the pushed down limit is sent by a plain search, which can not be sliced
+        scanNode.setLimit(10);
+        assertEquals(1, scanNode.getSlicesPerShard());
+    }
 }
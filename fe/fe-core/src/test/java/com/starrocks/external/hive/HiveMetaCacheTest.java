@@ -12,9 +12,14 @@ import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.DdlException;
 import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.NotificationEvent;
+import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -30,6 +35,7 @@ public class HiveMetaCacheTest {
     private int clientMethodGetTableStatsCalledTimes = 0;
     private int clientMethodGetPartitionStatsCalledTimes = 0;
     private String partitionPath = "hdfs://nameservice1/hive/db/tbl/k1=1/k2=1/k3=3";
+    private List<NotificationEvent> events = Lists.newArrayList();
 
     @Test
     public void testGetPartitionKeys() throws Exception {
@@ -77,6 +83,29 @@ public class HiveMetaCacheTest {
         Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
     }
 
+    @Test
+    public void testGetPartitions() throws Exception {
+        HiveMetaClient metaClient = new MockedHiveMetaClient();
+        HiveMetaCache metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10),
+                Executors.newSingleThreadExecutor());
+
+        PartitionKey key1 = Utils.createPartitionKey(Lists.newArrayList("1", "2", "3"), partColumns);
+        PartitionKey key2 = Utils.createPartitionKey(Lists.newArrayList("1", "2", "4"), partColumns);
+        HivePartition partition = metaCache.getPartition("db", "tbl", key1);
+        Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
+
+        // only the missing partition is loaded, and duplicated keys are loaded once
+        List<HivePartition> partitions = metaCache.getPartitions("db", "tbl", Lists.newArrayList(key2, key1, key2));
+        Assert.assertEquals(3, partitions.size());
+        Assert.assertSame(partition, partitions.get(1));
+        Assert.assertSame(partitions.get(0), partitions.get(2));
+        Assert.assertEquals(2, clientMethodGetPartitionCalledTimes);
+
+        // the loaded partition is put into cache
+        Assert.assertSame(partitions.get(0), metaCache.getPartition("db", "tbl", key2));
+        Assert.assertEquals(2, clientMethodGetPartitionCalledTimes);
+    }
+
     @Test
     public void testGetTableStats() throws Exception {
         HiveMetaClient metaClient = new MockedHiveMetaClient();
@@ -145,6 +174,98 @@ public class HiveMetaCacheTest {
         Assert.assertEquals(2, clientMethodGetPartitionStatsCalledTimes);
     }
 
+    @Test
+    public void testSnapshot() throws Exception {
+        HiveMetaClient metaClient = new MockedHiveMetaClient();
+        long hostId = metaClient.getHostId("127.0.0.1:50010");
+        HdfsFileBlockDesc blockDesc = new HdfsFileBlockDesc(0, 100, new long[] {hostId}, new long[] {-1}, metaClient);
+        HivePartition p1 = new HivePartition(HdfsFileFormat.PARQUET,
+                ImmutableList.of(new HdfsFileDesc("file1", "", 100, ImmutableList.of(blockDesc))), "path/k=1", 100L);
+        HivePartition p2 = new HivePartition(HdfsFileFormat.ORC,
+                ImmutableList.of(new HdfsFileDesc("file2", "", 100, ImmutableList.of(blockDesc))), "path/k=2", 100L);
+        Map<HivePartitionKey, HivePartition> partitions = Maps.newHashMap();
+        HivePartitionKey key1 = HivePartitionKey.gen("db", "tbl", Lists.newArrayList("1"));
+        HivePartitionKey key2 = HivePartitionKey.gen("db", "tbl", Lists.newArrayList("2"));
+        partitions.put(key1, p1);
+        partitions.put(key2, p2);
+
+        File dir = Files.createTempDirectory("hive_snapshot").toFile();
+        File file = new File(dir, "hive0.snapshot");
+        try {
+            HiveMetaCacheSnapshot.write(file, partitions, metaClient);
+
+            // host ids are registered in the new client
+            HiveMetaClient newClient = new MockedHiveMetaClient();
+            newClient.getHostId("127.0.0.2:50010");
+            Map<HivePartitionKey, HivePartition> restored = HiveMetaCacheSnapshot.read(file, newClient);
+            Assert.assertEquals(2, restored.size());
+            HivePartition partition = restored.get(key1);
+            Assert.assertEquals(HdfsFileFormat.PARQUET, partition.getFormat());
+            Assert.assertEquals("path/k=1", partition.getFullPath());
+            Assert.assertEquals(100L, partition.getModifiedTime());
+            HdfsFileBlockDesc restoredBlock = partition.getFiles().get(0).getBlockDescs().get(0);
+            Assert.assertEquals(100, restoredBlock.getLength());
+            Assert.assertEquals("127.0.0.1", restoredBlock.getDataNodeIp(restoredBlock.getReplicaHostIds()[0]));
+
+            // partition 2 is modified after snapshot
+            HiveMetaCache metaCache = new HiveMetaCache(newClient, Executors.newFixedThreadPool(10));
+            Assert.assertEquals(1, metaCache.restorePartitions(restored));
+            Assert.assertEquals(1, metaCache.getCachedPartitions().size());
+            Assert.assertTrue(metaCache.getCachedPartitions().containsKey(key1));
+
+            // broken snapshot is ignored
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.seek(10);
+                raf.write(0xff);
+            }
+            Assert.assertTrue(HiveMetaCacheSnapshot.read(file, newClient).isEmpty());
+        } finally {
+            file.delete();
+            dir.delete();
+        }
+    }
+
+    private NotificationEvent newEvent(long eventId, String eventType, String message) {
+        NotificationEvent event = new NotificationEvent(eventId, 0, eventType, message);
+        event.setDbName("db");
+        event.setTableName("tbl");
+        return event;
+    }
+
+    @Test
+    public void testProcessEvents() throws Exception {
+        HiveMetaClient metaClient = new MockedHiveMetaClient();
+        HiveMetaCache metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10));
+        Assert.assertEquals(3, metaCache.getPartitionKeys("db", "tbl", partColumns).size());
+
+        // the first poll only records the current event id
+        metaCache.processEvents(100);
+        Assert.assertEquals(1, metaCache.getLastEventId());
+
+        events.add(newEvent(2, "ADD_PARTITION",
+                "{\"db\":\"db\",\"table\":\"tbl\",\"partitions\":[{\"k1\":\"1\",\"k2\":\"2\",\"k3\":\"6\"}]}"));
+        events.add(newEvent(3, "DROP_PARTITION",
+                "{\"db\":\"db\",\"table\":\"tbl\",\"partitions\":[{\"k1\":\"1\",\"k2\":\"2\",\"k3\":\"3\"}]}"));
+        metaCache.processEvents(100);
+        Assert.assertEquals(3, metaCache.getLastEventId());
+
+        ImmutableMap<PartitionKey, Long> partitionKeys = metaCache.getPartitionKeys("db", "tbl", partColumns);
+        Assert.assertEquals(3, partitionKeys.size());
+        Assert.assertTrue(
+                partitionKeys.containsKey(Utils.createPartitionKey(Lists.newArrayList("1", "2", "6"), partColumns)));
+        Assert.assertFalse(
+                partitionKeys.containsKey(Utils.createPartitionKey(Lists.newArrayList("1", "2", "3"), partColumns)));
+        Assert.assertEquals(1, clientMethodGetPartitionKeysCalledTimes);
+
+        // drop table clears the cache of table
+        events.clear();
+        events.add(newEvent(4, "DROP_TABLE", "{\"db\":\"db\",\"table\":\"tbl\"}"));
+        metaCache.processEvents(100);
+        Assert.assertEquals(4, metaCache.getLastEventId());
+        metaCache.getPartitionKeys("db", "tbl", partColumns);
+        Assert.assertEquals(2, clientMethodGetPartitionKeysCalledTimes);
+    }
+
     public class MockedHiveMetaClient extends HiveMetaClient {
         public MockedHiveMetaClient() throws DdlException {
             super("");
@@ -154,6 +275,20 @@ public class HiveMetaCacheTest {
             return new CurrentNotificationEventId(1L);
         }
 
+        @Override
+        public Map<List<String>, Long> getPartitionModifiedTimes(String dbName, String tableName,
+                                                                 List<List<String>> partValuesList) {
+            Map<List<String>, Long> modifiedTimes = Maps.newHashMap();
+            modifiedTimes.put(Lists.newArrayList("1"), 100L);
+            modifiedTimes.put(Lists.newArrayList("2"), 200L);
+            return modifiedTimes;
+        }
+
+        @Override
+        public NotificationEventResponse getNextNotification(long lastEventId, int maxEvents) throws DdlException {
+            return new NotificationEventResponse(events);
+        }
+
         @Override
         public Map<PartitionKey, Long> getPartitionKeys(String dbName, String tableName, List<Column> partColumns)
                 throws DdlException {
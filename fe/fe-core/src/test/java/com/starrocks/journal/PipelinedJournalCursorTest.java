@@ -0,0 +1,103 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.journal;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.io.Text;
+import com.starrocks.common.io.Writable;
+import com.starrocks.journal.bdbje.Timestamp;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.persist.OperationType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+public class PipelinedJournalCursorTest {
+
+    private static byte[] serialize(short opCode, Writable data) throws IOException {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(opCode);
+        entity.setData(data);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        entity.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testNextInOrder() throws IOException {
+        List<byte[]> journals = Lists.newArrayList();
+        for (int i = 0; i < 3000; i++) {
+            if (i % 100 == 0) {
+                journals.add(serialize(OperationType.OP_META_VERSION, new Text(String.valueOf(i))));
+            } else {
+                journals.add(serialize(OperationType.OP_TIMESTAMP, new Timestamp()));
+            }
+        }
+        Assert.assertTrue(PipelinedJournalCursor.isMetaVersionJournal(journals.get(0)));
+        Assert.assertFalse(PipelinedJournalCursor.isMetaVersionJournal(journals.get(1)));
+
+        Iterator<byte[]> iterator = journals.iterator();
+        PipelinedJournalCursor cursor = new PipelinedJournalCursor(
+                () -> iterator.hasNext() ? iterator.next() : null, 1, new MetaContext());
+        for (int i = 0; i < 3000; i++) {
+            JournalEntity entity = cursor.next();
+            Assert.assertNotNull(entity);
+            if (i % 100 == 0) {
+                Assert.assertEquals(OperationType.OP_META_VERSION, entity.getOpCode());
+                Assert.assertEquals(String.valueOf(i), entity.getData().toString());
+            } else {
+                Assert.assertEquals(OperationType.OP_TIMESTAMP, entity.getOpCode());
+            }
+        }
+        Assert.assertNull(cursor.next());
+        Assert.assertNull(cursor.next());
+        cursor.close();
+    }
+
+    @Test
+    public void testCloseBeforeEnd() throws IOException {
+        byte[] data = serialize(OperationType.OP_TIMESTAMP, new Timestamp());
+        // an endless reader
+        PipelinedJournalCursor cursor = new PipelinedJournalCursor(() -> data, 1, new MetaContext());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(OperationType.OP_TIMESTAMP, cursor.next().getOpCode());
+        }
+        cursor.close();
+
+        // the fetcher is stopped, so the next cursor still works
+        List<byte[]> journals = Lists.newArrayList(data, data);
+        Iterator<byte[]> iterator = journals.iterator();
+        cursor = new PipelinedJournalCursor(() -> iterator.hasNext() ? iterator.next() : null, 1, new MetaContext());
+        Assert.assertNotNull(cursor.next());
+        Assert.assertNotNull(cursor.next());
+        Assert.assertNull(cursor.next());
+        cursor.close();
+    }
+
+    @Test
+    public void testFetchException() throws IOException {
+        List<byte[]> journals = Lists.newArrayList(serialize(OperationType.OP_TIMESTAMP, new Timestamp()));
+        Iterator<byte[]> iterator = journals.iterator();
+        PipelinedJournalCursor cursor = new PipelinedJournalCursor(() -> {
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+            throw new IllegalStateException("injected fetch error");
+        }, 1, new MetaContext());
+        Assert.assertNotNull(cursor.next());
+        // the error is thrown to the replayer instead of being an end of the journals
+        try {
+            cursor.next();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals("injected fetch error", e.getCause().getMessage());
+        }
+        Assert.assertNull(cursor.next());
+        cursor.close();
+    }
+}
@@ -0,0 +1,84 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.load.routineload;
+
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class AdaptiveTaskControllerTest {
+    private final long slaSecond = Config.routine_load_freshness_sla_second;
+    private final long consumeSecond = Config.routine_load_task_consume_second;
+    private final long timeoutSecond = Config.routine_load_task_timeout_second;
+
+    @After
+    public void tearDown() {
+        Config.routine_load_freshness_sla_second = slaSecond;
+        Config.routine_load_task_consume_second = consumeSecond;
+        Config.routine_load_task_timeout_second = timeoutSecond;
+    }
+
+    @Test
+    public void testWithoutStatistics() {
+        AdaptiveTaskController controller = new AdaptiveTaskController();
+        Assert.assertEquals(5, controller.getDesiredConcurrency(5));
+        Assert.assertEquals(Config.routine_load_task_consume_second, controller.getConsumeSecond(5));
+        Assert.assertEquals(10000, controller.getScheduleDelayMs(true, 10000));
+        Assert.assertEquals(0, controller.getScheduleDelayMs(false, 10000));
+    }
+
+    @Test
+    public void testLagging() {
+        Config.routine_load_freshness_sla_second = 10;
+        Config.routine_load_task_consume_second = 3;
+        Config.routine_load_task_timeout_second = 20;
+        AdaptiveTaskController controller = new AdaptiveTaskController();
+        // 1000 rows of 1000 bytes in 1 second: 1MB/s for every task
+        controller.onTaskCommitted(1000 * 1000, 1000, 1000);
+
+        Map<Integer, Long> latestOffsets = Maps.newHashMap();
+        Map<Integer, Long> consumeOffsets = Maps.newHashMap();
+        for (int i = 0; i < 4; i++) {
+            latestOffsets.put(i, 10000L);
+            consumeOffsets.put(i, 5000L);
+        }
+        controller.updateLag(latestOffsets, consumeOffsets);
+        Assert.assertEquals(20000, controller.getTotalLag());
+
+        // 20MB lag should be drained in 10s, and 1MB committed in the last minute
+        Assert.assertEquals(2, controller.getDesiredConcurrency(2));
+        Assert.assertEquals(3, controller.getDesiredConcurrency(8));
+        // 20MB by 2 tasks needs 10s, but it's limited by a half of the timeout
+        Assert.assertEquals(10, controller.getConsumeSecond(2));
+        Assert.assertEquals(5, controller.getConsumeSecond(4));
+        Assert.assertEquals(0, controller.getScheduleDelayMs(false, 1000));
+    }
+
+    @Test
+    public void testIdle() {
+        Config.routine_load_freshness_sla_second = 30;
+        AdaptiveTaskController controller = new AdaptiveTaskController();
+        controller.onTaskCommitted(1000, 10, 2000);
+
+        Map<Integer, Long> offsets = Maps.newHashMap();
+        offsets.put(0, 100L);
+        offsets.put(1, 100L);
+        controller.updateLag(offsets, offsets);
+        Assert.assertEquals(0, controller.getTotalLag());
+
+        Assert.assertEquals(1, controller.getDesiredConcurrency(5));
+        Assert.assertEquals(Config.routine_load_task_consume_second, controller.getConsumeSecond(1));
+        // wait as long as the freshness SLA allows
+        Assert.assertEquals(28000, controller.getScheduleDelayMs(true, 10000));
+        Assert.assertEquals(40000, controller.getScheduleDelayMs(true, 40000));
+
+        Assert.assertTrue(controller.needAdjustConcurrency(5, 1));
+        // adjusted just now
+        Assert.assertFalse(controller.needAdjustConcurrency(2, 1));
+        Assert.assertFalse(new AdaptiveTaskController().needAdjustConcurrency(1, 1));
+    }
+}
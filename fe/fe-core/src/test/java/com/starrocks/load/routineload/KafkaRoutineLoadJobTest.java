@@ -31,6 +31,7 @@ import com.starrocks.analysis.LabelName;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.analysis.PartitionNames;
 import com.starrocks.catalog.Catalog;
+import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Table;
@@ -302,6 +303,49 @@ public class KafkaRoutineLoadJobTest {
         Assert.assertEquals(kafkaPartitionString, Joiner.on(",").join(kafkaPartitionResult));
     }
 
+    @Test
+    public void testFromCreateStmtWithRouteColumnNotExist(@Mocked Catalog catalog,
+                                                          @Injectable Database database,
+                                                          @Injectable OlapTable table,
+                                                          @Injectable OlapTable routeTable,
+                                                          @Injectable Column routeColumn) {
+        CreateRoutineLoadStmt createRoutineLoadStmt = initCreateRoutineLoadStmt();
+        Deencapsulation.setField(createRoutineLoadStmt, "routeColumn", "event");
+        Map<String, String> routeTables = Maps.newLinkedHashMap();
+        routeTables.put("click", "route_table");
+        Deencapsulation.setField(createRoutineLoadStmt, "routeTables", routeTables);
+
+        new Expectations() {
+            {
+                database.getTable(tableNameString);
+                minTimes = 0;
+                result = table;
+                database.getTable("route_table");
+                minTimes = 0;
+                result = routeTable;
+                table.getType();
+                minTimes = 0;
+                result = Table.TableType.OLAP;
+                routeTable.getType();
+                minTimes = 0;
+                result = Table.TableType.OLAP;
+                routeTable.getColumn("event");
+                minTimes = 0;
+                result = routeColumn;
+                table.getColumn("event");
+                minTimes = 0;
+                result = null;
+            }
+        };
+
+        try {
+            KafkaRoutineLoadJob.fromCreateStmt(createRoutineLoadStmt);
+            Assert.fail();
+        } catch (UserException e) {
+            Assert.assertTrue(e.getMessage().contains("Route column event does not exist in table " + tableNameString));
+        }
+    }
+
     private CreateRoutineLoadStmt initCreateRoutineLoadStmt() {
         List<ParseNode> loadPropertyList = new ArrayList<>();
         loadPropertyList.add(columnSeparator);
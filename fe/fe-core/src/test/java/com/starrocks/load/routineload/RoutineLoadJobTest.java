@@ -25,7 +25,10 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.analysis.CompoundPredicate;
 import com.starrocks.analysis.CreateRoutineLoadStmt;
+import com.starrocks.analysis.InPredicate;
+import com.starrocks.analysis.IsNullPredicate;
 import com.starrocks.analysis.SqlParser;
 import com.starrocks.catalog.Catalog;
 import com.starrocks.catalog.Database;
@@ -49,6 +52,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class RoutineLoadJobTest {
@@ -298,4 +302,33 @@ public class RoutineLoadJobTest {
         Assert.assertEquals(new Long(0), Deencapsulation.getField(routineLoadJob, "currentTotalRows"));
 
     }
+
+    @Test
+    public void testRouteTables() {
+        RoutineLoadJob routineLoadJob = new KafkaRoutineLoadJob();
+        Deencapsulation.setField(routineLoadJob, "tableId", 1L);
+        Assert.assertEquals(Lists.newArrayList(1L), routineLoadJob.getTableIds());
+        Assert.assertNull(routineLoadJob.getWhereExpr(1L));
+
+        Map<String, Long> routeTables = Maps.newLinkedHashMap();
+        routeTables.put("click", 2L);
+        routeTables.put("view", 3L);
+        routeTables.put("impression", 3L);
+        routineLoadJob.setRouteTables("event", routeTables);
+        Assert.assertEquals("event", routineLoadJob.getRouteColumn());
+        Assert.assertEquals(Lists.newArrayList(1L, 2L, 3L), routineLoadJob.getTableIds());
+        Assert.assertEquals(Lists.newArrayList("view", "impression"), routineLoadJob.getRouteTables().get(3L));
+
+        // the table of job loads the rows not routed to other tables, including the rows with NULL route column
+        CompoundPredicate defaultRoute = (CompoundPredicate) routineLoadJob.getWhereExpr(1L);
+        Assert.assertEquals(CompoundPredicate.Operator.OR, defaultRoute.getOp());
+        IsNullPredicate nullRoute = (IsNullPredicate) defaultRoute.getChild(0);
+        Assert.assertFalse(nullRoute.isNotNull());
+        InPredicate notInRoute = (InPredicate) defaultRoute.getChild(1);
+        Assert.assertTrue(notInRoute.isNotIn());
+        Assert.assertEquals(3, notInRoute.getInElementNum());
+        InPredicate route = (InPredicate) routineLoadJob.getWhereExpr(3L);
+        Assert.assertFalse(route.isNotIn());
+        Assert.assertEquals(2, route.getInElementNum());
+    }
 }
@@ -0,0 +1,72 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.mysql.privilege;
+
+import com.starrocks.analysis.UserIdentity;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.DdlException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrivTableTest {
+    private final UserIdentity user = UserIdentity.createAnalyzedUserIdentWithIp("default_cluster:u", "%");
+    private final UserIdentity otherUser = UserIdentity.createAnalyzedUserIdentWithIp("default_cluster:v", "%");
+
+    private PrivBitSet getTblPrivs(TablePrivTable table, UserIdentity currentUser, String db, String tbl) {
+        PrivBitSet privs = PrivBitSet.of();
+        table.getPrivs(currentUser, db, tbl, privs);
+        return privs;
+    }
+
+    private PrivBitSet getDbPrivs(DbPrivTable table, UserIdentity currentUser, String db) {
+        PrivBitSet privs = PrivBitSet.of();
+        table.getPrivs(currentUser, db, privs);
+        return privs;
+    }
+
+    @Test
+    public void testTablePrivs() throws AnalysisException, DdlException {
+        TablePrivTable table = new TablePrivTable();
+        TablePrivEntry exactEntry = TablePrivEntry.create("%", "default_cluster:db1", "default_cluster:u", "tbl1",
+                false, PrivBitSet.of(Privilege.SELECT_PRIV));
+        table.addEntry(exactEntry, false, false);
+        table.addEntry(TablePrivEntry.create("%", "default_cluster:db1", "default_cluster:u", "tbl%",
+                false, PrivBitSet.of(Privilege.LOAD_PRIV)), false, false);
+        table.addEntry(TablePrivEntry.create("%", "default_cluster:db2%", "default_cluster:u", "*",
+                false, PrivBitSet.of(Privilege.ALTER_PRIV)), false, false);
+
+        // the exact entry is sorted before the pattern entry of the same db
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db1", "tbl1").containsPrivs(Privilege.SELECT_PRIV));
+        Assert.assertFalse(getTblPrivs(table, user, "default_cluster:db1", "tbl1").containsPrivs(Privilege.LOAD_PRIV));
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db1", "tbl2").containsPrivs(Privilege.LOAD_PRIV));
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db2", "t").containsPrivs(Privilege.ALTER_PRIV));
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db3", null).isEmpty());
+        Assert.assertTrue(getTblPrivs(table, otherUser, "default_cluster:db1", "tbl1").isEmpty());
+        Assert.assertTrue(table.hasPrivsOfDb(user, "default_cluster:db1"));
+        Assert.assertFalse(table.hasPrivsOfDb(otherUser, "default_cluster:db1"));
+
+        // the index is rebuilt after the entries are changed
+        table.dropEntry(exactEntry);
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db1", "tbl1").containsPrivs(Privilege.LOAD_PRIV));
+        table.addEntry(TablePrivEntry.create("%", "default_cluster:db1", "default_cluster:v", "tbl1",
+                false, PrivBitSet.of(Privilege.DROP_PRIV)), false, false);
+        Assert.assertTrue(getTblPrivs(table, otherUser, "default_cluster:db1", "tbl1")
+                .containsPrivs(Privilege.DROP_PRIV));
+        table.dropUser(user);
+        Assert.assertTrue(getTblPrivs(table, user, "default_cluster:db1", "tbl1").isEmpty());
+    }
+
+    @Test
+    public void testDbPrivs() throws AnalysisException, DdlException {
+        DbPrivTable table = new DbPrivTable();
+        table.addEntry(DbPrivEntry.create("%", "default_cluster:db1", "default_cluster:u", false,
+                PrivBitSet.of(Privilege.SELECT_PRIV)), false, false);
+        table.addEntry(DbPrivEntry.create("%", "*", "default_cluster:u", false,
+                PrivBitSet.of(Privilege.LOAD_PRIV)), false, false);
+
+        Assert.assertTrue(getDbPrivs(table, user, "default_cluster:db1").containsPrivs(Privilege.SELECT_PRIV));
+        Assert.assertTrue(getDbPrivs(table, user, "default_cluster:db2").containsPrivs(Privilege.LOAD_PRIV));
+        Assert.assertTrue(getDbPrivs(table, user, null).containsPrivs(Privilege.LOAD_PRIV));
+        Assert.assertTrue(getDbPrivs(table, otherUser, "default_cluster:db1").isEmpty());
+    }
+}
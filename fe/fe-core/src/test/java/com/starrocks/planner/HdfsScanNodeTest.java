@@ -21,6 +21,7 @@ import com.starrocks.catalog.Column;
 import com.starrocks.catalog.HiveTable;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Type;
+import com.starrocks.common.Config;
 import com.starrocks.common.UserException;
 import com.starrocks.external.hive.HdfsFileBlockDesc;
 import com.starrocks.external.hive.HdfsFileDesc;
@@ -109,8 +110,8 @@ public class HdfsScanNodeTest {
                 result = partitionCols;
                 table.getPartitionKeys();
                 result = partitionKeys;
-                table.getPartition((PartitionKey) any);
-                result = p0;
+                table.getPartitions((List<PartitionKey>) any);
+                result = Lists.newArrayList(p0);
                 table.getExtrapolatedRowCount(anyLong);
                 result = -1;
                 table.getPartitionStatsRowCount((List<PartitionKey>) any);
@@ -134,6 +135,56 @@ public class HdfsScanNodeTest {
         Assert.assertEquals(1, scanNode.getNumNodes());
     }
 
+    @Test
+    public void testSplitScanRange() throws UserException {
+        List<Column> partitionCols = Lists.newArrayList();
+        Column partitionCol = new Column("part_col", Type.INT);
+        partitionCols.add(partitionCol);
+
+        Map<PartitionKey, Long> partitionKeys = Maps.newHashMap();
+        partitionKeys.put(PartitionKey.createPartitionKey(Lists.newArrayList(new PartitionValue("1")), partitionCols),
+                0L);
+
+        HdfsFileBlockDesc blockDesc = new HdfsFileBlockDesc(100, 100, new long[] {0}, null, client);
+        HdfsFileDesc fileDesc = new HdfsFileDesc("/00000_0", "", 200, ImmutableList.of(blockDesc));
+        HivePartition p0 = new HivePartition(HdfsFileFormat.PARQUET, ImmutableList.of(fileDesc), "path/part_col=1");
+
+        new Expectations() {
+            {
+                analyzer.getUnassignedConjuncts((PlanNode) any);
+                result = Lists.newArrayList();
+                table.getPartitionColumns();
+                result = partitionCols;
+                table.getPartitionKeys();
+                result = partitionKeys;
+                table.getPartitions((List<PartitionKey>) any);
+                result = Lists.newArrayList(p0);
+                table.getExtrapolatedRowCount(anyLong);
+                result = 10;
+            }
+        };
+
+        long maxSize = Config.hdfs_scan_range_max_size;
+        Config.hdfs_scan_range_max_size = 30;
+        try {
+            HdfsScanNode scanNode = new HdfsScanNode(new PlanNodeId(0), tupleDesc, "HdfsScanNode");
+            scanNode.init(analyzer);
+            scanNode.finalize(analyzer);
+
+            // block [100, 200) is split into 4 ranges
+            List<TScanRangeLocations> locations = scanNode.getScanRangeLocations(0);
+            Assert.assertEquals(4, locations.size());
+            long offset = 100;
+            for (TScanRangeLocations location : locations) {
+                Assert.assertEquals(offset, location.getScan_range().getHdfs_scan_range().getOffset());
+                Assert.assertEquals(25, location.getScan_range().getHdfs_scan_range().getLength());
+                offset += 25;
+            }
+        } finally {
+            Config.hdfs_scan_range_max_size = maxSize;
+        }
+    }
+
     @Test
     public void testPartitionPrune() throws UserException {
         List<Column> partitionCols = Lists.newArrayList();
@@ -174,10 +225,8 @@ public class HdfsScanNodeTest {
                 result = partitionCols;
                 table.getPartitionKeys();
                 result = partitionKeys;
-                table.getPartition(key2);
-                result = p2;
-                table.getPartition(key3);
-                result = p3;
+                table.getPartitions((List<PartitionKey>) any);
+                result = Lists.newArrayList(p2, p3);
                 table.getExtrapolatedRowCount(400);
                 result = 50;
             }
@@ -238,8 +287,8 @@ public class HdfsScanNodeTest {
                 result = partitionCols;
                 table.getPartitionKeys();
                 result = partitionKeys;
-                table.getPartition((PartitionKey) any);
-                result = p0;
+                table.getPartitions((List<PartitionKey>) any);
+                result = Lists.newArrayList(p0);
                 table.getExtrapolatedRowCount(anyLong);
                 result = -1;
                 table.getPartitionStatsRowCount((List<PartitionKey>) any);
@@ -211,4 +211,15 @@ public class ConnectContextTest {
         Assert.assertNotNull(ConnectContext.get());
         Assert.assertEquals(ctx, ConnectContext.get());
     }
+
+    @Test
+    public void testJournalIdBarrier() {
+        ConnectContext ctx = new ConnectContext(socketChannel);
+        Assert.assertEquals(0, ctx.getJournalIdBarrier());
+        ctx.updateJournalIdBarrier(10);
+        Assert.assertEquals(10, ctx.getJournalIdBarrier());
+        // the barrier never goes back
+        ctx.updateJournalIdBarrier(5);
+        Assert.assertEquals(10, ctx.getJournalIdBarrier());
+    }
 }
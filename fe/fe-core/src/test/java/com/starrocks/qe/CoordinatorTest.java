@@ -422,6 +422,10 @@ public class CoordinatorTest extends Coordinator {
             }
         }
         Assert.assertEquals(5, hostMatches);
+        // the average is 500 bytes, no be exceeds it by more than the smallest scan range
+        for (long bytes : getScanBytesPerHost(assignment).values()) {
+            Assert.assertTrue(String.valueOf(bytes), bytes >= 400 && bytes <= 600);
+        }
 
         // set forceScheduleLocal true
         Deencapsulation.setField(coordinator, "forceScheduleLocal", true);
@@ -455,6 +459,72 @@ public class CoordinatorTest extends Coordinator {
         Assert.assertEquals(6, hostMatches);
     }
 
+    private static Map<String, Long> getScanBytesPerHost(FragmentScanRangeAssignment assignment) {
+        Map<String, Long> bytesPerHost = Maps.newHashMap();
+        for (Map.Entry<TNetworkAddress, Map<Integer, List<TScanRangeParams>>> entry : assignment.entrySet()) {
+            long bytes = 0;
+            for (List<TScanRangeParams> params : entry.getValue().values()) {
+                for (TScanRangeParams param : params) {
+                    bytes += param.scan_range.hdfs_scan_range.length;
+                }
+            }
+            bytesPerHost.put(entry.getKey().hostname, bytes);
+        }
+        return bytesPerHost;
+    }
+
+    @Test
+    public void testHybridBackendSelectorBalanceByBytes(@Injectable HdfsScanNode scanNode) {
+        Coordinator coordinator = new Coordinator(context, analyzer, planner);
+        Deencapsulation.setField(coordinator, "scanNodes", Lists.newArrayList(scanNode));
+        PlanFragmentId fragmentId = new PlanFragmentId(0);
+        Map<PlanFragmentId, FragmentExecParams> fragmentExecParamsMap = Deencapsulation.getField(
+                coordinator, "fragmentExecParamsMap");
+        fragmentExecParamsMap.put(fragmentId, new FragmentExecParams(null));
+
+        // no be has local replica
+        Map<Long, Backend> idToBackend = Maps.newHashMap();
+        Backend be3 = new Backend(3, "127.0.0.3", 9050);
+        be3.setAlive(true);
+        be3.setBePort(9060);
+        Backend be4 = new Backend(4, "127.0.0.4", 9050);
+        be4.setAlive(true);
+        be4.setBePort(9060);
+        idToBackend.put(be3.getId(), be3);
+        idToBackend.put(be4.getId(), be4);
+        Deencapsulation.setField(coordinator, "idToBackend", ImmutableMap.copyOf(idToBackend));
+
+        // in the original order, the last large scan range would make 700 : 300 bytes
+        List<String> hosts = Lists.newArrayList("127.0.0.0", "127.0.0.1");
+        List<TScanRangeLocations> locations = Lists.newArrayList();
+        locations.add(createScanRangeLocations("0000_0", hosts, 100));
+        locations.add(createScanRangeLocations("0000_1", hosts, 100));
+        locations.add(createScanRangeLocations("0000_2", hosts, 200));
+        locations.add(createScanRangeLocations("0000_3", hosts, 200));
+        locations.add(createScanRangeLocations("0000_4", hosts, 400));
+
+        new Expectations() {
+            {
+                scanNode.getScanRangeLocations(0);
+                result = locations;
+                scanNode.getFragmentId();
+                result = fragmentId;
+                scanNode.getId();
+                result = new PlanNodeId(0);
+            }
+        };
+
+        Deencapsulation.setField(coordinator, "forceScheduleLocal", false);
+        Deencapsulation.invoke(coordinator, "computeScanRangeAssignment");
+
+        FragmentScanRangeAssignment assignment =
+                fragmentExecParamsMap.get(scanNode.getFragmentId()).scanRangeAssignment;
+        Map<String, Long> bytesPerHost = getScanBytesPerHost(assignment);
+        Assert.assertEquals(2, bytesPerHost.size());
+        Assert.assertEquals(Long.valueOf(500), bytesPerHost.get("127.0.0.3"));
+        Assert.assertEquals(Long.valueOf(500), bytesPerHost.get("127.0.0.4"));
+    }
+
     @Test
     public void testHybridBackendSelectorForIndependentDeployment(@Injectable HdfsScanNode scanNode) {
         Coordinator coordinator = new Coordinator(context, analyzer, planner);
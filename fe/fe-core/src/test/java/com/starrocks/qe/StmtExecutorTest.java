@@ -34,7 +34,9 @@ import com.starrocks.analysis.ShowAuthorStmt;
 import com.starrocks.analysis.ShowStmt;
 import com.starrocks.analysis.SqlParser;
 import com.starrocks.analysis.UseStmt;
+import com.starrocks.analysis.UserIdentity;
 import com.starrocks.catalog.Catalog;
+import com.starrocks.common.ClientPool;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.common.util.RuntimeProfile;
@@ -45,11 +47,18 @@ import com.starrocks.mysql.MysqlSerializer;
 import com.starrocks.planner.Planner;
 import com.starrocks.rewrite.ExprRewriter;
 import com.starrocks.service.FrontendOptions;
+import com.starrocks.thrift.FrontendService;
+import com.starrocks.thrift.TMasterOpRequest;
+import com.starrocks.thrift.TMasterOpResult;
+import com.starrocks.thrift.TNetworkAddress;
 import com.starrocks.thrift.TQueryOptions;
 import com.starrocks.thrift.TUniqueId;
 import java_cup.runtime.Symbol;
 import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
 import mockit.Mocked;
+import mockit.Verifications;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -736,5 +745,151 @@ public class StmtExecutorTest {
 
         Assert.assertEquals(QueryState.MysqlStateType.ERR, state.getStateType());
     }
-}
 
+    private void mockFollower(long replayedJournalId, JournalObservable journalObservable) {
+        new MockUp<Catalog>() {
+            @Mock
+            public boolean isMaster() {
+                return false;
+            }
+
+            @Mock
+            public boolean canRead() {
+                return true;
+            }
+
+            @Mock
+            public long getReplayedJournalId() {
+                return replayedJournalId;
+            }
+
+            @Mock
+            public JournalObservable getJournalObservable() {
+                return journalObservable;
+            }
+
+            @Mock
+            public String getMasterIp() {
+                return "127.0.0.1";
+            }
+
+            @Mock
+            public int getMasterRpcPort() {
+                return 9020;
+            }
+        };
+    }
+
+    @Test
+    public void testWaitJournalIdBarrier(@Mocked SetStmt setStmt, @Mocked JournalObservable journalObservable)
+            throws Exception {
+        mockFollower(5L, journalObservable);
+        new Expectations() {
+            {
+                setStmt.getRedirectStatus();
+                minTimes = 0;
+                result = RedirectStatus.NO_FORWARD;
+            }
+        };
+        StmtExecutor stmtExecutor = new StmtExecutor(ctx, "");
+        Deencapsulation.setField(stmtExecutor, "parsedStmt", setStmt);
+
+        // the journal has been replayed
+        ctx.updateJournalIdBarrier(3L);
+        Deencapsulation.invoke(stmtExecutor, "waitJournalIdBarrier");
+        new Verifications() {
+            {
+                journalObservable.waitOn(anyLong, anyInt);
+                times = 0;
+            }
+        };
+
+        // wait for the journal written by the previous statements
+        int timeoutMs = ctx.getSessionVariable().getQueryTimeoutS() * 1000;
+        ctx.updateJournalIdBarrier(10L);
+        Deencapsulation.invoke(stmtExecutor, "waitJournalIdBarrier");
+        new Verifications() {
+            {
+                journalObservable.waitOn(10L, timeoutMs);
+                times = 1;
+            }
+        };
+
+        // fail if the journal is not replayed in time
+        new Expectations() {
+            {
+                journalObservable.waitOn(anyLong, anyInt);
+                result = new DdlException("timeout");
+            }
+        };
+        try {
+            Deencapsulation.invoke(stmtExecutor, "waitJournalIdBarrier");
+            Assert.fail("should fail to wait for the journal");
+        } catch (Exception e) {
+            Assert.assertTrue(e instanceof DdlException);
+            Assert.assertTrue(e.getMessage().contains("Wait for the journal 10"));
+        }
+    }
+
+    @Test
+    public void testNotWaitJournalIdBarrierForForwardedStmt(@Mocked SetStmt setStmt,
+                                                            @Mocked JournalObservable journalObservable)
+            throws Exception {
+        mockFollower(5L, journalObservable);
+        new Expectations() {
+            {
+                setStmt.getRedirectStatus();
+                minTimes = 0;
+                result = RedirectStatus.FORWARD_WITH_SYNC;
+            }
+        };
+        StmtExecutor stmtExecutor = new StmtExecutor(ctx, "");
+        Deencapsulation.setField(stmtExecutor, "parsedStmt", setStmt);
+
+        // master has the journal, no need to wait for this FE
+        ctx.updateJournalIdBarrier(10L);
+        Deencapsulation.invoke(stmtExecutor, "waitJournalIdBarrier");
+        new Verifications() {
+            {
+                journalObservable.waitOn(anyLong, anyInt);
+                times = 0;
+            }
+        };
+    }
+
+    @Test
+    public void testForwardNoSyncKeepsJournalIdBarrier(@Mocked FrontendService.Client client,
+                                                       @Mocked JournalObservable journalObservable)
+            throws Exception {
+        mockFollower(5L, journalObservable);
+        TMasterOpResult opResult = new TMasterOpResult();
+        opResult.setMaxJournalId(100L);
+        opResult.setPacket(new byte[0]);
+        new Expectations(ClientPool.frontendPool) {
+            {
+                ClientPool.frontendPool.borrowObject((TNetworkAddress) any, anyInt);
+                minTimes = 0;
+                result = client;
+
+                ClientPool.frontendPool.returnObject((TNetworkAddress) any, (FrontendService.Client) any);
+                minTimes = 0;
+
+                client.forward((TMasterOpRequest) any);
+                minTimes = 0;
+                result = opResult;
+            }
+        };
+        ctx.setCurrentUserIdentity(UserIdentity.ROOT);
+
+        // SHOW PROC etc. don't wait for the journal, neither do the following statements
+        MasterOpExecutor executor = new MasterOpExecutor(new OriginStatement("show proc '/'", 0), ctx,
+                RedirectStatus.FORWARD_NO_SYNC, false);
+        executor.execute();
+        Assert.assertEquals(0L, ctx.getJournalIdBarrier());
+
+        executor = new MasterOpExecutor(new OriginStatement("create database db1", 0), ctx,
+                RedirectStatus.FORWARD_WITH_SYNC, false);
+        executor.execute();
+        Assert.assertEquals(100L, ctx.getJournalIdBarrier());
+    }
+}
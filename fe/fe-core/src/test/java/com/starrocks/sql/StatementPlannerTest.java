@@ -0,0 +1,101 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.sql;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.FeConstants;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class StatementPlannerTest {
+    private static String runningDir = "fe/mocked/StatementPlannerTest/" + UUID.randomUUID().toString() + "/";
+
+    private static ConnectContext connectContext;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        FeConstants.runningUnitTest = true;
+        UtFrameUtils.createMinStarRocksCluster(runningDir);
+        connectContext = UtFrameUtils.createDefaultCtx();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test_planner_lock").useDatabase("test_planner_lock");
+        // the tables are created in the order of their ids
+        for (String name : Lists.newArrayList("t0", "t1", "t2", "t3")) {
+            starRocksAssert.withTable("CREATE TABLE test_planner_lock." + name + "\n" +
+                    "(\n" +
+                    "    k1 int,\n" +
+                    "    v1 int\n" +
+                    ")\n" +
+                    "DUPLICATE KEY(k1)\n" +
+                    "DISTRIBUTED BY HASH(k1) BUCKETS 1\n" +
+                    "PROPERTIES('replication_num' = '1');");
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        File file = new File(runningDir);
+        file.delete();
+    }
+
+    // return the names of the tables locked by planning the sql, in the order they are locked
+    private static List<String> planAndGetLockedTables(String sql) throws Exception {
+        List<String> lockedTables = Lists.newArrayList();
+        boolean[] locking = {false};
+        new MockUp<Database>() {
+            @Mock
+            public void readLockTables(Invocation invocation, List<Table> tables) {
+                locking[0] = true;
+                try {
+                    invocation.proceed(tables);
+                } finally {
+                    locking[0] = false;
+                }
+            }
+        };
+        new MockUp<Table>() {
+            @Mock
+            ReentrantReadWriteLock getTableLock(Invocation invocation) {
+                if (locking[0]) {
+                    lockedTables.add(((Table) invocation.getInvokedInstance()).getName());
+                }
+                return invocation.proceed();
+            }
+        };
+
+        StatementBase stmt = UtFrameUtils.parseStmtWithNewAnalyzer(sql, connectContext);
+        new StatementPlanner().plan(stmt, connectContext);
+        return lockedTables;
+    }
+
+    @Test
+    public void testLockTablesOfJoin() throws Exception {
+        List<String> lockedTables = planAndGetLockedTables(
+                "select * from t2 join t1 on t2.k1 = t1.k1 join t2 t22 on t1.k1 = t22.k1");
+        // only the referenced tables are locked once, in the order of table id
+        Assert.assertEquals(Lists.newArrayList("t1", "t2"), lockedTables);
+    }
+
+    @Test
+    public void testLockTablesOfSubquery() throws Exception {
+        List<String> lockedTables = planAndGetLockedTables(
+                "select * from t3 where k1 in (select k1 from t1) and exists (select * from t2 where t2.k1 = t3.k1)");
+        Assert.assertEquals(Lists.newArrayList("t1", "t2", "t3"), lockedTables);
+    }
+}
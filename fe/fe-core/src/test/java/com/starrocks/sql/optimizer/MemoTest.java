@@ -5,6 +5,7 @@ package com.starrocks.sql.optimizer;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import com.starrocks.sql.optimizer.operator.Operator;
 import com.starrocks.sql.optimizer.operator.OperatorType;
 import com.starrocks.sql.optimizer.operator.logical.LogicalJoinOperator;
@@ -15,7 +16,10 @@ import mockit.Expectations;
 import mockit.Mocked;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class MemoTest {
     @Test
@@ -97,4 +101,21 @@ public class MemoTest {
         assertEquals(memo.getGroups().get(3).getPhysicalExpressions().size(), 0);
     }
 
+    @Test
+    public void testInternProperties() {
+        Memo memo = new Memo();
+        PhysicalPropertySet property1 = new PhysicalPropertySet();
+        PhysicalPropertySet property2 = new PhysicalPropertySet();
+
+        assertSame(property1, memo.internProperty(property1));
+        assertSame(property1, memo.internProperty(property2));
+
+        List<PhysicalPropertySet> inputs1 = memo.internInputProperties(Lists.newArrayList(property1, property2));
+        List<PhysicalPropertySet> inputs2 = memo.internInputProperties(Lists.newArrayList(property2, property2));
+        assertSame(inputs1, inputs2);
+        assertSame(property1, inputs1.get(1));
+
+        assertEquals(2, memo.getInternedPropertyNum());
+        assertEquals(4, memo.getInternHits());
+    }
 }
@@ -333,6 +333,58 @@ public class OptimizerTaskTest {
         //        checker.checkStatus();
     }
 
+    @Test
+    public void TestFourJoinWithMemoBudget(@Mocked OlapTable olapTable1,
+                                           @Mocked OlapTable olapTable2,
+                                           @Mocked OlapTable olapTable3,
+                                           @Mocked OlapTable olapTable4) {
+        new Expectations() {
+            {
+                olapTable1.getId();
+                result = 0;
+                minTimes = 0;
+
+                olapTable2.getId();
+                result = 1;
+                minTimes = 0;
+
+                olapTable3.getId();
+                result = 2;
+                minTimes = 0;
+
+                olapTable4.getId();
+                result = 3;
+                minTimes = 0;
+            }
+        };
+
+        OptExpression bottomJoin = OptExpression.create(new LogicalJoinOperator(),
+                OptExpression.create(new LogicalOlapScanOperator(olapTable1)),
+                OptExpression.create(new LogicalOlapScanOperator(olapTable2)));
+
+        OptExpression bottomJoin2 = OptExpression.create(new LogicalJoinOperator(),
+                bottomJoin,
+                new OptExpression(new LogicalOlapScanOperator(olapTable3)));
+
+        OptExpression topJoin = OptExpression.create(new LogicalJoinOperator(),
+                bottomJoin2,
+                new OptExpression(new LogicalOlapScanOperator(olapTable4)));
+
+        ctx.getSessionVariable().setCboMaxMemoSize(10);
+        try {
+            Optimizer optimizer = new Optimizer();
+            OptExpression physicalTree = optimizer.optimize(ctx, topJoin, new PhysicalPropertySet(),
+                    new ColumnRefSet(), columnRefFactory);
+
+            assertNotNull(physicalTree);
+            assertEquals(OperatorType.PHYSICAL_HASH_JOIN, physicalTree.getOp().getOpType());
+            assertTrue(optimizer.getProfile().isBudgetExceeded());
+            assertTrue(optimizer.getContext().isExplorationStopped());
+        } finally {
+            ctx.getSessionVariable().setCboMaxMemoSize(100000);
+        }
+    }
+
     @Test
     public void TestSevenJoin(@Mocked OlapTable olapTable1,
                               @Mocked OlapTable olapTable2,
@@ -0,0 +1,62 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RuntimeFilterEstimatorTest {
+    @Test
+    public void testEstimateSelectivity() {
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        ColumnRefOperator probe = columnRefFactory.create("probe", Type.INT, true);
+        ColumnRefOperator build = columnRefFactory.create("build", Type.INT, true);
+
+        Statistics probeStatistics = Statistics.builder().setOutputRowCount(1000000)
+                .addColumnStatistic(probe, new ColumnStatistic(0, 1000, 0, 4, 1000)).build();
+        Statistics buildStatistics = Statistics.builder().setOutputRowCount(100)
+                .addColumnStatistic(build, new ColumnStatistic(0, 1000, 0, 4, 100)).build();
+
+        RuntimeFilterEstimator estimator =
+                RuntimeFilterEstimator.estimate(probeStatistics, probe, buildStatistics, build);
+        Assert.assertFalse(estimator.isUnknown());
+        Assert.assertEquals(0.1, estimator.getSelectivity(), 0.0001);
+        Assert.assertTrue(estimator.isBeneficial(false));
+
+        // build side only covers a half of the probe range
+        buildStatistics = Statistics.builder().setOutputRowCount(1000)
+                .addColumnStatistic(build, new ColumnStatistic(0, 500, 0, 4, 1000)).build();
+        estimator = RuntimeFilterEstimator.estimate(probeStatistics, probe, buildStatistics, build);
+        Assert.assertEquals(0.5, estimator.getSelectivity(), 0.0001);
+
+        // build side contains all values of probe side, the filter is useless
+        buildStatistics = Statistics.builder().setOutputRowCount(1000000)
+                .addColumnStatistic(build, new ColumnStatistic(0, 1000, 0, 4, 1000)).build();
+        estimator = RuntimeFilterEstimator.estimate(probeStatistics, probe, buildStatistics, build);
+        Assert.assertEquals(1.0, estimator.getSelectivity(), 0.0001);
+        Assert.assertFalse(estimator.isBeneficial(false));
+    }
+
+    @Test
+    public void testUnknownStatistics() {
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        ColumnRefOperator probe = columnRefFactory.create("probe", Type.INT, true);
+        ColumnRefOperator build = columnRefFactory.create("build", Type.INT, true);
+
+        Statistics probeStatistics = Statistics.builder().setOutputRowCount(1000000)
+                .addColumnStatistic(probe, ColumnStatistic.unknown()).build();
+        Statistics buildStatistics = Statistics.builder().setOutputRowCount(100)
+                .addColumnStatistic(build, new ColumnStatistic(0, 1000, 0, 4, 100)).build();
+
+        RuntimeFilterEstimator estimator =
+                RuntimeFilterEstimator.estimate(probeStatistics, probe, buildStatistics, build);
+        Assert.assertTrue(estimator.isUnknown());
+        Assert.assertTrue(estimator.isBeneficial(true));
+
+        estimator = RuntimeFilterEstimator.estimate(null, probe, buildStatistics, build);
+        Assert.assertTrue(estimator.isUnknown());
+    }
+}
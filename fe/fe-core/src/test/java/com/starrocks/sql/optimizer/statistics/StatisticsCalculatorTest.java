@@ -3,6 +3,7 @@
 package com.starrocks.sql.optimizer.statistics;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.starrocks.catalog.Catalog;
@@ -27,6 +28,7 @@ import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.utframe.StarRocksAssert;
 import com.starrocks.utframe.UtFrameUtils;
 import mockit.Expectations;
@@ -112,6 +114,44 @@ public class StatisticsCalculatorTest {
                 expressionContext.getStatistics().getOutputRowCount(), 0.001);
     }
 
+    @Test
+    public void testMultiColumnStatistics() throws Exception {
+        ColumnRefOperator v1 = columnRefFactory.create("v1", Type.INT, true);
+        ColumnRefOperator v2 = columnRefFactory.create("v2", Type.INT, true);
+
+        Statistics.Builder builder = Statistics.builder();
+        builder.setOutputRowCount(10000);
+        builder.addColumnStatistics(ImmutableMap.of(v1, new ColumnStatistic(0, 100, 0, 10, 50)));
+        builder.addColumnStatistics(ImmutableMap.of(v2, new ColumnStatistic(0, 100, 0, 10, 50)));
+        Statistics independentStatistics = builder.build();
+        builder.addMultiColumnStatistic(ImmutableSet.of(v1, v2), 60);
+        Statistics correlatedStatistics = builder.build();
+
+        // group by correlated columns use the joint distinct values count
+        Group childGroup = new Group(0);
+        childGroup.setStatistics(correlatedStatistics);
+        LogicalAggregationOperator aggNode =
+                new LogicalAggregationOperator(Lists.newArrayList(v1, v2), new HashMap<>());
+        GroupExpression groupExpression = new GroupExpression(aggNode, Lists.newArrayList(childGroup));
+        groupExpression.setGroup(new Group(1));
+        ExpressionContext expressionContext = new ExpressionContext(groupExpression);
+        StatisticsCalculator statisticsCalculator = new StatisticsCalculator(expressionContext, new ColumnRefSet(),
+                columnRefFactory, new MockDumpInfo());
+        statisticsCalculator.estimatorStats();
+        Assert.assertEquals(60, expressionContext.getStatistics().getOutputRowCount(), 0.001);
+        Assert.assertEquals(1, expressionContext.getStatistics().getMultiColumnStatistics().size());
+
+        // equal predicates on correlated columns are corrected with the joint distinct values count
+        List<ScalarOperator> predicates = Lists.newArrayList(
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, v1, ConstantOperator.createInt(1)),
+                new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ, v2, ConstantOperator.createInt(2)));
+        double independentRowCount =
+                statisticsCalculator.estimateStatistics(predicates, independentStatistics).getOutputRowCount();
+        Statistics estimated = statisticsCalculator.estimateStatistics(predicates, correlatedStatistics);
+        Assert.assertEquals(independentRowCount * 50 * 50 / 60, estimated.getOutputRowCount(), 0.001);
+        Assert.assertTrue(estimated.getMultiColumnStatistics().isEmpty());
+    }
+
     @Test
     public void testLogicalUnion() throws Exception {
         // child 1 output column
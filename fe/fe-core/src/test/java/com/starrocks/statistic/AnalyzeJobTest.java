@@ -0,0 +1,41 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021 StarRocks Limited.
+
+package com.starrocks.statistic;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class AnalyzeJobTest {
+    @Test
+    public void testSampleCollectRows() {
+        AnalyzeJob job = new AnalyzeJob();
+        Assert.assertEquals(Config.statistic_sample_collect_rows, job.getSampleCollectRows(100000000L));
+
+        Map<String, String> properties = Maps.newHashMap();
+        properties.put(AnalyzeJob.PROP_SAMPLE_COLLECT_RATIO_KEY, "5");
+        job.setProperties(properties);
+        Assert.assertEquals(5000000L, job.getSampleCollectRows(100000000L));
+        Assert.assertEquals(1L, job.getSampleCollectRows(0L));
+    }
+
+    @Test
+    public void testCollectedVersions() {
+        AnalyzeJob job = new AnalyzeJob();
+        List<String> columns = Lists.newArrayList("k1", "v1");
+        Assert.assertTrue(job.getCollectedVersions(1L, columns).isEmpty());
+
+        job.setCollectedVersions(1L, columns, ImmutableMap.of(10L, 2L, 11L, 3L));
+        Assert.assertEquals(2, job.getCollectedVersions(1L, columns).size());
+        Assert.assertEquals(3L, (long) job.getCollectedVersions(1L, columns).get(11L));
+
+        // columns changed, all partitions must be collected again
+        Assert.assertTrue(job.getCollectedVersions(1L, Lists.newArrayList("k1")).isEmpty());
+    }
+}
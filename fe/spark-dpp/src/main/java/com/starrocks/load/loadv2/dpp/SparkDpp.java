@@ -91,6 +91,8 @@ import java.util.Set;
 // 4. write data to parquet file
 public final class SparkDpp implements java.io.Serializable {
     private static final Logger LOG = LogManager.getLogger(SparkDpp.class);
+    // max number of distinct keys combined in map side at one time, it bounds the memory of map side combine
+    private static final int MAP_SIDE_COMBINE_MAX_ENTRIES = 100000;
 
     private static final String NULL_FLAG = "\\N";
     private static final String DPP_RESULT_FILE = "dpp_result.json";
@@ -153,8 +155,7 @@ public final class SparkDpp implements java.io.Serializable {
                                                                     RollupTreeNode curNode,
                                                                     SparkRDDAggregator[] sparkRDDAggregators)
             throws SparkDppException {
-        final boolean isDuplicateTable = !StringUtils.equalsIgnoreCase(curNode.indexMeta.indexType, "AGGREGATE")
-                && !StringUtils.equalsIgnoreCase(curNode.indexMeta.indexType, "UNIQUE");
+        final boolean isDuplicateTable = !isAggregateIndex(curNode.indexMeta);
 
         // Aggregate/UNIQUE table
         if (!isDuplicateTable) {
@@ -169,20 +170,23 @@ public final class SparkDpp implements java.io.Serializable {
                 }
             }
 
+            JavaPairRDD<List<Object>, Object[]> encodedRDD;
             if (curNode.indexMeta.isBaseIndex) {
-                JavaPairRDD<List<Object>, Object[]> result =
-                        currentPairRDD.mapToPair(new EncodeBaseAggregateTableFunction(sparkRDDAggregators))
-                                .reduceByKey(new AggregateReduceFunction(sparkRDDAggregators), aggregateConcurrency);
-                return result;
+                encodedRDD = currentPairRDD.mapToPair(new EncodeBaseAggregateTableFunction(sparkRDDAggregators));
             } else {
-                JavaPairRDD<List<Object>, Object[]> result = currentPairRDD
+                encodedRDD = currentPairRDD
                         .mapToPair(new EncodeRollupAggregateTableFunction(
                                 getColumnIndexInParentRollup(curNode.keyColumnNames, curNode.valueColumnNames,
                                         curNode.parent.keyColumnNames,
-                                        curNode.parent.valueColumnNames)))
-                        .reduceByKey(new AggregateReduceFunction(sparkRDDAggregators), aggregateConcurrency);
-                return result;
+                                        curNode.parent.valueColumnNames)));
             }
+            if (isLeafNode(curNode)) {
+                // the rows of leaf index are not used by other indexes, so they are only combined in map side here,
+                // and merged after the sorted shuffle of writing, which saves the shuffle of reduceByKey
+                return encodedRDD.mapPartitionsToPair(
+                        new MapSideCombineFunction(sparkRDDAggregators, MAP_SIDE_COMBINE_MAX_ENTRIES));
+            }
+            return encodedRDD.reduceByKey(new AggregateReduceFunction(sparkRDDAggregators), aggregateConcurrency);
             // Duplicate Table
         } else {
             int idx = 0;
@@ -204,12 +208,23 @@ public final class SparkDpp implements java.io.Serializable {
         }
     }
 
+    private static boolean isAggregateIndex(EtlJobConfig.EtlIndex indexMeta) {
+        return StringUtils.equalsIgnoreCase(indexMeta.indexType, "AGGREGATE")
+                || StringUtils.equalsIgnoreCase(indexMeta.indexType, "UNIQUE");
+    }
+
+    private static boolean isLeafNode(RollupTreeNode node) {
+        return node.children == null || node.children.isEmpty();
+    }
+
     // write data to parquet file by using writing the parquet scheme of spark.
+    // if mergeSortedRows is true, the rows with the same key are merged after sorting.
     private void writeRepartitionAndSortedRDDToParquet(JavaPairRDD<List<Object>, Object[]> resultRDD,
                                                        String pathPattern,
                                                        long tableId,
                                                        EtlJobConfig.EtlIndex indexMeta,
-                                                       SparkRDDAggregator[] sparkRDDAggregators)
+                                                       SparkRDDAggregator[] sparkRDDAggregators,
+                                                       boolean mergeSortedRows)
             throws SparkDppException {
         // TODO(wb) should deal largint as BigInteger instead of string when using biginteger as key,
         // data type may affect sorting logic
@@ -219,7 +234,9 @@ public final class SparkDpp implements java.io.Serializable {
         resultRDD.repartitionAndSortWithinPartitions(new BucketPartitioner(bucketKeyMap), new BucketComparator())
                 .foreachPartition(new VoidFunction<Iterator<Tuple2<List<Object>, Object[]>>>() {
                     @Override
-                    public void call(Iterator<Tuple2<List<Object>, Object[]>> t) throws Exception {
+                    public void call(Iterator<Tuple2<List<Object>, Object[]>> sortedRows) throws Exception {
+                        Iterator<Tuple2<List<Object>, Object[]>> t = mergeSortedRows
+                                ? new MergeSortedRowsIterator(sortedRows, sparkRDDAggregators) : sortedRows;
                         // write the data to dst file
                         Configuration conf = new Configuration(serializableHadoopConf.value());
                         FileSystem fs = FileSystem.get(URI.create(etlJobConfig.outputPath), conf);
@@ -357,10 +374,12 @@ public final class SparkDpp implements java.io.Serializable {
 
             if (curNode.children != null && curNode.children.size() > 1) {
                 // if the children number larger than 1, persist the dataframe for performance
-                curRDD.persist(StorageLevel.MEMORY_AND_DISK());
+                // in serialized form, which is much smaller than the boxed rows and causes less gc
+                curRDD.persist(StorageLevel.MEMORY_AND_DISK_SER());
             }
             // repartition and write to hdfs
-            writeRepartitionAndSortedRDDToParquet(curRDD, pathPattern, tableId, curNode.indexMeta, sparkRDDAggregators);
+            writeRepartitionAndSortedRDDToParquet(curRDD, pathPattern, tableId, curNode.indexMeta, sparkRDDAggregators,
+                    isAggregateIndex(curNode.indexMeta) && isLeafNode(curNode));
         }
     }
 
@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import scala.Tuple2;
 
@@ -35,9 +36,13 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 // contains all class about spark aggregate
 
@@ -224,6 +229,110 @@ class AggregateReduceFunction implements Function2<Object[], Object[], Object[]>
     }
 }
 
+// combine the rows with the same key before shuffle in a bounded hash map, the map is flushed when it's full,
+// so the memory of executor is bounded, and the rows left are merged by MergeSortedRowsIterator after shuffle
+class MapSideCombineFunction
+        implements PairFlatMapFunction<Iterator<Tuple2<List<Object>, Object[]>>, List<Object>, Object[]> {
+
+    private final AggregateReduceFunction reduceFunction;
+    private final int maxEntries;
+
+    public MapSideCombineFunction(SparkRDDAggregator[] sparkDppAggregators, int maxEntries) {
+        this.reduceFunction = new AggregateReduceFunction(sparkDppAggregators);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Iterator<Tuple2<List<Object>, Object[]>> call(Iterator<Tuple2<List<Object>, Object[]>> input) {
+        return new Iterator<Tuple2<List<Object>, Object[]>>() {
+            private Iterator<Map.Entry<List<Object>, Object[]>> output = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!output.hasNext()) {
+                    if (!input.hasNext()) {
+                        return false;
+                    }
+                    output = combine().entrySet().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public Tuple2<List<Object>, Object[]> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<List<Object>, Object[]> entry = output.next();
+                return new Tuple2<>(entry.getKey(), entry.getValue());
+            }
+
+            private Map<List<Object>, Object[]> combine() {
+                Map<List<Object>, Object[]> buffer = new HashMap<>();
+                while (input.hasNext() && buffer.size() < maxEntries) {
+                    Tuple2<List<Object>, Object[]> row = input.next();
+                    Object[] value = buffer.get(row._1());
+                    buffer.put(row._1(), value == null ? row._2() : reduce(value, row._2()));
+                }
+                return buffer;
+            }
+        };
+    }
+
+    private Object[] reduce(Object[] v1, Object[] v2) {
+        try {
+            return reduceFunction.call(v1, v2);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
+
+// merge the adjacent rows with the same key in the rows sorted by BucketComparator
+class MergeSortedRowsIterator implements Iterator<Tuple2<List<Object>, Object[]>> {
+
+    private final Iterator<Tuple2<List<Object>, Object[]>> input;
+    private final AggregateReduceFunction reduceFunction;
+    private final BucketComparator comparator = new BucketComparator();
+    // the first row of next key
+    private Tuple2<List<Object>, Object[]> pending;
+
+    public MergeSortedRowsIterator(Iterator<Tuple2<List<Object>, Object[]>> input,
+                                   SparkRDDAggregator[] sparkDppAggregators) {
+        this.input = input;
+        this.reduceFunction = new AggregateReduceFunction(sparkDppAggregators);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null || input.hasNext();
+    }
+
+    @Override
+    public Tuple2<List<Object>, Object[]> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Tuple2<List<Object>, Object[]> current = pending != null ? pending : input.next();
+        pending = null;
+        List<Object> key = current._1();
+        Object[] value = current._2();
+        while (input.hasNext()) {
+            Tuple2<List<Object>, Object[]> row = input.next();
+            if (comparator.compare(key, row._1()) != 0) {
+                pending = row;
+                break;
+            }
+            try {
+                value = reduceFunction.call(value, row._2());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return new Tuple2<>(key, value);
+    }
+}
+
 class ReplaceAggregator extends SparkRDDAggregator<Object> {
 
     @Override
@@ -2,8 +2,15 @@
 
 package com.starrocks.load.loadv2.dpp;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.junit.Assert;
 import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class SparkRDDAggregatorTest {
 
@@ -33,4 +40,48 @@ public class SparkRDDAggregatorTest {
         Hll value = aggregator.init(null);
         Assert.assertEquals(Hll.HLL_DATA_EMPTY, value.getType());
     }
+
+    private static Tuple2<List<Object>, Object[]> row(String key, long value) {
+        return new Tuple2<>(Lists.newArrayList("1_0", key), new Object[] {value});
+    }
+
+    @Test
+    public void testMapSideCombine() {
+        SparkRDDAggregator[] aggregators = new SparkRDDAggregator[] {new LongSumAggregator()};
+        List<Tuple2<List<Object>, Object[]>> rows = Lists.newArrayList(
+                row("a", 1), row("b", 2), row("a", 3), row("c", 4), row("a", 5));
+
+        // at most 2 keys are combined at one time
+        Map<String, Long> sums = Maps.newHashMap();
+        int outputNum = 0;
+        Iterator<Tuple2<List<Object>, Object[]>> combined =
+                new MapSideCombineFunction(aggregators, 2).call(rows.iterator());
+        while (combined.hasNext()) {
+            Tuple2<List<Object>, Object[]> pair = combined.next();
+            sums.merge((String) pair._1().get(1), (Long) pair._2()[0], Long::sum);
+            outputNum++;
+        }
+        Assert.assertEquals(4, outputNum);
+        Assert.assertEquals(9L, (long) sums.get("a"));
+        Assert.assertEquals(2L, (long) sums.get("b"));
+        Assert.assertEquals(4L, (long) sums.get("c"));
+    }
+
+    @Test
+    public void testMergeSortedRows() {
+        SparkRDDAggregator[] aggregators = new SparkRDDAggregator[] {new LongSumAggregator()};
+        List<Tuple2<List<Object>, Object[]>> rows = Lists.newArrayList(
+                row("a", 1), row("a", 3), row("b", 2), row("c", 4), row("c", 5));
+
+        MergeSortedRowsIterator merged = new MergeSortedRowsIterator(rows.iterator(), aggregators);
+        List<String> keys = Lists.newArrayList();
+        List<Long> values = Lists.newArrayList();
+        while (merged.hasNext()) {
+            Tuple2<List<Object>, Object[]> pair = merged.next();
+            keys.add((String) pair._1().get(1));
+            values.add((Long) pair._2()[0]);
+        }
+        Assert.assertEquals(Lists.newArrayList("a", "b", "c"), keys);
+        Assert.assertEquals(Lists.newArrayList(4L, 2L, 9L), values);
+    }
 }
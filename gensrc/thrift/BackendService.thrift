@@ -65,6 +65,8 @@ struct TRoutineLoadTask {
     12: optional TKafkaLoadInfo kafka_load_info
     13: optional InternalService.TExecPlanFragmentParams params
     14: optional PlanNodes.TFileFormatType format
+    // fragments to load the route tables in the same transaction, they consume the same messages as params
+    15: optional list<InternalService.TExecPlanFragmentParams> route_params
 }
 
 struct TKafkaMetaProxyRequest {
@@ -189,6 +189,9 @@ struct TEsScanRange {
   2: required string index
   3: optional string type
   4: required i32 shard_id
+  // sliced scroll of the shard, read the whole shard if not set
+  5: optional i32 slice_id
+  6: optional i32 slice_max
 }
 
 // Hdfs scan range